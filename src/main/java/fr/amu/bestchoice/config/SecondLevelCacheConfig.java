@@ -0,0 +1,73 @@
+package fr.amu.bestchoice.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Cache de second niveau Hibernate pour les entités de référence, lues partout et rarement
+ * modifiées : Skill, Keyword, Teacher (et ses projets).
+ *
+ * Fournisseur JCache local (Caffeine), une région bornée par entité ou collection, en READ_WRITE :
+ * toute écriture passant par l'ORM (services existants) invalide l'entrée au commit, et les
+ * requêtes natives invalident les régions de leurs tables (query spaces).
+ *
+ * Statistiques par région exposées par actuator (cache.gets, cache.puts, cache.removals... avec
+ * cache=&lt;région&gt;).
+ *
+ * User n'est pas mis en cache : ses OneToOne inverses (student, teacher) ne sont pas stockés dans
+ * l'entrée et Hibernate les relit par clé unique à chaque lecture du cache (2 SELECT au lieu de la
+ * jointure unique actuelle).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /** Régions déclarées sur les entités (@Cache) ; toute autre région est refusée. */
+    static final List<String> REGIONS = List.of("skills", "keywords", "teachers", "teachers.projects");
+
+    /**
+     * Gestionnaire propre au contexte Spring (URI unique) : deux contextes de test ne partagent
+     * jamais leurs régions.
+     */
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(MeterRegistry meterRegistry,
+                                       @Value("${app.cache.l2.max-entries:10000}") long maxEntries) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("bestchoice:l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            JCacheMetrics.monitor(meterRegistry, cache);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Les modifications côté propriétaire (Project.teacher) invalident Teacher.projects
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+}
@@ -24,8 +24,12 @@ import java.time.LocalDateTime;
                 )
         },
         indexes = {
-                @Index(name = "idx_result_campaign", columnList = "matching_campaign_id"),
-                @Index(name = "idx_result_student", columnList = "student_id"),
+                // Pagination keyset (globalScore DESC, id) : couvrent aussi les recherches par campagne / étudiant
+                @Index(name = "idx_result_campaign_score", columnList = "matching_campaign_id, global_score DESC, id"),
+                @Index(name = "idx_result_campaign_student_score", columnList = "matching_campaign_id, student_id, global_score DESC, id"),
+                @Index(name = "idx_result_campaign_project_score", columnList = "matching_campaign_id, project_id, global_score DESC, id"),
+                @Index(name = "idx_result_campaign_subject_score", columnList = "matching_campaign_id, subject_id, global_score DESC, id"),
+                @Index(name = "idx_result_student_score", columnList = "student_id, global_score DESC, id"),
                 @Index(name = "idx_result_project", columnList = "project_id"),
                 @Index(name = "idx_result_subject", columnList = "subject_id"),
                 @Index(name = "idx_result_global_score", columnList = "global_score")
@@ -0,0 +1,125 @@
+package fr.amu.bestchoice.model.entity;
+
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bilan du dernier run de matching d'une campagne.
+ *
+ * Calculé par la stratégie pendant le run (les affectations sont alors en mémoire) et
+ * remplacé à chaque nouveau run : la lecture du bilan ne parcourt jamais les résultats.
+ *
+ * Affectation retenue pour chaque étudiant :
+ * - STABLE   : l'item obtenu (capacités respectées)
+ * - WEIGHTED : la meilleure recommandation (rank 1), capacités non contraintes
+ */
+@Entity
+@Table(
+        name = "matching_run_summaries",
+        uniqueConstraints = @UniqueConstraint(columnNames = "matching_campaign_id", name = "uk_run_summary_campaign")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchingRunSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Campagne concernée (un seul bilan par campagne : celui du dernier run)
+     */
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "matching_campaign_id", nullable = false)
+    private MatchingCampaign matchingCampaign;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "algorithm_used", nullable = false, length = 30)
+    private MatchingAlgorithmType algorithmUsed;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at", nullable = false)
+    private Instant finishedAt;
+
+    // ==================== AFFECTATIONS ====================
+
+    @Column(name = "students_count", nullable = false)
+    private int studentsCount;
+
+    @Column(name = "assigned_count", nullable = false)
+    private int assignedCount;
+
+    @Column(name = "unassigned_count", nullable = false)
+    private int unassignedCount;
+
+    @Column(name = "first_choice_count", nullable = false)
+    private int firstChoiceCount;
+
+    @Column(name = "second_choice_count", nullable = false)
+    private int secondChoiceCount;
+
+    @Column(name = "third_choice_count", nullable = false)
+    private int thirdChoiceCount;
+
+    /**
+     * Étudiants affectés à un vœu de rang 4 ou plus
+     */
+    @Column(name = "other_choice_count", nullable = false)
+    private int otherChoiceCount;
+
+    /**
+     * Étudiants affectés à un item absent de leurs vœux (WEIGHTED uniquement)
+     */
+    @Column(name = "outside_choices_count", nullable = false)
+    private int outsideChoicesCount;
+
+    // ==================== SCORES DES AFFECTATIONS ====================
+    // Quantiles par interpolation linéaire ; null si aucun étudiant affecté
+
+    @Column(name = "score_min", precision = 5, scale = 4)
+    private BigDecimal scoreMin;
+
+    @Column(name = "score_p25", precision = 5, scale = 4)
+    private BigDecimal scoreP25;
+
+    @Column(name = "score_median", precision = 5, scale = 4)
+    private BigDecimal scoreMedian;
+
+    @Column(name = "score_p75", precision = 5, scale = 4)
+    private BigDecimal scoreP75;
+
+    @Column(name = "score_p90", precision = 5, scale = 4)
+    private BigDecimal scoreP90;
+
+    @Column(name = "score_max", precision = 5, scale = 4)
+    private BigDecimal scoreMax;
+
+    @Column(name = "score_mean", precision = 5, scale = 4)
+    private BigDecimal scoreMean;
+
+    // ==================== REMPLISSAGE ====================
+
+    /**
+     * Remplissage de chaque item de la campagne, stocké en JSON dans la ligne du bilan
+     */
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "item_fills")
+    private List<ItemFill> itemFills = new ArrayList<>();
+
+    public record ItemFill(Long itemId, String title, int assigned, int capacity) {
+    }
+}
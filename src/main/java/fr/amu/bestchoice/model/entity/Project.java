@@ -127,12 +127,22 @@ public class Project {
     private Boolean active = true;
 
     /**
-     * Indique si le projet est complet (plus de places disponibles)
+     * Indique si le projet est complet (plus de places disponibles).
+     * Maintenu avec assignedCount par les UPDATE de ProjectRepository : jamais écrit par l'ORM
+     * après l'insertion.
      */
-    @Column(name = "complet", nullable = false)
+    @Column(name = "complet", nullable = false, updatable = false)
     @Builder.Default
     private Boolean complet = false;
 
+    /**
+     * Nombre d'étudiants affectés (dénormalisé). Modifié uniquement par les UPDATE conditionnels
+     * de ProjectRepository (reserveSeat / releaseSeat), qui ne dépassent jamais maxStudents.
+     */
+    @Column(name = "assigned_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Integer assignedCount = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -4,6 +4,8 @@ package fr.amu.bestchoice.model.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +27,8 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teachers")
 public class Teacher{
 
     @Id
@@ -61,6 +65,7 @@ public class Teacher{
      * Projets proposés par cet enseignant
      */
     @OneToMany(mappedBy = "teacher", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "teachers.projects")
     @Builder.Default
     private List<Project> projects = new ArrayList<>();
 
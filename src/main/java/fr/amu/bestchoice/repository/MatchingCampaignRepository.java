@@ -1,14 +1,21 @@
 package fr.amu.bestchoice.repository;
 
 import fr.amu.bestchoice.model.entity.MatchingCampaign;
+import fr.amu.bestchoice.model.entity.MatchingCampaignType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface MatchingCampaignRepository extends JpaRepository<MatchingCampaign, Long> {
@@ -26,39 +33,225 @@ public interface MatchingCampaignRepository extends JpaRepository<MatchingCampai
 
     /**
      *Renvoie une Liste de MatchingCampaign associées à un enseignant donné.
+     * L'enseignant et son compte sont joints (User.student, côté inverse du OneToOne, jamais lazy).
      */
+    @EntityGraph(attributePaths = {"teacher", "teacher.user", "teacher.user.student"})
     List<MatchingCampaign> findByTeacherId(Long teacherId);
 
+    @EntityGraph(attributePaths = {"teacher", "teacher.user", "teacher.user.student"})
     @Query("SELECT c FROM MatchingCampaign c JOIN c.students s WHERE s.id = :studentId")
     List<MatchingCampaign> findAllByStudentIdInTable(@Param("studentId") Long studentId);
 
+    // ── Plans de chargement des listes (une requête par collection pour tout le lot) ──
+
+    @Query("SELECT DISTINCT c FROM MatchingCampaign c LEFT JOIN FETCH c.students WHERE c.id IN :ids")
+    List<MatchingCampaign> fetchStudents(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT c FROM MatchingCampaign c LEFT JOIN FETCH c.projects WHERE c.id IN :ids")
+    List<MatchingCampaign> fetchProjects(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT c FROM MatchingCampaign c LEFT JOIN FETCH c.subjects WHERE c.id IN :ids")
+    List<MatchingCampaign> fetchSubjects(@Param("ids") Collection<Long> ids);
+
+    /**
+     * IDs des campagnes à lancer en batch. Chaque filtre est optionnel (null = ignoré).
+     */
+    @Query("SELECT c.id FROM MatchingCampaign c " +
+            "WHERE (:teacherId IS NULL OR c.teacher.id = :teacherId) " +
+            "AND (:academicYear IS NULL OR c.academicYear = :academicYear) " +
+            "AND (:semester IS NULL OR c.semester = :semester) " +
+            "ORDER BY c.id")
+    List<Long> findIdsForBatch(@Param("teacherId") Long teacherId,
+                               @Param("academicYear") String academicYear,
+                               @Param("semester") Integer semester);
+
+    @Query("SELECT c.campaignType FROM MatchingCampaign c WHERE c.id = :id")
+    Optional<MatchingCampaignType> findCampaignTypeById(@Param("id") Long id);
+
+    /**
+     * Type de la campagne et inscription de l'étudiant, lus en une seule requête (saisie des vœux).
+     */
+    @Query("SELECT c.campaignType AS campaignType, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM MatchingCampaign e JOIN e.students s " +
+            "WHERE e.id = c.id AND s.id = :studentId) THEN true ELSE false END AS enrolled " +
+            "FROM MatchingCampaign c WHERE c.id = :id")
+    Optional<EnrolmentView> findEnrolmentView(@Param("id") Long id, @Param("studentId") Long studentId);
+
+    interface EnrolmentView {
+        MatchingCampaignType getCampaignType();
+
+        Boolean getEnrolled();
+    }
+
+    /**
+     * IDs des projets de la campagne (validation des vœux sans charger les entités).
+     */
+    @Query("SELECT p.id FROM MatchingCampaign c JOIN c.projects p WHERE c.id = :id")
+    Set<Long> findProjectIdsById(@Param("id") Long id);
+
+    /**
+     * IDs des matières de la campagne (validation des vœux sans charger les entités).
+     */
+    @Query("SELECT s.id FROM MatchingCampaign c JOIN c.subjects s WHERE c.id = :id")
+    Set<Long> findSubjectIdsById(@Param("id") Long id);
+
+    // ── Inscriptions : écrites directement dans les tables de jointure ─────────
+    // Ni la campagne ni ses membres ne sont chargés. Les IDs inconnus sont ignorés (jointure
+    // sur la table du membre) et les membres déjà inscrits aussi (NOT EXISTS) : rejouer un
+    // ajout ne crée pas de doublon. Retour : nombre de lignes insérées / supprimées.
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_campaign_students"))
+    @Query(value = "INSERT INTO matching_campaign_students (matching_campaign_id, student_id) " +
+            "SELECT :campaignId, s.id FROM students s WHERE s.id IN :ids " +
+            "AND NOT EXISTS (SELECT 1 FROM matching_campaign_students j " +
+            "WHERE j.matching_campaign_id = :campaignId AND j.student_id = s.id)", nativeQuery = true)
+    int insertStudents(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_campaign_students"))
+    @Query(value = "DELETE FROM matching_campaign_students WHERE matching_campaign_id = :campaignId AND student_id IN :ids",
+            nativeQuery = true)
+    int deleteStudents(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    // Projets et matières : la campagne est présente des deux côtés (tables de jointure distinctes)
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_campaign_projects"))
+    @Query(value = "INSERT INTO matching_campaign_projects (matching_campaign_id, project_id) " +
+            "SELECT :campaignId, p.id FROM projects p WHERE p.id IN :ids " +
+            "AND NOT EXISTS (SELECT 1 FROM matching_campaign_projects j " +
+            "WHERE j.matching_campaign_id = :campaignId AND j.project_id = p.id)", nativeQuery = true)
+    int insertProjects(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_matching_campaigns"))
+    @Query(value = "INSERT INTO project_matching_campaigns (project_id, matching_campaign_id) " +
+            "SELECT p.id, :campaignId FROM projects p WHERE p.id IN :ids " +
+            "AND NOT EXISTS (SELECT 1 FROM project_matching_campaigns j " +
+            "WHERE j.matching_campaign_id = :campaignId AND j.project_id = p.id)", nativeQuery = true)
+    int insertProjectCampaigns(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_campaign_projects"))
+    @Query(value = "DELETE FROM matching_campaign_projects WHERE matching_campaign_id = :campaignId AND project_id IN :ids",
+            nativeQuery = true)
+    int deleteProjects(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_matching_campaigns"))
+    @Query(value = "DELETE FROM project_matching_campaigns WHERE matching_campaign_id = :campaignId AND project_id IN :ids",
+            nativeQuery = true)
+    int deleteProjectCampaigns(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_campaign_subjects"))
+    @Query(value = "INSERT INTO matching_campaign_subjects (matching_campaign_id, subject_id) " +
+            "SELECT :campaignId, s.id FROM subjects s WHERE s.id IN :ids " +
+            "AND NOT EXISTS (SELECT 1 FROM matching_campaign_subjects j " +
+            "WHERE j.matching_campaign_id = :campaignId AND j.subject_id = s.id)", nativeQuery = true)
+    int insertSubjects(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subject_matching_campaigns"))
+    @Query(value = "INSERT INTO subject_matching_campaigns (subject_id, matching_campaign_id) " +
+            "SELECT s.id, :campaignId FROM subjects s WHERE s.id IN :ids " +
+            "AND NOT EXISTS (SELECT 1 FROM subject_matching_campaigns j " +
+            "WHERE j.matching_campaign_id = :campaignId AND j.subject_id = s.id)", nativeQuery = true)
+    int insertSubjectCampaigns(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_campaign_subjects"))
+    @Query(value = "DELETE FROM matching_campaign_subjects WHERE matching_campaign_id = :campaignId AND subject_id IN :ids",
+            nativeQuery = true)
+    int deleteSubjects(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subject_matching_campaigns"))
+    @Query(value = "DELETE FROM subject_matching_campaigns WHERE matching_campaign_id = :campaignId AND subject_id IN :ids",
+            nativeQuery = true)
+    int deleteSubjectCampaigns(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    // ── Désinscription : vœux en attente et résultats des membres retirés ─────
+    // Les vœux déjà traités (acceptés / refusés) sont conservés comme historique.
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_preferences"))
+    @Query(value = "DELETE FROM student_preferences WHERE matching_campaign_id = :campaignId " +
+            "AND student_id IN :ids AND status = 'PENDING'", nativeQuery = true)
+    int deletePendingPreferencesOfStudents(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_preferences"))
+    @Query(value = "DELETE FROM student_preferences WHERE matching_campaign_id = :campaignId " +
+            "AND project_id IN :ids AND status = 'PENDING'", nativeQuery = true)
+    int deletePendingPreferencesOfProjects(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_preferences"))
+    @Query(value = "DELETE FROM student_preferences WHERE matching_campaign_id = :campaignId " +
+            "AND subject_id IN :ids AND status = 'PENDING'", nativeQuery = true)
+    int deletePendingPreferencesOfSubjects(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_results"))
+    @Query(value = "DELETE FROM matching_results WHERE matching_campaign_id = :campaignId AND student_id IN :ids",
+            nativeQuery = true)
+    int deleteResultsOfStudents(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_results"))
+    @Query(value = "DELETE FROM matching_results WHERE matching_campaign_id = :campaignId AND project_id IN :ids",
+            nativeQuery = true)
+    int deleteResultsOfProjects(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_results"))
+    @Query(value = "DELETE FROM matching_results WHERE matching_campaign_id = :campaignId AND subject_id IN :ids",
+            nativeQuery = true)
+    int deleteResultsOfSubjects(@Param("campaignId") Long campaignId, @Param("ids") Collection<Long> ids);
+
     // ── Nettoyage des FK avant suppression d'une campagne ────────────────────
+    // Tables déclarées (query spaces) : Hibernate n'invalide que les régions du cache de
+    // second niveau qui les utilisent, au lieu de vider tout le cache à chaque DELETE natif.
 
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_preferences"))
     @Query(value = "DELETE FROM student_preferences WHERE matching_campaign_id = :id", nativeQuery = true)
     void deleteStudentPreferencesByCampaignId(@Param("id") Long id);
 
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_results"))
     @Query(value = "DELETE FROM matching_results WHERE matching_campaign_id = :id", nativeQuery = true)
     void deleteMatchingResultsByCampaignId(@Param("id") Long id);
 
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_run_summaries"))
+    @Query(value = "DELETE FROM matching_run_summaries WHERE matching_campaign_id = :id", nativeQuery = true)
+    void deleteRunSummaryByCampaignId(@Param("id") Long id);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_matching_campaigns"))
     @Query(value = "DELETE FROM project_matching_campaigns WHERE matching_campaign_id = :id", nativeQuery = true)
     void deleteFromProjectMatchingCampaigns(@Param("id") Long id);
 
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "subject_matching_campaigns"))
     @Query(value = "DELETE FROM subject_matching_campaigns WHERE matching_campaign_id = :id", nativeQuery = true)
     void deleteFromSubjectMatchingCampaigns(@Param("id") Long id);
 
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_campaign_students"))
     @Query(value = "DELETE FROM matching_campaign_students WHERE matching_campaign_id = :id", nativeQuery = true)
     void deleteFromMatchingCampaignStudents(@Param("id") Long id);
 
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_campaign_projects"))
     @Query(value = "DELETE FROM matching_campaign_projects WHERE matching_campaign_id = :id", nativeQuery = true)
     void deleteFromMatchingCampaignProjects(@Param("id") Long id);
 
     @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "matching_campaign_subjects"))
     @Query(value = "DELETE FROM matching_campaign_subjects WHERE matching_campaign_id = :id", nativeQuery = true)
     void deleteFromMatchingCampaignSubjects(@Param("id") Long id);
 }
\ No newline at end of file
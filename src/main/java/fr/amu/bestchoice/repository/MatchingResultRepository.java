@@ -1,12 +1,23 @@
 package fr.amu.bestchoice.repository;
 
 import fr.amu.bestchoice.model.entity.MatchingResult;
+import fr.amu.bestchoice.web.dto.matching.MatchingResultExportRow;
+import fr.amu.bestchoice.web.dto.matching.MatchingResultResponse;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface MatchingResultRepository extends JpaRepository<MatchingResult, Long> {
@@ -15,16 +26,120 @@ public interface MatchingResultRepository extends JpaRepository<MatchingResult,
     @Query("DELETE FROM MatchingResult mr WHERE mr.matchingCampaign.id = :campaignId")
     void deleteByMatchingCampaignId(@Param("campaignId") Long campaignId);
 
-    List<MatchingResult> findByMatchingCampaignIdOrderByGlobalScoreDesc(Long campaignId);
+    long countByMatchingCampaignId(Long campaignId);
+
+    // ── Lectures projetées en MatchingResultResponse ─────────────────────────
+    // Une seule requête SQL par appel : ids des associations lus via les clés étrangères,
+    // titres projet/matière par LEFT JOIN explicite (aucun chargement lazy au mapping).
+    // Tri (globalScore DESC, id ASC), couvert par les index composites de MatchingResult.
+    // Limit : top N calculé en base, ou première page de la pagination keyset.
+    // *After : page suivante, reprise strictement après le couple (score, id) du curseur.
 
-    List<MatchingResult> findByMatchingCampaignIdAndStudentIdOrderByGlobalScoreDesc(Long campaignId, Long studentId);
+    String RESPONSE_SELECT = """
+            SELECT new fr.amu.bestchoice.web.dto.matching.MatchingResultResponse(
+                mr.id, mr.student.id, mr.matchingCampaign.id, p.id, sub.id,
+                mr.globalScore, mr.skillsScore, mr.interestsScore,
+                mr.recommendationRank, mr.algorithmUsed, mr.calculationDate,
+                p.title, sub.title)
+            FROM MatchingResult mr
+            LEFT JOIN mr.project p
+            LEFT JOIN mr.subject sub
+            """;
 
-    List<MatchingResult> findByMatchingCampaignIdAndProjectIdOrderByGlobalScoreDesc(Long campaignId, Long projectId);
+    String AFTER_CURSOR = " AND (mr.globalScore < :score OR (mr.globalScore = :score AND mr.id > :id))";
 
-    List<MatchingResult> findByMatchingCampaignIdAndSubjectIdOrderByGlobalScoreDesc(Long campaignId, Long subjectId);
+    String ORDER_BY_SCORE = " ORDER BY mr.globalScore DESC, mr.id ASC";
 
-    long countByMatchingCampaignId(Long campaignId);
+    @Query(RESPONSE_SELECT + "WHERE mr.id = :id")
+    Optional<MatchingResultResponse> findResponseById(@Param("id") Long id);
+
+    // Campagne
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignId(@Param("campaignId") Long campaignId);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignId(@Param("campaignId") Long campaignId, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId" + AFTER_CURSOR + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignIdAfter(@Param("campaignId") Long campaignId,
+                                                               @Param("score") BigDecimal score, @Param("id") Long id, Limit limit);
+
+    // Campagne + étudiant
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId AND mr.student.id = :studentId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignAndStudent(@Param("campaignId") Long campaignId,
+                                                                  @Param("studentId") Long studentId);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId AND mr.student.id = :studentId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignAndStudent(@Param("campaignId") Long campaignId,
+                                                                  @Param("studentId") Long studentId, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId AND mr.student.id = :studentId" + AFTER_CURSOR + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignAndStudentAfter(@Param("campaignId") Long campaignId, @Param("studentId") Long studentId,
+                                                                       @Param("score") BigDecimal score, @Param("id") Long id, Limit limit);
+
+    // Campagne + projet
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId AND mr.project.id = :projectId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignAndProject(@Param("campaignId") Long campaignId,
+                                                                  @Param("projectId") Long projectId);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId AND mr.project.id = :projectId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignAndProject(@Param("campaignId") Long campaignId,
+                                                                  @Param("projectId") Long projectId, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId AND mr.project.id = :projectId" + AFTER_CURSOR + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignAndProjectAfter(@Param("campaignId") Long campaignId, @Param("projectId") Long projectId,
+                                                                       @Param("score") BigDecimal score, @Param("id") Long id, Limit limit);
+
+    // Campagne + matière
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId AND mr.subject.id = :subjectId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignAndSubject(@Param("campaignId") Long campaignId,
+                                                                  @Param("subjectId") Long subjectId);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId AND mr.subject.id = :subjectId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignAndSubject(@Param("campaignId") Long campaignId,
+                                                                  @Param("subjectId") Long subjectId, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.matchingCampaign.id = :campaignId AND mr.subject.id = :subjectId" + AFTER_CURSOR + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByCampaignAndSubjectAfter(@Param("campaignId") Long campaignId, @Param("subjectId") Long subjectId,
+                                                                       @Param("score") BigDecimal score, @Param("id") Long id, Limit limit);
+
+    // Étudiant (toutes campagnes confondues)
+
+    @Query(RESPONSE_SELECT + "WHERE mr.student.id = :studentId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByStudentId(@Param("studentId") Long studentId);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.student.id = :studentId" + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByStudentId(@Param("studentId") Long studentId, Limit limit);
+
+    @Query(RESPONSE_SELECT + "WHERE mr.student.id = :studentId" + AFTER_CURSOR + ORDER_BY_SCORE)
+    List<MatchingResultResponse> findResponsesByStudentIdAfter(@Param("studentId") Long studentId,
+                                                              @Param("score") BigDecimal score, @Param("id") Long id, Limit limit);
+
+    // ── Export en flux (CSV / NDJSON) ────────────────────────────────────────
+    // Projection directe + fetch size : le curseur JDBC est lu par paquets, rien n'est
+    // retenu par le contexte de persistance. À consommer dans une transaction, puis fermer.
 
-    /** Tous les résultats d'un étudiant (toutes campagnes confondues) */
-    List<MatchingResult> findByStudentIdOrderByGlobalScoreDesc(Long studentId);
-}
\ No newline at end of file
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new fr.amu.bestchoice.web.dto.matching.MatchingResultExportRow(
+                mr.id, s.id, u.studentNumber, u.lastName, u.firstName,
+                p.id, p.title, sub.id, sub.title,
+                mr.globalScore, mr.skillsScore, mr.interestsScore, mr.workTypeScore,
+                mr.recommendationRank, mr.algorithmUsed, mr.calculationDate)
+            FROM MatchingResult mr
+            JOIN mr.student s
+            JOIN s.user u
+            LEFT JOIN mr.project p
+            LEFT JOIN mr.subject sub
+            WHERE mr.matchingCampaign.id = :campaignId
+            ORDER BY mr.globalScore DESC, mr.id ASC
+            """)
+    Stream<MatchingResultExportRow> streamExportRowsByCampaignId(@Param("campaignId") Long campaignId);
+}
@@ -0,0 +1,24 @@
+package fr.amu.bestchoice.repository;
+
+import fr.amu.bestchoice.model.entity.MatchingRunSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MatchingRunSummaryRepository extends JpaRepository<MatchingRunSummary, Long> {
+
+    Optional<MatchingRunSummary> findByMatchingCampaignId(Long campaignId);
+
+    /**
+     * Suppression immédiate (hors file d'actions Hibernate) : le nouveau bilan peut être
+     * inséré dans la même transaction sans heurter la contrainte d'unicité par campagne.
+     */
+    @Modifying
+    @Query("DELETE FROM MatchingRunSummary s WHERE s.matchingCampaign.id = :campaignId")
+    void deleteByMatchingCampaignId(@Param("campaignId") Long campaignId);
+}
@@ -2,11 +2,17 @@ package fr.amu.bestchoice.repository;
 
 import fr.amu.bestchoice.model.entity.Project;
 import fr.amu.bestchoice.model.enums.WorkType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +33,11 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
            "WHERE p.id = :id")
     Optional<Project> findByIdWithRelations(@Param("id") Long id);
 
+    /**
+     * Page keyset (KeysetPagination) : reprise après la position, sans OFFSET ni COUNT
+     */
+    Window<Project> findBy(ScrollPosition position, Sort sort, Limit limit);
+
     /**
      * Récupère tous les projets actifs
      */
@@ -94,8 +105,7 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     /**
      * Récupère les projets ayant encore des places disponibles
      */
-    @Query("SELECT p FROM Project p WHERE p.active = true AND p.complet = false " +
-           "AND SIZE(p.assignedStudents) < p.maxStudents")
+    @Query("SELECT p FROM Project p WHERE p.active = true AND p.assignedCount < p.maxStudents")
     List<Project> findProjectsWithAvailableSlots();
 
     /**
@@ -107,11 +117,55 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     /**
      * Vérifie si un projet a atteint sa capacité maximale
      */
-    @Query("SELECT CASE WHEN COUNT(s) >= p.maxStudents THEN true ELSE false END " +
-           "FROM Project p LEFT JOIN Student s ON s.assignedProject.id = p.id " +
-           "WHERE p.id = :projectId GROUP BY p.id, p.maxStudents")
+    @Query("SELECT CASE WHEN p.assignedCount >= p.maxStudents THEN true ELSE false END " +
+           "FROM Project p WHERE p.id = :projectId")
     boolean isProjectComplet(@Param("projectId") Long projectId);
 
+    // ── Places (assignedCount / complet) ──────────────────────────────────────
+    // UPDATE conditionnels : la vérification et l'écriture sont une seule instruction, sérialisée
+    // par le verrou de ligne. complet est calculé avant l'incrément dans la liste SET (MySQL
+    // évalue les affectations de gauche à droite, le standard SQL sur les anciennes valeurs).
+
+    /**
+     * Réserve une place. Renvoie 0 si le projet est complet (ou inexistant).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Project p SET " +
+           "p.complet = CASE WHEN p.assignedCount + 1 >= p.maxStudents THEN true ELSE false END, " +
+           "p.assignedCount = p.assignedCount + 1 " +
+           "WHERE p.id = :projectId AND p.assignedCount < p.maxStudents")
+    int reserveSeat(@Param("projectId") Long projectId);
+
+    /**
+     * Libère une place. Renvoie 0 si aucune n'était occupée.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Project p SET " +
+           "p.complet = CASE WHEN p.assignedCount - 1 >= p.maxStudents THEN true ELSE false END, " +
+           "p.assignedCount = p.assignedCount - 1 " +
+           "WHERE p.id = :projectId AND p.assignedCount > 0")
+    int releaseSeat(@Param("projectId") Long projectId);
+
+    /**
+     * Recalcule complet après un changement de capacité.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Project p SET p.complet = CASE WHEN p.assignedCount >= p.maxStudents THEN true ELSE false END " +
+           "WHERE p.id = :projectId")
+    int refreshComplet(@Param("projectId") Long projectId);
+
+    /**
+     * Recompte les affectations de tous les projets (colonne ajoutée sur une base existante).
+     */
+    @Modifying
+    @Query("UPDATE Project p SET p.assignedCount = " +
+           "(SELECT COUNT(s) FROM Student s WHERE s.assignedProject.id = p.id)")
+    int recountAssignedStudents();
+
+    @Modifying
+    @Query("UPDATE Project p SET p.complet = CASE WHEN p.assignedCount >= p.maxStudents THEN true ELSE false END")
+    int refreshAllComplet();
+
     /**
      * Récupère les projets par nombre de crédits
      */
@@ -127,6 +181,26 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p FROM Project p JOIN p.matchingCampaigns c WHERE c.id = :campaignId")
     List<Project> findByCampaignId(@Param("campaignId") Long campaignId);
 
+    // ── Plans de chargement des listes (ProjectService) ───────────────────────
+    // Chaque requête initialise une collection pour tout un lot de projets déjà chargés :
+    // le nombre de requêtes d'une liste ne dépend plus du nombre de lignes.
+
+    @Query("SELECT DISTINCT p FROM Project p LEFT JOIN FETCH p.workTypes WHERE p.id IN :ids")
+    List<Project> fetchWorkTypes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT p FROM Project p LEFT JOIN FETCH p.requiredSkills WHERE p.id IN :ids")
+    List<Project> fetchRequiredSkills(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT p FROM Project p LEFT JOIN FETCH p.keywords WHERE p.id IN :ids")
+    List<Project> fetchKeywords(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT p FROM Project p " +
+           "LEFT JOIN FETCH p.assignedStudents s " +
+           "LEFT JOIN FETCH s.user u " +
+           "LEFT JOIN FETCH u.teacher " +
+           "WHERE p.id IN :ids")
+    List<Project> fetchAssignedStudents(@Param("ids") Collection<Long> ids);
+
     // ── Méthodes de statistiques (AdminStatsService) ──────────────────────────
 
     /** Nombre de projets actifs */
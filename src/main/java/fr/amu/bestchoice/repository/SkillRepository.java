@@ -1,11 +1,18 @@
 package fr.amu.bestchoice.repository;
 
 import fr.amu.bestchoice.model.entity.Skill;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +23,24 @@ import java.util.Optional;
 public interface SkillRepository extends JpaRepository<Skill, Long> {
 
     Optional<Skill> findByName(String name);
+
+    /**
+     * Page keyset (KeysetPagination) : reprise après la position, sans OFFSET ni COUNT
+     */
+    Window<Skill> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Résolution en masse (une requête IN pour tous les noms d'un profil, projet ou import)
+     */
+    List<Skill> findByNameIn(Collection<String> names);
+
+    /**
+     * Relecture après création : lecture verrouillée, qui voit aussi les lignes committées par
+     * une autre transaction après le début de la transaction courante
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT x FROM Skill x WHERE x.name IN :names")
+    List<Skill> findLockedByNameIn(@Param("names") Collection<String> names);
     boolean existsByName(String name);
     
     List<Skill> findByActiveTrue();
@@ -3,10 +3,12 @@ package fr.amu.bestchoice.repository;
 import fr.amu.bestchoice.model.entity.StudentPreference;
 import fr.amu.bestchoice.model.enums.PreferenceStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -85,6 +87,18 @@ public interface StudentPreferenceRepository extends JpaRepository<StudentPrefer
 
     boolean existsByStudentIdAndMatchingCampaignIdAndRank(Long studentId, Long campaignId, Integer rank);
 
+    /**
+     * Vérifie si un vœu de l'étudiant dans la campagne a déjà été traité (statut autre que {@code status})
+     */
+    boolean existsByStudentIdAndMatchingCampaignIdAndStatusNot(Long studentId, Long campaignId, PreferenceStatus status);
+
+    /**
+     * Supprime tous les vœux d'un étudiant dans une campagne (remplacement de la liste)
+     */
+    @Modifying
+    @Query("DELETE FROM StudentPreference sp WHERE sp.student.id = :studentId AND sp.matchingCampaign.id = :campaignId")
+    int deleteByStudentIdAndCampaignId(@Param("studentId") Long studentId, @Param("campaignId") Long campaignId);
+
     /**
      * Récupère la préférence d'un étudiant pour un projet dans une campagne donnée
      */
@@ -96,4 +110,14 @@ public interface StudentPreferenceRepository extends JpaRepository<StudentPrefer
      */
     Optional<StudentPreference> findByStudentIdAndSubjectIdAndMatchingCampaignId(
             Long studentId, Long subjectId, Long campaignId);
-}
\ No newline at end of file
+
+    /**
+     * Préférences d'un lot d'étudiants pour une campagne (mise à jour des statuts après matching).
+     */
+    @Query("SELECT sp FROM StudentPreference sp " +
+            "WHERE sp.matchingCampaign.id = :campaignId " +
+            "AND sp.student.id IN :studentIds")
+    List<StudentPreference> findByMatchingCampaignIdAndStudentIdIn(
+            @Param("campaignId") Long campaignId,
+            @Param("studentIds") Collection<Long> studentIds);
+}
@@ -2,11 +2,21 @@ package fr.amu.bestchoice.repository;
 
 import fr.amu.bestchoice.model.entity.Student;
 import fr.amu.bestchoice.model.enums.WorkType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,9 +35,36 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
            "WHERE s.id = :id")
     Optional<Student> findByIdWithRelations(@Param("id") Long id);
 
+    /**
+     * Charge l'étudiant en verrouillant sa ligne jusqu'à la fin de la transaction
+     * (changement d'affectation).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Student s WHERE s.id = :id")
+    Optional<Student> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Listes : le compte utilisateur est chargé dans la même requête (jointure).
+     * User.teacher (côté inverse du OneToOne, jamais lazy) est joint pour éviter une requête par ligne.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.teacher"})
+    List<Student> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.teacher"})
+    Page<Student> findAll(Pageable pageable);
+
+    /**
+     * Page keyset (KeysetPagination) : reprise après la position, sans OFFSET ni COUNT
+     */
+    @EntityGraph(attributePaths = {"user", "user.teacher"})
+    Window<Student> findBy(ScrollPosition position, Sort sort, Limit limit);
+
     /**
      * Récupère tous les étudiants avec profil complet
      */
+    @EntityGraph(attributePaths = {"user", "user.teacher"})
     List<Student> findByProfileCompleteTrue();
 
     /**
@@ -85,4 +122,24 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     List<Student> findByProgramAndStudyYear(String program, Integer studyYear);
 
     Optional<Student> findByUserId(Long id);
+
+    /**
+     * Vrai si l'étudiant est rattaché au compte utilisateur de cet email (contrôle d'accès).
+     */
+    boolean existsByIdAndUserEmail(Long id, String email);
+
+    // ── Plans de chargement des listes (StudentService) ───────────────────────
+    // Une requête par collection pour tout un lot d'étudiants déjà chargés.
+
+    @Query("SELECT DISTINCT s FROM Student s LEFT JOIN FETCH s.preferredWorkTypes WHERE s.id IN :ids")
+    List<Student> fetchPreferredWorkTypes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT s FROM Student s LEFT JOIN FETCH s.skills WHERE s.id IN :ids")
+    List<Student> fetchSkills(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT s FROM Student s LEFT JOIN FETCH s.interests WHERE s.id IN :ids")
+    List<Student> fetchInterests(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT s FROM Student s LEFT JOIN FETCH s.preferences WHERE s.id IN :ids")
+    List<Student> fetchPreferences(@Param("ids") Collection<Long> ids);
 }
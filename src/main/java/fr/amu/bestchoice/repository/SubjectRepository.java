@@ -2,11 +2,19 @@ package fr.amu.bestchoice.repository;
 
 import fr.amu.bestchoice.model.entity.Subject;
 import fr.amu.bestchoice.model.enums.WorkType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -15,11 +23,30 @@ import java.util.List;
 @Repository
 public interface SubjectRepository extends JpaRepository<Subject, Long> {
 
+    // Listes : enseignant et compte utilisateur chargés dans la même requête (nom affiché).
+    // User.student (côté inverse du OneToOne) ne peut pas être lazy : il est joint lui aussi,
+    // sinon Hibernate le résout par une requête par utilisateur.
+
+    @EntityGraph(attributePaths = {"teacher", "teacher.user", "teacher.user.student"})
     @Query("SELECT s FROM Subject s WHERE s.teacher.user.id = :userId")
     List<Subject> findByTeacherId(@Param("userId") Long userId);
 
+    @Override
+    @EntityGraph(attributePaths = {"teacher", "teacher.user", "teacher.user.student"})
+    Page<Subject> findAll(Pageable pageable);
+
+    /**
+     * Page keyset (KeysetPagination) : reprise après la position, sans OFFSET ni COUNT
+     */
+    @EntityGraph(attributePaths = {"teacher", "teacher.user", "teacher.user.student"})
+    Window<Subject> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"teacher", "teacher.user", "teacher.user.student"})
     List<Subject> findByActiveTrue();
 
+    @EntityGraph(attributePaths = {"teacher", "teacher.user", "teacher.user.student"})
+    List<Subject> findByIdIn(Collection<Long> ids);
+
     List<Subject> findByWorkTypesContaining(WorkType workType);
 
     @Query("SELECT s FROM Subject s WHERE s.active = true AND " +
@@ -27,9 +54,22 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
             "LOWER(s.description) LIKE LOWER(CONCAT('%', :query, '%')))")
     List<Subject> searchActiveSubjects(@Param("query") String query);
 
+    @EntityGraph(attributePaths = {"teacher", "teacher.user", "teacher.user.student"})
     @Query("SELECT s FROM Subject s JOIN s.matchingCampaigns c WHERE c.id = :campaignId")
     List<Subject> findByCampaignId(@Param("campaignId") Long campaignId);
 
+    // ── Plans de chargement des listes (SubjectService) ───────────────────────
+    // Une requête par collection pour tout un lot de matières déjà chargées.
+
+    @Query("SELECT DISTINCT s FROM Subject s LEFT JOIN FETCH s.workTypes WHERE s.id IN :ids")
+    List<Subject> fetchWorkTypes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT s FROM Subject s LEFT JOIN FETCH s.requiredSkills WHERE s.id IN :ids")
+    List<Subject> fetchRequiredSkills(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT s FROM Subject s LEFT JOIN FETCH s.keywords WHERE s.id IN :ids")
+    List<Subject> fetchKeywords(@Param("ids") Collection<Long> ids);
+
     // ── Méthodes de statistiques (AdminStatsService) ──────────────────────────
 
     /** Nombre d'options actives */
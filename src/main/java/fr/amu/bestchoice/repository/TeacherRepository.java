@@ -1,11 +1,19 @@
 package fr.amu.bestchoice.repository;
 
 import fr.amu.bestchoice.model.entity.Teacher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +29,30 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     @Query("SELECT t FROM Teacher t LEFT JOIN FETCH t.projects WHERE t.id = :id")
     Optional<Teacher> findByIdWithProjects(@Param("id") Long id);
 
+    /**
+     * Listes : le compte utilisateur est chargé dans la même requête (jointure).
+     * User.student (côté inverse du OneToOne, jamais lazy) est joint pour éviter une requête par ligne.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.student"})
+    List<Teacher> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"user", "user.student"})
+    Page<Teacher> findAll(Pageable pageable);
+
+    /**
+     * Page keyset (KeysetPagination) : reprise après la position, sans OFFSET ni COUNT
+     */
+    @EntityGraph(attributePaths = {"user", "user.student"})
+    Window<Teacher> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Initialise les projets d'un lot d'enseignants déjà chargés (une requête pour tout le lot).
+     */
+    @Query("SELECT DISTINCT t FROM Teacher t LEFT JOIN FETCH t.projects WHERE t.id IN :ids")
+    List<Teacher> fetchProjects(@Param("ids") Collection<Long> ids);
+
     /**
      * Récupère les enseignants par département
      */
@@ -2,11 +2,19 @@ package fr.amu.bestchoice.repository;
 
 import fr.amu.bestchoice.model.entity.User;
 import fr.amu.bestchoice.model.enums.Role;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,14 +30,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByStudentNumber(String studentNumber);
     boolean existsByStudentNumber(String studentNumber);
+
+    // Imports en masse : unicité vérifiée pour tout un lot en une requête IN
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.studentNumber FROM User u WHERE u.studentNumber IN :studentNumbers")
+    List<String> findExistingStudentNumbers(@Param("studentNumbers") Collection<String> studentNumbers);
+
     /**
      * Recherche un utilisateur par email avec ses rôles chargés
      * Évite le N+1 problem grâce à JOIN FETCH
      */
 
+    /**
+     * Listes : User.student et User.teacher (côtés inverses des OneToOne, jamais lazy)
+     * sont joints à la requête racine pour éviter deux requêtes par utilisateur.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"student", "teacher"})
+    List<User> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"student", "teacher"})
+    Page<User> findAll(Pageable pageable);
+
+    /**
+     * Page keyset (KeysetPagination) : reprise après la position, sans OFFSET ni COUNT
+     */
+    @EntityGraph(attributePaths = {"student", "teacher"})
+    Window<User> findBy(ScrollPosition position, Sort sort, Limit limit);
+
     /**
      * Récupère tous les utilisateurs actifs
      */
+    @EntityGraph(attributePaths = {"student", "teacher"})
     List<User> findByActiveTrue();
 
     /**
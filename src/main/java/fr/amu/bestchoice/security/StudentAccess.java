@@ -0,0 +1,28 @@
+package fr.amu.bestchoice.security;
+
+import fr.amu.bestchoice.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contrôles d'accès aux ressources d'un étudiant, utilisés dans les @PreAuthorize.
+ *
+ * Exemple : @PreAuthorize("hasRole('ADMIN') or @studentAccess.isSelf(#studentId, authentication)")
+ */
+@Component("studentAccess")
+@RequiredArgsConstructor
+public class StudentAccess {
+
+    private final StudentRepository studentRepository;
+
+    /**
+     * Vrai si l'utilisateur connecté (username = email) est l'étudiant demandé.
+     */
+    public boolean isSelf(Long studentId, Authentication authentication) {
+        if (studentId == null || authentication == null) {
+            return false;
+        }
+        return studentRepository.existsByIdAndUserEmail(studentId, authentication.getName());
+    }
+}
@@ -0,0 +1,54 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+/**
+ * Matrice de scores sur le heap : un seul float[] en row-major.
+ */
+public class HeapScoreMatrix implements ScoreMatrix {
+
+    /** Nombre maximal de cellules : taille maximale d'un tableau Java. */
+    static final long MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private final int rows;
+    private final int columns;
+    private final float[] data;
+
+    public HeapScoreMatrix(int rows, int columns) {
+        long size = (long) rows * columns;
+        if (size > MAX_CELLS) {
+            throw new IllegalArgumentException("Matrice trop grande pour le heap : " + rows + " x " + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.data = new float[(int) size];
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public float get(int row, int column) {
+        return data[row * columns + column];
+    }
+
+    @Override
+    public void set(int row, int column, float value) {
+        data[row * columns + column] = value;
+    }
+
+    @Override
+    public void row(int row, float[] target) {
+        System.arraycopy(data, row * columns, target, 0, columns);
+    }
+
+    @Override
+    public void close() {
+        // rien à libérer : le tableau est récupéré par le GC
+    }
+}
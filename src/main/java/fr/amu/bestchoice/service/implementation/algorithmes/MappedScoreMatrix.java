@@ -0,0 +1,108 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Matrice de scores hors heap, adossée à un fichier temporaire mappé en mémoire.
+ *
+ * Un MappedByteBuffer est limité à 2 Go : la matrice est découpée en segments
+ * d'un nombre entier de lignes (une ligne n'est jamais coupée entre deux segments).
+ * Les pages sont gérées par l'OS ; seule la partie parcourue occupe de la mémoire physique.
+ * Le fichier est supprimé à la fermeture (DELETE_ON_CLOSE : sous Linux, dès l'ouverture).
+ *
+ * Java ne permet pas de démapper un buffer explicitement : le mapping, et donc les blocs disque
+ * du fichier supprimé, ne sont libérés qu'au passage du GC sur les segments. La fermeture lâche
+ * toutes les références pour qu'ils soient collectables dès la fin du run ; le répertoire
+ * temporaire doit prévoir de la place pour plus d'une matrice en cas de runs rapprochés.
+ */
+public class MappedScoreMatrix implements ScoreMatrix {
+
+    static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final int rows;
+    private final int columns;
+    private final int rowsPerSegment;
+    private final FileChannel channel;
+    private MappedByteBuffer[] segments;
+
+    public MappedScoreMatrix(int rows, int columns, Path directory) {
+        this(rows, columns, directory, MAX_SEGMENT_BYTES);
+    }
+
+    MappedScoreMatrix(int rows, int columns, Path directory, long maxSegmentBytes) {
+        long rowBytes = (long) columns * Float.BYTES;
+        if (rowBytes > maxSegmentBytes) {
+            throw new IllegalArgumentException("Ligne trop grande pour un segment : " + columns + " colonnes");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.rowsPerSegment = (int) Math.max(1, Math.min(rows, maxSegmentBytes / Math.max(1, rowBytes)));
+
+        int segmentCount = rows == 0 ? 0 : (rows + rowsPerSegment - 1) / rowsPerSegment;
+        this.segments = new MappedByteBuffer[segmentCount];
+
+        try {
+            Path file = Files.createTempFile(directory, "score-matrix-", ".bin");
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+
+            for (int i = 0; i < segmentCount; i++) {
+                int segmentRows = Math.min(rowsPerSegment, rows - i * rowsPerSegment);
+                long offset = (long) i * rowsPerSegment * rowBytes;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, offset, segmentRows * rowBytes);
+                buffer.order(ByteOrder.nativeOrder());
+                segments[i] = buffer;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de créer la matrice de scores mappée", e);
+        }
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int columns() {
+        return columns;
+    }
+
+    @Override
+    public float get(int row, int column) {
+        return segments[row / rowsPerSegment].getFloat(offset(row, column));
+    }
+
+    @Override
+    public void set(int row, int column, float value) {
+        segments[row / rowsPerSegment].putFloat(offset(row, column), value);
+    }
+
+    @Override
+    public void row(int row, float[] target) {
+        MappedByteBuffer segment = segments[row / rowsPerSegment];
+        segment.asFloatBuffer().get(offset(row, 0) / Float.BYTES, target, 0, columns);
+    }
+
+    @Override
+    public void close() {
+        // Les segments ne sont plus accessibles : démappés au prochain GC qui les collecte
+        segments = null;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de fermer la matrice de scores mappée", e);
+        }
+    }
+
+    private int offset(int row, int column) {
+        return ((row % rowsPerSegment) * columns + column) * Float.BYTES;
+    }
+}
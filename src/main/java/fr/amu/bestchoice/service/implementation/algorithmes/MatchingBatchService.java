@@ -0,0 +1,115 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+import fr.amu.bestchoice.repository.MatchingCampaignRepository;
+import fr.amu.bestchoice.web.dto.matching.MatchingBatchRunRequest;
+import fr.amu.bestchoice.web.dto.matching.MatchingBatchRunResult;
+import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lancement du matching sur plusieurs campagnes (début de semestre).
+ *
+ * - les campagnes sont sélectionnées par enseignant / année / semestre
+ * - exécution parallèle bornée (app.matching.batch.max-parallelism)
+ * - un seul {@link MatchingDictionary} partagé : skills, keywords et profils encodés une fois
+ * - chaque campagne tourne dans sa propre transaction via {@link MatchingContextService}
+ * - une campagne en échec n'interrompt pas les autres
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchingBatchService {
+
+    private final MatchingCampaignRepository campaignRepository;
+    private final MatchingContextService matchingContextService;
+
+    @Value("${app.matching.batch.max-parallelism:0}")
+    private int maxParallelism;
+
+    public MatchingBatchRunResult runBatch(MatchingBatchRunRequest request) {
+        if (request == null || !request.hasFilter()) {
+            throw new BusinessException("Au moins un filtre (enseignant, année universitaire ou semestre) est obligatoire");
+        }
+
+        String academicYear = (request.academicYear() == null || request.academicYear().isBlank()) ? null : request.academicYear();
+        List<Long> campaignIds = campaignRepository.findIdsForBatch(request.teacherId(), academicYear, request.semester());
+
+        log.info("Batch de matching : {} campagne(s) (teacherId={}, année={}, semestre={})",
+                campaignIds.size(), request.teacherId(), academicYear, request.semester());
+
+        return runAll(campaignIds);
+    }
+
+    public MatchingBatchRunResult runAll(List<Long> campaignIds) {
+        Instant start = Instant.now();
+
+        if (campaignIds.isEmpty()) {
+            return new MatchingBatchRunResult(List.of(), List.of(), 0, start, Instant.now());
+        }
+
+        int parallelism = Math.min(resolveParallelism(), campaignIds.size());
+        MatchingDictionary dictionary = new MatchingDictionary();
+
+        List<MatchingRunResult> runs = new ArrayList<>();
+        List<MatchingBatchRunResult.Failure> failures = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadFactory());
+        try {
+            Map<Long, Future<MatchingRunResult>> futures = new LinkedHashMap<>();
+            for (Long campaignId : campaignIds) {
+                futures.put(campaignId, executor.submit(() -> matchingContextService.run(campaignId, dictionary)));
+            }
+
+            for (Map.Entry<Long, Future<MatchingRunResult>> entry : futures.entrySet()) {
+                try {
+                    runs.add(entry.getValue().get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("Échec du matching pour la campagne {} : {}", entry.getKey(), cause.getMessage());
+                    failures.add(new MatchingBatchRunResult.Failure(entry.getKey(), cause.getMessage()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Batch de matching interrompu", e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        MatchingBatchRunResult result = new MatchingBatchRunResult(runs, failures, parallelism, start, Instant.now());
+        log.info("Batch de matching terminé : {} succès, {} échec(s), {} ms (séquentiel cumulé : {} ms)",
+                runs.size(), failures.size(), result.wallDuration().toMillis(), result.sequentialDuration().toMillis());
+        return result;
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private int resolveParallelism() {
+        return maxParallelism > 0 ? maxParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    private ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "matching-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -1,29 +1,111 @@
 package fr.amu.bestchoice.service.implementation.algorithmes;
 
 import fr.amu.bestchoice.model.entity.MatchingCampaign;
+import fr.amu.bestchoice.model.entity.MatchingCampaignType;
+import fr.amu.bestchoice.model.entity.Project;
 import fr.amu.bestchoice.model.entity.Student;
+import fr.amu.bestchoice.model.entity.Subject;
 import fr.amu.bestchoice.repository.MatchingCampaignRepository;
+import fr.amu.bestchoice.repository.ProjectRepository;
+import fr.amu.bestchoice.repository.StudentRepository;
+import fr.amu.bestchoice.repository.SubjectRepository;
+import fr.amu.bestchoice.service.implementation.campaign.MatchingCampaignService;
+import fr.amu.bestchoice.service.implementation.matching.MatchingResultsChangedEvent;
 import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
 import fr.amu.bestchoice.web.exception.BusinessException;
 import fr.amu.bestchoice.web.exception.NotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
+/**
+ * Point d'entrée du matching d'une campagne.
+ *
+ * Single-flight par campagne : si un run est déjà en cours pour la même campagne,
+ * le second appelant attend ce run et reçoit le même {@link MatchingRunResult}
+ * au lieu de relancer une suppression / réinsertion concurrente des résultats.
+ * Le résultat n'est publié qu'après le commit de la transaction.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MatchingContextService {
 
+    static final String COALESCED_METRIC = "bestchoice.matching.run.coalesced";
+
     private final MatchingCampaignRepository campaignRepository;
+    private final StudentRepository studentRepository;
+    private final ProjectRepository projectRepository;
+    private final SubjectRepository subjectRepository;
     private final List<MatchingStrategy> strategies;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, CompletableFuture<MatchingRunResult>> inFlight = new ConcurrentHashMap<>();
 
-    @Transactional
     public MatchingRunResult run(Long campaignId) {
+        return run(campaignId, new MatchingDictionary());
+    }
+
+    /**
+     * Lance le matching d'une campagne en réutilisant un dictionnaire partagé (mode batch).
+     * Chaque run s'exécute dans sa propre transaction.
+     */
+    public MatchingRunResult run(Long campaignId, MatchingDictionary dictionary) {
+        CompletableFuture<MatchingRunResult> mine = new CompletableFuture<>();
+        CompletableFuture<MatchingRunResult> existing = inFlight.putIfAbsent(campaignId, mine);
+
+        if (existing != null) {
+            log.info("Matching déjà en cours pour la campagne {} : rattachement au run existant", campaignId);
+            meterRegistry.counter(COALESCED_METRIC).increment();
+            return await(existing);
+        }
+
+        try {
+            MatchingRunResult result = transactionTemplate.execute(status -> execute(campaignId, dictionary));
+            mine.complete(result);
+            return result;
+        } catch (Throwable t) {
+            // Toute sortie anormale (y compris une Error) doit libérer les appelants rattachés
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            inFlight.remove(campaignId, mine);
+        }
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private MatchingRunResult await(CompletableFuture<MatchingRunResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private MatchingRunResult execute(Long campaignId, MatchingDictionary dictionary) {
         MatchingCampaign campaign = campaignRepository.findById(campaignId)
                 .orElseThrow(() -> new NotFoundException("Campagne introuvable : " + campaignId));
+        fetchMatchingGraph(campaign);
 
         if (campaign.getAlgorithmType() == MatchingAlgorithmType.STABLE) {
             validateStableMatchingReadiness(campaign);
@@ -34,7 +116,52 @@ public class MatchingContextService {
                 .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Algorithme non supporté"));
 
-        return strategy.execute(campaign);
+        MatchingRunResult result = strategy.execute(campaign, dictionary);
+        // Traité après commit : invalide les vues de résultats en cache pour cette campagne
+        eventPublisher.publishEvent(new MatchingResultsChangedEvent(campaignId));
+        return result;
+    }
+
+    /**
+     * Plan de chargement du run : participants, vœux et profils (compétences, intérêts, types de travail)
+     * sont initialisés par lots, une requête par collection, au lieu d'une requête par étudiant ou item.
+     * Les listes IN sont découpées en tranches de {@value MatchingCampaignService#ENROLMENT_CHUNK} IDs.
+     */
+    private void fetchMatchingGraph(MatchingCampaign campaign) {
+        List<Long> campaignIds = List.of(campaign.getId());
+        campaignRepository.fetchStudents(campaignIds);
+
+        List<Long> studentIds = campaign.getStudents().stream().map(Student::getId).toList();
+        inChunks(studentIds, ids -> {
+            studentRepository.fetchPreferences(ids);
+            studentRepository.fetchSkills(ids);
+            studentRepository.fetchInterests(ids);
+            studentRepository.fetchPreferredWorkTypes(ids);
+        });
+
+        if (campaign.getCampaignType() == MatchingCampaignType.PROJECT) {
+            campaignRepository.fetchProjects(campaignIds);
+            List<Long> projectIds = campaign.getProjects().stream().map(Project::getId).toList();
+            inChunks(projectIds, ids -> {
+                projectRepository.fetchRequiredSkills(ids);
+                projectRepository.fetchKeywords(ids);
+                projectRepository.fetchWorkTypes(ids);
+            });
+        } else {
+            campaignRepository.fetchSubjects(campaignIds);
+            List<Long> subjectIds = campaign.getSubjects().stream().map(Subject::getId).toList();
+            inChunks(subjectIds, ids -> {
+                subjectRepository.fetchRequiredSkills(ids);
+                subjectRepository.fetchKeywords(ids);
+                subjectRepository.fetchWorkTypes(ids);
+            });
+        }
+    }
+
+    private static void inChunks(List<Long> ids, Consumer<List<Long>> fetch) {
+        for (int from = 0; from < ids.size(); from += MatchingCampaignService.ENROLMENT_CHUNK) {
+            fetch.accept(ids.subList(from, Math.min(from + MatchingCampaignService.ENROLMENT_CHUNK, ids.size())));
+        }
     }
 
     private void validateStableMatchingReadiness(MatchingCampaign campaign) {
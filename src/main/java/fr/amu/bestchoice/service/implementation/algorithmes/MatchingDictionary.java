@@ -0,0 +1,120 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+import fr.amu.bestchoice.model.entity.*;
+import fr.amu.bestchoice.model.enums.WorkType;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Dictionnaire des compétences et mots-clés utilisé pendant un ou plusieurs runs de matching.
+ *
+ * - chaque skill / keyword reçoit un index dense (0, 1, 2...) à sa première rencontre
+ * - les profils encodés des étudiants et des items sont mis en cache par ID
+ *
+ * Partagé entre les campagnes d'un même batch : un étudiant présent dans plusieurs
+ * campagnes n'est encodé qu'une seule fois, et ses collections lazy ne sont plus
+ * relues dans les campagnes suivantes. Thread-safe.
+ */
+public class MatchingDictionary {
+
+    private static final Long UNSAVED_ID = Long.MIN_VALUE;
+
+    private final Map<Long, Integer> skillIndex = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> keywordIndex = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSkill = new AtomicInteger();
+    private final AtomicInteger nextKeyword = new AtomicInteger();
+
+    private final Map<Long, MatchingProfile> students = new ConcurrentHashMap<>();
+    private final Map<Long, MatchingProfile> projects = new ConcurrentHashMap<>();
+    private final Map<Long, MatchingProfile> subjects = new ConcurrentHashMap<>();
+
+    public MatchingProfile student(Student s) {
+        return cached(students, s.getId(), () -> encode(s.getId(), s.getSkills(), s.getInterests(), s.getPreferredWorkTypes()));
+    }
+
+    public MatchingProfile project(Project p) {
+        return cached(projects, p.getId(), () -> encode(p.getId(), p.getRequiredSkills(), p.getKeywords(), p.getWorkTypes()));
+    }
+
+    public MatchingProfile subject(Subject sub) {
+        return cached(subjects, sub.getId(), () -> encode(sub.getId(), sub.getRequiredSkills(), sub.getKeywords(), sub.getWorkTypes()));
+    }
+
+    /**
+     * Profil de l'item concerné (projet si non null, sinon matière).
+     */
+    public MatchingProfile item(Project p, Subject sub) {
+        return p != null ? project(p) : subject(sub);
+    }
+
+    public int skillCount() {
+        return skillIndex.size();
+    }
+
+    public int keywordCount() {
+        return keywordIndex.size();
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    /**
+     * get puis putIfAbsent plutôt que computeIfAbsent : l'encodage peut déclencher
+     * un chargement lazy, on ne le fait pas sous le verrou de la map.
+     */
+    private MatchingProfile cached(Map<Long, MatchingProfile> cache, Long id, Supplier<MatchingProfile> encoder) {
+        if (id == null) {
+            return encoder.get();
+        }
+        MatchingProfile profile = cache.get(id);
+        if (profile != null) {
+            return profile;
+        }
+        MatchingProfile encoded = encoder.get();
+        MatchingProfile existing = cache.putIfAbsent(id, encoded);
+        return existing != null ? existing : encoded;
+    }
+
+    /**
+     * Les entités non persistées (id null) partagent une même clé, comme dans le calcul par Set d'IDs.
+     */
+    private static Long key(Long id) {
+        return id != null ? id : UNSAVED_ID;
+    }
+
+    private MatchingProfile encode(Long id, Collection<Skill> skills, Collection<Keyword> keywords, Collection<WorkType> workTypes) {
+        BitSet skillBits = new BitSet();
+        if (skills != null) {
+            for (Skill skill : skills) {
+                skillBits.set(skillIndex.computeIfAbsent(key(skill.getId()), k -> nextSkill.getAndIncrement()));
+            }
+        }
+
+        BitSet keywordBits = new BitSet();
+        if (keywords != null) {
+            for (Keyword keyword : keywords) {
+                keywordBits.set(keywordIndex.computeIfAbsent(key(keyword.getId()), k -> nextKeyword.getAndIncrement()));
+            }
+        }
+
+        int workTypeMask = 0;
+        if (workTypes != null) {
+            for (WorkType workType : workTypes) {
+                workTypeMask |= 1 << workType.ordinal();
+            }
+        }
+
+        return new MatchingProfile(
+                id,
+                skillBits.toLongArray(),
+                skills != null ? skills.size() : 0,
+                keywordBits.toLongArray(),
+                keywords != null ? keywords.size() : 0,
+                workTypeMask
+        );
+    }
+}
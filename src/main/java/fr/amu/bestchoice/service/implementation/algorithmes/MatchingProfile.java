@@ -0,0 +1,33 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+/**
+ * Profil encodé d'un étudiant ou d'un item (projet / matière) pour le scoring.
+ *
+ * - skills / keywords : bitsets (long[]) indexés par le {@link MatchingDictionary}
+ * - skillCount / keywordCount : taille des collections d'origine (dénominateur du score)
+ * - workTypes : masque de bits sur WorkType.ordinal()
+ *
+ * Les tableaux ne doivent jamais être modifiés après construction :
+ * un même profil est partagé entre plusieurs campagnes exécutées en parallèle.
+ */
+public record MatchingProfile(
+        Long id,
+        long[] skills,
+        int skillCount,
+        long[] keywords,
+        int keywordCount,
+        int workTypes
+) {
+
+    /**
+     * Nombre de bits communs entre deux bitsets, sans allocation.
+     */
+    public static int intersectionCount(long[] a, long[] b) {
+        int count = 0;
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            count += Long.bitCount(a[i] & b[i]);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,99 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+import fr.amu.bestchoice.model.entity.MatchingCampaign;
+import fr.amu.bestchoice.model.entity.MatchingRunSummary;
+import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * Agrège le bilan d'un run au fil des affectations produites par une stratégie.
+ *
+ * Mémoire : un compteur par item et un score par étudiant affecté (pour les quantiles),
+ * indépendamment du nombre de résultats stockés.
+ */
+public class MatchingRunSummaryCollector {
+
+    private final Map<Long, int[]> fills = new TreeMap<>(); // ordre des ids dans le bilan
+    private final Map<Long, String> titles = new HashMap<>();
+    private final Map<Long, Integer> capacities = new HashMap<>();
+
+    private double[] scores = new double[64];
+    private int assigned;
+    private final int[] choiceCounts = new int[5]; // 1er, 2e, 3e, au-delà, hors vœux
+
+    /**
+     * Déclare un item de la campagne (à appeler avant les affectations).
+     */
+    public void item(Long itemId, String title, Integer maxStudents) {
+        fills.put(itemId, new int[1]);
+        titles.put(itemId, title);
+        capacities.put(itemId, maxStudents != null ? maxStudents : 1);
+    }
+
+    /**
+     * Enregistre l'affectation d'un étudiant.
+     *
+     * @param choiceRank rang du vœu correspondant, null si l'item ne fait pas partie de ses vœux
+     */
+    public void assign(Long itemId, BigDecimal score, Integer choiceRank) {
+        int[] fill = fills.get(itemId);
+        if (fill != null) fill[0]++;
+
+        if (assigned == scores.length) scores = Arrays.copyOf(scores, assigned * 2);
+        scores[assigned++] = score != null ? score.doubleValue() : 0d;
+
+        if (choiceRank == null) choiceCounts[4]++;
+        else choiceCounts[Math.min(Math.max(choiceRank, 1), 4) - 1]++;
+    }
+
+    public MatchingRunSummary toSummary(MatchingCampaign campaign, MatchingRunResult run) {
+        double[] sorted = Arrays.copyOf(scores, assigned);
+        Arrays.sort(sorted);
+
+        List<MatchingRunSummary.ItemFill> itemFills = new ArrayList<>(fills.size());
+        fills.forEach((itemId, fill) ->
+                itemFills.add(new MatchingRunSummary.ItemFill(itemId, titles.get(itemId), fill[0], capacities.get(itemId))));
+
+        return MatchingRunSummary.builder()
+                .matchingCampaign(campaign)
+                .algorithmUsed(run.algorithmUsed())
+                .startedAt(run.startedAt())
+                .finishedAt(run.finishedAt())
+                .studentsCount(run.studentsProcessed())
+                .assignedCount(assigned)
+                .unassignedCount(Math.max(0, run.studentsProcessed() - assigned))
+                .firstChoiceCount(choiceCounts[0])
+                .secondChoiceCount(choiceCounts[1])
+                .thirdChoiceCount(choiceCounts[2])
+                .otherChoiceCount(choiceCounts[3])
+                .outsideChoicesCount(choiceCounts[4])
+                .scoreMin(quantile(sorted, 0))
+                .scoreP25(quantile(sorted, 0.25))
+                .scoreMedian(quantile(sorted, 0.5))
+                .scoreP75(quantile(sorted, 0.75))
+                .scoreP90(quantile(sorted, 0.9))
+                .scoreMax(quantile(sorted, 1))
+                .scoreMean(sorted.length == 0 ? null : toScore(Arrays.stream(sorted).average().orElse(0)))
+                .itemFills(itemFills)
+                .build();
+    }
+
+    /**
+     * Quantile par interpolation linéaire entre les deux rangs encadrants.
+     */
+    static BigDecimal quantile(double[] sorted, double q) {
+        if (sorted.length == 0) return null;
+        double position = q * (sorted.length - 1);
+        int lower = (int) Math.floor(position);
+        int upper = (int) Math.ceil(position);
+        double value = sorted[lower] + (sorted[upper] - sorted[lower]) * (position - lower);
+        return toScore(value);
+    }
+
+    private static BigDecimal toScore(double value) {
+        return BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
+    }
+}
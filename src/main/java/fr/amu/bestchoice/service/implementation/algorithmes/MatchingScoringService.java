@@ -55,4 +55,50 @@ public class MatchingScoringService {
         return BigDecimal.valueOf(matchCount)
                 .divide(BigDecimal.valueOf(offered.size()), 4, RoundingMode.HALF_UP);
     }
+
+    // ==================== VERSION ENCODÉE (DICTIONNAIRE) ====================
+
+    /**
+     * Même formule que {@link #computeGlobalScore(Student, Project, Subject, MatchingCampaign)},
+     * calculée sur les profils encodés du dictionnaire (intersections de bitsets, sans Set temporaire).
+     */
+    public BigDecimal computeGlobalScore(Student s, Project p, Subject sub, MatchingCampaign camp, MatchingDictionary dictionary) {
+        MatchingProfile student = dictionary.student(s);
+        MatchingProfile item = dictionary.item(p, sub);
+
+        return skillsScore(student, item).multiply(camp.getSkillsWeight())
+                .add(interestsScore(student, item).multiply(camp.getInterestsWeight()))
+                .add(workTypeScore(student, item).multiply(camp.getWorkTypeWeight()))
+                .setScale(4, RoundingMode.HALF_UP);
+    }
+
+    public BigDecimal computeSkillsScore(Student s, Project p, Subject sub, MatchingDictionary dictionary) {
+        return skillsScore(dictionary.student(s), dictionary.item(p, sub));
+    }
+
+    public BigDecimal computeInterestsScore(Student s, Project p, Subject sub, MatchingDictionary dictionary) {
+        return interestsScore(dictionary.student(s), dictionary.item(p, sub));
+    }
+
+    private BigDecimal skillsScore(MatchingProfile student, MatchingProfile item) {
+        if (item.skillCount() == 0) return new BigDecimal("0.5");
+        int match = MatchingProfile.intersectionCount(student.skills(), item.skills());
+        return ratio(match, item.skillCount());
+    }
+
+    private BigDecimal interestsScore(MatchingProfile student, MatchingProfile item) {
+        if (item.keywordCount() == 0) return new BigDecimal("0.5");
+        int match = MatchingProfile.intersectionCount(student.keywords(), item.keywords());
+        return ratio(match, item.keywordCount());
+    }
+
+    private BigDecimal workTypeScore(MatchingProfile student, MatchingProfile item) {
+        if (student.workTypes() == 0 || item.workTypes() == 0) return new BigDecimal("0.5");
+        int match = Integer.bitCount(student.workTypes() & item.workTypes());
+        return ratio(match, Integer.bitCount(item.workTypes()));
+    }
+
+    private BigDecimal ratio(int match, int total) {
+        return BigDecimal.valueOf(match).divide(BigDecimal.valueOf(total), 4, RoundingMode.HALF_UP);
+    }
 }
@@ -6,6 +6,14 @@ import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
 public interface MatchingStrategy {
 
     MatchingAlgorithmType getAlgorithmType();
-    MatchingRunResult execute(MatchingCampaign campaign);
 
-}
\ No newline at end of file
+    default MatchingRunResult execute(MatchingCampaign campaign) {
+        return execute(campaign, new MatchingDictionary());
+    }
+
+    /**
+     * Exécute l'algorithme en réutilisant un dictionnaire fourni (partagé entre plusieurs campagnes d'un batch).
+     */
+    MatchingRunResult execute(MatchingCampaign campaign, MatchingDictionary dictionary);
+
+}
@@ -0,0 +1,46 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+/**
+ * Matrice dense des scores étudiant × item (projet / matière), stockée en float.
+ *
+ * - row = index de l'étudiant, column = index de l'item
+ * - stockage row-major : le parcours des scores d'un étudiant est séquentiel
+ * - {@link #column(int, float[])} sert aux classements côté item
+ *
+ * Implémentations : {@link HeapScoreMatrix} (tableau Java) et {@link MappedScoreMatrix}
+ * (fichier temporaire mappé hors heap), choisies par {@link ScoreMatrixFactory}.
+ */
+public interface ScoreMatrix extends AutoCloseable {
+
+    int rows();
+
+    int columns();
+
+    float get(int row, int column);
+
+    void set(int row, int column, float value);
+
+    /**
+     * Copie la ligne d'un étudiant dans target (taille >= columns()).
+     */
+    default void row(int row, float[] target) {
+        for (int c = 0; c < columns(); c++) {
+            target[c] = get(row, c);
+        }
+    }
+
+    /**
+     * Copie la colonne d'un item dans target (taille >= rows()).
+     */
+    default void column(int column, float[] target) {
+        for (int r = 0; r < rows(); r++) {
+            target[r] = get(r, column);
+        }
+    }
+
+    /**
+     * Libère les ressources (fichier temporaire pour la version mappée).
+     */
+    @Override
+    void close();
+}
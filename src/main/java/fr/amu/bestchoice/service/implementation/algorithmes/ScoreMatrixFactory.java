@@ -0,0 +1,45 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Choisit l'implémentation de {@link ScoreMatrix} selon la taille de la campagne :
+ * - en dessous du seuil : {@link HeapScoreMatrix}
+ * - au-dessus : {@link MappedScoreMatrix} (fichier temporaire hors heap)
+ *
+ * Une matrice trop grande pour un tableau Java passe hors heap quel que soit le seuil configuré.
+ */
+@Slf4j
+@Component
+public class ScoreMatrixFactory {
+
+    static final long DEFAULT_OFF_HEAP_THRESHOLD_BYTES = 256L * 1024 * 1024;
+
+    @Value("${app.matching.score-matrix.off-heap-threshold-bytes:268435456}")
+    private long offHeapThresholdBytes = DEFAULT_OFF_HEAP_THRESHOLD_BYTES;
+
+    @Value("${app.matching.score-matrix.tmp-dir:${java.io.tmpdir}}")
+    private String tmpDir = System.getProperty("java.io.tmpdir");
+
+    public ScoreMatrix create(int rows, int columns) {
+        if (onHeap(rows, columns)) {
+            return new HeapScoreMatrix(rows, columns);
+        }
+
+        long bytes = (long) rows * columns * Float.BYTES;
+        log.info("Matrice de scores {} x {} ({} Mo) : stockage hors heap dans {}", rows, columns, bytes / (1024 * 1024), tmpDir);
+        return new MappedScoreMatrix(rows, columns, Path.of(tmpDir));
+    }
+
+    /**
+     * Sous le seuil et dans la limite d'un tableau Java.
+     */
+    boolean onHeap(int rows, int columns) {
+        long cells = (long) rows * columns;
+        return cells * Float.BYTES <= offHeapThresholdBytes && cells <= HeapScoreMatrix.MAX_CELLS;
+    }
+}
@@ -3,6 +3,7 @@ package fr.amu.bestchoice.service.implementation.algorithmes;
 import fr.amu.bestchoice.model.entity.*;
 import fr.amu.bestchoice.model.enums.PreferenceStatus;
 import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.repository.MatchingRunSummaryRepository;
 import fr.amu.bestchoice.repository.StudentPreferenceRepository;
 
 import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
 import java.util.*;
 
@@ -19,6 +21,10 @@ import java.util.*;
  * - préférences étudiants: tri des projets par selection manuelle de la part de l'étudiant
  * - préférences projets: tri des étudiants par score Weighted
  *
+ * Les scores sont stockés dans une {@link ScoreMatrix} (étudiant × item) indexée par position,
+ * hors heap au-delà du seuil configuré pour les très grosses campagnes.
+ *
+ * Le bilan du run ({@link MatchingRunSummary}) est agrégé à partir des affectations finales.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,6 +33,8 @@ public class StableMatchingStrategy implements MatchingStrategy {
     private final MatchingResultRepository resultRepository;
     private final MatchingScoringService scoringService;
     private final StudentPreferenceRepository preferenceRepository;
+    private final ScoreMatrixFactory scoreMatrixFactory;
+    private final MatchingRunSummaryRepository summaryRepository;
 
     @Override
     public MatchingAlgorithmType getAlgorithmType() {
@@ -35,112 +43,162 @@ public class StableMatchingStrategy implements MatchingStrategy {
 
     @Override
     @Transactional
-    public MatchingRunResult execute(MatchingCampaign campaign) {
+    public MatchingRunResult execute(MatchingCampaign campaign, MatchingDictionary dictionary) {
         Instant start = Instant.now();
 
         resultRepository.deleteByMatchingCampaignId(campaign.getId());
+        summaryRepository.deleteByMatchingCampaignId(campaign.getId());
+
+        boolean isProject = campaign.getCampaignType() == MatchingCampaignType.PROJECT;
+        List<Student> students = new ArrayList<>(campaign.getStudents());
+        List<Project> projects = isProject ? new ArrayList<>(campaign.getProjects()) : List.of();
+        List<Subject> subjects = isProject ? List.of() : new ArrayList<>(campaign.getSubjects());
+        int itemCount = isProject ? projects.size() : subjects.size();
+
+        // Index ID -> position dans la matrice
+        Map<Long, Integer> itemColumns = new HashMap<>();
+        int[] capacities = new int[itemCount];
+        MatchingRunSummaryCollector summary = new MatchingRunSummaryCollector();
+        for (int c = 0; c < itemCount; c++) {
+            Long itemId = isProject ? projects.get(c).getId() : subjects.get(c).getId();
+            Integer max = isProject ? projects.get(c).getMaxStudents() : subjects.get(c).getMaxStudents();
+            itemColumns.put(itemId, c);
+            capacities[c] = max != null ? max : 1;
+            summary.item(itemId, isProject ? projects.get(c).getTitle() : subjects.get(c).getTitle(), max);
+        }
 
-        Map<Long, Map<Long, BigDecimal>> itemScores = new HashMap<>();
-        Map<Long, Deque<Long>> studentChoices = new HashMap<>();
-
-        initializeData(campaign, itemScores, studentChoices);
+        List<MatchingResult> toSave;
+        try (ScoreMatrix scores = scoreMatrixFactory.create(students.size(), itemCount)) {
+            List<Deque<Integer>> studentChoices = initializeData(campaign, students, projects, subjects, itemColumns, scores, dictionary);
 
-        // assignments : Map<ItemID, List<StudentID>>
-        Map<Long, List<Long>> assignments = new HashMap<>();
-        Queue<Long> freeStudents = new LinkedList<>(studentChoices.keySet());
+            // assignments : colonne item -> lignes étudiants acceptés
+            Map<Integer, List<Integer>> assignments = new HashMap<>();
+            Queue<Integer> freeStudents = new LinkedList<>();
+            for (int row = 0; row < students.size(); row++) freeStudents.add(row);
 
-        while (!freeStudents.isEmpty()) {
-            Long sId = freeStudents.poll();
-            Deque<Long> choices = studentChoices.get(sId);
+            while (!freeStudents.isEmpty()) {
+                int row = freeStudents.poll();
+                Deque<Integer> choices = studentChoices.get(row);
 
-            if (choices == null || choices.isEmpty()) continue;
+                if (choices.isEmpty()) continue;
 
-            Long itemId = choices.poll();
-            List<Long> currentAccepted = assignments.computeIfAbsent(itemId, k -> new ArrayList<>());
-            int capacity = getCapacity(itemId, campaign);
+                int column = choices.poll();
+                List<Integer> currentAccepted = assignments.computeIfAbsent(column, k -> new ArrayList<>());
 
-            if (currentAccepted.size() < capacity) {
-                currentAccepted.add(sId);
-            } else {
-                // On trouve l'étudiant actuellement accepté ayant le moins bon score weighted
-                Long worstStudentId = currentAccepted.stream()
-                        .min(Comparator.comparing(id -> itemScores.get(itemId).get(id)))
-                        .orElse(null);
-
-                BigDecimal newScore = itemScores.get(itemId).get(sId);
-                BigDecimal worstScore = itemScores.get(itemId).get(worstStudentId);
-
-                if (newScore.compareTo(worstScore) > 0) {
-                    currentAccepted.remove(worstStudentId);
-                    currentAccepted.add(sId);
-                    freeStudents.add(worstStudentId);
+                if (currentAccepted.size() < capacities[column]) {
+                    currentAccepted.add(row);
                 } else {
-                    freeStudents.add(sId);
+                    // On trouve l'étudiant actuellement accepté ayant le moins bon score weighted
+                    int worstRow = currentAccepted.get(0);
+                    for (int accepted : currentAccepted) {
+                        if (scores.get(accepted, column) < scores.get(worstRow, column)) worstRow = accepted;
+                    }
+
+                    if (scores.get(row, column) > scores.get(worstRow, column)) {
+                        currentAccepted.remove(Integer.valueOf(worstRow));
+                        currentAccepted.add(row);
+                        freeStudents.add(worstRow);
+                    } else {
+                        freeStudents.add(row);
+                    }
                 }
             }
-        }
 
-        List<MatchingResult> toSave = buildFinalResults(assignments, campaign, itemScores);
+            toSave = buildFinalResults(assignments, campaign, students, projects, subjects, scores, dictionary);
+        }
         resultRepository.saveAll(toSave);
 
         // Mettre à jour les statuts : ACCEPTED pour les étudiants assignés
         updatePreferenceStatuses(toSave, campaign);
 
-        return new MatchingRunResult(
+        for (MatchingResult r : toSave) {
+            Long itemId = isProject ? r.getProject().getId() : r.getSubject().getId();
+            summary.assign(itemId, r.getGlobalScore(), choiceRank(r.getStudent(), itemId, campaign));
+        }
+
+        MatchingRunResult run = new MatchingRunResult(
                 campaign.getId(),
                 MatchingAlgorithmType.STABLE,
-                campaign.getStudents().size(),
+                students.size(),
                 toSave.size(),
                 start,
                 Instant.now()
         );
+        summaryRepository.save(summary.toSummary(campaign, run));
+        return run;
+    }
+
+    /**
+     * Rang du vœu de l'étudiant pour cet item dans la campagne (préférences déjà chargées).
+     */
+    private Integer choiceRank(Student student, Long itemId, MatchingCampaign campaign) {
+        boolean isProject = campaign.getCampaignType() == MatchingCampaignType.PROJECT;
+        return student.getPreferences().stream()
+                .filter(p -> p.getMatchingCampaign().getId().equals(campaign.getId()))
+                .filter(p -> isProject
+                        ? p.getProject() != null && itemId.equals(p.getProject().getId())
+                        : p.getSubject() != null && itemId.equals(p.getSubject().getId()))
+                .map(StudentPreference::getRank)
+                .findFirst()
+                .orElse(null);
     }
 
-    private void initializeData(MatchingCampaign camp, Map<Long, Map<Long, BigDecimal>> itemScores, Map<Long, Deque<Long>> studentChoices) {
+    /**
+     * Remplit la matrice ligne par ligne et construit la liste ordonnée des vœux de chaque étudiant
+     * (en colonnes de la matrice ; les vœux hors campagne sont ignorés).
+     */
+    private List<Deque<Integer>> initializeData(MatchingCampaign camp, List<Student> students, List<Project> projects,
+                                                List<Subject> subjects, Map<Long, Integer> itemColumns,
+                                                ScoreMatrix scores, MatchingDictionary dictionary) {
         boolean isProject = camp.getCampaignType() == MatchingCampaignType.PROJECT;
+        List<Deque<Integer>> studentChoices = new ArrayList<>(students.size());
 
-        if (isProject) camp.getProjects().forEach(p -> itemScores.put(p.getId(), new HashMap<>()));
-        else camp.getSubjects().forEach(s -> itemScores.put(s.getId(), new HashMap<>()));
+        for (int row = 0; row < students.size(); row++) {
+            Student s = students.get(row);
 
-        for (Student s : camp.getStudents()) {
-            Deque<Long> choices = new ArrayDeque<>();
+            Deque<Integer> choices = new ArrayDeque<>();
             s.getPreferences().stream()
                     .filter(p -> p.getMatchingCampaign().getId().equals(camp.getId()))
                     .sorted(Comparator.comparing(StudentPreference::getRank))
-                    .forEach(p -> choices.add(isProject ? p.getProject().getId() : p.getSubject().getId()));
-            studentChoices.put(s.getId(), choices);
+                    .map(p -> itemColumns.get(isProject ? p.getProject().getId() : p.getSubject().getId()))
+                    .filter(Objects::nonNull)
+                    .forEach(choices::add);
+            studentChoices.add(choices);
 
             if (isProject) {
-                for (Project p : camp.getProjects()) {
-                    itemScores.get(p.getId()).put(s.getId(), scoringService.computeGlobalScore(s, p, null, camp));
+                for (int c = 0; c < projects.size(); c++) {
+                    scores.set(row, c, scoringService.computeGlobalScore(s, projects.get(c), null, camp, dictionary).floatValue());
                 }
             } else {
-                for (Subject sub : camp.getSubjects()) {
-                    itemScores.get(sub.getId()).put(s.getId(), scoringService.computeGlobalScore(s, null, sub, camp));
+                for (int c = 0; c < subjects.size(); c++) {
+                    scores.set(row, c, scoringService.computeGlobalScore(s, null, subjects.get(c), camp, dictionary).floatValue());
                 }
             }
         }
+        return studentChoices;
     }
 
-    private List<MatchingResult> buildFinalResults(Map<Long, List<Long>> assignments, MatchingCampaign camp, Map<Long, Map<Long, BigDecimal>> itemScores) {
+    private List<MatchingResult> buildFinalResults(Map<Integer, List<Integer>> assignments, MatchingCampaign camp,
+                                                   List<Student> students, List<Project> projects, List<Subject> subjects,
+                                                   ScoreMatrix scores, MatchingDictionary dictionary) {
         List<MatchingResult> results = new ArrayList<>();
         boolean isProject = camp.getCampaignType() == MatchingCampaignType.PROJECT;
 
-        assignments.forEach((itemId, studentIds) -> {
-            for (Long sId : studentIds) {
-                Student student = camp.getStudents().stream().filter(s -> s.getId().equals(sId)).findFirst().orElse(null);
-                Project project = isProject ? camp.getProjects().stream().filter(p -> p.getId().equals(itemId)).findFirst().orElse(null) : null;
-                Subject subject = !isProject ? camp.getSubjects().stream().filter(s -> s.getId().equals(itemId)).findFirst().orElse(null) : null;
+        assignments.forEach((column, rows) -> {
+            for (int row : rows) {
+                Student student = students.get(row);
+                Project project = isProject ? projects.get(column) : null;
+                Subject subject = !isProject ? subjects.get(column) : null;
 
-                BigDecimal sScore = scoringService.computeSkillsScore(student, project, subject);
-                BigDecimal iScore = scoringService.computeInterestsScore(student, project, subject);
+                BigDecimal sScore = scoringService.computeSkillsScore(student, project, subject, dictionary);
+                BigDecimal iScore = scoringService.computeInterestsScore(student, project, subject, dictionary);
 
                 results.add(MatchingResult.builder()
                         .matchingCampaign(camp)
                         .student(student)
                         .project(project)
                         .subject(subject)
-                        .globalScore(itemScores.get(itemId).get(sId))
+                        .globalScore(toScore(scores.get(row, column)))
                         .skillsScore(sScore)
                         .interestsScore(iScore)
                         .skillsWeight(camp.getSkillsWeight())
@@ -153,36 +211,37 @@ public class StableMatchingStrategy implements MatchingStrategy {
         return results;
     }
 
+    /**
+     * Les scores sont calculés à 4 décimales : le float stocké redonne exactement la même valeur.
+     */
+    private BigDecimal toScore(float value) {
+        return new BigDecimal(Float.toString(value)).setScale(4, RoundingMode.HALF_UP);
+    }
+
     /**
      * Met à jour le statut des préférences pour les étudiants acceptés (Stable Matching).
      * ACCEPTED = étudiant définitivement assigné à ce projet/matière.
+     * Une seule requête pour charger les préférences des étudiants assignés (au lieu d'une par résultat).
      */
     private void updatePreferenceStatuses(List<MatchingResult> assignedResults, MatchingCampaign campaign) {
-        Long campaignId = campaign.getId();
-        assignedResults.forEach(r -> {
-            Long studentId = r.getStudent().getId();
-            if (r.getProject() != null) {
-                preferenceRepository
-                    .findByStudentIdAndProjectIdAndMatchingCampaignId(studentId, r.getProject().getId(), campaignId)
-                    .ifPresent(pref -> {
-                        pref.setStatus(PreferenceStatus.ACCEPTED);
-                        preferenceRepository.save(pref);
-                    });
-            } else if (r.getSubject() != null) {
-                preferenceRepository
-                    .findByStudentIdAndSubjectIdAndMatchingCampaignId(studentId, r.getSubject().getId(), campaignId)
-                    .ifPresent(pref -> {
-                        pref.setStatus(PreferenceStatus.ACCEPTED);
-                        preferenceRepository.save(pref);
-                    });
+        Map<Long, Long> assignedItemByStudent = new HashMap<>();
+        for (MatchingResult r : assignedResults) {
+            Long itemId = r.getProject() != null ? r.getProject().getId()
+                    : r.getSubject() != null ? r.getSubject().getId() : null;
+            if (itemId != null) assignedItemByStudent.put(r.getStudent().getId(), itemId);
+        }
+        if (assignedItemByStudent.isEmpty()) return;
+
+        List<StudentPreference> accepted = new ArrayList<>();
+        for (StudentPreference pref : preferenceRepository.findByMatchingCampaignIdAndStudentIdIn(
+                campaign.getId(), assignedItemByStudent.keySet())) {
+            Long itemId = pref.getProject() != null ? pref.getProject().getId()
+                    : pref.getSubject() != null ? pref.getSubject().getId() : null;
+            if (itemId != null && itemId.equals(assignedItemByStudent.get(pref.getStudent().getId()))) {
+                pref.setStatus(PreferenceStatus.ACCEPTED);
+                accepted.add(pref);
             }
-        });
-    }
-
-    private int getCapacity(Long itemId, MatchingCampaign camp) {
-        if (camp.getCampaignType() == MatchingCampaignType.PROJECT) {
-            return camp.getProjects().stream().filter(p -> p.getId().equals(itemId)).findFirst().map(Project::getMaxStudents).orElse(1);
         }
-        return camp.getSubjects().stream().filter(s -> s.getId().equals(itemId)).findFirst().map(Subject::getMaxStudents).orElse(1);
+        preferenceRepository.saveAll(accepted);
     }
-}
\ No newline at end of file
+}
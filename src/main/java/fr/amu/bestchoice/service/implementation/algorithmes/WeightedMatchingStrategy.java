@@ -3,9 +3,12 @@ package fr.amu.bestchoice.service.implementation.algorithmes;
 import fr.amu.bestchoice.model.entity.*;
 import fr.amu.bestchoice.model.enums.PreferenceStatus;
 import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.repository.MatchingRunSummaryRepository;
 import fr.amu.bestchoice.repository.StudentPreferenceRepository;
 import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,98 +20,147 @@ import java.util.*;
  * Weighted Matching:
  * - calcule score(E,P) = wSkills*skills + wInterests*interests + wWorkType*workType
  * - sort décroissant, stocke recommendationRank
+ *
+ * Les étudiants sont traités par lots (app.matching.weighted.chunk-size) : chaque lot est
+ * sauvegardé, puis le contexte de persistance est flushé et vidé. La mémoire reste bornée
+ * à un lot de résultats, quelle que soit la taille de la campagne.
+ *
+ * Le bilan du run ({@link MatchingRunSummary}) est agrégé lot par lot, avant chaque clear(),
+ * en retenant la meilleure recommandation (rank 1) de chaque étudiant.
  */
 @Service
 @RequiredArgsConstructor
 public class WeightedMatchingStrategy implements MatchingStrategy {
 
+    private static final int DEFAULT_CHUNK_SIZE = 200;
+
     private final MatchingResultRepository resultRepository;
     private final MatchingScoringService scoringService;
     private final StudentPreferenceRepository preferenceRepository;
+    private final EntityManager entityManager;
+    private final MatchingRunSummaryRepository summaryRepository;
+
+    @Value("${app.matching.weighted.chunk-size:200}")
+    private int chunkSize;
 
     @Override
     public MatchingAlgorithmType getAlgorithmType() { return MatchingAlgorithmType.WEIGHTED; }
 
     @Override
     @Transactional
-    public MatchingRunResult execute(MatchingCampaign campaign) {
+    public MatchingRunResult execute(MatchingCampaign campaign, MatchingDictionary dictionary) {
         Instant start = Instant.now();
 
         resultRepository.deleteByMatchingCampaignId(campaign.getId());
+        summaryRepository.deleteByMatchingCampaignId(campaign.getId());
+
+        boolean isProject = campaign.getCampaignType() == MatchingCampaignType.PROJECT;
+        List<Student> students = new ArrayList<>(campaign.getStudents());
+        List<Project> projects = isProject ? new ArrayList<>(campaign.getProjects()) : List.of();
+        List<Subject> subjects = isProject ? List.of() : new ArrayList<>(campaign.getSubjects());
+        int itemsCount = isProject ? projects.size() : subjects.size();
+
+        // Encodage de tous les profils tant que les entités sont attachées :
+        // après le premier clear(), les collections lazy ne sont plus accessibles.
+        students.forEach(dictionary::student);
+        projects.forEach(dictionary::project);
+        subjects.forEach(dictionary::subject);
+
+        MatchingRunSummaryCollector summary = new MatchingRunSummaryCollector();
+        projects.forEach(p -> summary.item(p.getId(), p.getTitle(), p.getMaxStudents()));
+        subjects.forEach(s -> summary.item(s.getId(), s.getTitle(), s.getMaxStudents()));
+
+        int size = chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+        for (int from = 0; from < students.size(); from += size) {
+            List<Student> chunk = students.subList(from, Math.min(from + size, students.size()));
+            List<MatchingResult> chunkResults = new ArrayList<>(chunk.size() * itemsCount);
+
+            for (Student student : chunk) {
+                List<MatchingResult> studentResults = new ArrayList<>(itemsCount);
+
+                for (Project p : projects) {
+                    studentResults.add(buildResult(student, p, null, campaign, dictionary));
+                }
+                for (Subject s : subjects) {
+                    studentResults.add(buildResult(student, null, s, campaign, dictionary));
+                }
 
-        List<MatchingResult> allResults = new ArrayList<>();
-        int itemsCount = 0;
+                studentResults.sort((a, b) -> b.getGlobalScore().compareTo(a.getGlobalScore()));
+                for (int i = 0; i < studentResults.size(); i++) {
+                    studentResults.get(i).setRecommendationRank(i + 1);
+                }
+                chunkResults.addAll(studentResults);
+            }
 
-        for (Student student : campaign.getStudents()) {
-            List<MatchingResult> studentResults = new ArrayList<>();
+            resultRepository.saveAll(chunkResults);
 
-            if (campaign.getCampaignType() == MatchingCampaignType.PROJECT) {
-                itemsCount = campaign.getProjects().size();
-                for (Project p : campaign.getProjects()) {
-                    studentResults.add(buildResult(student, p, null, campaign));
-                }
-            } else {
-                itemsCount = campaign.getSubjects().size();
-                for (Subject s : campaign.getSubjects()) {
-                    studentResults.add(buildResult(student, null, s, campaign));
+            // Mettre à jour le statut des préférences : ACCEPTED pour le meilleur match (rank 1)
+            Map<Long, Integer> choiceRanks = updatePreferenceStatuses(chunk, chunkResults, campaign);
+            for (MatchingResult r : chunkResults) {
+                if (r.getRecommendationRank() == 1) {
+                    summary.assign(itemId(r), r.getGlobalScore(), choiceRanks.get(r.getStudent().getId()));
                 }
             }
 
-            studentResults.sort((a, b) -> b.getGlobalScore().compareTo(a.getGlobalScore()));
-            for (int i = 0; i < studentResults.size(); i++) {
-                studentResults.get(i).setRecommendationRank(i + 1);
-            }
-            allResults.addAll(studentResults);
+            entityManager.flush();
+            entityManager.clear();
         }
 
-        resultRepository.saveAll(allResults);
-
-        // Mettre à jour le statut des préférences : ACCEPTED pour le meilleur match (rank 1)
-        updatePreferenceStatuses(allResults, campaign);
-
-        return new MatchingRunResult(
+        MatchingRunResult run = new MatchingRunResult(
                 campaign.getId(),
                 MatchingAlgorithmType.WEIGHTED,
-                campaign.getStudents().size(),
+                students.size(),
                 itemsCount,
                 start,
                 Instant.now()
         );
+        summaryRepository.save(summary.toSummary(campaign, run));
+        return run;
     }
 
     /**
-     * Met à jour le statut des préférences :
+     * Met à jour le statut des préférences d'un lot d'étudiants :
      * - ACCEPTED pour le meilleur résultat de matching (rank 1) de chaque étudiant
      * - Les autres préférences restent PENDING
+     * Une seule requête par lot pour charger les préférences concernées.
+     *
+     * @return rang du vœu correspondant au meilleur match, par étudiant (absent si hors vœux)
      */
-    private void updatePreferenceStatuses(List<MatchingResult> allResults, MatchingCampaign campaign) {
-        allResults.stream()
-            .filter(r -> r.getRecommendationRank() != null && r.getRecommendationRank() == 1)
-            .forEach(r -> {
-                Long studentId = r.getStudent().getId();
-                Long campaignId = campaign.getId();
-                if (r.getProject() != null) {
-                    preferenceRepository
-                        .findByStudentIdAndProjectIdAndMatchingCampaignId(studentId, r.getProject().getId(), campaignId)
-                        .ifPresent(pref -> {
-                            pref.setStatus(PreferenceStatus.ACCEPTED);
-                            preferenceRepository.save(pref);
-                        });
-                } else if (r.getSubject() != null) {
-                    preferenceRepository
-                        .findByStudentIdAndSubjectIdAndMatchingCampaignId(studentId, r.getSubject().getId(), campaignId)
-                        .ifPresent(pref -> {
-                            pref.setStatus(PreferenceStatus.ACCEPTED);
-                            preferenceRepository.save(pref);
-                        });
-                }
-            });
+    private Map<Long, Integer> updatePreferenceStatuses(List<Student> chunk, List<MatchingResult> chunkResults, MatchingCampaign campaign) {
+        Map<Long, Long> topItemByStudent = new HashMap<>();
+        for (MatchingResult r : chunkResults) {
+            if (r.getRecommendationRank() != null && r.getRecommendationRank() == 1) {
+                topItemByStudent.put(r.getStudent().getId(), itemId(r));
+            }
+        }
+        Map<Long, Integer> choiceRanks = new HashMap<>();
+        if (topItemByStudent.isEmpty()) return choiceRanks;
+
+        List<Long> studentIds = chunk.stream().map(Student::getId).toList();
+        List<StudentPreference> accepted = new ArrayList<>();
+
+        for (StudentPreference pref : preferenceRepository.findByMatchingCampaignIdAndStudentIdIn(campaign.getId(), studentIds)) {
+            Long itemId = pref.getProject() != null ? pref.getProject().getId()
+                    : pref.getSubject() != null ? pref.getSubject().getId() : null;
+            if (itemId != null && itemId.equals(topItemByStudent.get(pref.getStudent().getId()))) {
+                pref.setStatus(PreferenceStatus.ACCEPTED);
+                accepted.add(pref);
+                choiceRanks.put(pref.getStudent().getId(), pref.getRank());
+            }
+        }
+
+        preferenceRepository.saveAll(accepted);
+        return choiceRanks;
+    }
+
+    private Long itemId(MatchingResult r) {
+        return r.getProject() != null ? r.getProject().getId() : r.getSubject().getId();
     }
 
-    private MatchingResult buildResult(Student s, Project p, Subject sub, MatchingCampaign camp) {
-        BigDecimal skillsScore   = scoringService.computeSkillsScore(s, p, sub);
-        BigDecimal interestsScore = scoringService.computeInterestsScore(s, p, sub);
-        BigDecimal globalScore   = scoringService.computeGlobalScore(s, p, sub, camp);
+    private MatchingResult buildResult(Student s, Project p, Subject sub, MatchingCampaign camp, MatchingDictionary dictionary) {
+        BigDecimal skillsScore   = scoringService.computeSkillsScore(s, p, sub, dictionary);
+        BigDecimal interestsScore = scoringService.computeInterestsScore(s, p, sub, dictionary);
+        BigDecimal globalScore   = scoringService.computeGlobalScore(s, p, sub, camp, dictionary);
 
         return MatchingResult.builder()
                 .matchingCampaign(camp)
@@ -124,4 +176,4 @@ public class WeightedMatchingStrategy implements MatchingStrategy {
                 .algorithmUsed(MatchingAlgorithmType.WEIGHTED)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,371 @@
+package fr.amu.bestchoice.service.implementation.algorithmes.snapshot;
+
+import fr.amu.bestchoice.model.entity.*;
+import fr.amu.bestchoice.model.enums.WorkType;
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Format binaire portable des entrées d'une campagne de matching (rejeu hors base).
+ *
+ * Structure (v1) :
+ * <pre>
+ * magic "BCMS" | version | flags (bit 0 = anonymisé)
+ * campagne : id, nom, type, algorithme, 3 poids
+ * dictionnaire skills   : n × (id, nom)
+ * dictionnaire keywords : n × (id, label)
+ * items    : n × (id, capacité, masque workTypes, indexes skills, indexes keywords)
+ * étudiants: n × (id, masque workTypes, indexes skills, indexes keywords, vœux (rang, index item))
+ * </pre>
+ * Entiers en varint, skills / keywords référencés par leur index dans le dictionnaire.
+ * En mode anonymisé, les IDs sont remplacés par des positions (1..n) et les libellés ne sont pas écrits.
+ */
+public final class MatchingSnapshotCodec {
+
+    static final int MAGIC = 0x42434D53; // "BCMS"
+    static final int VERSION = 1;
+    private static final int FLAG_ANONYMIZED = 1;
+
+    private MatchingSnapshotCodec() {
+    }
+
+    // ==================== ÉCRITURE ====================
+
+    /**
+     * Écrit la campagne et ses entrées. Les collections lazy doivent être accessibles (transaction ouverte).
+     */
+    public static void write(MatchingCampaign campaign, boolean anonymize, OutputStream output) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output));
+        boolean isProject = campaign.getCampaignType() == MatchingCampaignType.PROJECT;
+
+        List<Student> students = campaign.getStudents().stream().sorted(Comparator.comparing(Student::getId)).toList();
+        List<Object> items = new ArrayList<>(isProject
+                ? campaign.getProjects().stream().sorted(Comparator.comparing(Project::getId)).toList()
+                : campaign.getSubjects().stream().sorted(Comparator.comparing(Subject::getId)).toList());
+
+        // Dictionnaires : uniquement les skills / keywords réellement utilisés
+        Map<Long, Integer> skillIndex = new LinkedHashMap<>();
+        Map<Long, String> skillNames = new HashMap<>();
+        Map<Long, Integer> keywordIndex = new LinkedHashMap<>();
+        Map<Long, String> keywordLabels = new HashMap<>();
+        for (Object item : items) {
+            register(requiredSkills(item), skillIndex, skillNames);
+            registerKeywords(keywords(item), keywordIndex, keywordLabels);
+        }
+        for (Student s : students) {
+            register(s.getSkills(), skillIndex, skillNames);
+            registerKeywords(s.getInterests(), keywordIndex, keywordLabels);
+        }
+
+        Map<Long, Integer> itemPositions = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            itemPositions.put(itemId(items.get(i)), i);
+        }
+
+        out.writeInt(MAGIC);
+        writeVarInt(out, VERSION);
+        out.writeByte(anonymize ? FLAG_ANONYMIZED : 0);
+
+        writeVarLong(out, anonymize ? 1L : campaign.getId());
+        out.writeUTF(anonymize || campaign.getName() == null ? "" : campaign.getName());
+        out.writeByte(campaign.getCampaignType().ordinal());
+        out.writeByte(campaign.getAlgorithmType().ordinal());
+        writeDecimal(out, campaign.getSkillsWeight());
+        writeDecimal(out, campaign.getInterestsWeight());
+        writeDecimal(out, campaign.getWorkTypeWeight());
+
+        writeDictionary(out, skillIndex, skillNames, anonymize);
+        writeDictionary(out, keywordIndex, keywordLabels, anonymize);
+
+        writeVarInt(out, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Object item = items.get(i);
+            writeVarLong(out, anonymize ? i + 1 : itemId(item));
+            Integer capacity = isProject ? ((Project) item).getMaxStudents() : ((Subject) item).getMaxStudents();
+            writeVarInt(out, capacity != null ? capacity : 1);
+            writeVarInt(out, workTypeMask(isProject ? ((Project) item).getWorkTypes() : ((Subject) item).getWorkTypes()));
+            writeIndexes(out, requiredSkills(item).stream().map(Skill::getId).toList(), skillIndex);
+            writeIndexes(out, keywords(item).stream().map(Keyword::getId).toList(), keywordIndex);
+        }
+
+        writeVarInt(out, students.size());
+        for (int i = 0; i < students.size(); i++) {
+            Student s = students.get(i);
+            writeVarLong(out, anonymize ? i + 1 : s.getId());
+            writeVarInt(out, workTypeMask(s.getPreferredWorkTypes()));
+            writeIndexes(out, nullSafe(s.getSkills()).stream().map(Skill::getId).toList(), skillIndex);
+            writeIndexes(out, nullSafe(s.getInterests()).stream().map(Keyword::getId).toList(), keywordIndex);
+
+            List<StudentPreference> prefs = nullSafe(s.getPreferences()).stream()
+                    .filter(p -> p.getMatchingCampaign() != null && campaign.getId().equals(p.getMatchingCampaign().getId()))
+                    .filter(p -> itemPositions.containsKey(isProject ? idOf(p.getProject()) : idOf(p.getSubject())))
+                    .sorted(Comparator.comparing(StudentPreference::getRank))
+                    .toList();
+            writeVarInt(out, prefs.size());
+            for (StudentPreference p : prefs) {
+                writeVarInt(out, p.getRank());
+                writeVarInt(out, itemPositions.get(isProject ? idOf(p.getProject()) : idOf(p.getSubject())));
+            }
+        }
+
+        out.flush();
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Reconstruit une campagne détachée (aucune base nécessaire), prête à passer dans une MatchingStrategy.
+     */
+    public static MatchingCampaign read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input));
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Fichier de snapshot invalide (en-tête inconnu)");
+        }
+        int version = readVarInt(in);
+        if (version != VERSION) {
+            throw new IOException("Version de snapshot non supportée : " + version);
+        }
+        boolean anonymized = (in.readByte() & FLAG_ANONYMIZED) != 0;
+
+        MatchingCampaign campaign = new MatchingCampaign();
+        campaign.setId(readVarLong(in));
+        String name = in.readUTF();
+        campaign.setName(anonymized || name.isEmpty() ? "snapshot-" + campaign.getId() : name);
+        campaign.setCampaignType(readEnum(in, MatchingCampaignType.values()));
+        campaign.setAlgorithmType(readEnum(in, MatchingAlgorithmType.values()));
+        campaign.setSkillsWeight(readDecimal(in));
+        campaign.setInterestsWeight(readDecimal(in));
+        campaign.setWorkTypeWeight(readDecimal(in));
+        boolean isProject = campaign.getCampaignType() == MatchingCampaignType.PROJECT;
+
+        int skillCount = readVarInt(in);
+        Skill[] skills = new Skill[skillCount];
+        for (int i = 0; i < skillCount; i++) {
+            Skill skill = new Skill();
+            skill.setId(readVarLong(in));
+            skill.setName(anonymized ? "skill-" + (i + 1) : in.readUTF());
+            skills[i] = skill;
+        }
+
+        int keywordCount = readVarInt(in);
+        Keyword[] keywords = new Keyword[keywordCount];
+        for (int i = 0; i < keywordCount; i++) {
+            Keyword keyword = new Keyword();
+            keyword.setId(readVarLong(in));
+            keyword.setLabel(anonymized ? "keyword-" + (i + 1) : in.readUTF());
+            keywords[i] = keyword;
+        }
+
+        int itemCount = readVarInt(in);
+        List<Project> projects = new ArrayList<>();
+        List<Subject> subjects = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            long id = readVarLong(in);
+            int capacity = readVarInt(in);
+            Set<WorkType> workTypes = workTypes(readVarInt(in));
+            Set<Skill> required = readIndexes(in, skills);
+            Set<Keyword> itemKeywords = readIndexes(in, keywords);
+
+            if (isProject) {
+                Project p = new Project();
+                p.setId(id);
+                p.setTitle("project-" + id);
+                p.setMaxStudents(capacity);
+                p.setWorkTypes(workTypes);
+                p.setRequiredSkills(required);
+                p.setKeywords(itemKeywords);
+                projects.add(p);
+            } else {
+                Subject s = new Subject();
+                s.setId(id);
+                s.setTitle("subject-" + id);
+                s.setMaxStudents(capacity);
+                s.setWorkTypes(workTypes);
+                s.setRequiredSkills(required);
+                s.setKeywords(itemKeywords);
+                subjects.add(s);
+            }
+        }
+
+        int studentCount = readVarInt(in);
+        Set<Student> students = new LinkedHashSet<>();
+        for (int i = 0; i < studentCount; i++) {
+            Student student = new Student();
+            student.setId(readVarLong(in));
+            student.setPreferredWorkTypes(workTypes(readVarInt(in)));
+            student.setSkills(readIndexes(in, skills));
+            student.setInterests(readIndexes(in, keywords));
+
+            int prefCount = readVarInt(in);
+            List<StudentPreference> prefs = new ArrayList<>(prefCount);
+            for (int j = 0; j < prefCount; j++) {
+                int rank = readVarInt(in);
+                int position = readIndex(in, itemCount);
+                prefs.add(StudentPreference.builder()
+                        .rank(rank)
+                        .student(student)
+                        .matchingCampaign(campaign)
+                        .project(isProject ? projects.get(position) : null)
+                        .subject(isProject ? null : subjects.get(position))
+                        .build());
+            }
+            student.setPreferences(prefs);
+            students.add(student);
+        }
+
+        campaign.setStudents(students);
+        campaign.setProjects(new LinkedHashSet<>(projects));
+        campaign.setSubjects(new LinkedHashSet<>(subjects));
+        return campaign;
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private static void register(Collection<Skill> skills, Map<Long, Integer> index, Map<Long, String> names) {
+        for (Skill skill : nullSafe(skills)) {
+            if (index.putIfAbsent(skill.getId(), index.size()) == null) {
+                names.put(skill.getId(), skill.getName());
+            }
+        }
+    }
+
+    private static void registerKeywords(Collection<Keyword> keywords, Map<Long, Integer> index, Map<Long, String> labels) {
+        for (Keyword keyword : nullSafe(keywords)) {
+            if (index.putIfAbsent(keyword.getId(), index.size()) == null) {
+                labels.put(keyword.getId(), keyword.getLabel());
+            }
+        }
+    }
+
+    private static void writeDictionary(DataOutputStream out, Map<Long, Integer> index, Map<Long, String> names, boolean anonymize) throws IOException {
+        writeVarInt(out, index.size());
+        for (Map.Entry<Long, Integer> entry : index.entrySet()) {
+            writeVarLong(out, anonymize ? entry.getValue() + 1 : entry.getKey());
+            if (!anonymize) {
+                String name = names.get(entry.getKey());
+                out.writeUTF(name != null ? name : "");
+            }
+        }
+    }
+
+    private static void writeIndexes(DataOutputStream out, List<Long> ids, Map<Long, Integer> index) throws IOException {
+        writeVarInt(out, ids.size());
+        for (Long id : ids) {
+            writeVarInt(out, index.get(id));
+        }
+    }
+
+    private static <T> Set<T> readIndexes(DataInputStream in, T[] dictionary) throws IOException {
+        int count = readVarInt(in);
+        Set<T> values = new HashSet<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            values.add(dictionary[readIndex(in, dictionary.length)]);
+        }
+        return values;
+    }
+
+    /**
+     * Ordinal d'enum écrit sur un octet. Un fichier tronqué ou altéré donne une IOException,
+     * jamais une ArrayIndexOutOfBoundsException.
+     */
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, E[] values) throws IOException {
+        return values[readIndex(in.readUnsignedByte(), values.length)];
+    }
+
+    private static int readIndex(DataInputStream in, int size) throws IOException {
+        return readIndex(readVarInt(in), size);
+    }
+
+    private static int readIndex(int index, int size) throws IOException {
+        if (index < 0 || index >= size) {
+            throw new IOException("Snapshot corrompu : index " + index + " hors limites (" + size + " valeurs)");
+        }
+        return index;
+    }
+
+    private static Set<Skill> requiredSkills(Object item) {
+        return nullSafe(item instanceof Project p ? p.getRequiredSkills() : ((Subject) item).getRequiredSkills());
+    }
+
+    private static Set<Keyword> keywords(Object item) {
+        return nullSafe(item instanceof Project p ? p.getKeywords() : ((Subject) item).getKeywords());
+    }
+
+    private static Long itemId(Object item) {
+        return item instanceof Project p ? p.getId() : ((Subject) item).getId();
+    }
+
+    private static Long idOf(Project p) {
+        return p != null ? p.getId() : null;
+    }
+
+    private static Long idOf(Subject s) {
+        return s != null ? s.getId() : null;
+    }
+
+    private static int workTypeMask(Collection<WorkType> workTypes) {
+        int mask = 0;
+        for (WorkType workType : nullSafe(workTypes)) {
+            mask |= 1 << workType.ordinal();
+        }
+        return mask;
+    }
+
+    private static Set<WorkType> workTypes(int mask) {
+        Set<WorkType> workTypes = EnumSet.noneOf(WorkType.class);
+        for (WorkType workType : WorkType.values()) {
+            if ((mask & (1 << workType.ordinal())) != 0) workTypes.add(workType);
+        }
+        return workTypes;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        out.writeUTF(value != null ? value.toPlainString() : "0");
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        return new BigDecimal(in.readUTF());
+    }
+
+    private static <T> Set<T> nullSafe(Set<T> values) {
+        return values != null ? values : Set.of();
+    }
+
+    private static <T> Collection<T> nullSafe(Collection<T> values) {
+        return values != null ? values : List.of();
+    }
+
+    private static <T> List<T> nullSafe(List<T> values) {
+        return values != null ? values : List.of();
+    }
+
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint mal formé dans le snapshot");
+    }
+}
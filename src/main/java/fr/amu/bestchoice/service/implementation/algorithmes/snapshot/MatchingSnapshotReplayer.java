@@ -0,0 +1,92 @@
+package fr.amu.bestchoice.service.implementation.algorithmes.snapshot;
+
+import fr.amu.bestchoice.model.entity.MatchingCampaign;
+import fr.amu.bestchoice.model.entity.MatchingResult;
+import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.repository.MatchingRunSummaryRepository;
+import fr.amu.bestchoice.repository.StudentPreferenceRepository;
+import fr.amu.bestchoice.service.implementation.algorithmes.*;
+import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
+import jakarta.persistence.EntityManager;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * Rejoue un snapshot (campagne détachée, cf. {@link MatchingSnapshotCodec}) dans une MatchingStrategy, sans base.
+ *
+ * Les stratégies sont câblées sur des dépôts en mémoire :
+ * - les résultats sauvegardés sont collectés dans {@link ReplayResult#results()}
+ * - les recherches renvoient des valeurs vides, les suppressions ne font rien
+ */
+public class MatchingSnapshotReplayer {
+
+    public record ReplayResult(MatchingRunResult run, List<MatchingResult> results) {
+    }
+
+    /**
+     * Rejoue avec l'algorithme donné (ou celui de la campagne si null).
+     */
+    public ReplayResult replay(MatchingCampaign campaign, MatchingAlgorithmType algorithm) {
+        List<MatchingResult> results = new ArrayList<>();
+        MatchingStrategy strategy = strategy(algorithm != null ? algorithm : campaign.getAlgorithmType(), results);
+        return new ReplayResult(strategy.execute(campaign, new MatchingDictionary()), results);
+    }
+
+    /**
+     * Instancie une stratégie branchée sur des dépôts en mémoire ; les résultats sauvegardés vont dans sink.
+     */
+    public MatchingStrategy strategy(MatchingAlgorithmType algorithm, List<MatchingResult> sink) {
+        MatchingResultRepository resultRepository = inMemory(MatchingResultRepository.class, sink);
+        StudentPreferenceRepository preferenceRepository = inMemory(StudentPreferenceRepository.class, new ArrayList<>());
+        MatchingRunSummaryRepository summaryRepository = inMemory(MatchingRunSummaryRepository.class, new ArrayList<>());
+        MatchingScoringService scoringService = new MatchingScoringService();
+
+        return switch (algorithm) {
+            case WEIGHTED -> new WeightedMatchingStrategy(resultRepository, scoringService, preferenceRepository,
+                    inMemory(EntityManager.class, new ArrayList<>()), summaryRepository);
+            case STABLE -> new StableMatchingStrategy(resultRepository, scoringService, preferenceRepository,
+                    new ScoreMatrixFactory(), summaryRepository);
+        };
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    @SuppressWarnings("unchecked")
+    private static <T, E> T inMemory(Class<T> type, List<E> sink) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "save" -> {
+                    sink.add((E) args[0]);
+                    return args[0];
+                }
+                case "saveAll" -> {
+                    ((Iterable<E>) args[0]).forEach(sink::add);
+                    return args[0];
+                }
+                case "toString" -> {
+                    return "InMemory" + type.getSimpleName();
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                default -> {
+                    return emptyValue(method.getReturnType());
+                }
+            }
+        });
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == Optional.class) return Optional.empty();
+        if (type == List.class || type == Collection.class || type == Iterable.class) return List.of();
+        if (type == Set.class) return Set.of();
+        if (type == boolean.class) return false;
+        if (type == long.class) return 0L;
+        if (type == int.class) return 0;
+        return null;
+    }
+}
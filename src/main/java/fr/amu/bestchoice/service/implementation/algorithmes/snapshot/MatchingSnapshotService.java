@@ -0,0 +1,40 @@
+package fr.amu.bestchoice.service.implementation.algorithmes.snapshot;
+
+import fr.amu.bestchoice.model.entity.MatchingCampaign;
+import fr.amu.bestchoice.repository.MatchingCampaignRepository;
+import fr.amu.bestchoice.web.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Export des entrées d'une campagne au format snapshot (cf. {@link MatchingSnapshotCodec}).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MatchingSnapshotService {
+
+    private final MatchingCampaignRepository campaignRepository;
+
+    public byte[] export(Long campaignId, boolean anonymize) {
+        MatchingCampaign campaign = campaignRepository.findWithDetailsById(campaignId)
+                .orElseThrow(() -> new NotFoundException("Campagne introuvable : " + campaignId));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            MatchingSnapshotCodec.write(campaign, anonymize, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export du snapshot impossible pour la campagne " + campaignId, e);
+        }
+
+        log.info("Snapshot de la campagne {} exporté ({} octets, anonymisé={})", campaignId, out.size(), anonymize);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,357 @@
+package fr.amu.bestchoice.service.implementation.auth;
+
+import fr.amu.bestchoice.model.enums.Role;
+import fr.amu.bestchoice.repository.UserRepository;
+import fr.amu.bestchoice.web.dto.auth.RegisterRequest;
+import fr.amu.bestchoice.web.dto.student.StudentImportResponse;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Import en masse de comptes étudiants depuis un fichier CSV (rentrée universitaire).
+ *
+ * En-tête obligatoire, colonnes dans n'importe quel ordre, séparateur {@code ,} ou {@code ;} :
+ * firstName, lastName, email, password, studentNumber (optionnel).
+ *
+ * Aucune requête par ligne, contrairement à {@link RegisterService} :
+ * 1. lecture en flux, chaque ligne validée comme une inscription (contraintes de RegisterRequest,
+ *    doublons au sein du fichier) ;
+ * 2. unicité des emails et numéros étudiants vérifiée pour tout le lot par requêtes IN ;
+ * 3. hachage des mots de passe sur un pool borné (BCrypt coûte surtout du CPU) ;
+ * 4. insertion des comptes puis des profils étudiants vides par batchs JDBC, dans une transaction.
+ *
+ * Les lignes invalides sont écartées et listées dans le rapport, les autres sont importées.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentImportService {
+
+    static final List<String> REQUIRED_COLUMNS = List.of("firstName", "lastName", "email", "password");
+    static final String STUDENT_NUMBER = "studentNumber";
+
+    /** Nombre maximal de lignes de données par fichier. */
+    static final int MAX_ROWS = 20_000;
+
+    static final int BATCH_SIZE = 500;
+    private static final int IN_CHUNK = 1_000;
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (student_number, first_name, last_name, email, password_hash, active, created_at, role) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_USER_IDS = "SELECT id, email FROM users WHERE email IN (:emails)";
+    private static final String INSERT_STUDENT = "INSERT INTO students (user_id, profile_complete) VALUES (?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Threads de hachage (0 : nombre de processeurs). */
+    @Value("${app.import.hash-parallelism:0}")
+    private int hashParallelism;
+
+    private record Row(int line, RegisterRequest request) {
+    }
+
+    private record Account(RegisterRequest request, String passwordHash) {
+    }
+
+    /**
+     * Importe les comptes étudiants du fichier. Le flux n'est pas fermé (il appartient à l'appelant).
+     *
+     * @throws BusinessException si l'en-tête est absent ou incomplet, ou si le fichier est trop long
+     */
+    public StudentImportResponse importStudents(InputStream csv) throws IOException {
+        long start = System.currentTimeMillis();
+        List<StudentImportResponse.RowError> errors = new ArrayList<>();
+
+        List<Row> rows = read(csv, errors);
+        int totalRows = rows.size() + errors.size();
+        rows = rejectExisting(rows, errors);
+
+        List<Account> accounts = hash(rows);
+        insert(accounts);
+
+        errors.sort(Comparator.comparingInt(StudentImportResponse.RowError::line));
+        log.info("Import CSV terminé : {} ligne(s), {} compte(s) étudiant(s) créé(s), {} erreur(s), {} ms",
+                totalRows, accounts.size(), errors.size(), System.currentTimeMillis() - start);
+        return new StudentImportResponse(totalRows, accounts.size(), errors);
+    }
+
+    // ==================== LECTURE ====================
+
+    private List<Row> read(InputStream csv, List<StudentImportResponse.RowError> errors) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null || header.isBlank()) {
+            throw new BusinessException("Fichier CSV vide");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        char separator = header.indexOf(';') >= 0 && header.indexOf(',') < 0 ? ';' : ',';
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseLine(header, separator);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).strip(), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new BusinessException("Colonne obligatoire absente de l'en-tête : " + column);
+            }
+        }
+
+        List<Row> rows = new ArrayList<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> studentNumbers = new HashSet<>();
+        int lineNumber = 1;
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            if (rows.size() + errors.size() >= MAX_ROWS) {
+                throw new BusinessException("Import limité à " + MAX_ROWS + " lignes par fichier");
+            }
+
+            List<String> fields;
+            try {
+                fields = parseLine(line, separator);
+            } catch (IllegalArgumentException e) {
+                errors.add(new StudentImportResponse.RowError(lineNumber, null, e.getMessage()));
+                continue;
+            }
+
+            RegisterRequest request = new RegisterRequest(
+                    field(fields, columns, "firstName"),
+                    field(fields, columns, "lastName"),
+                    field(fields, columns, "email"),
+                    field(fields, columns, "password"),
+                    field(fields, columns, STUDENT_NUMBER),
+                    Role.ETUDIANT);
+
+            List<String> problems = new ArrayList<>(validator.validate(request).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList());
+            if (request.email() != null && !emails.add(request.email().toLowerCase(Locale.ROOT))) {
+                problems.add("Email en double dans le fichier");
+            }
+            if (request.studentNumber() != null && !studentNumbers.add(request.studentNumber())) {
+                problems.add("Numéro étudiant en double dans le fichier");
+            }
+
+            if (problems.isEmpty()) {
+                rows.add(new Row(lineNumber, request));
+            } else {
+                errors.add(new StudentImportResponse.RowError(lineNumber, request.email(), String.join(" ; ", problems)));
+            }
+        }
+        return rows;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) return null;
+        String value = fields.get(index).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Découpe une ligne CSV (RFC 4180 : champs entre guillemets, guillemet doublé).
+     * Un champ entre guillemets ne peut pas contenir de saut de ligne.
+     */
+    static List<String> parseLine(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Guillemet non fermé");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // ==================== UNICITÉ ====================
+
+    /**
+     * Écarte les lignes dont l'email ou le numéro étudiant existe déjà en base :
+     * une requête IN par lot de {@value #IN_CHUNK} valeurs.
+     */
+    private List<Row> rejectExisting(List<Row> rows, List<StudentImportResponse.RowError> errors) {
+        if (rows.isEmpty()) return rows;
+
+        Set<String> existingEmails = existing(
+                rows.stream().map(row -> row.request().email()).toList(),
+                userRepository::findExistingEmails);
+        Set<String> existingStudentNumbers = existing(
+                rows.stream().map(row -> row.request().studentNumber()).filter(Objects::nonNull).toList(),
+                userRepository::findExistingStudentNumbers);
+
+        List<Row> accepted = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            RegisterRequest request = row.request();
+            List<String> problems = new ArrayList<>();
+            if (existingEmails.contains(request.email().toLowerCase(Locale.ROOT))) {
+                problems.add("Un utilisateur avec l'email '" + request.email() + "' existe déjà");
+            }
+            if (request.studentNumber() != null && existingStudentNumbers.contains(request.studentNumber().toLowerCase(Locale.ROOT))) {
+                problems.add("Un utilisateur avec le numéro étudiant '" + request.studentNumber() + "' existe déjà");
+            }
+            if (problems.isEmpty()) {
+                accepted.add(row);
+            } else {
+                errors.add(new StudentImportResponse.RowError(row.line(), request.email(), String.join(" ; ", problems)));
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Valeurs déjà présentes, en minuscules : la collation de la base peut ignorer la casse.
+     */
+    private static Set<String> existing(List<String> values, Function<List<String>, List<String>> query) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < values.size(); from += IN_CHUNK) {
+            query.apply(values.subList(from, Math.min(from + IN_CHUNK, values.size())))
+                    .forEach(value -> existing.add(value.toLowerCase(Locale.ROOT)));
+        }
+        return existing;
+    }
+
+    // ==================== HACHAGE ====================
+
+    /**
+     * Hache les mots de passe en parallèle, hors transaction (aucune connexion retenue pendant le calcul).
+     */
+    private List<Account> hash(List<Row> rows) {
+        if (rows.isEmpty()) return List.of();
+
+        int parallelism = Math.min(resolveParallelism(), rows.size());
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, threadFactory());
+        try {
+            List<Future<String>> hashes = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                hashes.add(executor.submit(() -> passwordEncoder.encode(row.request().password())));
+            }
+            List<Account> accounts = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                accounts.add(new Account(rows.get(i).request(), hashes.get(i).get()));
+            }
+            return accounts;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Hachage des mots de passe impossible", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrompu", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int resolveParallelism() {
+        return hashParallelism > 0 ? hashParallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    private ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "student-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // ==================== INSERTION ====================
+
+    /**
+     * Comptes puis profils étudiants, par batchs de {@value #BATCH_SIZE} lignes, dans une seule transaction.
+     * Un compte créé entre la vérification et l'insertion (contrainte d'unicité) annule tout l'import.
+     */
+    private void insert(List<Account> accounts) {
+        if (accounts.isEmpty()) return;
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_USER, accounts, BATCH_SIZE, (ps, account) -> {
+                    RegisterRequest request = account.request();
+                    ps.setString(1, request.studentNumber());
+                    ps.setString(2, request.firstName());
+                    ps.setString(3, request.lastName());
+                    ps.setString(4, request.email());
+                    ps.setString(5, account.passwordHash());
+                    ps.setBoolean(6, true);
+                    ps.setTimestamp(7, now);
+                    ps.setString(8, Role.ETUDIANT.name());
+                });
+
+                List<Long> userIds = new ArrayList<>(accounts.size());
+                List<String> emails = accounts.stream().map(account -> account.request().email()).toList();
+                for (int from = 0; from < emails.size(); from += IN_CHUNK) {
+                    namedParameterJdbcTemplate.query(SELECT_USER_IDS,
+                            Map.of("emails", emails.subList(from, Math.min(from + IN_CHUNK, emails.size()))),
+                            rs -> {
+                                userIds.add(rs.getLong("id"));
+                            });
+                }
+
+                jdbcTemplate.batchUpdate(INSERT_STUDENT, userIds, BATCH_SIZE, (ps, userId) -> {
+                    ps.setLong(1, userId);
+                    ps.setBoolean(2, false);
+                });
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Import CSV annulé : conflit d'unicité à l'insertion ({})", e.getMostSpecificCause().getMessage());
+            throw new BusinessException("Un compte du fichier a été créé pendant l'import : aucun compte importé, relancer l'import");
+        }
+    }
+}
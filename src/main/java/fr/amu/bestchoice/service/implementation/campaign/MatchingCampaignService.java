@@ -2,16 +2,22 @@ package fr.amu.bestchoice.service.implementation.campaign;
 
 import fr.amu.bestchoice.model.entity.*;
 import fr.amu.bestchoice.repository.*;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
+import fr.amu.bestchoice.service.implementation.matching.MatchingResultsChangedEvent;
 import fr.amu.bestchoice.service.interfaces.IMatchingCampaignService;
 import fr.amu.bestchoice.web.dto.campaign.MatchingCampaignRequest;
 import fr.amu.bestchoice.web.dto.campaign.MatchingCampaignResponse;
+import fr.amu.bestchoice.web.dto.campaign.MatchingRunSummaryResponse;
 import fr.amu.bestchoice.web.exception.NotFoundException;
 import fr.amu.bestchoice.web.mapper.MatchingCampaignMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
 
 @Service
 @RequiredArgsConstructor
@@ -24,7 +30,13 @@ public class MatchingCampaignService implements IMatchingCampaignService
     private final StudentRepository studentRepository;
     private final ProjectRepository projectRepository;
     private final SubjectRepository subjectRepository;
+    private final MatchingRunSummaryRepository summaryRepository;
     private final MatchingCampaignMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogVersions catalogVersions;
+
+    /** Nombre maximal d'IDs par requête d'inscription ou de désinscription (et par liste IN en général). */
+    public static final int ENROLMENT_CHUNK = 1_000;
 
     @Override
     @Transactional
@@ -60,27 +72,56 @@ public class MatchingCampaignService implements IMatchingCampaignService
         return mapper.toResponse(saved);
     }
 
+    /**
+     * Inscriptions écrites directement dans les tables de jointure, par lots de {@value #ENROLMENT_CHUNK} IDs :
+     * ni la campagne ni ses membres (existants ou nouveaux) ne sont chargés.
+     */
     @Override
     public void addStudentsToCampaign(Long campaignId, List<Long> studentIds) {
-        MatchingCampaign campaign = campaignRepository.findById(campaignId)
-                .orElseThrow(() -> new NotFoundException("Campagne introuvable"));
+        checkExists(campaignId);
+        membershipChanged(inChunks(studentIds, ids -> campaignRepository.insertStudents(campaignId, ids)));
+    }
 
-        List<Student> students = studentRepository.findAllById(studentIds);
-        campaign.getStudents().addAll(students);
-        campaignRepository.save(campaign);
+    /**
+     * Désinscription : les vœux en attente et les résultats de matching des étudiants retirés
+     * sont supprimés dans la même transaction (les vœux déjà traités sont conservés).
+     */
+    @Override
+    public void removeStudentsFromCampaign(Long campaignId, List<Long> studentIds) {
+        checkExists(campaignId);
+        inChunks(studentIds, ids -> campaignRepository.deletePendingPreferencesOfStudents(campaignId, ids));
+        resultsChanged(campaignId, inChunks(studentIds, ids -> campaignRepository.deleteResultsOfStudents(campaignId, ids)));
+        membershipChanged(inChunks(studentIds, ids -> campaignRepository.deleteStudents(campaignId, ids)));
     }
 
     @Override
     public void addItemsToCampaign(Long campaignId, List<Long> itemIds) {
-        MatchingCampaign campaign = campaignRepository.findById(campaignId)
-                .orElseThrow(() -> new NotFoundException("Campagne introuvable"));
+        if (campaignType(campaignId) == MatchingCampaignType.PROJECT) {
+            membershipChanged(inChunks(itemIds, ids -> campaignRepository.insertProjects(campaignId, ids)
+                    + campaignRepository.insertProjectCampaigns(campaignId, ids)));
+        } else {
+            membershipChanged(inChunks(itemIds, ids -> campaignRepository.insertSubjects(campaignId, ids)
+                    + campaignRepository.insertSubjectCampaigns(campaignId, ids)));
+        }
+    }
 
-        if (campaign.getCampaignType() == MatchingCampaignType.PROJECT) {
-            campaign.getProjects().addAll(projectRepository.findAllById(itemIds));
+    /**
+     * Retrait d'items : comme pour les étudiants, les vœux en attente et les résultats
+     * portant sur ces items sont supprimés dans la même transaction.
+     */
+    @Override
+    public void removeItemsFromCampaign(Long campaignId, List<Long> itemIds) {
+        if (campaignType(campaignId) == MatchingCampaignType.PROJECT) {
+            inChunks(itemIds, ids -> campaignRepository.deletePendingPreferencesOfProjects(campaignId, ids));
+            resultsChanged(campaignId, inChunks(itemIds, ids -> campaignRepository.deleteResultsOfProjects(campaignId, ids)));
+            membershipChanged(inChunks(itemIds, ids -> campaignRepository.deleteProjects(campaignId, ids)
+                    + campaignRepository.deleteProjectCampaigns(campaignId, ids)));
         } else {
-            campaign.getSubjects().addAll(subjectRepository.findAllById(itemIds));
+            inChunks(itemIds, ids -> campaignRepository.deletePendingPreferencesOfSubjects(campaignId, ids));
+            resultsChanged(campaignId, inChunks(itemIds, ids -> campaignRepository.deleteResultsOfSubjects(campaignId, ids)));
+            membershipChanged(inChunks(itemIds, ids -> campaignRepository.deleteSubjects(campaignId, ids)
+                    + campaignRepository.deleteSubjectCampaigns(campaignId, ids)));
         }
-        campaignRepository.save(campaign);
     }
 
     @Override
@@ -94,7 +135,7 @@ public class MatchingCampaignService implements IMatchingCampaignService
     @Override
     @Transactional(readOnly = true)
     public List<MatchingCampaignResponse> findByTeacherId(Long teacherId) {
-        return campaignRepository.findByTeacherId(teacherId).stream()
+        return fetchResponseGraph(campaignRepository.findByTeacherId(teacherId)).stream()
                 .map(mapper::toResponse)
                 .toList();
     }
@@ -102,11 +143,24 @@ public class MatchingCampaignService implements IMatchingCampaignService
     @Override
     @Transactional(readOnly = true)
     public List<MatchingCampaignResponse> findByStudentId(Long studentId) {
-        return campaignRepository.findAllByStudentIdInTable(studentId).stream()
+        return fetchResponseGraph(campaignRepository.findAllByStudentIdInTable(studentId)).stream()
                 .map(mapper::toResponse)
                 .toList();
     }
 
+    /**
+     * Bilan précalculé du dernier run : une ligne lue, quel que soit le nombre de résultats.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public MatchingRunSummaryResponse findRunSummary(Long campaignId) {
+        return summaryRepository.findByMatchingCampaignId(campaignId)
+                .map(mapper::toSummaryResponse)
+                .orElseThrow(() -> campaignRepository.existsById(campaignId)
+                        ? new NotFoundException("Aucun run de matching pour la campagne : " + campaignId)
+                        : new NotFoundException("Campagne introuvable"));
+    }
+
     @Override
     @Transactional
     public void delete(Long id) {
@@ -117,8 +171,9 @@ public class MatchingCampaignService implements IMatchingCampaignService
         // 1. Supprimer les préférences étudiants liées (FK non nullable)
         campaignRepository.deleteStudentPreferencesByCampaignId(id);
 
-        // 2. Supprimer les résultats de matching liés (FK non nullable)
+        // 2. Supprimer les résultats de matching et le bilan du dernier run (FK non nullable)
         campaignRepository.deleteMatchingResultsByCampaignId(id);
+        campaignRepository.deleteRunSummaryByCampaignId(id);
 
         // 3. Nettoyer les tables de jointure côté Project / Subject (bidirectionnel)
         campaignRepository.deleteFromProjectMatchingCampaigns(id);
@@ -131,5 +186,62 @@ public class MatchingCampaignService implements IMatchingCampaignService
 
         // 5. Supprimer la campagne elle-même
         campaignRepository.deleteById(id);
+
+        // 6. Invalider (après commit) les vues de résultats en cache
+        eventPublisher.publishEvent(new MatchingResultsChangedEvent(id));
+    }
+
+    private void checkExists(Long campaignId) {
+        if (!campaignRepository.existsById(campaignId)) {
+            throw new NotFoundException("Campagne introuvable");
+        }
+    }
+
+    private MatchingCampaignType campaignType(Long campaignId) {
+        return campaignRepository.findCampaignTypeById(campaignId)
+                .orElseThrow(() -> new NotFoundException("Campagne introuvable"));
+    }
+
+    /**
+     * Applique {@code statement} aux IDs distincts, par lots ; renvoie le nombre de lignes modifiées.
+     */
+    private static int inChunks(List<Long> ids, ToIntFunction<List<Long>> statement) {
+        if (ids == null || ids.isEmpty()) return 0;
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        int changed = 0;
+        for (int from = 0; from < distinct.size(); from += ENROLMENT_CHUNK) {
+            changed += statement.applyAsInt(distinct.subList(from, Math.min(from + ENROLMENT_CHUNK, distinct.size())));
+        }
+        return changed;
+    }
+
+    /**
+     * Les écritures natives ne passent pas par les événements Hibernate : les catalogues
+     * dépendant des campagnes sont invalidés explicitement (après commit).
+     */
+    private void membershipChanged(int changedRows) {
+        if (changedRows > 0) {
+            catalogVersions.changed(MatchingCampaign.class.getName());
+        }
+    }
+
+    /** Résultats supprimés par une désinscription : les vues en cache de la campagne sont invalidées après commit. */
+    private void resultsChanged(Long campaignId, int deletedResults) {
+        if (deletedResults > 0) {
+            eventPublisher.publishEvent(new MatchingResultsChangedEvent(campaignId));
+        }
+    }
+
+    /**
+     * Plan de chargement des listes : les collections comptées par le mapper sont initialisées
+     * pour tout le lot (une requête par collection) au lieu d'une requête par campagne.
+     */
+    private List<MatchingCampaign> fetchResponseGraph(List<MatchingCampaign> campaigns) {
+        if (campaigns.isEmpty()) return campaigns;
+        List<Long> ids = campaigns.stream().map(MatchingCampaign::getId).toList();
+        campaignRepository.fetchStudents(ids);
+        campaignRepository.fetchProjects(ids);
+        campaignRepository.fetchSubjects(ids);
+        return campaigns;
     }
-}
\ No newline at end of file
+}
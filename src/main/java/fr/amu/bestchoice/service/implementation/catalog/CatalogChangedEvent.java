@@ -0,0 +1,8 @@
+package fr.amu.bestchoice.service.implementation.catalog;
+
+/**
+ * Publié par {@link CatalogVersions} à chaque incrément de version d'un catalogue (après commit).
+ * Traité par {@link CatalogResponseCache} et par le cache des résultats de matching.
+ */
+public record CatalogChangedEvent(CatalogVersions.Catalog catalog) {
+}
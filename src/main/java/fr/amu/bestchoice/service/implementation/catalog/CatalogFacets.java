@@ -0,0 +1,96 @@
+package fr.amu.bestchoice.service.implementation.catalog;
+
+import fr.amu.bestchoice.service.implementation.search.FacetIndex;
+import fr.amu.bestchoice.web.dto.CatalogFilterRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Index de facettes des catalogues projets et matières ({@link FacetIndex}).
+ *
+ * Chaque index est étiqueté par la version de son catalogue ({@link CatalogVersions}) : toute
+ * écriture commitée (projet, matière, compétence, affectation d'un étudiant...) le rend périmé
+ * et la recherche suivante le reconstruit avant de répondre. Un seul chargement par catalogue
+ * à la fois ; les requêtes suivantes ne touchent plus la base pour filtrer et compter.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogFacets {
+
+    // Noms des facettes (clés de la réponse)
+    public static final String WORK_TYPE = "workType";
+    public static final String SEMESTER = "semester";
+    public static final String CREDITS = "credits";
+    public static final String REMOTE = "remote";
+    public static final String SKILL = "skill";
+    public static final String KEYWORD = "keyword";
+    public static final String FREE_SEATS = "freeSeats";
+
+    /** Taille de page maximale d'une recherche à facettes. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private record Built(long version, FacetIndex index) {
+    }
+
+    private final CatalogVersions catalogVersions;
+
+    private final Map<CatalogVersions.Catalog, Built> indexes = new ConcurrentHashMap<>();
+    private final Map<CatalogVersions.Catalog, Object> locks = new EnumMap<>(CatalogVersions.Catalog.class);
+
+    {
+        for (CatalogVersions.Catalog catalog : CatalogVersions.Catalog.values()) {
+            locks.put(catalog, new Object());
+        }
+    }
+
+    /**
+     * Index du catalogue pour sa version courante, construit par {@code builder} s'il est périmé.
+     * La version est lue avant le chargement : une écriture commitée pendant la construction
+     * laisse l'index périmé, reconstruit à la recherche suivante.
+     */
+    public FacetIndex get(CatalogVersions.Catalog catalog, Supplier<FacetIndex> builder) {
+        Built current = indexes.get(catalog);
+        if (current != null && current.version() == catalogVersions.version(catalog)) {
+            return current.index();
+        }
+        synchronized (locks.get(catalog)) {
+            long version = catalogVersions.version(catalog);
+            current = indexes.get(catalog);
+            if (current != null && current.version() == version) {
+                return current.index();
+            }
+            FacetIndex index = builder.get();
+            indexes.put(catalog, new Built(version, index));
+            log.info("Index de facettes {} construit : version {}, {} document(s)", catalog, version, index.size());
+            return index;
+        }
+    }
+
+    /**
+     * Filtres de la requête, par nom de facette.
+     */
+    public static Map<String, Set<String>> filters(CatalogFilterRequest filter) {
+        Map<String, Set<String>> filters = new LinkedHashMap<>();
+        put(filters, WORK_TYPE, filter.workTypes());
+        put(filters, SEMESTER, filter.semesters());
+        put(filters, CREDITS, filter.credits());
+        put(filters, REMOTE, filter.remotePossible() != null ? Set.of(filter.remotePossible()) : null);
+        put(filters, SKILL, filter.skillIds());
+        put(filters, KEYWORD, filter.keywordIds());
+        put(filters, FREE_SEATS, filter.freeSeats() != null ? Set.of(filter.freeSeats()) : null);
+        return filters;
+    }
+
+    private static void put(Map<String, Set<String>> filters, String facet, Collection<?> values) {
+        if (values == null || values.isEmpty()) return;
+        Set<String> strings = new HashSet<>();
+        values.stream().filter(Objects::nonNull).map(String::valueOf).forEach(strings::add);
+        filters.put(facet, strings);
+    }
+}
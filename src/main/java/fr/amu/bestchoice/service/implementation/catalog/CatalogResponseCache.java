@@ -0,0 +1,181 @@
+package fr.amu.bestchoice.service.implementation.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Réponses JSON pré-sérialisées des listes de catalogue les plus consultées pendant une campagne
+ * (toutes les compétences, tous les mots-clés, projets et matières actifs).
+ *
+ * Chaque vue est conservée sous forme d'octets prêts à envoyer, en clair et compressés gzip,
+ * étiquetée par la version de son catalogue ({@link CatalogVersions}). Une requête sur une version
+ * à jour renvoie le tableau tel quel : ni requête SQL, ni mapping, ni Jackson.
+ *
+ * Quand un catalogue change ({@link CatalogChangedEvent}), les vues déjà servies sont reconstruites
+ * en arrière-plan. Une requête arrivant avant la fin de la reconstruction ne reçoit jamais la vue
+ * périmée : elle attend la reconstruction en cours (un seul chargement par vue à la fois).
+ *
+ * La version est lue avant le chargement : une modification commitée pendant la construction
+ * laisse la vue étiquetée avec l'ancienne version, reconstruite à la requête suivante.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogResponseCache {
+
+    public enum View {
+        SKILLS(CatalogVersions.Catalog.SKILL),
+        KEYWORDS(CatalogVersions.Catalog.KEYWORD),
+        ACTIVE_PROJECTS(CatalogVersions.Catalog.PROJECT),
+        ACTIVE_SUBJECTS(CatalogVersions.Catalog.SUBJECT);
+
+        private final CatalogVersions.Catalog catalog;
+
+        View(CatalogVersions.Catalog catalog) {
+            this.catalog = catalog;
+        }
+    }
+
+    /**
+     * Corps de réponse d'une version de catalogue. Les tableaux sont partagés entre les requêtes :
+     * ils ne doivent jamais être modifiés.
+     *
+     * @param size nombre d'éléments de la liste (journalisation)
+     */
+    public record Snapshot(long version, int size, byte[] json, byte[] gzip) {
+    }
+
+    private final CatalogVersions catalogVersions;
+    private final ObjectMapper objectMapper;
+
+    /** Désactivé : chaque appel recharge et sérialise (mesure des requêtes des services). */
+    @Value("${app.catalog.response-cache.enabled:true}")
+    private boolean enabled = true;
+
+    private final Map<View, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<View, Supplier<? extends Collection<?>>> loaders = new ConcurrentHashMap<>();
+    private final Map<View, ReentrantLock> locks = new EnumMap<>(View.class);
+    private final Set<View> scheduled = ConcurrentHashMap.newKeySet();
+    private ExecutorService rebuilder;
+
+    {
+        for (View view : View.values()) {
+            locks.put(view, new ReentrantLock());
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-response-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Renvoie la vue pour la version courante de son catalogue, ou la construit avec {@code loader}.
+     * Le loader est conservé pour les reconstructions en arrière-plan.
+     */
+    public Snapshot get(View view, Supplier<? extends Collection<?>> loader) {
+        if (!enabled) {
+            return build(catalogVersions.version(view.catalog), loader);
+        }
+        loaders.putIfAbsent(view, loader);
+
+        Snapshot snapshot = snapshots.get(view);
+        if (snapshot != null && snapshot.version() == catalogVersions.version(view.catalog)) {
+            return snapshot;
+        }
+        return refresh(view, loader);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        for (View view : View.values()) {
+            Supplier<? extends Collection<?>> loader = loaders.get(view);
+            // Une reconstruction déjà planifiée verra aussi cette version
+            if (view.catalog != event.catalog() || loader == null || !scheduled.add(view)) continue;
+
+            rebuilder.execute(() -> {
+                scheduled.remove(view);
+                try {
+                    refresh(view, loader);
+                } catch (RuntimeException e) {
+                    log.warn("Reconstruction de la vue {} échouée : {}", view, e.getMessage());
+                }
+            });
+        }
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    /**
+     * Reconstruit la vue si elle n'est pas à jour. Un seul chargement par vue à la fois :
+     * les appelants concurrents attendent puis réutilisent le résultat.
+     */
+    private Snapshot refresh(View view, Supplier<? extends Collection<?>> loader) {
+        ReentrantLock lock = locks.get(view);
+        lock.lock();
+        try {
+            long version = catalogVersions.version(view.catalog);
+            Snapshot current = snapshots.get(view);
+            if (current != null && current.version() == version) {
+                return current;
+            }
+            Snapshot snapshot = build(version, loader);
+            snapshots.put(view, snapshot);
+            log.debug("Vue {} reconstruite : version {}, {} éléments, {} octets ({} compressés)",
+                    view, version, snapshot.size(), snapshot.json().length, snapshot.gzip().length);
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Snapshot build(long version, Supplier<? extends Collection<?>> loader) {
+        Collection<?> items = loader.get();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            return new Snapshot(version, items.size(), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation du catalogue impossible", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,181 @@
+package fr.amu.bestchoice.service.implementation.catalog;
+
+import fr.amu.bestchoice.model.entity.Keyword;
+import fr.amu.bestchoice.model.entity.Skill;
+import fr.amu.bestchoice.repository.KeywordRepository;
+import fr.amu.bestchoice.repository.SkillRepository;
+import fr.amu.bestchoice.service.implementation.search.SearchIndexes;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import fr.amu.bestchoice.web.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Résolution en masse des noms de compétences et des libellés de mots-clés
+ * (profils étudiants, projets, matières, imports).
+ *
+ * Une requête IN pour tous les noms existants. Les manquants sont créés par un seul
+ * INSERT ... SELECT ... WHERE NOT EXISTS puis relus, dans la transaction de l'appelant : aucune
+ * seconde connexion n'est empruntée au pool, et une annulation de l'appelant annule aussi les
+ * créations. Rejouer l'INSERT n'insère que les noms encore absents : si un autre appel crée le même
+ * nom au même moment, la contrainte d'unicité fait échouer la tentative et la suivante l'ignore.
+ *
+ * L'INSERT passe par JdbcTemplate (même connexion) : son échec n'annule que l'ordre SQL, alors
+ * qu'une requête native JPA marquerait toute la transaction de l'appelant pour annulation. La
+ * relecture est verrouillée pour voir les lignes committées entre-temps par l'autre appel.
+ *
+ * Ces INSERT échappent aux événements Hibernate : l'index de recherche et la version du
+ * référentiel sont mis à jour explicitement, après le commit de l'appelant.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogTermResolver {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private static final String INSERT_SKILLS = "INSERT INTO skills (name, level, active) SELECT n.term, 1, TRUE FROM (%s) n "
+            + "WHERE NOT EXISTS (SELECT 1 FROM skills t WHERE t.name = n.term)";
+    private static final String INSERT_KEYWORDS = "INSERT INTO keywords (label, active) SELECT n.term, TRUE FROM (%s) n "
+            + "WHERE NOT EXISTS (SELECT 1 FROM keywords t WHERE t.label = n.term)";
+    // CONCAT type le paramètre (H2 refuse un « ? » nu dans une liste SELECT)
+    private static final String TERM_ROW = "SELECT CONCAT(?, '') AS term";
+
+    private final SkillRepository skillRepository;
+    private final KeywordRepository keywordRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersions catalogVersions;
+    private final SearchIndexes searchIndexes;
+
+    // ==================== CRÉATION À LA DEMANDE ====================
+
+    /**
+     * Compétences correspondant aux noms, créées si elles n'existent pas.
+     */
+    @Transactional
+    public Set<Skill> resolveSkills(Collection<String> names) {
+        return resolve(names, skillRepository::findByNameIn, skillRepository::findLockedByNameIn, Skill::getName,
+                INSERT_SKILLS, Skill.class);
+    }
+
+    /**
+     * Mots-clés correspondant aux libellés, créés s'ils n'existent pas.
+     */
+    @Transactional
+    public Set<Keyword> resolveKeywords(Collection<String> labels) {
+        return resolve(labels, keywordRepository::findByLabelIn, keywordRepository::findLockedByLabelIn, Keyword::getLabel,
+                INSERT_KEYWORDS, Keyword.class);
+    }
+
+    // ==================== RÉFÉRENTIEL EXISTANT UNIQUEMENT ====================
+
+    /**
+     * Compétences existantes correspondant aux noms.
+     *
+     * @throws NotFoundException pour le premier nom inconnu
+     */
+    public Set<Skill> findSkills(Collection<String> names) {
+        return findExisting(names, skillRepository::findByNameIn, Skill::getName, "Compétence introuvable : ");
+    }
+
+    /**
+     * Mots-clés existants correspondant aux libellés.
+     *
+     * @throws NotFoundException pour le premier libellé inconnu
+     */
+    public Set<Keyword> findKeywords(Collection<String> labels) {
+        return findExisting(labels, keywordRepository::findByLabelIn, Keyword::getLabel, "Mot-clé introuvable : ");
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private <T> Set<T> findExisting(Collection<String> names, Function<Collection<String>, List<T>> lookup,
+                                    Function<T, String> nameOf, String notFoundMessage) {
+        List<String> wanted = distinct(names);
+        if (wanted.isEmpty()) return new HashSet<>();
+
+        Map<String, T> found = match(wanted, lookup.apply(wanted), nameOf);
+        for (String name : wanted) {
+            if (!found.containsKey(name)) {
+                log.error("{}{}", notFoundMessage, name);
+                throw new NotFoundException(notFoundMessage + name);
+            }
+        }
+        return new HashSet<>(found.values());
+    }
+
+    private <T> Set<T> resolve(Collection<String> names, Function<Collection<String>, List<T>> lookup,
+                               Function<Collection<String>, List<T>> lockedLookup, Function<T, String> nameOf,
+                               String insert, Class<T> type) {
+        List<String> wanted = distinct(names);
+        if (wanted.isEmpty()) return new HashSet<>();
+
+        Map<String, T> found = match(wanted, lookup.apply(wanted), nameOf);
+        List<String> missing = wanted.stream().filter(n -> !found.containsKey(n)).toList();
+        if (missing.isEmpty()) return new HashSet<>(found.values());
+
+        int inserted = insertMissing(missing, insert);
+
+        List<T> created = lockedLookup.apply(missing);
+        Map<String, T> createdByName = match(missing, created, nameOf);
+        if (createdByName.size() < missing.size()) {
+            throw new BusinessException("Création impossible des éléments du référentiel : " + missing);
+        }
+        found.putAll(createdByName);
+
+        catalogVersions.changed(type.getName());
+        created.forEach(searchIndexes::indexWritten);
+
+        log.info("{} élément(s) créé(s) dans le référentiel {} : {}", inserted, type.getSimpleName(), missing);
+        return new HashSet<>(found.values());
+    }
+
+    /**
+     * Insère les noms encore absents. Un conflit d'unicité (création concurrente) n'annule que
+     * l'ordre SQL : la tentative suivante ne réinsère que les noms toujours absents.
+     */
+    private int insertMissing(List<String> missing, String insert) {
+        String sql = insert.formatted(String.join(" UNION ALL ", Collections.nCopies(missing.size(), TERM_ROW)));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return jdbcTemplate.update(sql, missing.toArray());
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new BusinessException("Création impossible des éléments du référentiel : " + missing);
+                }
+                log.info("Création concurrente détectée pour {} (tentative {}), nouvelle tentative", missing, attempt);
+            }
+        }
+    }
+
+    private List<String> distinct(Collection<String> names) {
+        if (names == null) return List.of();
+        return names.stream().filter(Objects::nonNull).distinct().toList();
+    }
+
+    /**
+     * Associe chaque nom demandé à l'entité lue : correspondance exacte, sinon sans tenir compte de la
+     * casse (collation insensible à la casse côté MySQL : « java » renvoie la ligne « Java »).
+     */
+    private <T> Map<String, T> match(List<String> names, List<T> entities, Function<T, String> nameOf) {
+        Map<String, T> exact = new HashMap<>();
+        Map<String, T> folded = new HashMap<>();
+        for (T entity : entities) {
+            exact.put(nameOf.apply(entity), entity);
+            folded.putIfAbsent(nameOf.apply(entity).toLowerCase(Locale.ROOT), entity);
+        }
+        Map<String, T> byName = new HashMap<>();
+        for (String name : names) {
+            T entity = exact.containsKey(name) ? exact.get(name) : folded.get(name.toLowerCase(Locale.ROOT));
+            if (entity != null) byName.put(name, entity);
+        }
+        return byName;
+    }
+}
@@ -0,0 +1,143 @@
+package fr.amu.bestchoice.service.implementation.catalog;
+
+import fr.amu.bestchoice.model.entity.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs de modification des catalogues (projets, matières, compétences, mots-clés).
+ *
+ * Alimentés par les événements Hibernate (insert / update / delete / collections) : toute
+ * écriture passant par l'ORM est vue, quel que soit le service qui la déclenche. Le compteur
+ * n'est incrémenté qu'après le commit, pour qu'un ETag ne soit jamais associé à des données
+ * non encore visibles. Les mises à jour en masse (JPQL / SQL natif) doivent appeler {@link #bump}.
+ *
+ * Chaque incrément publie un {@link CatalogChangedEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogVersions implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    public enum Catalog { PROJECT, SUBJECT, SKILL, KEYWORD }
+
+    /**
+     * Catalogues dont les réponses exposent l'entité (les projets affichent noms de compétences,
+     * mots-clés, enseignant et étudiants affectés ; l'appartenance aux campagnes est portée par
+     * MatchingCampaign).
+     */
+    private static final Map<String, Set<Catalog>> AFFECTED = Map.of(
+            Project.class.getName(), EnumSet.of(Catalog.PROJECT),
+            Subject.class.getName(), EnumSet.of(Catalog.SUBJECT),
+            Skill.class.getName(), EnumSet.of(Catalog.SKILL, Catalog.PROJECT, Catalog.SUBJECT),
+            Keyword.class.getName(), EnumSet.of(Catalog.KEYWORD, Catalog.PROJECT, Catalog.SUBJECT),
+            Teacher.class.getName(), EnumSet.of(Catalog.PROJECT, Catalog.SUBJECT),
+            User.class.getName(), EnumSet.of(Catalog.PROJECT, Catalog.SUBJECT),
+            Student.class.getName(), EnumSet.of(Catalog.PROJECT),
+            MatchingCampaign.class.getName(), EnumSet.of(Catalog.PROJECT, Catalog.SUBJECT)
+    );
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Catalog, AtomicLong> versions = new EnumMap<>(Catalog.class);
+
+    {
+        for (Catalog catalog : Catalog.values()) {
+            versions.put(catalog, new AtomicLong());
+        }
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    public long version(Catalog catalog) {
+        return versions.get(catalog).get();
+    }
+
+    public void bump(Catalog catalog) {
+        versions.get(catalog).incrementAndGet();
+        eventPublisher.publishEvent(new CatalogChangedEvent(catalog));
+    }
+
+    // ==================== ÉVÉNEMENTS HIBERNATE ====================
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        changed(event.getAffectedOwnerEntityName());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        changed(event.getAffectedOwnerEntityName());
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        changed(event.getAffectedOwnerEntityName());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Incrémente les catalogues concernés après le commit (immédiatement hors transaction).
+     * Appelé aussi par les services après une écriture native, que Hibernate ne signale pas.
+     */
+    public void changed(String entityName) {
+        Set<Catalog> affected = entityName != null ? AFFECTED.get(entityName) : null;
+        if (affected == null) return;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            affected.forEach(this::bump);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                affected.forEach(CatalogVersions.this::bump);
+            }
+        });
+    }
+}
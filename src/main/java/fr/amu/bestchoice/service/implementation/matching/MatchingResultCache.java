@@ -0,0 +1,111 @@
+package fr.amu.bestchoice.service.implementation.matching;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogChangedEvent;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
+import fr.amu.bestchoice.web.dto.matching.MatchingResultResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache mémoire des vues de résultats (liste d'une campagne, d'un étudiant, top N...).
+ *
+ * Les résultats ne changent qu'à la fin d'un run : les entrées sont indexées par
+ * (campagne, version, vue) et la version de la campagne est incrémentée après le commit
+ * d'un run ou d'une suppression. Une lecture commencée avant le commit ne peut donc
+ * remplir qu'une version déjà périmée, jamais servie ensuite.
+ *
+ * Les vues exposent aussi le titre des projets / matières : une modification de ces catalogues
+ * ({@link CatalogChangedEvent} PROJECT ou SUBJECT) fait avancer la version de toutes les campagnes.
+ *
+ * Borné en poids (nombre de lignes mises en cache). Statistiques exposées par actuator
+ * (cache.gets, cache.evictions... avec cache=matching.results).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchingResultCache {
+
+    static final String CACHE_NAME = "matching.results";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.matching.result-cache.max-weight:200000}")
+    private long maxWeight;
+
+    private Cache<Key, List<MatchingResultResponse>> cache;
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    record Key(Long campaignId, long version, String view) {
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Key key, List<MatchingResultResponse> rows) -> rows.size() + 1)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Version des résultats d'une campagne : avance après chaque run / suppression commité
+     * et après chaque modification des projets ou matières. Somme de deux compteurs croissants :
+     * une même valeur ne peut pas désigner deux contenus différents.
+     */
+    public long version(Long campaignId) {
+        return versions.getOrDefault(campaignId, 0L) + catalogVersion.get();
+    }
+
+    /** Version toutes campagnes confondues (vues transverses : résultats d'un étudiant, résultat par ID). */
+    public long globalVersion() {
+        return globalVersion.get();
+    }
+
+    /**
+     * Renvoie la vue en cache pour la version courante de la campagne, ou la calcule.
+     * Les appels concurrents sur une même clé absente n'exécutent le loader qu'une fois.
+     */
+    public List<MatchingResultResponse> get(Long campaignId, String view, Supplier<List<MatchingResultResponse>> loader) {
+        Key key = new Key(campaignId, version(campaignId), view);
+        return cache.get(key, k -> List.copyOf(loader.get()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResultsChanged(MatchingResultsChangedEvent event) {
+        Long campaignId = event.campaignId();
+        versions.merge(campaignId, 1L, Long::sum);
+        globalVersion.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.campaignId().equals(campaignId));
+        log.debug("Cache des résultats invalidé pour la campagne {}", campaignId);
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.catalog() != CatalogVersions.Catalog.PROJECT && event.catalog() != CatalogVersions.Catalog.SUBJECT) {
+            return;
+        }
+        catalogVersion.incrementAndGet();
+        globalVersion.incrementAndGet();
+        cache.invalidateAll();
+        log.debug("Cache des résultats invalidé (catalogue {} modifié)", event.catalog());
+    }
+}
@@ -0,0 +1,44 @@
+package fr.amu.bestchoice.service.implementation.matching;
+
+import fr.amu.bestchoice.web.exception.BusinessException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Curseur opaque de pagination des résultats sur (globalScore DESC, id ASC).
+ * Format interne : base64url("globalScore|id"), à ne pas interpréter côté client.
+ */
+final class MatchingResultCursor {
+
+    private static final String SEPARATOR = "|";
+
+    /** Dernière ligne de la page précédente : la page suivante reprend strictement après. */
+    record Key(BigDecimal globalScore, Long id) {
+    }
+
+    private MatchingResultCursor() {
+    }
+
+    /**
+     * @return la position décodée, ou null pour la première page
+     */
+    static Key decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new Key(new BigDecimal(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Curseur de pagination invalide");
+        }
+    }
+
+    static String encode(BigDecimal globalScore, Long id) {
+        String raw = globalScore.toPlainString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
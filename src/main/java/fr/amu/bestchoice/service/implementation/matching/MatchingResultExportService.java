@@ -0,0 +1,146 @@
+package fr.amu.bestchoice.service.implementation.matching;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import fr.amu.bestchoice.repository.MatchingCampaignRepository;
+import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.web.dto.matching.MatchingResultExportRow;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import fr.amu.bestchoice.web.exception.NotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Export des résultats d'une campagne en flux (CSV ou NDJSON).
+ *
+ * Les lignes sont lues via un Stream JPA (curseur JDBC, fetch size réduit) et écrites
+ * au fur et à mesure : la mémoire consommée ne dépend pas de la taille de la campagne.
+ * L'ordre est celui des autres lectures (globalScore DESC, id ASC).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class MatchingResultExportService {
+
+    static final String[] CSV_HEADER = {
+            "id", "studentId", "studentNumber", "lastName", "firstName",
+            "projectId", "projectTitle", "subjectId", "subjectTitle",
+            "globalScore", "skillsScore", "interestsScore", "workTypeScore",
+            "recommendationRank", "algorithmUsed", "calculationDate"
+    };
+
+    private final MatchingResultRepository matchingResultRepository;
+    private final MatchingCampaignRepository campaignRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() { return contentType; }
+
+        public String extension() { return extension; }
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) return CSV;
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException("Format d'export inconnu : " + value + " (csv ou ndjson)");
+            }
+        }
+    }
+
+    /**
+     * Vérifie l'existence de la campagne avant d'ouvrir le flux de réponse :
+     * une fois le streaming commencé, il n'est plus possible de renvoyer un 404.
+     */
+    public void checkCampaignExists(Long campaignId) {
+        if (!campaignRepository.existsById(campaignId)) {
+            throw new NotFoundException("Campagne introuvable : " + campaignId);
+        }
+    }
+
+    /**
+     * Écrit tous les résultats de la campagne dans {@code out}, compressés en gzip si demandé.
+     * Le flux {@code out} n'est pas fermé (il appartient à l'appelant).
+     */
+    public void export(Long campaignId, Format format, boolean gzip, OutputStream out) throws IOException {
+        log.info("Export {} des résultats de la campagne {} (gzip={})", format, campaignId, gzip);
+
+        // Writer jamais fermé : seul flush()/finish() est appelé pour laisser `out` ouvert
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, 8192) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipOut : out, StandardCharsets.UTF_8));
+
+        long count = 0;
+        try (Stream<MatchingResultExportRow> rows = matchingResultRepository.streamExportRowsByCampaignId(campaignId)) {
+            Iterator<MatchingResultExportRow> it = rows.iterator();
+            if (format == Format.CSV) {
+                writeCsvLine(writer, (Object[]) CSV_HEADER);
+                while (it.hasNext()) {
+                    writeCsv(writer, it.next());
+                    count++;
+                }
+            } else {
+                ObjectWriter json = objectMapper.writerFor(MatchingResultExportRow.class);
+                while (it.hasNext()) {
+                    writer.write(json.writeValueAsString(it.next()));
+                    writer.write('\n');
+                    count++;
+                }
+            }
+        }
+
+        writer.flush();
+        if (gzipOut != null) gzipOut.finish();
+        out.flush();
+        log.info("Export terminé : {} lignes pour la campagne {}", count, campaignId);
+    }
+
+    // ==================== CSV ====================
+
+    private void writeCsv(Writer writer, MatchingResultExportRow row) throws IOException {
+        writeCsvLine(writer,
+                row.id(), row.studentId(), row.studentNumber(), row.lastName(), row.firstName(),
+                row.projectId(), row.projectTitle(), row.subjectId(), row.subjectTitle(),
+                row.globalScore(), row.skillsScore(), row.interestsScore(), row.workTypeScore(),
+                row.recommendationRank(), row.algorithmUsed(), row.calculationDate());
+    }
+
+    private void writeCsvLine(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /** RFC 4180 : guillemets autour des champs contenant séparateur, guillemet ou saut de ligne. */
+    static String csvField(Object value) {
+        if (value == null) return "";
+        String text = value instanceof BigDecimal d ? d.toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
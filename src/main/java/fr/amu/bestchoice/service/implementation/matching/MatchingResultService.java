@@ -1,17 +1,21 @@
 package fr.amu.bestchoice.service.implementation.matching;
 
-import fr.amu.bestchoice.model.entity.MatchingResult;
 import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.repository.MatchingRunSummaryRepository;
 import fr.amu.bestchoice.service.interfaces.IMatchingResultService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.matching.MatchingResultResponse;
 import fr.amu.bestchoice.web.exception.NotFoundException;
-import fr.amu.bestchoice.web.mapper.MatchingResultMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Slf4j
 @Service
@@ -19,58 +23,128 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class MatchingResultService implements IMatchingResultService {
 
+    static final int MAX_PAGE_SIZE = 500;
+
     private final MatchingResultRepository matchingResultRepository;
-    private final MatchingResultMapper matchingResultMapper;
+    private final MatchingRunSummaryRepository summaryRepository;
+    private final MatchingResultCache resultCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<MatchingResultResponse> findByCampaignId(Long campaignId) {
         log.debug("Récupération de tous les résultats pour la campagne : {}", campaignId);
-        List<MatchingResult> results = matchingResultRepository.findByMatchingCampaignIdOrderByGlobalScoreDesc(campaignId);
-        return matchingResultMapper.toResponseList(results);
+        return resultCache.get(campaignId, "all",
+                () -> matchingResultRepository.findResponsesByCampaignId(campaignId));
     }
 
     @Override
     public List<MatchingResultResponse> findByCampaignAndStudent(Long campaignId, Long studentId) {
         log.debug("Résultats pour l'étudiant {} dans la campagne {}", studentId, campaignId);
-        List<MatchingResult> results = matchingResultRepository.findByMatchingCampaignIdAndStudentIdOrderByGlobalScoreDesc(campaignId, studentId);
-        return matchingResultMapper.toResponseList(results);
+        return resultCache.get(campaignId, "student:" + studentId,
+                () -> matchingResultRepository.findResponsesByCampaignAndStudent(campaignId, studentId));
     }
 
     @Override
     public List<MatchingResultResponse> findTopResultsForStudent(Long campaignId, Long studentId, int n) {
         log.debug("Top {} résultats pour l'étudiant {} dans la campagne {}", n, studentId, campaignId);
-        List<MatchingResult> all = matchingResultRepository.findByMatchingCampaignIdAndStudentIdOrderByGlobalScoreDesc(campaignId, studentId);
-        // On limite les résultats directement en Java pour rester simple
-        List<MatchingResult> limited = all.stream().limit(n).toList();
-        return matchingResultMapper.toResponseList(limited);
+        if (n <= 0) return List.of();
+        // LIMIT appliqué par la base : seules les n premières lignes de l'index sont lues.
+        // Vues par campagne mises en cache jusqu'au prochain run (voir MatchingResultCache).
+        // Clé sur la taille plafonnée : top/500 et top/100000 partagent la même entrée.
+        int top = pageSize(n);
+        return resultCache.get(campaignId, "student:" + studentId + ":top:" + top,
+                () -> matchingResultRepository.findResponsesByCampaignAndStudent(campaignId, studentId, Limit.of(top)));
+    }
+
+    @Override
+    public List<MatchingResultResponse> findTopCandidatesForProject(Long campaignId, Long projectId, int n) {
+        log.debug("Top {} candidats pour le projet {} dans la campagne {}", n, projectId, campaignId);
+        if (n <= 0) return List.of();
+        int top = pageSize(n);
+        return resultCache.get(campaignId, "project:" + projectId + ":top:" + top,
+                () -> matchingResultRepository.findResponsesByCampaignAndProject(campaignId, projectId, Limit.of(top)));
+    }
+
+    @Override
+    public List<MatchingResultResponse> findTopCandidatesForSubject(Long campaignId, Long subjectId, int n) {
+        log.debug("Top {} candidats pour la matière {} dans la campagne {}", n, subjectId, campaignId);
+        if (n <= 0) return List.of();
+        int top = pageSize(n);
+        return resultCache.get(campaignId, "subject:" + subjectId + ":top:" + top,
+                () -> matchingResultRepository.findResponsesByCampaignAndSubject(campaignId, subjectId, Limit.of(top)));
     }
 
     @Override
     public List<MatchingResultResponse> findByCampaignAndProject(Long campaignId, Long projectId) {
         log.debug("Résultats pour le projet {} dans la campagne {}", projectId, campaignId);
-        List<MatchingResult> results = matchingResultRepository.findByMatchingCampaignIdAndProjectIdOrderByGlobalScoreDesc(campaignId, projectId);
-        return matchingResultMapper.toResponseList(results);
+        return resultCache.get(campaignId, "project:" + projectId,
+                () -> matchingResultRepository.findResponsesByCampaignAndProject(campaignId, projectId));
     }
 
     @Override
     public List<MatchingResultResponse> findByCampaignAndSubject(Long campaignId, Long subjectId) {
         log.debug("Résultats pour la matière {} dans la campagne {}", subjectId, campaignId);
-        List<MatchingResult> results = matchingResultRepository.findByMatchingCampaignIdAndSubjectIdOrderByGlobalScoreDesc(campaignId, subjectId);
-        return matchingResultMapper.toResponseList(results);
+        return resultCache.get(campaignId, "subject:" + subjectId,
+                () -> matchingResultRepository.findResponsesByCampaignAndSubject(campaignId, subjectId));
     }
 
     @Override
     public MatchingResultResponse findById(Long id) {
-        return matchingResultRepository.findById(id)
-                .map(matchingResultMapper::toResponse)
+        return matchingResultRepository.findResponseById(id)
                 .orElseThrow(() -> new NotFoundException("Résultat de matching introuvable avec l'ID : " + id));
     }
 
     @Override
     public List<MatchingResultResponse> findByStudentId(Long studentId) {
         log.debug("Récupération de tous les résultats pour l'étudiant ID : {}", studentId);
-        List<MatchingResult> results = matchingResultRepository.findByStudentIdOrderByGlobalScoreDesc(studentId);
-        return matchingResultMapper.toResponseList(results);
+        return matchingResultRepository.findResponsesByStudentId(studentId);
+    }
+
+    // ==================== PAGINATION PAR CURSEUR ====================
+
+    @Override
+    public CursorPageResponseDto<MatchingResultResponse> findByCampaignId(Long campaignId, String cursor, int size) {
+        log.debug("Page de résultats pour la campagne {} (size={})", campaignId, size);
+        return page(cursor, size,
+                limit -> matchingResultRepository.findResponsesByCampaignId(campaignId, limit),
+                (after, limit) -> matchingResultRepository.findResponsesByCampaignIdAfter(
+                        campaignId, after.globalScore(), after.id(), limit));
+    }
+
+    @Override
+    public CursorPageResponseDto<MatchingResultResponse> findByCampaignAndStudent(Long campaignId, Long studentId, String cursor, int size) {
+        log.debug("Page de résultats pour l'étudiant {} dans la campagne {} (size={})", studentId, campaignId, size);
+        return page(cursor, size,
+                limit -> matchingResultRepository.findResponsesByCampaignAndStudent(campaignId, studentId, limit),
+                (after, limit) -> matchingResultRepository.findResponsesByCampaignAndStudentAfter(
+                        campaignId, studentId, after.globalScore(), after.id(), limit));
+    }
+
+    @Override
+    public CursorPageResponseDto<MatchingResultResponse> findByCampaignAndProject(Long campaignId, Long projectId, String cursor, int size) {
+        log.debug("Page de résultats pour le projet {} dans la campagne {} (size={})", projectId, campaignId, size);
+        return page(cursor, size,
+                limit -> matchingResultRepository.findResponsesByCampaignAndProject(campaignId, projectId, limit),
+                (after, limit) -> matchingResultRepository.findResponsesByCampaignAndProjectAfter(
+                        campaignId, projectId, after.globalScore(), after.id(), limit));
+    }
+
+    @Override
+    public CursorPageResponseDto<MatchingResultResponse> findByCampaignAndSubject(Long campaignId, Long subjectId, String cursor, int size) {
+        log.debug("Page de résultats pour la matière {} dans la campagne {} (size={})", subjectId, campaignId, size);
+        return page(cursor, size,
+                limit -> matchingResultRepository.findResponsesByCampaignAndSubject(campaignId, subjectId, limit),
+                (after, limit) -> matchingResultRepository.findResponsesByCampaignAndSubjectAfter(
+                        campaignId, subjectId, after.globalScore(), after.id(), limit));
+    }
+
+    @Override
+    public CursorPageResponseDto<MatchingResultResponse> findByStudentId(Long studentId, String cursor, int size) {
+        log.debug("Page de résultats pour l'étudiant {} (size={})", studentId, size);
+        return page(cursor, size,
+                limit -> matchingResultRepository.findResponsesByStudentId(studentId, limit),
+                (after, limit) -> matchingResultRepository.findResponsesByStudentIdAfter(
+                        studentId, after.globalScore(), after.id(), limit));
     }
 
     @Override
@@ -78,10 +152,39 @@ public class MatchingResultService implements IMatchingResultService {
     public void deleteByCampaignId(Long campaignId) {
         log.warn("Suppression des résultats de la campagne : {}", campaignId);
         matchingResultRepository.deleteByMatchingCampaignId(campaignId);
+        summaryRepository.deleteByMatchingCampaignId(campaignId);
+        eventPublisher.publishEvent(new MatchingResultsChangedEvent(campaignId));
     }
 
     @Override
     public long countByCampaignId(Long campaignId) {
         return matchingResultRepository.countByMatchingCampaignId(campaignId);
     }
-}
\ No newline at end of file
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Lit une page keyset en une requête : une ligne de plus que la taille demandée
+     * indique l'existence d'une page suivante (pas de COUNT).
+     */
+    private CursorPageResponseDto<MatchingResultResponse> page(
+            String cursor, int size,
+            Function<Limit, List<MatchingResultResponse>> firstPage,
+            BiFunction<MatchingResultCursor.Key, Limit, List<MatchingResultResponse>> nextPage) {
+        MatchingResultCursor.Key after = MatchingResultCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<MatchingResultResponse> rows = after == null ? firstPage.apply(limit) : nextPage.apply(after, limit);
+        if (rows.size() <= pageSize) {
+            return CursorPageResponseDto.of(rows, pageSize, null);
+        }
+        List<MatchingResultResponse> content = rows.subList(0, pageSize);
+        MatchingResultResponse last = content.get(pageSize - 1);
+        return CursorPageResponseDto.of(content, pageSize, MatchingResultCursor.encode(last.globalScore(), last.id()));
+    }
+}
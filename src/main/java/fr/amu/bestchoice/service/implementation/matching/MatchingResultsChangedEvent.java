@@ -0,0 +1,8 @@
+package fr.amu.bestchoice.service.implementation.matching;
+
+/**
+ * Publié dans la transaction qui modifie les résultats d'une campagne (run, suppression).
+ * Traité après commit par {@link MatchingResultCache}.
+ */
+public record MatchingResultsChangedEvent(Long campaignId) {
+}
@@ -0,0 +1,143 @@
+package fr.amu.bestchoice.service.implementation.pagination;
+
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Pagination keyset (par curseur) des listes d'administration, en plus de la pagination par offset.
+ *
+ * Une page est lue avec un {@link ScrollPosition} Spring Data : la requête reprend strictement après
+ * les clés de tri de la dernière ligne renvoyée, sans OFFSET ni COUNT. L'ID est ajouté au tri pour
+ * départager les égalités. Le total n'est calculé que sur demande.
+ *
+ * Curseur : base64url des clés de la dernière ligne, typées ({@code name=s:Java&id=l:12}),
+ * à renvoyer tel quel. Les colonnes de tri doivent être non nulles.
+ */
+public final class KeysetPagination {
+
+    /** Taille de page maximale d'une page par curseur. */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String ID = "id";
+
+    /**
+     * Requête keyset d'un repository, par exemple {@code skillRepository::findBy}.
+     */
+    @FunctionalInterface
+    public interface Scroll<E> {
+        Window<E> scroll(ScrollPosition position, Sort sort, Limit limit);
+    }
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Lit la page qui suit {@code cursor} (première page s'il est vide).
+     *
+     * @param mapper conversion de la page entière (plans de chargement des listes compris)
+     * @param total  nombre total d'éléments, ou null pour ne pas le calculer
+     */
+    public static <E, R> CursorPageResponseDto<R> page(String cursor, int size, Sort sort, Scroll<E> query,
+                                                      Function<List<E>, List<R>> mapper, LongSupplier total) {
+        Sort keysetSort = withId(sort);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        Window<E> window = query.scroll(decode(cursor, keysetSort), keysetSort, Limit.of(pageSize));
+
+        List<R> content = mapper.apply(window.getContent());
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? encode(((KeysetScrollPosition) window.positionAt(window.size() - 1)).getKeys())
+                : null;
+        return CursorPageResponseDto.of(content, pageSize, nextCursor, total != null ? total.getAsLong() : null);
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private static Sort withId(Sort sort) {
+        if (sort.getOrderFor(ID) != null) return sort;
+        Sort.Direction direction = sort.stream().findFirst().map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+        return sort.and(Sort.by(direction, ID));
+    }
+
+    /**
+     * @return la position décodée ; le curseur doit porter exactement les clés du tri demandé
+     */
+    static KeysetScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String entry : raw.split("&")) {
+                int equals = entry.indexOf('=');
+                int colon = entry.indexOf(':', equals);
+                String value = URLDecoder.decode(entry.substring(colon + 1), StandardCharsets.UTF_8);
+                keys.put(entry.substring(0, equals), parse(entry.substring(equals + 1, colon), value));
+            }
+        } catch (RuntimeException e) {
+            throw new BusinessException("Curseur de pagination invalide");
+        }
+        Set<String> properties = new HashSet<>();
+        sort.forEach(order -> properties.add(order.getProperty()));
+        if (!keys.keySet().equals(properties)) {
+            throw new BusinessException("Curseur de pagination invalide pour ce tri");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    static String encode(Map<String, ?> keys) {
+        StringBuilder raw = new StringBuilder();
+        keys.forEach((property, value) -> {
+            if (!raw.isEmpty()) raw.append('&');
+            raw.append(property).append('=').append(type(property, value)).append(':')
+                    .append(URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8));
+        });
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String type(String property, Object value) {
+        if (value instanceof String) return "s";
+        if (value instanceof Long) return "l";
+        if (value instanceof Integer) return "i";
+        if (value instanceof Boolean) return "b";
+        if (value instanceof BigDecimal) return "n";
+        if (value instanceof LocalDateTime) return "t";
+        if (value instanceof LocalDate) return "d";
+        throw new BusinessException("Tri par curseur impossible sur le champ " + property
+                + (value == null ? " (valeur nulle)" : ""));
+    }
+
+    private static Object parse(String type, String value) {
+        return switch (type) {
+            case "s" -> value;
+            case "l" -> Long.valueOf(value);
+            case "i" -> Integer.valueOf(value);
+            case "b" -> Boolean.valueOf(value);
+            case "n" -> new BigDecimal(value);
+            case "t" -> LocalDateTime.parse(value);
+            case "d" -> LocalDate.parse(value);
+            default -> throw new IllegalArgumentException(type);
+        };
+    }
+}
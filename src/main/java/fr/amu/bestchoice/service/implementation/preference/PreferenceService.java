@@ -5,22 +5,33 @@ import fr.amu.bestchoice.model.enums.PreferenceStatus;
 import fr.amu.bestchoice.repository.*;
 import fr.amu.bestchoice.service.interfaces.IPreferenceService;
 import fr.amu.bestchoice.web.dto.preference.PreferenceCreateRequest;
+import fr.amu.bestchoice.web.dto.preference.PreferenceListRequest;
 import fr.amu.bestchoice.web.dto.preference.PreferenceResponse;
 import fr.amu.bestchoice.web.exception.BusinessException;
 import fr.amu.bestchoice.web.exception.NotFoundException;
 import fr.amu.bestchoice.web.mapper.StudentPreferenceMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service de gestion des préférences étudiantes (StudentPreferences).
  *
  * Opérations disponibles :
  * - Créer une nouvelle préférence (choix de projet par un étudiant)
+ * - Remplacer la liste complète des vœux d'un étudiant dans une campagne
  * - Récupérer les préférences d'un étudiant
  * - Récupérer les préférences pour un projet
  * - Supprimer une préférence
@@ -45,10 +56,14 @@ public class PreferenceService implements IPreferenceService {
     private final SubjectRepository subjectRepository;
     private final MatchingCampaignRepository campaignRepository;
     private final StudentPreferenceMapper preferenceMapper;
-
+    private final JdbcTemplate jdbcTemplate;
 
     // Constante : nombre maximum de préférences par étudiant
-    private static final int MAX_PREFERENCES_PER_STUDENT = 10;
+    private static final int MAX_PREFERENCES_PER_STUDENT = PreferenceListRequest.MAX_CHOICES;
+
+    private static final String INSERT_PREFERENCE =
+            "INSERT INTO student_preferences (matching_campaign_id, student_id, project_id, subject_id, rank, "
+                    + "motivation, comment, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
     // ==================== CREATE ====================
 
@@ -100,6 +115,109 @@ public class PreferenceService implements IPreferenceService {
         return preferenceMapper.toResponse(preferenceRepository.save(preference));
     }
 
+    // ==================== REMPLACEMENT DE LA LISTE ====================
+
+    /**
+     * Remplace atomiquement tous les vœux d'un étudiant dans une campagne.
+     *
+     * La liste est validée en mémoire contre la campagne (type et IDs de ses projets ou matières,
+     * chargés en une requête) : aucune requête par vœu. Les anciens vœux sont supprimés en une
+     * instruction et les nouveaux insérés en un batch JDBC, dans la même transaction. La ligne de
+     * l'étudiant est verrouillée : deux soumissions simultanées s'exécutent l'une après l'autre.
+     *
+     * @param studentId  L'ID de l'étudiant
+     * @param campaignId L'ID de la campagne
+     * @param request    Les vœux par ordre de préférence (rang = position dans la liste)
+     * @return La nouvelle liste de vœux, triée par rang
+     * @throws NotFoundException Si l'étudiant ou la campagne n'existe pas
+     * @throws BusinessException Si un vœu est invalide ou si des vœux ont déjà été traités
+     */
+    @Transactional
+    public List<PreferenceResponse> replaceForCampaign(Long studentId, Long campaignId, PreferenceListRequest request) {
+
+        List<PreferenceListRequest.Choice> choices = request.choices();
+        log.info("Remplacement des vœux : studentId={}, campaignId={}, {} vœu(x)", studentId, campaignId, choices.size());
+
+        // Déjà refusé par la validation du DTO ; contrôlé ici pour les appels hors contrôleur
+        if (choices.size() > MAX_PREFERENCES_PER_STUDENT) {
+            throw new BusinessException("Un étudiant peut formuler au maximum " + MAX_PREFERENCES_PER_STUDENT + " vœux");
+        }
+
+        // 1. Verrou sur l'étudiant (sérialise les soumissions concurrentes)
+        studentRepository.findByIdForUpdate(studentId)
+                .orElseThrow(() -> new NotFoundException("Étudiant introuvable avec l'ID : " + studentId));
+
+        // 2. Vue de la campagne : type, inscription de l'étudiant et IDs de ses items
+        MatchingCampaignRepository.EnrolmentView view = campaignRepository.findEnrolmentView(campaignId, studentId)
+                .orElseThrow(() -> new NotFoundException("Campagne introuvable avec l'ID : " + campaignId));
+        if (!view.getEnrolled()) {
+            throw new BusinessException("L'étudiant " + studentId + " n'est pas inscrit à la campagne " + campaignId);
+        }
+        MatchingCampaignType type = view.getCampaignType();
+        boolean projects = type == MatchingCampaignType.PROJECT;
+        Set<Long> itemIds = projects
+                ? campaignRepository.findProjectIdsById(campaignId)
+                : campaignRepository.findSubjectIdsById(campaignId);
+
+        // 3. Validation en mémoire
+        Set<Long> chosen = new HashSet<>();
+        for (PreferenceListRequest.Choice choice : choices) {
+            Long itemId = projects ? choice.projectId() : choice.subjectId();
+            Long otherId = projects ? choice.subjectId() : choice.projectId();
+            if (itemId == null || otherId != null) {
+                throw new BusinessException(projects
+                        ? "Chaque vœu doit désigner un projet (campagne de projets)"
+                        : "Chaque vœu doit désigner une matière (campagne de matières)");
+            }
+            if (!itemIds.contains(itemId)) {
+                throw new BusinessException((projects ? "Le projet " : "La matière ") + itemId
+                        + " ne fait pas partie de la campagne");
+            }
+            if (!chosen.add(itemId)) {
+                throw new BusinessException(projects
+                        ? "L'étudiant a déjà soumis un vœu pour ce projet"
+                        : "L'étudiant a déjà soumis un vœu pour cette matière");
+            }
+        }
+
+        if (preferenceRepository.existsByStudentIdAndMatchingCampaignIdAndStatusNot(studentId, campaignId, PreferenceStatus.PENDING)) {
+            throw new BusinessException("Les vœux de cette campagne ont déjà été traités : ils ne peuvent plus être modifiés");
+        }
+
+        // 4. Écriture : suppression puis insertion en un batch
+        int deleted = preferenceRepository.deleteByStudentIdAndCampaignId(studentId, campaignId);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (!choices.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PREFERENCE, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PreferenceListRequest.Choice choice = choices.get(i);
+                    ps.setLong(1, campaignId);
+                    ps.setLong(2, studentId);
+                    ps.setObject(3, choice.projectId(), Types.BIGINT);
+                    ps.setObject(4, choice.subjectId(), Types.BIGINT);
+                    ps.setInt(5, i + 1);
+                    ps.setString(6, choice.motivation());
+                    ps.setString(7, choice.comment());
+                    ps.setString(8, PreferenceStatus.PENDING.name());
+                    ps.setTimestamp(9, now);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return choices.size();
+                }
+            });
+        }
+
+        log.info("Vœux remplacés : studentId={}, campaignId={}, {} supprimé(s), {} inséré(s)",
+                studentId, campaignId, deleted, choices.size());
+
+        return preferenceMapper.toResponseList(
+                preferenceRepository.findByStudentIdAndMatchingCampaignIdOrderByRankAsc(studentId, campaignId));
+    }
+
     // ==================== READ ====================
 
     /**
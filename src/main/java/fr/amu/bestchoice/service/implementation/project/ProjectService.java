@@ -3,12 +3,21 @@ package fr.amu.bestchoice.service.implementation.project;
 import fr.amu.bestchoice.model.entity.Keyword;
 import fr.amu.bestchoice.model.entity.Project;
 import fr.amu.bestchoice.model.entity.Skill;
+import fr.amu.bestchoice.model.entity.Student;
 import fr.amu.bestchoice.model.entity.Teacher;
-import fr.amu.bestchoice.repository.KeywordRepository;
 import fr.amu.bestchoice.repository.ProjectRepository;
-import fr.amu.bestchoice.repository.SkillRepository;
+import fr.amu.bestchoice.repository.StudentRepository;
 import fr.amu.bestchoice.repository.TeacherRepository;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogFacets;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogTermResolver;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
+import fr.amu.bestchoice.service.implementation.pagination.KeysetPagination;
+import fr.amu.bestchoice.service.implementation.search.FacetIndex;
+import fr.amu.bestchoice.service.implementation.search.SearchIndexes;
 import fr.amu.bestchoice.service.interfaces.IProjectService;
+import fr.amu.bestchoice.web.dto.CatalogFilterRequest;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.FacetedPageResponseDto;
 import fr.amu.bestchoice.web.dto.project.ProjectCreateRequest;
 import fr.amu.bestchoice.web.dto.project.ProjectResponse;
 import fr.amu.bestchoice.web.dto.project.ProjectUpdateRequest;
@@ -21,6 +30,8 @@ import org.springframework.data.domain.Page;              // ⚙️ AJOUT
 import org.springframework.data.domain.PageRequest;       // ⚙️ AJOUT
 import org.springframework.data.domain.Pageable;          // ⚙️ AJOUT
 import org.springframework.data.domain.Sort;              // ⚙️ AJOUT
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,8 +48,10 @@ public class ProjectService implements IProjectService {
 
     private final ProjectRepository projectRepository;
     private final TeacherRepository teacherRepository;
-    private final SkillRepository skillRepository;
-    private final KeywordRepository keywordRepository;
+    private final StudentRepository studentRepository;
+    private final CatalogTermResolver termResolver;
+    private final SearchIndexes searchIndexes;
+    private final CatalogFacets catalogFacets;
     private final ProjectMapper projectMapper;
 
     // ==================== CREATE ====================
@@ -73,7 +86,7 @@ public class ProjectService implements IProjectService {
         // Résolution des compétences requises
         if (dto.requiredSkill() != null && !dto.requiredSkill().isEmpty()) {
             log.debug("Résolution de {} compétences requises", dto.requiredSkill().size());
-            Set<Skill> skills = resolveSkills(dto.requiredSkill());
+            Set<Skill> skills = termResolver.resolveSkills(dto.requiredSkill());
             project.setRequiredSkills(skills);
             log.info("Compétences requises résolues : {} compétences", skills.size());
         } else {
@@ -84,7 +97,7 @@ public class ProjectService implements IProjectService {
         // Résolution des mots-clés
         if (dto.keyword() != null && !dto.keyword().isEmpty()) {
             log.debug("Résolution de {} mots-clés", dto.keyword().size());
-            Set<Keyword> keywords = resolveKeywords(dto.keyword());
+            Set<Keyword> keywords = termResolver.resolveKeywords(dto.keyword());
             project.setKeywords(keywords);
             log.info("Mots-clés résolus : {} mots-clés", keywords.size());
         } else {
@@ -92,9 +105,8 @@ public class ProjectService implements IProjectService {
             log.debug("Aucun mot-clé");
         }
 
-        // Calcul du champ complet
-        boolean isComplet = project.getAssignedStudents().size() >= project.getMaxStudents();
-        project.setComplet(isComplet);
+        // Nouveau projet : aucune place occupée
+        project.setComplet(project.getAssignedCount() >= project.getMaxStudents());
 
         Project savedProject = projectRepository.save(project);
         log.info("Projet créé avec succès : id={}, title={}, active={}",
@@ -126,6 +138,11 @@ public class ProjectService implements IProjectService {
             throw new BusinessException("Le nombre minimum d'étudiants ne peut pas être supérieur au nombre maximum");
         }
 
+        if (newMaxStudents < project.getAssignedCount()) {
+            log.warn("Validation échouée : maxStudents={} < assignedCount={}", newMaxStudents, project.getAssignedCount());
+            throw new BusinessException("La capacité ne peut pas être inférieure au nombre d'étudiants déjà affectés");
+        }
+
         projectMapper.updateEntityFromDto(dto, project);
 
         // workTypes peut être ignoré par le mapper → on le remet manuellement si fourni
@@ -137,7 +154,7 @@ public class ProjectService implements IProjectService {
         if (dto.requiredSkill() != null) {
             if (!dto.requiredSkill().isEmpty()) {
                 log.debug("Mise à jour des compétences requises : {} compétences", dto.requiredSkill().size());
-                Set<Skill> skills = resolveSkills(dto.requiredSkill());
+                Set<Skill> skills = termResolver.resolveSkills(dto.requiredSkill());
                 project.setRequiredSkills(skills);
                 log.info("Compétences requises mises à jour : {} compétences", skills.size());
             } else {
@@ -150,7 +167,7 @@ public class ProjectService implements IProjectService {
         if (dto.keyword() != null) {
             if (!dto.keyword().isEmpty()) {
                 log.debug("Mise à jour des mots-clés : {} mots-clés", dto.keyword().size());
-                Set<Keyword> keywords = resolveKeywords(dto.keyword());
+                Set<Keyword> keywords = termResolver.resolveKeywords(dto.keyword());
                 project.setKeywords(keywords);
                 log.info("Mots-clés mis à jour : {} mots-clés", keywords.size());
             } else {
@@ -159,11 +176,11 @@ public class ProjectService implements IProjectService {
             }
         }
 
-        // Recalcul du champ complet
-        boolean isComplet = project.getAssignedStudents().size() >= project.getMaxStudents();
-        project.setComplet(isComplet);
-
         Project updatedProject = projectRepository.save(project);
+
+        // Recalcul du champ complet en base (la capacité a pu changer), sans charger les affectations
+        projectRepository.refreshComplet(id);
+        updatedProject.setComplet(updatedProject.getAssignedCount() >= updatedProject.getMaxStudents());
         log.info("Projet mis à jour avec succès : id={}, title={}", updatedProject.getId(), updatedProject.getTitle());
 
         return toProjectResponse(updatedProject);
@@ -199,15 +216,29 @@ public class ProjectService implements IProjectService {
         log.info("⚙️ Page de projets récupérée : page={}/{}, total={}",
                 projectsPage.getNumber() + 1, projectsPage.getTotalPages(), projectsPage.getTotalElements());
 
+        fetchResponseGraph(projectsPage.getContent());
         return projectsPage.map(this::toProjectResponse);
     }
 
+    /**
+     * Page par curseur (keyset) : ni OFFSET ni COUNT, le total n'est compté que si {@code withTotal}.
+     */
+    public CursorPageResponseDto<ProjectResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal) {
+        log.debug("Récupération projets par curseur : size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+        return KeysetPagination.page(cursor, size, createSort(sortBy, sortDirection), projectRepository::findBy,
+                projects -> {
+                    fetchResponseGraph(projects);
+                    return projects.stream().map(this::toProjectResponse).toList();
+                },
+                withTotal ? projectRepository::count : null);
+    }
+
     // ANCIENNE MÉTHODE (rétrocompatibilité)
     public List<ProjectResponse> findAll() {
         log.debug("Récupération de tous les projets");
         List<Project> projects = projectRepository.findAll();
         log.info("Nombre de projets trouvés : {}", projects.size());
-        return projects.stream()
+        return fetchResponseGraph(projects).stream()
                 .map(this::toProjectResponse)
                 .collect(Collectors.toList());
     }
@@ -216,7 +247,7 @@ public class ProjectService implements IProjectService {
         log.debug("Récupération des projets actifs uniquement");
         List<Project> projects = projectRepository.findByActiveTrue();
         log.info("Nombre de projets actifs trouvés : {}", projects.size());
-        return projects.stream()
+        return fetchResponseGraph(projects).stream()
                 .map(this::toProjectResponse)
                 .collect(Collectors.toList());
     }
@@ -225,7 +256,7 @@ public class ProjectService implements IProjectService {
         log.debug("Récupération des projets disponibles (actifs + non complets)");
         List<Project> projects = projectRepository.findAvailableProjects();
         log.info("Nombre de projets disponibles trouvés : {}", projects.size());
-        return projects.stream()
+        return fetchResponseGraph(projects).stream()
                 .map(this::toProjectResponse)
                 .collect(Collectors.toList());
     }
@@ -234,9 +265,46 @@ public class ProjectService implements IProjectService {
         log.debug("Récupération des projets pour la campagne ID : {}", campaignId);
         List<Project> projects = projectRepository.findByCampaignId(campaignId);
         log.info("Nombre de projets trouvés pour la campagne ID {} : {}", campaignId, projects.size());
-        return projects.stream()
+        return fetchResponseGraph(projects).stream()
+                .map(this::toProjectResponse)
+                .collect(Collectors.toList());
+    }
+
+    // ==================== RECHERCHE ====================
+
+    /**
+     * Recherche dans l'index en mémoire (voir {@link SearchIndexes}) : seuls les projets
+     * trouvés sont chargés, dans l'ordre de pertinence.
+     */
+    public List<ProjectResponse> search(String query, int limit) {
+        log.debug("Recherche de projets : q={}, limit={}", query, limit);
+        List<Long> ids = searchIndexes.search(SearchIndexes.Kind.PROJECT, query, limit);
+        if (ids.isEmpty()) return List.of();
+        List<Project> projects = SearchIndexes.inRankOrder(ids, projectRepository.findAllById(ids), Project::getId);
+        log.info("Nombre de projets trouvés pour '{}' : {}", query, projects.size());
+        return fetchResponseGraph(projects).stream()
+                .map(this::toProjectResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Filtre et compte dans l'index de facettes en mémoire (voir {@link CatalogFacets}) :
+     * seuls les projets de la page sont chargés.
+     */
+    public FacetedPageResponseDto<ProjectResponse> searchCatalog(CatalogFilterRequest filter, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, CatalogFacets.MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        log.debug("Recherche à facettes de projets : filtre={}, page={}, size={}", filter, pageNumber, pageSize);
+
+        FacetIndex index = catalogFacets.get(CatalogVersions.Catalog.PROJECT, this::buildFacetIndex);
+        FacetIndex.Result result = index.query(CatalogFacets.filters(filter), pageNumber * pageSize, pageSize);
+        List<Project> projects = SearchIndexes.inRankOrder(result.ids(), projectRepository.findAllById(result.ids()), Project::getId);
+
+        log.info("Recherche à facettes de projets : {} résultat(s)", result.total());
+        List<ProjectResponse> content = fetchResponseGraph(projects).stream()
                 .map(this::toProjectResponse)
                 .collect(Collectors.toList());
+        return new FacetedPageResponseDto<>(content, pageNumber, pageSize, result.total(), result.counts());
     }
 
     // ==================== ACTIVATION / DÉSACTIVATION ====================
@@ -281,6 +349,68 @@ public class ProjectService implements IProjectService {
         log.info("Projet désactivé avec succès : id={}, title={}", id, project.getTitle());
     }
 
+    // ==================== AFFECTATION ====================
+
+    /**
+     * Affecte l'étudiant au projet. La place est réservée par un UPDATE conditionnel
+     * (voir {@link ProjectRepository#reserveSeat}) : deux affectations concurrentes ne peuvent
+     * pas dépasser maxStudents. Une affectation précédente libère sa place.
+     */
+    @Transactional
+    public void assignStudent(Long projectId, Long studentId) {
+        log.info("Affectation : studentId={}, projectId={}", studentId, projectId);
+
+        Student student = studentRepository.findByIdForUpdate(studentId)
+                .orElseThrow(() -> new NotFoundException("Étudiant introuvable avec l'ID : " + studentId));
+        if (!projectRepository.existsById(projectId)) {
+            throw new NotFoundException("Projet introuvable avec l'ID : " + projectId);
+        }
+
+        Project previous = student.getAssignedProject();
+        if (previous != null && previous.getId().equals(projectId)) {
+            log.warn("Étudiant {} déjà affecté au projet {}", studentId, projectId);
+            return;
+        }
+
+        if (projectRepository.reserveSeat(projectId) == 0) {
+            log.warn("Affectation refusée : projet {} complet", projectId);
+            throw new BusinessException("Le projet est complet");
+        }
+        if (previous != null) {
+            projectRepository.releaseSeat(previous.getId());
+        }
+        student.setAssignedProject(projectRepository.getReferenceById(projectId));
+        log.info("Étudiant {} affecté au projet {}", studentId, projectId);
+    }
+
+    @Transactional
+    public void unassignStudent(Long projectId, Long studentId) {
+        log.info("Désaffectation : studentId={}, projectId={}", studentId, projectId);
+
+        Student student = studentRepository.findByIdForUpdate(studentId)
+                .orElseThrow(() -> new NotFoundException("Étudiant introuvable avec l'ID : " + studentId));
+        Project assigned = student.getAssignedProject();
+        if (assigned == null || !assigned.getId().equals(projectId)) {
+            throw new BusinessException("L'étudiant n'est pas affecté à ce projet");
+        }
+
+        projectRepository.releaseSeat(projectId);
+        student.setAssignedProject(null);
+        log.info("Étudiant {} retiré du projet {}", studentId, projectId);
+    }
+
+    /**
+     * Resynchronise assignedCount et complet avec les affectations (ajout de la colonne sur une
+     * base existante, affectations écrites hors de ce service).
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void recountSeats() {
+        int projects = projectRepository.recountAssignedStudents();
+        projectRepository.refreshAllComplet();
+        log.info("Places des projets recalculées : {} projet(s)", projects);
+    }
+
     // ==================== SUPPRESSION ====================
 
     @Transactional
@@ -297,32 +427,45 @@ public class ProjectService implements IProjectService {
 
     // ==================== MÉTHODES PRIVÉES ====================
 
-    private Set<Skill> resolveSkills(Set<String> skillNames) {
-        Set<Skill> skills = new HashSet<>();
-        for (String skillName : skillNames) {
-            Skill skill = skillRepository.findByName(skillName)
-                    .orElseGet(() -> {
-                        log.info("Création d'une nouvelle compétence : {}", skillName);
-                        return skillRepository.save(Skill.builder().name(skillName).build());
-                    });
-            skills.add(skill);
-            log.debug("Compétence résolue : name={}, id={}", skillName, skill.getId());
-        }
-        return skills;
+    /**
+     * Plan de chargement des listes : initialise en une requête par collection, pour tout le lot,
+     * les associations lues par toProjectResponse (au lieu de 4 chargements lazy par projet).
+     */
+    private List<Project> fetchResponseGraph(List<Project> projects) {
+        if (projects.isEmpty()) return projects;
+        List<Long> ids = projects.stream().map(Project::getId).toList();
+        projectRepository.fetchWorkTypes(ids);
+        projectRepository.fetchRequiredSkills(ids);
+        projectRepository.fetchKeywords(ids);
+        projectRepository.fetchAssignedStudents(ids);
+        return projects;
     }
 
-    private Set<Keyword> resolveKeywords(Set<String> keywordLabels) {
-        Set<Keyword> keywords = new HashSet<>();
-        for (String label : keywordLabels) {
-            Keyword keyword = keywordRepository.findByLabel(label)
-                    .orElseGet(() -> {
-                        log.info("Création d'un nouveau mot-clé : {}", label);
-                        return keywordRepository.save(Keyword.builder().label(label).build());
-                    });
-            keywords.add(keyword);
-            log.debug("Mot-clé résolu : label={}, id={}", label, keyword.getId());
+    /**
+     * Facettes des projets actifs. « Places libres » : moins d'étudiants affectés que maxStudents.
+     */
+    private FacetIndex buildFacetIndex() {
+        List<Project> projects = projectRepository.findByActiveTrue();
+        if (!projects.isEmpty()) {
+            List<Long> ids = projects.stream().map(Project::getId).toList();
+            projectRepository.fetchWorkTypes(ids);
+            projectRepository.fetchRequiredSkills(ids);
+            projectRepository.fetchKeywords(ids);
         }
-        return keywords;
+
+        FacetIndex.Builder builder = FacetIndex.builder();
+        for (Project project : projects) {
+            Long id = project.getId();
+            boolean freeSeats = project.getAssignedCount() < project.getMaxStudents();
+            builder.add(id, CatalogFacets.WORK_TYPE, project.getWorkTypes())
+                    .add(id, CatalogFacets.SEMESTER, project.getSemester())
+                    .add(id, CatalogFacets.CREDITS, project.getCredits())
+                    .add(id, CatalogFacets.REMOTE, project.getRemotePossible())
+                    .add(id, CatalogFacets.SKILL, project.getRequiredSkills().stream().map(Skill::getId).toList())
+                    .add(id, CatalogFacets.KEYWORD, project.getKeywords().stream().map(Keyword::getId).toList())
+                    .add(id, CatalogFacets.FREE_SEATS, freeSeats);
+        }
+        return builder.build();
     }
 
     private ProjectResponse toProjectResponse(Project project) {
@@ -368,7 +511,10 @@ public class ProjectService implements IProjectService {
      * ⚙️ Crée un Pageable avec tri.
      */
     private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
+        return PageRequest.of(page, size, createSort(sortBy, sortDirection));
+    }
 
+    private Sort createSort(String sortBy, String sortDirection) {
         if (sortBy == null || sortBy.isBlank()) {
             sortBy = "id";
         }
@@ -378,13 +524,12 @@ public class ProjectService implements IProjectService {
             direction = Sort.Direction.DESC;
         }
 
-        Sort sort = Sort.by(direction, sortBy);
-        return PageRequest.of(page, size, sort);
+        return Sort.by(direction, sortBy);
     }
 
     public List<ProjectResponse> findByTeacherId(Long teacherId) {
         log.debug("Récupération des projets pour le professeur ID : {}", teacherId);
-        return projectRepository.findByTeacherId(teacherId).stream()
+        return fetchResponseGraph(projectRepository.findByTeacherId(teacherId)).stream()
                 .map(this::toProjectResponse)
                 .collect(Collectors.toList());
     }
@@ -0,0 +1,175 @@
+package fr.amu.bestchoice.service.implementation.search;
+
+import java.util.*;
+
+/**
+ * Index de facettes en bitmaps (type de travail, semestre, crédits, compétence...).
+ *
+ * Les documents sont numérotés par ordre d'ID (positions denses) et chaque valeur de facette
+ * porte le {@link BitSet} des documents qui l'ont. Un filtre combine les valeurs demandées
+ * en OU au sein d'une facette, puis les facettes en ET : quelques opérations sur des mots de
+ * 64 bits, quel que soit le nombre de critères.
+ *
+ * Les compteurs d'une facette sont calculés avec les filtres des autres facettes seulement
+ * (facettes disjonctives) : cocher « 6 crédits » n'efface pas les autres valeurs de crédits.
+ *
+ * Immuable : un changement de données reconstruit l'index, qui est remplacé d'un bloc.
+ */
+public final class FacetIndex {
+
+    /**
+     * Résultat d'un filtre.
+     *
+     * @param ids    IDs de la page demandée, par ID croissant
+     * @param total  nombre total de documents retenus
+     * @param counts par facette, nombre de documents par valeur (valeurs à 0 omises sauf si filtrées)
+     */
+    public record Result(List<Long> ids, int total, Map<String, Map<String, Integer>> counts) {
+    }
+
+    /** Ordre des valeurs : numérique si les deux le sont, alphabétique sinon. */
+    private static final Comparator<String> VALUE_ORDER = (a, b) -> {
+        boolean na = isNumber(a);
+        boolean nb = isNumber(b);
+        if (na && nb) return Long.compare(Long.parseLong(a), Long.parseLong(b));
+        if (na != nb) return na ? -1 : 1;
+        return a.compareTo(b);
+    };
+
+    private final long[] ids;
+    private final BitSet all;
+    private final Map<String, SortedMap<String, BitSet>> facets;
+
+    private FacetIndex(long[] ids, Map<String, SortedMap<String, BitSet>> facets) {
+        this.ids = ids;
+        this.all = new BitSet(ids.length);
+        this.all.set(0, ids.length);
+        this.facets = facets;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Applique les filtres et renvoie la page {@code [offset, offset + limit)} avec les compteurs.
+     * Une facette sans valeur demandée n'est pas filtrée ; une facette inconnue ne retient rien.
+     */
+    public Result query(Map<String, ? extends Collection<String>> filters, int offset, int limit) {
+        Map<String, BitSet> selections = new LinkedHashMap<>();
+        filters.forEach((facet, values) -> {
+            if (values != null && !values.isEmpty()) {
+                selections.put(facet, union(facets.getOrDefault(facet, Collections.emptySortedMap()), values));
+            }
+        });
+
+        BitSet matching = intersect(selections, null);
+
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        facets.forEach((facet, values) -> {
+            BitSet base = selections.containsKey(facet) ? intersect(selections, facet) : matching;
+            Collection<String> selected = filters.get(facet) != null ? filters.get(facet) : List.of();
+            Map<String, Integer> facetCounts = new LinkedHashMap<>();
+            BitSet scratch = new BitSet(ids.length);
+            values.forEach((value, bitmap) -> {
+                scratch.clear();
+                scratch.or(base);
+                scratch.and(bitmap);
+                int count = scratch.cardinality();
+                if (count > 0 || selected.contains(value)) facetCounts.put(value, count);
+            });
+            counts.put(facet, facetCounts);
+        });
+
+        return new Result(page(matching, offset, limit), matching.cardinality(), counts);
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private static BitSet union(Map<String, BitSet> values, Collection<String> selected) {
+        BitSet union = new BitSet();
+        for (String value : selected) {
+            BitSet bitmap = values.get(value);
+            if (bitmap != null) union.or(bitmap);
+        }
+        return union;
+    }
+
+    /**
+     * ET de toutes les sélections, sauf celle de {@code excluded}.
+     */
+    private BitSet intersect(Map<String, BitSet> selections, String excluded) {
+        BitSet result = (BitSet) all.clone();
+        selections.forEach((facet, selection) -> {
+            if (!facet.equals(excluded)) result.and(selection);
+        });
+        return result;
+    }
+
+    private List<Long> page(BitSet matching, int offset, int limit) {
+        if (limit <= 0) return List.of();
+        List<Long> page = new ArrayList<>(Math.min(limit, ids.length));
+        int skipped = 0;
+        for (int slot = matching.nextSetBit(0); slot >= 0 && page.size() < limit; slot = matching.nextSetBit(slot + 1)) {
+            if (skipped++ >= offset) page.add(ids[slot]);
+        }
+        return page;
+    }
+
+    private static boolean isNumber(String value) {
+        if (value.isEmpty() || value.length() > 18) return false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isDigit(c) && !(i == 0 && c == '-' && value.length() > 1)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Construction : valeurs de facettes document par document, dans n'importe quel ordre.
+     */
+    public static final class Builder {
+
+        private final SortedMap<Long, Map<String, Set<String>>> documents = new TreeMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Déclare le document (même sans valeur) et lui ajoute les valeurs non nulles de la facette.
+         */
+        public Builder add(Long id, String facet, Collection<?> values) {
+            Set<String> facetValues = documents.computeIfAbsent(id, k -> new HashMap<>())
+                    .computeIfAbsent(facet, k -> new HashSet<>());
+            if (values != null) {
+                values.stream().filter(Objects::nonNull).map(String::valueOf).forEach(facetValues::add);
+            }
+            return this;
+        }
+
+        public Builder add(Long id, String facet, Object value) {
+            return add(id, facet, value != null ? List.of(value) : List.of());
+        }
+
+        public FacetIndex build() {
+            long[] ids = new long[documents.size()];
+            Map<String, SortedMap<String, BitSet>> facets = new TreeMap<>();
+            int slot = 0;
+            for (Map.Entry<Long, Map<String, Set<String>>> document : documents.entrySet()) {
+                ids[slot] = document.getKey();
+                for (Map.Entry<String, Set<String>> facet : document.getValue().entrySet()) {
+                    SortedMap<String, BitSet> values = facets.computeIfAbsent(facet.getKey(), k -> new TreeMap<>(VALUE_ORDER));
+                    for (String value : facet.getValue()) {
+                        values.computeIfAbsent(value, v -> new BitSet(ids.length)).set(slot);
+                    }
+                }
+                slot++;
+            }
+            return new FacetIndex(ids, facets);
+        }
+    }
+}
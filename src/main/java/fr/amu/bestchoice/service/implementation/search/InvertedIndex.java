@@ -0,0 +1,174 @@
+package fr.amu.bestchoice.service.implementation.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire : terme normalisé → documents (id) pondérés.
+ *
+ * Les termes sont triés : un préfixe est résolu par une plage du dictionnaire (O(log V) + termes
+ * couverts), sans parcourir les documents. Un document correspond si chaque terme de la requête
+ * apparaît, exactement ou comme préfixe d'un de ses termes ; le score cumule poids du champ × idf,
+ * une correspondance par préfixe comptant pour moitié.
+ *
+ * Lectures concurrentes, écritures exclusives (verrou lecture/écriture).
+ */
+public class InvertedIndex {
+
+    static final float PREFIX_FACTOR = 0.5f;
+
+    /**
+     * Champ indexé d'un document, avec son poids (ex. titre 3, description 1).
+     */
+    public record Field(String text, float weight) {
+    }
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexe (ou réindexe) un document.
+     */
+    public void put(Long id, List<Field> fields) {
+        Map<String, Float> weights = weigh(fields);
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+            documentTerms.put(id, weights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remplace tout le contenu de l'index (construction au démarrage).
+     */
+    public void replaceAll(Map<Long, List<Field>> documents) {
+        NavigableMap<String, Map<Long, Float>> newPostings = new TreeMap<>();
+        Map<Long, Set<String>> newTerms = new HashMap<>();
+        documents.forEach((id, fields) -> {
+            Map<String, Float> weights = weigh(fields);
+            weights.forEach((term, weight) -> newPostings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+            newTerms.put(id, weights.keySet());
+        });
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postings.putAll(newPostings);
+            documentTerms.clear();
+            documentTerms.putAll(newTerms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs des meilleurs documents pour la requête, par score décroissant puis id croissant.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> queryTerms = SearchText.queryTerms(query);
+        if (queryTerms.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String queryTerm : queryTerms) {
+                Map<Long, Float> termScores = scoreTerm(queryTerm);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // ET logique : on ne garde que les documents qui contiennent aussi ce terme
+                    Map<Long, Float> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Float> e : termScores.entrySet()) {
+                        Float score = previous.get(e.getKey());
+                        if (score != null) scores.put(e.getKey(), score + e.getValue());
+                    }
+                }
+                if (scores.isEmpty()) return List.of();
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    /**
+     * Meilleur score de chaque document pour un terme de requête (exact, ou préfixe à demi-poids).
+     */
+    private Map<Long, Float> scoreTerm(String queryTerm) {
+        Map<Long, Float> scores = new HashMap<>();
+        int documents = documentTerms.size();
+        for (Map.Entry<String, Map<Long, Float>> entry
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            float factor = entry.getKey().equals(queryTerm) ? 1f : PREFIX_FACTOR;
+            float idf = (float) Math.log(1 + (double) documents / entry.getValue().size());
+            entry.getValue().forEach((id, weight) -> scores.merge(id, weight * idf * factor, Math::max));
+        }
+        return scores;
+    }
+
+    private List<Long> top(Map<Long, Float> scores, int limit) {
+        Comparator<Map.Entry<Long, Float>> ranking = Map.Entry.<Long, Float>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Float>> best = new PriorityQueue<>(ranking.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            best.add(entry);
+            if (best.size() > limit) best.poll();
+        }
+        List<Map.Entry<Long, Float>> sorted = new ArrayList<>(best);
+        sorted.sort(ranking);
+        return sorted.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private void removeUnlocked(Long id) {
+        Set<String> terms = documentTerms.remove(id);
+        if (terms == null) return;
+        for (String term : terms) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs == null) continue;
+            docs.remove(id);
+            if (docs.isEmpty()) postings.remove(term);
+        }
+    }
+
+    /**
+     * Poids de chaque terme du document : somme des poids des champs où il apparaît
+     * (fréquence amortie : chaque occurrence supplémentaire dans un champ compte pour moitié).
+     */
+    private static Map<String, Float> weigh(List<Field> fields) {
+        Map<String, Float> weights = new HashMap<>();
+        for (Field field : fields) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String term : SearchText.terms(field.text())) {
+                counts.merge(term, 1, Integer::sum);
+            }
+            counts.forEach((term, count) -> weights.merge(term, field.weight() * (1 + 0.5f * (count - 1)), Float::sum));
+        }
+        return weights;
+    }
+}
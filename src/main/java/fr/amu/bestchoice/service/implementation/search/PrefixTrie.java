@@ -0,0 +1,174 @@
+package fr.amu.bestchoice.service.implementation.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie d'autocomplétion sur un vocabulaire court (noms de compétences, libellés de mots-clés).
+ *
+ * Chaque libellé est inséré sous sa forme normalisée ({@link SearchText#fold}) et sous chacun de
+ * ses mots (« Machine Learning » est trouvé par « mach » comme par « lea »). Une suggestion descend
+ * jusqu'au nœud du préfixe puis parcourt le sous-arbre en largeur, enfants dans l'ordre alphabétique :
+ * les libellés les plus courts sortent en premier et le parcours s'arrête dès {@code limit} résultats.
+ *
+ * Lectures concurrentes, écritures exclusives (verrou lecture/écriture).
+ */
+public class PrefixTrie {
+
+    /**
+     * Entrée du vocabulaire : identifiant et libellé affiché.
+     */
+    public record Entry(Long id, String label) {
+    }
+
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final Map<Long, Entry> entries = new LinkedHashMap<>();
+    }
+
+    private Node root = new Node();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Ajoute (ou renomme) une entrée.
+     */
+    public void put(Long id, String label) {
+        Entry entry = new Entry(id, label);
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            insert(root, entry);
+            byId.put(id, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remplace tout le vocabulaire (construction au démarrage).
+     */
+    public void replaceAll(Map<Long, String> labels) {
+        Node newRoot = new Node();
+        Map<Long, Entry> newById = new HashMap<>();
+        labels.forEach((id, label) -> {
+            Entry entry = new Entry(id, label);
+            insert(newRoot, entry);
+            newById.put(id, entry);
+        });
+
+        lock.writeLock().lock();
+        try {
+            root = newRoot;
+            byId.clear();
+            byId.putAll(newById);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Au plus {@code limit} entrées dont le libellé (ou l'un de ses mots) commence par {@code prefix},
+     * les plus courtes d'abord. Accents et casse ignorés.
+     */
+    public List<Entry> suggest(String prefix, int limit) {
+        String key = SearchText.fold(prefix).strip();
+        if (key.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) return List.of();
+
+            Map<Long, Entry> found = new LinkedHashMap<>();
+            Deque<Node> queue = new ArrayDeque<>();
+            queue.add(node);
+            while (!queue.isEmpty() && found.size() < limit) {
+                Node current = queue.poll();
+                for (Entry entry : current.entries.values()) {
+                    found.putIfAbsent(entry.id(), entry);
+                    if (found.size() == limit) break;
+                }
+                queue.addAll(current.children.values());
+            }
+            return List.copyOf(found.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private void removeUnlocked(Long id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) return;
+        for (String key : keys(entry.label())) {
+            remove(root, key, 0, id);
+        }
+    }
+
+    /**
+     * Retire l'entrée sous {@code key} et élague les nœuds devenus vides.
+     *
+     * @return true si le nœud est vide après suppression
+     */
+    private static boolean remove(Node node, String key, int depth, Long id) {
+        if (depth == key.length()) {
+            node.entries.remove(id);
+        } else {
+            Node child = node.children.get(key.charAt(depth));
+            if (child != null && remove(child, key, depth + 1, id)) {
+                node.children.remove(key.charAt(depth));
+            }
+        }
+        return node.entries.isEmpty() && node.children.isEmpty();
+    }
+
+    private static void insert(Node root, Entry entry) {
+        for (String key : keys(entry.label())) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            node.entries.put(entry.id(), entry);
+        }
+    }
+
+    /**
+     * Clés d'un libellé : le libellé normalisé complet, puis chaque suffixe commençant à un mot.
+     */
+    private static Set<String> keys(String label) {
+        Set<String> keys = new LinkedHashSet<>();
+        String folded = SearchText.fold(label).strip();
+        if (folded.isEmpty()) return keys;
+        keys.add(folded);
+        for (int i = 1; i < folded.length(); i++) {
+            if (!Character.isLetterOrDigit(folded.charAt(i - 1)) && Character.isLetterOrDigit(folded.charAt(i))) {
+                keys.add(folded.substring(i));
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,254 @@
+package fr.amu.bestchoice.service.implementation.search;
+
+import fr.amu.bestchoice.model.entity.Keyword;
+import fr.amu.bestchoice.model.entity.Project;
+import fr.amu.bestchoice.model.entity.Skill;
+import fr.amu.bestchoice.model.entity.Subject;
+import fr.amu.bestchoice.repository.KeywordRepository;
+import fr.amu.bestchoice.repository.ProjectRepository;
+import fr.amu.bestchoice.repository.SkillRepository;
+import fr.amu.bestchoice.repository.SubjectRepository;
+import fr.amu.bestchoice.service.implementation.search.InvertedIndex.Field;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Index plein texte des catalogues (projets, matières actives, compétences, mots-clés).
+ *
+ * Construit au démarrage depuis la base, puis tenu à jour par les événements Hibernate
+ * (insert / update / delete) : la modification est calculée au moment de l'écriture et
+ * appliquée après le commit, jamais pour une transaction annulée. Les écritures hors ORM
+ * (SQL natif) doivent appeler {@link #indexWritten}.
+ *
+ * Une recherche ne lit que le dictionnaire et les listes de documents des termes demandés :
+ * son coût ne dépend pas du nombre de lignes des tables.
+ *
+ * Les noms des compétences et libellés des mots-clés actifs alimentent en plus un trie
+ * d'autocomplétion ({@link PrefixTrie}), mis à jour par les mêmes événements.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndexes implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    public enum Kind { PROJECT, SUBJECT, SKILL, KEYWORD }
+
+    /** Nombre maximal de résultats d'une recherche. */
+    public static final int MAX_RESULTS = 100;
+
+    /** Nombre maximal de suggestions d'autocomplétion. */
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private static final float TITLE = 3f;
+    private static final float TEXT = 1f;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProjectRepository projectRepository;
+    private final SubjectRepository subjectRepository;
+    private final SkillRepository skillRepository;
+    private final KeywordRepository keywordRepository;
+
+    private final Map<Kind, InvertedIndex> indexes = new EnumMap<>(Kind.class);
+    private final Map<Kind, PrefixTrie> suggestions = new EnumMap<>(Kind.class);
+
+    {
+        for (Kind kind : Kind.values()) {
+            indexes.put(kind, new InvertedIndex());
+        }
+        suggestions.put(Kind.SKILL, new PrefixTrie());
+        suggestions.put(Kind.KEYWORD, new PrefixTrie());
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * Construction complète, une fois les données initiales chargées.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuild(Kind.PROJECT, projectRepository.findAll(), Project::getId, this::fields);
+        rebuild(Kind.SUBJECT, subjectRepository.findByActiveTrue(), Subject::getId, this::fields);
+        List<Skill> skills = skillRepository.findAll();
+        rebuild(Kind.SKILL, skills, Skill::getId, this::fields);
+        rebuildSuggestions(Kind.SKILL, skills, Skill::getId, Skill::getName, Skill::getActive);
+        List<Keyword> keywords = keywordRepository.findAll();
+        rebuild(Kind.KEYWORD, keywords, Keyword::getId, this::fields);
+        rebuildSuggestions(Kind.KEYWORD, keywords, Keyword::getId, Keyword::getLabel, Keyword::getActive);
+    }
+
+    /**
+     * IDs des meilleurs résultats, du plus au moins pertinent (au plus {@link #MAX_RESULTS}).
+     */
+    public List<Long> search(Kind kind, String query, int limit) {
+        return indexes.get(kind).search(query, Math.min(limit, MAX_RESULTS));
+    }
+
+    /**
+     * Suggestions d'autocomplétion (compétences ou mots-clés actifs), au plus {@link #MAX_SUGGESTIONS}.
+     */
+    public List<PrefixTrie.Entry> suggest(Kind kind, String prefix, int limit) {
+        PrefixTrie trie = suggestions.get(kind);
+        if (trie == null) {
+            throw new IllegalArgumentException("Pas d'autocomplétion pour " + kind);
+        }
+        return trie.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    /**
+     * Indexe une entité écrite hors ORM, après le commit de la transaction courante
+     * (immédiatement hors transaction).
+     */
+    public void indexWritten(Object entity) {
+        changed(change(entity, false));
+    }
+
+    /**
+     * Remet les entités dans l'ordre des IDs renvoyés par {@link #search} (les IDs absents sont ignorés).
+     */
+    public static <T> List<T> inRankOrder(List<Long> ids, Collection<T> entities, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        entities.forEach(e -> byId.put(idOf.apply(e), e));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    // ==================== ÉVÉNEMENTS HIBERNATE ====================
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        changed(change(event.getEntity(), false));
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        changed(change(event.getEntity(), false));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        changed(change(event.getEntity(), true));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    /**
+     * Applique la modification après le commit (immédiatement hors transaction).
+     */
+    private void changed(Change change) {
+        if (change == null) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Modification d'index pour l'entité, calculée sur son état au moment de l'écriture.
+     */
+    private Change change(Object entity, boolean deleted) {
+        if (entity instanceof Project p) {
+            return update(Kind.PROJECT, p.getId(), deleted ? null : fields(p));
+        }
+        if (entity instanceof Subject s) {
+            return update(Kind.SUBJECT, s.getId(), active(deleted, s.getActive()) ? fields(s) : null);
+        }
+        if (entity instanceof Skill s) {
+            return update(Kind.SKILL, s.getId(), deleted ? null : fields(s))
+                    .andThen(suggestion(Kind.SKILL, s.getId(), active(deleted, s.getActive()) ? s.getName() : null));
+        }
+        if (entity instanceof Keyword k) {
+            return update(Kind.KEYWORD, k.getId(), deleted ? null : fields(k))
+                    .andThen(suggestion(Kind.KEYWORD, k.getId(), active(deleted, k.getActive()) ? k.getLabel() : null));
+        }
+        return null;
+    }
+
+    private Change update(Kind kind, Long id, List<Field> fields) {
+        InvertedIndex index = indexes.get(kind);
+        return fields == null ? () -> index.remove(id) : () -> index.put(id, fields);
+    }
+
+    private Change suggestion(Kind kind, Long id, String label) {
+        PrefixTrie trie = suggestions.get(kind);
+        return label == null ? () -> trie.remove(id) : () -> trie.put(id, label);
+    }
+
+    private static boolean active(boolean deleted, Boolean active) {
+        return !deleted && Boolean.TRUE.equals(active);
+    }
+
+    private <T> void rebuildSuggestions(Kind kind, List<T> entities, Function<T, Long> idOf,
+                                        Function<T, String> labelOf, Function<T, Boolean> activeOf) {
+        Map<Long, String> labels = new HashMap<>();
+        entities.stream()
+                .filter(e -> Boolean.TRUE.equals(activeOf.apply(e)))
+                .forEach(e -> labels.put(idOf.apply(e), labelOf.apply(e)));
+        suggestions.get(kind).replaceAll(labels);
+        log.info("Autocomplétion {} construite : {} libellé(s)", kind, labels.size());
+    }
+
+    /** Modification d'index différée, composable. */
+    @FunctionalInterface
+    private interface Change extends Runnable {
+        default Change andThen(Change next) {
+            return () -> {
+                run();
+                next.run();
+            };
+        }
+    }
+
+    private <T> void rebuild(Kind kind, List<T> entities, Function<T, Long> idOf, Function<T, List<Field>> fieldsOf) {
+        Map<Long, List<Field>> documents = new HashMap<>();
+        entities.forEach(e -> documents.put(idOf.apply(e), fieldsOf.apply(e)));
+        indexes.get(kind).replaceAll(documents);
+        log.info("Index de recherche {} construit : {} document(s)", kind, documents.size());
+    }
+
+    private List<Field> fields(Project p) {
+        return List.of(new Field(p.getTitle(), TITLE), new Field(p.getDescription(), TEXT));
+    }
+
+    private List<Field> fields(Subject s) {
+        return List.of(new Field(s.getTitle(), TITLE), new Field(s.getDescription(), TEXT));
+    }
+
+    private List<Field> fields(Skill s) {
+        return List.of(new Field(s.getName(), TITLE), new Field(s.getCategory(), TEXT), new Field(s.getDescription(), TEXT));
+    }
+
+    private List<Field> fields(Keyword k) {
+        return List.of(new Field(k.getLabel(), TITLE), new Field(k.getDomain(), TEXT), new Field(k.getDescription(), TEXT));
+    }
+}
@@ -0,0 +1,65 @@
+package fr.amu.bestchoice.service.implementation.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation du texte indexé et des requêtes : minuscules, accents retirés
+ * (« Économie » → « economie »), découpage sur tout ce qui n'est ni lettre ni chiffre.
+ * Les mots vides français et les élisions (l', d') ne sont pas indexés.
+ */
+public final class SearchText {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "au", "aux", "avec", "ce", "ces", "dans", "de", "des", "du", "en", "et", "la", "le", "les",
+            "leur", "ou", "par", "pour", "sur", "un", "une", "the", "of", "and", "to", "in", "for");
+
+    private SearchText() {
+    }
+
+    /**
+     * Minuscules sans accents ; les ligatures (œ, æ) sont décomposées.
+     */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) return "";
+        String lower = text.toLowerCase(Locale.ROOT).replace("œ", "oe").replace("æ", "ae");
+        return MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    /**
+     * Termes indexés d'un texte (ordre conservé, doublons inclus pour la fréquence).
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : SEPARATORS.split(fold(text))) {
+            if (token.length() >= 2 && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Termes d'une requête : comme l'indexation, mais un dernier terme d'une lettre est gardé
+     * (début de saisie, utilisé comme préfixe) ; ailleurs, il s'agit d'une élision (l', d').
+     */
+    public static List<String> queryTerms(String query) {
+        List<String> terms = new ArrayList<>();
+        String[] tokens = SEPARATORS.split(fold(query));
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i];
+            boolean kept = token.length() >= 2 || (token.length() == 1 && i == tokens.length - 1);
+            if (kept && !STOP_WORDS.contains(token) && !terms.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+}
@@ -2,7 +2,12 @@ package fr.amu.bestchoice.service.implementation.skills;
 
 import fr.amu.bestchoice.model.entity.Keyword;
 import fr.amu.bestchoice.repository.KeywordRepository;
+import fr.amu.bestchoice.service.implementation.pagination.KeysetPagination;
+import fr.amu.bestchoice.service.implementation.search.SearchIndexes;
+import fr.amu.bestchoice.service.implementation.search.PrefixTrie;
 import fr.amu.bestchoice.service.interfaces.IKeywordService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.SuggestionResponse;
 import fr.amu.bestchoice.web.dto.keyword.KeywordCreateRequest;
 import fr.amu.bestchoice.web.dto.keyword.KeywordResponse;
 import fr.amu.bestchoice.web.dto.keyword.KeywordUpdateRequest;
@@ -16,6 +21,7 @@ import org.springframework.data.domain.PageRequest;       // ⚙️ AJOUT
 import org.springframework.data.domain.Pageable;          // ⚙️ AJOUT
 import org.springframework.data.domain.Sort;              // ⚙️ AJOUT
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -28,6 +34,7 @@ public class KeywordService implements IKeywordService {
 
     private final KeywordRepository keywordRepository;
     private final KeywordMapper keywordMapper;
+    private final SearchIndexes searchIndexes;
 
     // ==================== CREATE ====================
 
@@ -115,6 +122,16 @@ public class KeywordService implements IKeywordService {
         return keywordsPage.map(keywordMapper::toResponse);
     }
 
+    /**
+     * Page par curseur (keyset) : ni OFFSET ni COUNT, le total n'est compté que si {@code withTotal}.
+     */
+    public CursorPageResponseDto<KeywordResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal) {
+        log.debug("Récupération mots-clés par curseur : size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+        return KeysetPagination.page(cursor, size, createSort(sortBy, sortDirection), keywordRepository::findBy,
+                keywords -> keywords.stream().map(keywordMapper::toResponse).toList(),
+                withTotal ? keywordRepository::count : null);
+    }
+
     // ANCIENNE MÉTHODE (rétrocompatibilité)
     public List<KeywordResponse> findAll() {
         log.debug("Récupération de tous les mots-clés");
@@ -130,6 +147,30 @@ public class KeywordService implements IKeywordService {
         return keywordMapper.toResponseList(keywords);
     }
 
+    // ==================== RECHERCHE ====================
+
+    /**
+     * Recherche dans l'index en mémoire (voir {@link SearchIndexes}), par ordre de pertinence.
+     */
+    public List<KeywordResponse> search(String query, int limit) {
+        log.debug("Recherche de mots-clés : q={}, limit={}", query, limit);
+        List<Long> ids = searchIndexes.search(SearchIndexes.Kind.KEYWORD, query, limit);
+        if (ids.isEmpty()) return List.of();
+        List<Keyword> keywords = SearchIndexes.inRankOrder(ids, keywordRepository.findAllById(ids), Keyword::getId);
+        log.info("Nombre de mots-clés trouvés pour '{}' : {}", query, keywords.size());
+        return keywordMapper.toResponseList(keywords);
+    }
+
+    /**
+     * Autocomplétion servie par le trie en mémoire : ni transaction ni connexion.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        return searchIndexes.suggest(SearchIndexes.Kind.KEYWORD, prefix, limit).stream()
+                .map(this::toSuggestion)
+                .toList();
+    }
+
     // ==================== DELETE ====================
 
     @Transactional
@@ -173,7 +214,10 @@ public class KeywordService implements IKeywordService {
      * ⚙️ Crée un Pageable avec tri.
      */
     private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
+        return PageRequest.of(page, size, createSort(sortBy, sortDirection));
+    }
 
+    private Sort createSort(String sortBy, String sortDirection) {
         if (sortBy == null || sortBy.isBlank()) {
             sortBy = "label"; // ⚙️ Tri par défaut sur le label pour les mots-clés
         }
@@ -183,7 +227,12 @@ public class KeywordService implements IKeywordService {
             direction = Sort.Direction.DESC;
         }
 
-        Sort sort = Sort.by(direction, sortBy);
-        return PageRequest.of(page, size, sort);
+        return Sort.by(direction, sortBy);
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private SuggestionResponse toSuggestion(PrefixTrie.Entry entry) {
+        return new SuggestionResponse(entry.id(), entry.label());
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,12 @@ package fr.amu.bestchoice.service.implementation.skills;
 
 import fr.amu.bestchoice.model.entity.Skill;
 import fr.amu.bestchoice.repository.SkillRepository;
+import fr.amu.bestchoice.service.implementation.pagination.KeysetPagination;
+import fr.amu.bestchoice.service.implementation.search.SearchIndexes;
+import fr.amu.bestchoice.service.implementation.search.PrefixTrie;
 import fr.amu.bestchoice.service.interfaces.ISkillService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.SuggestionResponse;
 import fr.amu.bestchoice.web.dto.skill.SkillCreateRequest;
 import fr.amu.bestchoice.web.dto.skill.SkillResponse;
 import fr.amu.bestchoice.web.dto.skill.SkillUpdateRequest;
@@ -16,6 +21,7 @@ import org.springframework.data.domain.PageRequest;       // ⚙️ AJOUT
 import org.springframework.data.domain.Pageable;          // ⚙️ AJOUT
 import org.springframework.data.domain.Sort;              // ⚙️ AJOUT
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -28,6 +34,7 @@ public class SkillService implements ISkillService {
 
     private final SkillRepository skillRepository;
     private final SkillMapper skillMapper;
+    private final SearchIndexes searchIndexes;
 
     // ==================== CREATE ====================
 
@@ -115,6 +122,16 @@ public class SkillService implements ISkillService {
         return skillsPage.map(skillMapper::toResponse);
     }
 
+    /**
+     * Page par curseur (keyset) : ni OFFSET ni COUNT, le total n'est compté que si {@code withTotal}.
+     */
+    public CursorPageResponseDto<SkillResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal) {
+        log.debug("Récupération compétences par curseur : size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+        return KeysetPagination.page(cursor, size, createSort(sortBy, sortDirection), skillRepository::findBy,
+                skills -> skills.stream().map(skillMapper::toResponse).toList(),
+                withTotal ? skillRepository::count : null);
+    }
+
     // ANCIENNE MÉTHODE (rétrocompatibilité)
     public List<SkillResponse> findAll() {
         log.debug("Récupération de toutes les compétences");
@@ -130,6 +147,30 @@ public class SkillService implements ISkillService {
         return skillMapper.toResponseList(skills);
     }
 
+    // ==================== RECHERCHE ====================
+
+    /**
+     * Recherche dans l'index en mémoire (voir {@link SearchIndexes}), par ordre de pertinence.
+     */
+    public List<SkillResponse> search(String query, int limit) {
+        log.debug("Recherche de compétences : q={}, limit={}", query, limit);
+        List<Long> ids = searchIndexes.search(SearchIndexes.Kind.SKILL, query, limit);
+        if (ids.isEmpty()) return List.of();
+        List<Skill> skills = SearchIndexes.inRankOrder(ids, skillRepository.findAllById(ids), Skill::getId);
+        log.info("Nombre de compétences trouvées pour '{}' : {}", query, skills.size());
+        return skillMapper.toResponseList(skills);
+    }
+
+    /**
+     * Autocomplétion servie par le trie en mémoire : ni transaction ni connexion.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        return searchIndexes.suggest(SearchIndexes.Kind.SKILL, prefix, limit).stream()
+                .map(this::toSuggestion)
+                .toList();
+    }
+
     // ==================== DELETE ====================
 
     @Transactional
@@ -173,7 +214,10 @@ public class SkillService implements ISkillService {
      * ⚙️ Crée un Pageable avec tri.
      */
     private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
+        return PageRequest.of(page, size, createSort(sortBy, sortDirection));
+    }
 
+    private Sort createSort(String sortBy, String sortDirection) {
         if (sortBy == null || sortBy.isBlank()) {
             sortBy = "name"; // ⚙️ Tri par défaut sur le nom pour les compétences
         }
@@ -183,7 +227,12 @@ public class SkillService implements ISkillService {
             direction = Sort.Direction.DESC;
         }
 
-        Sort sort = Sort.by(direction, sortBy);
-        return PageRequest.of(page, size, sort);
+        return Sort.by(direction, sortBy);
+    }
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    private SuggestionResponse toSuggestion(PrefixTrie.Entry entry) {
+        return new SuggestionResponse(entry.id(), entry.label());
     }
-}
\ No newline at end of file
+}
@@ -4,10 +4,17 @@ import fr.amu.bestchoice.model.entity.Keyword;
 import fr.amu.bestchoice.model.entity.Skill;
 import fr.amu.bestchoice.model.entity.Subject;
 import fr.amu.bestchoice.model.entity.Teacher;
-import fr.amu.bestchoice.repository.KeywordRepository;
-import fr.amu.bestchoice.repository.SkillRepository;
 import fr.amu.bestchoice.repository.SubjectRepository;
 import fr.amu.bestchoice.repository.TeacherRepository;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogFacets;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogTermResolver;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
+import fr.amu.bestchoice.service.implementation.pagination.KeysetPagination;
+import fr.amu.bestchoice.service.implementation.search.FacetIndex;
+import fr.amu.bestchoice.service.implementation.search.SearchIndexes;
+import fr.amu.bestchoice.web.dto.CatalogFilterRequest;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.FacetedPageResponseDto;
 import fr.amu.bestchoice.web.dto.subject.SubjectCreateRequest;
 import fr.amu.bestchoice.web.dto.subject.SubjectResponse;
 import fr.amu.bestchoice.web.exception.BusinessException;
@@ -35,8 +42,9 @@ public class SubjectService {
 
     private final SubjectRepository subjectRepository;
     private final TeacherRepository teacherRepository;
-    private final SkillRepository skillRepository;
-    private final KeywordRepository keywordRepository;
+    private final CatalogTermResolver termResolver;
+    private final SearchIndexes searchIndexes;
+    private final CatalogFacets catalogFacets;
     private final SubjectMapper subjectMapper;
 
     // ==================== CREATE ====================
@@ -62,13 +70,13 @@ public class SubjectService {
         // Résolution Find-or-Create pour les compétences
         if (dto.requiredSkills() != null && !dto.requiredSkills().isEmpty()) {
             log.debug("Résolution de {} compétences requises", dto.requiredSkills().size());
-            subject.setRequiredSkills(resolveSkills(dto.requiredSkills()));
+            subject.setRequiredSkills(termResolver.resolveSkills(dto.requiredSkills()));
         }
 
         // Résolution Find-or-Create pour les mots-clés
         if (dto.keywords() != null && !dto.keywords().isEmpty()) {
             log.debug("Résolution de {} mots-clés", dto.keywords().size());
-            subject.setKeywords(resolveKeywords(dto.keywords()));
+            subject.setKeywords(termResolver.resolveKeywords(dto.keywords()));
         }
 
         Subject savedSubject = subjectRepository.save(subject);
@@ -90,7 +98,7 @@ public class SubjectService {
     @Transactional(readOnly = true)
     public List<SubjectResponse> findByTeacherId(Long teacherId) {
         log.debug("Récupération des matières pour le professeur ID : {}", teacherId);
-        return subjectRepository.findByTeacherId(teacherId).stream()
+        return fetchResponseGraph(subjectRepository.findByTeacherId(teacherId)).stream()
                 .map(subjectMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -103,12 +111,24 @@ public class SubjectService {
         log.debug("Récupération matières paginée : page={}, size={}", page, size);
 
         Pageable pageable = createPageable(page, size, sortBy, sortDirection);
-        return subjectRepository.findAll(pageable).map(subjectMapper::toResponse);
+        Page<Subject> subjects = subjectRepository.findAll(pageable);
+        fetchResponseGraph(subjects.getContent());
+        return subjects.map(subjectMapper::toResponse);
+    }
+
+    /**
+     * Page par curseur (keyset) : ni OFFSET ni COUNT, le total n'est compté que si {@code withTotal}.
+     */
+    public CursorPageResponseDto<SubjectResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal) {
+        log.debug("Récupération matières par curseur : size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+        return KeysetPagination.page(cursor, size, createSort(sortBy, sortDirection), subjectRepository::findBy,
+                subjects -> fetchResponseGraph(subjects).stream().map(subjectMapper::toResponse).toList(),
+                withTotal ? subjectRepository::count : null);
     }
 
     @Transactional(readOnly = true)
     public List<SubjectResponse> findAllActive() {
-        return subjectRepository.findByActiveTrue().stream()
+        return fetchResponseGraph(subjectRepository.findByActiveTrue()).stream()
                 .map(subjectMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -116,9 +136,40 @@ public class SubjectService {
 
     @Transactional
     public List<SubjectResponse> findByCampaignId(Long campaignId) {
-        return subjectRepository.findByCampaignId(campaignId).stream()
+        return fetchResponseGraph(subjectRepository.findByCampaignId(campaignId)).stream()
+                .map(subjectMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    // ==================== RECHERCHE ====================
+
+    /**
+     * Recherche dans l'index en mémoire (matières actives uniquement), par ordre de pertinence.
+     */
+    public List<SubjectResponse> search(String query, int limit) {
+        List<Long> ids = searchIndexes.search(SearchIndexes.Kind.SUBJECT, query, limit);
+        if (ids.isEmpty()) return List.of();
+        List<Subject> subjects = SearchIndexes.inRankOrder(ids, subjectRepository.findByIdIn(ids), Subject::getId);
+        return fetchResponseGraph(subjects).stream()
+                .map(subjectMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recherche à facettes parmi les matières actives (voir {@link CatalogFacets}) : seules les
+     * matières de la page sont chargées.
+     */
+    public FacetedPageResponseDto<SubjectResponse> searchCatalog(CatalogFilterRequest filter, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, CatalogFacets.MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        FacetIndex index = catalogFacets.get(CatalogVersions.Catalog.SUBJECT, this::buildFacetIndex);
+        FacetIndex.Result result = index.query(CatalogFacets.filters(filter), pageNumber * pageSize, pageSize);
+        List<Subject> subjects = result.ids().isEmpty() ? List.of()
+                : SearchIndexes.inRankOrder(result.ids(), subjectRepository.findByIdIn(result.ids()), Subject::getId);
+        List<SubjectResponse> content = fetchResponseGraph(subjects).stream()
                 .map(subjectMapper::toResponse)
                 .collect(Collectors.toList());
+        return new FacetedPageResponseDto<>(content, pageNumber, pageSize, result.total(), result.counts());
     }
 
     // ==================== ACTIVATION / DÉSACTIVATION ====================
@@ -156,44 +207,50 @@ public class SubjectService {
     // ==================== MÉTHODES PRIVÉES (LOGIQUE MÉTIER) ====================
 
     /**
-     * Résout les compétences : les récupère si elles existent, sinon les crée.
+     * Crée un Pageable avec tri.
      */
-    private Set<Skill> resolveSkills(Set<String> names) {
-        Set<Skill> skills = new HashSet<>();
-        for (String name : names) {
-            Skill skill = skillRepository.findByName(name)
-                    .orElseGet(() -> {
-                        log.info("Création d'une nouvelle compétence : {}", name);
-                        return skillRepository.save(Skill.builder().name(name).build());
-                    });
-            skills.add(skill);
-        }
-        return skills;
+    private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
+        return PageRequest.of(page, size, createSort(sortBy, sortDirection));
     }
 
-    /**
-     * Résout les mots-clés : les récupère si ils existent, sinon les crée.
-     */
-    private Set<Keyword> resolveKeywords(Set<String> names) {
-        Set<Keyword> keywords = new HashSet<>();
-        for (String name : names) {
-            Keyword keyword = keywordRepository.findByLabel(name)
-                    .orElseGet(() -> {
-                        log.info("Création d'un nouveau mot-clé : {}", name);
-                        return keywordRepository.save(Keyword.builder().label(name).build());
-                    });
-            keywords.add(keyword);
-        }
-        return keywords;
+    private Sort createSort(String sortBy, String sortDirection) {
+        String finalSortBy = (sortBy == null || sortBy.isBlank()) ? "id" : sortBy;
+        Sort.Direction direction = "DESC".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, finalSortBy);
     }
 
     /**
-     * Crée un Pageable avec tri.
+     * Plan de chargement des listes : les collections lues par le mapper sont initialisées
+     * pour tout le lot (une requête par collection) ; l'enseignant vient de la requête racine.
      */
-    private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
-        String finalSortBy = (sortBy == null || sortBy.isBlank()) ? "id" : sortBy;
-        Sort.Direction direction = "DESC".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        return PageRequest.of(page, size, Sort.by(direction, finalSortBy));
+    private List<Subject> fetchResponseGraph(List<Subject> subjects) {
+        if (subjects.isEmpty()) return subjects;
+        List<Long> ids = subjects.stream().map(Subject::getId).toList();
+        subjectRepository.fetchWorkTypes(ids);
+        subjectRepository.fetchRequiredSkills(ids);
+        subjectRepository.fetchKeywords(ids);
+        return subjects;
+    }
+
+    private FacetIndex buildFacetIndex() {
+        List<Subject> subjects = subjectRepository.findByActiveTrue();
+        if (!subjects.isEmpty()) {
+            List<Long> ids = subjects.stream().map(Subject::getId).toList();
+            subjectRepository.fetchWorkTypes(ids);
+            subjectRepository.fetchRequiredSkills(ids);
+            subjectRepository.fetchKeywords(ids);
+        }
+
+        FacetIndex.Builder builder = FacetIndex.builder();
+        for (Subject subject : subjects) {
+            Long id = subject.getId();
+            builder.add(id, CatalogFacets.WORK_TYPE, subject.getWorkTypes())
+                    .add(id, CatalogFacets.SEMESTER, subject.getSemester())
+                    .add(id, CatalogFacets.CREDITS, subject.getCredits())
+                    .add(id, CatalogFacets.SKILL, subject.getRequiredSkills().stream().map(Skill::getId).toList())
+                    .add(id, CatalogFacets.KEYWORD, subject.getKeywords().stream().map(Keyword::getId).toList());
+        }
+        return builder.build();
     }
 
     private SubjectResponse toSubjectResponse(Subject entity) {
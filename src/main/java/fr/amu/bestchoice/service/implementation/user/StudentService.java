@@ -4,11 +4,12 @@ import fr.amu.bestchoice.model.entity.Keyword;
 import fr.amu.bestchoice.model.entity.Skill;
 import fr.amu.bestchoice.model.entity.Student;
 import fr.amu.bestchoice.model.entity.User;
-import fr.amu.bestchoice.repository.KeywordRepository;
-import fr.amu.bestchoice.repository.SkillRepository;
 import fr.amu.bestchoice.repository.StudentRepository;
 import fr.amu.bestchoice.repository.UserRepository;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogTermResolver;
+import fr.amu.bestchoice.service.implementation.pagination.KeysetPagination;
 import fr.amu.bestchoice.service.interfaces.IStudentService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.student.StudentCreateRequest;
 import fr.amu.bestchoice.web.dto.student.StudentResponse;
 import fr.amu.bestchoice.web.dto.student.StudentUpdateRequest;
@@ -38,8 +39,7 @@ public class StudentService implements IStudentService {
 
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
-    private final SkillRepository skillRepository;
-    private final KeywordRepository keywordRepository;
+    private final CatalogTermResolver termResolver;
     private final StudentMapper studentMapper;
 
     // ==================== CREATE & UPDATE ====================
@@ -69,7 +69,7 @@ public class StudentService implements IStudentService {
 
         if (dto.skill() != null && !dto.skill().isEmpty()) {
             log.debug("Résolution de {} compétences", dto.skill().size());
-            Set<Skill> skills = resolveSkills(dto.skill());
+            Set<Skill> skills = termResolver.findSkills(dto.skill());
             student.setSkills(skills);
             log.info("Compétences résolues : {} compétences trouvées", skills.size());
         } else {
@@ -79,7 +79,7 @@ public class StudentService implements IStudentService {
 
         if (dto.interestKeyword() != null && !dto.interestKeyword().isEmpty()) {
             log.debug("Résolution de {} centres d'intérêt", dto.interestKeyword().size());
-            Set<Keyword> interests = resolveKeywords(dto.interestKeyword());
+            Set<Keyword> interests = termResolver.findKeywords(dto.interestKeyword());
             student.setInterests(interests);
             log.info("Centres d'intérêt résolus : {} mots-clés trouvés", interests.size());
         } else {
@@ -114,7 +114,7 @@ public class StudentService implements IStudentService {
         if (dto.skill() != null) {
             if (!dto.skill().isEmpty()) {
                 log.debug("Mise à jour des compétences : {} compétences", dto.skill().size());
-                Set<Skill> skills = resolveSkills(dto.skill());
+                Set<Skill> skills = termResolver.findSkills(dto.skill());
                 student.setSkills(skills);
                 log.info("Compétences mises à jour : {} compétences", skills.size());
             } else {
@@ -126,7 +126,7 @@ public class StudentService implements IStudentService {
         if (dto.interestKeyword() != null) {
             if (!dto.interestKeyword().isEmpty()) {
                 log.debug("Mise à jour des centres d'intérêt : {} mots-clés", dto.interestKeyword().size());
-                Set<Keyword> interests = resolveKeywords(dto.interestKeyword());
+                Set<Keyword> interests = termResolver.findKeywords(dto.interestKeyword());
                 student.setInterests(interests);
                 log.info("Centres d'intérêt mis à jour : {} mots-clés", interests.size());
             } else {
@@ -176,15 +176,29 @@ public class StudentService implements IStudentService {
         log.info("⚙️ Page d'étudiants récupérée : page={}/{}, total={}",
                 studentsPage.getNumber() + 1, studentsPage.getTotalPages(), studentsPage.getTotalElements());
 
+        fetchResponseGraph(studentsPage.getContent());
         return studentsPage.map(this::toStudentResponse);
     }
 
+    /**
+     * Page par curseur (keyset) : ni OFFSET ni COUNT, le total n'est compté que si {@code withTotal}.
+     */
+    public CursorPageResponseDto<StudentResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal) {
+        log.debug("Récupération étudiants par curseur : size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+        return KeysetPagination.page(cursor, size, createSort(sortBy, sortDirection), studentRepository::findBy,
+                students -> {
+                    fetchResponseGraph(students);
+                    return students.stream().map(this::toStudentResponse).toList();
+                },
+                withTotal ? studentRepository::count : null);
+    }
+
     // ANCIENNE MÉTHODE (rétrocompatibilité)
     public List<StudentResponse> findAll() {
         log.debug("Récupération de tous les profils étudiants");
         List<Student> students = studentRepository.findAll();
         log.info("Nombre de profils étudiants trouvés : {}", students.size());
-        return students.stream()
+        return fetchResponseGraph(students).stream()
                 .map(this::toStudentResponse)
                 .collect(Collectors.toList());
     }
@@ -193,39 +207,24 @@ public class StudentService implements IStudentService {
         log.debug("Récupération des profils étudiants complets uniquement");
         List<Student> students = studentRepository.findByProfileCompleteTrue();
         log.info("Nombre de profils complets trouvés : {}", students.size());
-        return students.stream()
+        return fetchResponseGraph(students).stream()
                 .map(this::toStudentResponse)
                 .collect(Collectors.toList());
     }
 
     // ==================== MÉTHODES PRIVÉES ====================
 
-    private Set<Skill> resolveSkills(Set<String> skillNames) {
-        Set<Skill> skills = new HashSet<>();
-        for (String skillName : skillNames) {
-            Skill skill = skillRepository.findByName(skillName)
-                    .orElseThrow(() -> {
-                        log.error("Compétence introuvable : name={}", skillName);
-                        return new NotFoundException("Compétence introuvable : " + skillName);
-                    });
-            skills.add(skill);
-            log.debug("Compétence résolue : name={}, id={}", skillName, skill.getId());
-        }
-        return skills;
-    }
-
-    private Set<Keyword> resolveKeywords(Set<String> keywordLabels) {
-        Set<Keyword> keywords = new HashSet<>();
-        for (String label : keywordLabels) {
-            Keyword keyword = keywordRepository.findByLabel(label)
-                    .orElseThrow(() -> {
-                        log.error("Mot-clé introuvable : label={}", label);
-                        return new NotFoundException("Mot-clé introuvable : " + label);
-                    });
-            keywords.add(keyword);
-            log.debug("Mot-clé résolu : label={}, id={}", label, keyword.getId());
-        }
-        return keywords;
+    /**
+     * Plan de chargement des listes : les collections lues par toStudentResponse sont initialisées
+     * pour tout le lot (une requête par collection) ; le compte utilisateur vient de la requête racine.
+     */
+    private List<Student> fetchResponseGraph(List<Student> students) {
+        if (students.isEmpty()) return students;
+        List<Long> ids = students.stream().map(Student::getId).toList();
+        studentRepository.fetchPreferredWorkTypes(ids);
+        studentRepository.fetchSkills(ids);
+        studentRepository.fetchInterests(ids);
+        return students;
     }
 
     private boolean calculateProfileComplete(Student student) {
@@ -282,7 +281,10 @@ public class StudentService implements IStudentService {
      * ⚙️ Crée un Pageable avec tri.
      */
     private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
+        return PageRequest.of(page, size, createSort(sortBy, sortDirection));
+    }
 
+    private Sort createSort(String sortBy, String sortDirection) {
         if (sortBy == null || sortBy.isBlank()) {
             sortBy = "id";
         }
@@ -292,8 +294,7 @@ public class StudentService implements IStudentService {
             direction = Sort.Direction.DESC;
         }
 
-        Sort sort = Sort.by(direction, sortBy);
-        return PageRequest.of(page, size, sort);
+        return Sort.by(direction, sortBy);
     }
 
 }
\ No newline at end of file
@@ -4,7 +4,9 @@ import fr.amu.bestchoice.model.entity.Teacher;
 import fr.amu.bestchoice.model.entity.User;
 import fr.amu.bestchoice.repository.TeacherRepository;
 import fr.amu.bestchoice.repository.UserRepository;
+import fr.amu.bestchoice.service.implementation.pagination.KeysetPagination;
 import fr.amu.bestchoice.service.interfaces.ITeacherService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.teacher.TeacherCreateRequest;
 import fr.amu.bestchoice.web.dto.teacher.TeacherResponse;
 import fr.amu.bestchoice.web.dto.teacher.TeacherUpdateRequest;
@@ -115,21 +117,45 @@ public class TeacherService implements ITeacherService {
         log.info("⚙️ Page d'enseignants récupérée : page={}/{}, total={}",
                 teachersPage.getNumber() + 1, teachersPage.getTotalPages(), teachersPage.getTotalElements());
 
+        fetchResponseGraph(teachersPage.getContent());
         return teachersPage.map(this::toTeacherResponse);
     }
 
+    /**
+     * Page par curseur (keyset) : ni OFFSET ni COUNT, le total n'est compté que si {@code withTotal}.
+     */
+    public CursorPageResponseDto<TeacherResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal) {
+        log.debug("Récupération enseignants par curseur : size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+        return KeysetPagination.page(cursor, size, createSort(sortBy, sortDirection), teacherRepository::findBy,
+                teachers -> {
+                    fetchResponseGraph(teachers);
+                    return teachers.stream().map(this::toTeacherResponse).toList();
+                },
+                withTotal ? teacherRepository::count : null);
+    }
+
 
     public List<TeacherResponse> findAll() {
         log.debug("Récupération de tous les profils enseignants");
         List<Teacher> teachers = teacherRepository.findAll();
         log.info("Nombre de profils enseignants trouvés : {}", teachers.size());
-        return teachers.stream()
+        return fetchResponseGraph(teachers).stream()
                 .map(this::toTeacherResponse)
                 .collect(Collectors.toList());
     }
 
     // ==================== MÉTHODES PRIVÉES ====================
 
+    /**
+     * Plan de chargement des listes : les projets lus par toTeacherResponse sont initialisés
+     * pour tout le lot en une requête ; le compte utilisateur vient de la requête racine.
+     */
+    private List<Teacher> fetchResponseGraph(List<Teacher> teachers) {
+        if (teachers.isEmpty()) return teachers;
+        teacherRepository.fetchProjects(teachers.stream().map(Teacher::getId).toList());
+        return teachers;
+    }
+
     public TeacherResponse toTeacherResponse(Teacher teacher) {
         TeacherResponse response = teacherMapper.toResponse(teacher);
 
@@ -156,7 +182,10 @@ public class TeacherService implements ITeacherService {
      * ⚙️ Crée un Pageable avec tri.
      */
     private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
+        return PageRequest.of(page, size, createSort(sortBy, sortDirection));
+    }
 
+    private Sort createSort(String sortBy, String sortDirection) {
         if (sortBy == null || sortBy.isBlank()) {
             sortBy = "id";
         }
@@ -166,7 +195,6 @@ public class TeacherService implements ITeacherService {
             direction = Sort.Direction.DESC;
         }
 
-        Sort sort = Sort.by(direction, sortBy);
-        return PageRequest.of(page, size, sort);
+        return Sort.by(direction, sortBy);
     }
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package fr.amu.bestchoice.service.implementation.user;
 
 import fr.amu.bestchoice.model.entity.User;
 import fr.amu.bestchoice.repository.UserRepository;
+import fr.amu.bestchoice.service.implementation.pagination.KeysetPagination;
 import fr.amu.bestchoice.service.interfaces.IUserService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.auth.RegisterRequest;
 import fr.amu.bestchoice.web.dto.auth.RegisterResponse;
 import fr.amu.bestchoice.web.dto.user.UserResponse;
@@ -140,6 +142,16 @@ public class UserService implements IUserService {
         return usersPage.map(userMapper::toResponse);
     }
 
+    /**
+     * Page par curseur (keyset) : ni OFFSET ni COUNT, le total n'est compté que si {@code withTotal}.
+     */
+    public CursorPageResponseDto<UserResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal) {
+        log.debug("Récupération utilisateurs par curseur : size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+        return KeysetPagination.page(cursor, size, createSort(sortBy, sortDirection), userRepository::findBy,
+                users -> users.stream().map(userMapper::toResponse).toList(),
+                withTotal ? userRepository::count : null);
+    }
+
     // ANCIENNE MÉTHODE (rétrocompatibilité)
     public List<UserResponse> findAll() {
         log.debug("Récupération de tous les utilisateurs");
@@ -202,7 +214,10 @@ public class UserService implements IUserService {
      * ⚙️ Crée un Pageable avec tri.
      */
     private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
+        return PageRequest.of(page, size, createSort(sortBy, sortDirection));
+    }
 
+    private Sort createSort(String sortBy, String sortDirection) {
         if (sortBy == null || sortBy.isBlank()) {
             sortBy = "id";
         }
@@ -212,7 +227,6 @@ public class UserService implements IUserService {
             direction = Sort.Direction.DESC;
         }
 
-        Sort sort = Sort.by(direction, sortBy);
-        return PageRequest.of(page, size, sort);
+        return Sort.by(direction, sortBy);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package fr.amu.bestchoice.service.interfaces;
 
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.SuggestionResponse;
 import fr.amu.bestchoice.web.dto.keyword.KeywordCreateRequest;
 import fr.amu.bestchoice.web.dto.keyword.KeywordResponse;
 import fr.amu.bestchoice.web.dto.keyword.KeywordUpdateRequest;
@@ -48,6 +50,18 @@ public interface IKeywordService {
      */
     Page<KeywordResponse> findAll(int page, int size, String sortBy, String sortDirection);
 
+    /**
+     * Récupère les mots-clés par pagination keyset, sans COUNT ni OFFSET.
+     *
+     * @param cursor Le curseur renvoyé par la page précédente (null pour la première page)
+     * @param size La taille de la page
+     * @param sortBy Le champ de tri (non nul)
+     * @param sortDirection La direction du tri (ASC ou DESC)
+     * @param withTotal Calculer aussi le nombre total d'éléments
+     * @return Une page de mots-clés avec le curseur de la suivante
+     */
+    CursorPageResponseDto<KeywordResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal);
+
     /**
      * Récupère tous les mots-clés.
      *
@@ -62,6 +76,24 @@ public interface IKeywordService {
      */
     List<KeywordResponse> findAllActive();
 
+    /**
+     * Recherche plein texte classée par pertinence (libellé, domaine, description).
+     *
+     * @param query Les termes recherchés (préfixes acceptés, accents ignorés)
+     * @param limit Le nombre maximal de résultats
+     * @return Les mots-clés trouvés, du plus au moins pertinent
+     */
+    List<KeywordResponse> search(String query, int limit);
+
+    /**
+     * Autocomplétion sur les mots-clés actifs (début du libellé ou de l'un de ses mots).
+     *
+     * @param prefix Le début saisi (accents et casse ignorés)
+     * @param limit  Le nombre maximal de suggestions
+     * @return Les suggestions, libellés les plus courts d'abord
+     */
+    List<SuggestionResponse> suggest(String prefix, int limit);
+
     /**
      * Supprime un mot-clé.
      *
@@ -2,6 +2,7 @@ package fr.amu.bestchoice.service.interfaces;
 
 import fr.amu.bestchoice.web.dto.campaign.MatchingCampaignRequest;
 import fr.amu.bestchoice.web.dto.campaign.MatchingCampaignResponse;
+import fr.amu.bestchoice.web.dto.campaign.MatchingRunSummaryResponse;
 import java.util.List;
 
 public interface IMatchingCampaignService {
@@ -11,6 +12,9 @@ public interface IMatchingCampaignService {
     List<MatchingCampaignResponse> findByTeacherId(Long teacherId);
     List<MatchingCampaignResponse> findByStudentId(Long studentId);
     void addStudentsToCampaign(Long campaignId, List<Long> studentIds);
+    void removeStudentsFromCampaign(Long campaignId, List<Long> studentIds);
     void addItemsToCampaign(Long campaignId, List<Long> itemIds);
+    void removeItemsFromCampaign(Long campaignId, List<Long> itemIds);
+    MatchingRunSummaryResponse findRunSummary(Long campaignId);
     void delete(Long id);
 }
\ No newline at end of file
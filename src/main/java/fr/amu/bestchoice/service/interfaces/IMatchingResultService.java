@@ -1,5 +1,6 @@
 package fr.amu.bestchoice.service.interfaces;
 
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.matching.MatchingResultResponse;
 import java.util.List;
 
@@ -14,6 +15,12 @@ public interface IMatchingResultService {
 
     List<MatchingResultResponse> findTopResultsForStudent(Long campaignId, Long studentId, int n);
 
+    /** Les n meilleurs candidats pour un projet (classement par score décroissant) */
+    List<MatchingResultResponse> findTopCandidatesForProject(Long campaignId, Long projectId, int n);
+
+    /** Les n meilleurs candidats pour une matière (classement par score décroissant) */
+    List<MatchingResultResponse> findTopCandidatesForSubject(Long campaignId, Long subjectId, int n);
+
     List<MatchingResultResponse> findByCampaignAndProject(Long campaignId, Long projectId);
 
     List<MatchingResultResponse> findByCampaignAndSubject(Long campaignId, Long subjectId);
@@ -23,6 +30,18 @@ public interface IMatchingResultService {
     /** Tous les résultats d'un étudiant (toutes campagnes) */
     List<MatchingResultResponse> findByStudentId(Long studentId);
 
+    // ── Pagination par curseur (globalScore DESC, id ASC) ──
+
+    CursorPageResponseDto<MatchingResultResponse> findByCampaignId(Long campaignId, String cursor, int size);
+
+    CursorPageResponseDto<MatchingResultResponse> findByCampaignAndStudent(Long campaignId, Long studentId, String cursor, int size);
+
+    CursorPageResponseDto<MatchingResultResponse> findByCampaignAndProject(Long campaignId, Long projectId, String cursor, int size);
+
+    CursorPageResponseDto<MatchingResultResponse> findByCampaignAndSubject(Long campaignId, Long subjectId, String cursor, int size);
+
+    CursorPageResponseDto<MatchingResultResponse> findByStudentId(Long studentId, String cursor, int size);
+
     void deleteByCampaignId(Long campaignId);
 
     long countByCampaignId(Long campaignId);
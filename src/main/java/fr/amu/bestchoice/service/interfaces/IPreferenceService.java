@@ -2,6 +2,7 @@ package fr.amu.bestchoice.service.interfaces;
 
 import fr.amu.bestchoice.model.enums.PreferenceStatus;
 import fr.amu.bestchoice.web.dto.preference.PreferenceCreateRequest;
+import fr.amu.bestchoice.web.dto.preference.PreferenceListRequest;
 import fr.amu.bestchoice.web.dto.preference.PreferenceResponse;
 
 import java.util.List;
@@ -19,6 +20,16 @@ public interface IPreferenceService {
      */
     PreferenceResponse create(PreferenceCreateRequest dto);
 
+    /**
+     * Remplace atomiquement la liste complète des vœux d'un étudiant dans une campagne.
+     *
+     * @param studentId L'ID de l'étudiant
+     * @param campaignId L'ID de la campagne
+     * @param request Les vœux par ordre de préférence
+     * @return La nouvelle liste, triée par rang
+     */
+    List<PreferenceResponse> replaceForCampaign(Long studentId, Long campaignId, PreferenceListRequest request);
+
     /**
      * Récupère toutes les préférences d'un étudiant.
      *
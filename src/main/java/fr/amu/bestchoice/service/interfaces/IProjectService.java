@@ -1,5 +1,8 @@
 package fr.amu.bestchoice.service.interfaces;
 
+import fr.amu.bestchoice.web.dto.CatalogFilterRequest;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.FacetedPageResponseDto;
 import fr.amu.bestchoice.web.dto.project.ProjectCreateRequest;
 import fr.amu.bestchoice.web.dto.project.ProjectResponse;
 import fr.amu.bestchoice.web.dto.project.ProjectUpdateRequest;
@@ -49,6 +52,18 @@ public interface IProjectService {
      */
     Page<ProjectResponse> findAll(int page, int size, String sortBy, String sortDirection);
 
+    /**
+     * Récupère les projets par pagination keyset, sans COUNT ni OFFSET.
+     *
+     * @param cursor Le curseur renvoyé par la page précédente (null pour la première page)
+     * @param size La taille de la page
+     * @param sortBy Le champ de tri (non nul)
+     * @param sortDirection La direction du tri (ASC ou DESC)
+     * @param withTotal Calculer aussi le nombre total d'éléments
+     * @return Une page de projets avec le curseur de la suivante
+     */
+    CursorPageResponseDto<ProjectResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal);
+
     /**
      * Récupère tous les projets.
      *
@@ -70,6 +85,25 @@ public interface IProjectService {
      */
     List<ProjectResponse> findAllAvailable();
 
+    /**
+     * Recherche plein texte classée par pertinence (titre, description).
+     *
+     * @param query Les termes recherchés (préfixes acceptés, accents ignorés)
+     * @param limit Le nombre maximal de résultats
+     * @return Les projets trouvés, du plus au moins pertinent
+     */
+    List<ProjectResponse> search(String query, int limit);
+
+    /**
+     * Recherche à facettes parmi les projets actifs (filtres combinables, compteurs par valeur).
+     *
+     * @param filter Les critères (OU au sein d'un critère, ET entre critères)
+     * @param page   Le numéro de page (commence à 0)
+     * @param size   La taille de page
+     * @return La page de projets, par ID croissant, et les compteurs de chaque facette
+     */
+    FacetedPageResponseDto<ProjectResponse> searchCatalog(CatalogFilterRequest filter, int page, int size);
+
     /**
      * Active un projet.
      *
@@ -84,6 +118,23 @@ public interface IProjectService {
      */
     void deactivate(Long id);
 
+    /**
+     * Affecte un étudiant au projet (libère sa place précédente éventuelle).
+     *
+     * @param projectId L'ID du projet
+     * @param studentId L'ID de l'étudiant
+     * @throws fr.amu.bestchoice.web.exception.BusinessException si le projet est complet
+     */
+    void assignStudent(Long projectId, Long studentId);
+
+    /**
+     * Retire un étudiant du projet et libère sa place.
+     *
+     * @param projectId L'ID du projet
+     * @param studentId L'ID de l'étudiant
+     */
+    void unassignStudent(Long projectId, Long studentId);
+
     /** Supprime définitivement un projet */
     void delete(Long id);
 
@@ -1,5 +1,7 @@
 package fr.amu.bestchoice.service.interfaces;
 
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.SuggestionResponse;
 import fr.amu.bestchoice.web.dto.skill.SkillCreateRequest;
 import fr.amu.bestchoice.web.dto.skill.SkillResponse;
 import fr.amu.bestchoice.web.dto.skill.SkillUpdateRequest;
@@ -48,6 +50,18 @@ public interface ISkillService {
      */
     Page<SkillResponse> findAll(int page, int size, String sortBy, String sortDirection);
 
+    /**
+     * Récupère les compétences par pagination keyset, sans COUNT ni OFFSET.
+     *
+     * @param cursor Le curseur renvoyé par la page précédente (null pour la première page)
+     * @param size La taille de la page
+     * @param sortBy Le champ de tri (non nul)
+     * @param sortDirection La direction du tri (ASC ou DESC)
+     * @param withTotal Calculer aussi le nombre total d'éléments
+     * @return Une page de compétences avec le curseur de la suivante
+     */
+    CursorPageResponseDto<SkillResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal);
+
     /**
      * Récupère toutes les compétences.
      *
@@ -62,6 +76,24 @@ public interface ISkillService {
      */
     List<SkillResponse> findAllActive();
 
+    /**
+     * Recherche plein texte classée par pertinence (nom, catégorie, description).
+     *
+     * @param query Les termes recherchés (préfixes acceptés, accents ignorés)
+     * @param limit Le nombre maximal de résultats
+     * @return Les compétences trouvées, de la plus à la moins pertinente
+     */
+    List<SkillResponse> search(String query, int limit);
+
+    /**
+     * Autocomplétion sur les compétences actives (début du libellé ou de l'un de ses mots).
+     *
+     * @param prefix Le début saisi (accents et casse ignorés)
+     * @param limit  Le nombre maximal de suggestions
+     * @return Les suggestions, libellés les plus courts d'abord
+     */
+    List<SuggestionResponse> suggest(String prefix, int limit);
+
     /**
      * Supprime une compétence.
      *
@@ -1,5 +1,6 @@
 package fr.amu.bestchoice.service.interfaces;
 
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.teacher.TeacherCreateRequest;
 import fr.amu.bestchoice.web.dto.teacher.TeacherResponse;
 import fr.amu.bestchoice.web.dto.teacher.TeacherUpdateRequest;
@@ -49,6 +50,18 @@ public interface ITeacherService {
      */
     Page<TeacherResponse> findAll(int page, int size, String sortBy, String sortDirection);
 
+    /**
+     * Récupère les profils enseignants par pagination keyset, sans COUNT ni OFFSET.
+     *
+     * @param cursor Le curseur renvoyé par la page précédente (null pour la première page)
+     * @param size La taille de la page
+     * @param sortBy Le champ de tri (non nul)
+     * @param sortDirection La direction du tri (ASC ou DESC)
+     * @param withTotal Calculer aussi le nombre total d'éléments
+     * @return Une page de profils enseignants avec le curseur de la suivante
+     */
+    CursorPageResponseDto<TeacherResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal);
+
     /**
      * Récupère tous les profils enseignants.
      *
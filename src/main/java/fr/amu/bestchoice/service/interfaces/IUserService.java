@@ -1,5 +1,6 @@
 package fr.amu.bestchoice.service.interfaces;
 
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.auth.RegisterRequest;
 import fr.amu.bestchoice.web.dto.auth.RegisterResponse;
 import fr.amu.bestchoice.web.dto.user.UserResponse;
@@ -49,6 +50,18 @@ public interface IUserService {
      */
     Page<UserResponse> findAll(int page, int size, String sortBy, String sortDirection);
 
+    /**
+     * Récupère les utilisateurs par pagination keyset, sans COUNT ni OFFSET.
+     *
+     * @param cursor Le curseur renvoyé par la page précédente (null pour la première page)
+     * @param size La taille de la page
+     * @param sortBy Le champ de tri (non nul)
+     * @param sortDirection La direction du tri (ASC ou DESC)
+     * @param withTotal Calculer aussi le nombre total d'éléments
+     * @return Une page de utilisateurs avec le curseur de la suivante
+     */
+    CursorPageResponseDto<UserResponse> scroll(String cursor, int size, String sortBy, String sortDirection, boolean withTotal);
+
     /**
      * Récupère tous les utilisateurs.
      *
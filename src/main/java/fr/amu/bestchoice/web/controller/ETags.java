@@ -0,0 +1,41 @@
+package fr.amu.bestchoice.web.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * ETags forts dérivés d'un compteur de version (run de matching, modification de catalogue),
+ * jamais du contenu : la requête conditionnelle est tranchée avant tout accès à la base.
+ *
+ * Usage dans un contrôleur :
+ * <pre>
+ * if (ETags.notModified(request, ETags.of("projects", version))) return null; // 304
+ * </pre>
+ */
+public final class ETags {
+
+    /** Distingue les instances : les compteurs en mémoire repartent de 0 au redémarrage. */
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private ETags() {
+    }
+
+    public static String of(String scope, long version) {
+        return "\"" + scope + "-" + EPOCH + "-" + version + "\"";
+    }
+
+    /**
+     * Vérifie If-None-Match. Renvoie true si le client possède déjà cette version : le statut 304
+     * est positionné et le contrôleur doit renvoyer null. Sinon l'en-tête ETag est ajouté à la
+     * réponse. Cache-Control: no-cache autorise le navigateur à conserver la réponse
+     * (sinon Spring Security impose no-store) tout en la revalidant à chaque appel.
+     */
+    public static boolean notModified(WebRequest request, String etag) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        }
+        return request.checkNotModified(etag);
+    }
+}
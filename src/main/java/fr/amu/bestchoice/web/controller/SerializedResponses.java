@@ -0,0 +1,59 @@
+package fr.amu.bestchoice.web.controller;
+
+import fr.amu.bestchoice.service.implementation.catalog.CatalogResponseCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Locale;
+
+/**
+ * Réponses construites à partir d'un corps JSON déjà sérialisé ({@link CatalogResponseCache}) :
+ * le tableau partagé est écrit tel quel, compressé gzip si le client l'accepte.
+ *
+ * Usage dans un contrôleur :
+ * <pre>
+ * if (notModified(request)) return null;
+ * return SerializedResponses.ok(request, responseCache.get(View.SKILLS, skillService::findAll));
+ * </pre>
+ */
+public final class SerializedResponses {
+
+    private static final String GZIP = "gzip";
+
+    private SerializedResponses() {
+    }
+
+    public static ResponseEntity<byte[]> ok(WebRequest request, CatalogResponseCache.Snapshot snapshot) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    /**
+     * Accept-Encoding contient gzip (ou *) sans q=0.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].strip().toLowerCase(Locale.ROOT);
+            if (!name.equals(GZIP) && !name.equals("*")) continue;
+
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].strip().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    refused = param.substring(2).strip().matches("0(\\.0*)?");
+                }
+            }
+            if (!refused) return true;
+        }
+        return false;
+    }
+}
@@ -3,11 +3,13 @@ package fr.amu.bestchoice.web.controller.campaign;
 import fr.amu.bestchoice.service.interfaces.IMatchingCampaignService;
 import fr.amu.bestchoice.web.dto.campaign.MatchingCampaignRequest;
 import fr.amu.bestchoice.web.dto.campaign.MatchingCampaignResponse;
+import fr.amu.bestchoice.web.dto.campaign.MatchingRunSummaryResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -31,6 +33,11 @@ public class CampaignController
         return ResponseEntity.ok(campaignService.findById(id));
     }
 
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<MatchingRunSummaryResponse> getRunSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(campaignService.findRunSummary(id));
+    }
+
     @GetMapping("/teacher/{teacherId}")
     public ResponseEntity<List<MatchingCampaignResponse>> getByTeacher(@PathVariable Long teacherId) {
         return ResponseEntity.ok(campaignService.findByTeacherId(teacherId));
@@ -53,6 +60,23 @@ public class CampaignController
         return ResponseEntity.ok().build();
     }
 
+    // Retrait en masse : POST (liste d'IDs dans le corps, potentiellement longue).
+    // Supprime aussi les vœux en attente et les résultats des membres retirés.
+
+    @PostMapping("/{id}/students/remove")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENSEIGNANT')")
+    public ResponseEntity<Void> removeStudents(@PathVariable Long id, @RequestBody List<Long> studentIds) {
+        campaignService.removeStudentsFromCampaign(id, studentIds);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/{id}/items/remove")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENSEIGNANT')")
+    public ResponseEntity<Void> removeItems(@PathVariable Long id, @RequestBody List<Long> itemIds) {
+        campaignService.removeItemsFromCampaign(id, itemIds);
+        return ResponseEntity.ok().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         campaignService.delete(id);
@@ -1,9 +1,16 @@
 package fr.amu.bestchoice.web.controller.matching;
 
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingBatchService;
 import fr.amu.bestchoice.service.implementation.algorithmes.MatchingContextService;
+import fr.amu.bestchoice.service.implementation.algorithmes.snapshot.MatchingSnapshotService;
+import fr.amu.bestchoice.web.dto.matching.MatchingBatchRunRequest;
+import fr.amu.bestchoice.web.dto.matching.MatchingBatchRunResponse;
 import fr.amu.bestchoice.web.dto.matching.MatchingRunResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -12,6 +19,8 @@ import org.springframework.web.bind.annotation.*;
 public class MatchingController {
 
     private final MatchingContextService matchingContextService;
+    private final MatchingBatchService matchingBatchService;
+    private final MatchingSnapshotService matchingSnapshotService;
 
     /**
      * Lance le matching pour une campagne.
@@ -24,4 +33,31 @@ public class MatchingController {
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Lance le matching de toutes les campagnes correspondant aux filtres (enseignant / année / semestre).
+     */
+    @PostMapping("/batch/run")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENSEIGNANT')")
+    public ResponseEntity<MatchingBatchRunResponse> runBatch(@RequestBody MatchingBatchRunRequest request) {
+        var result = matchingBatchService.runBatch(request);
+
+        return ResponseEntity.ok(MatchingBatchRunResponse.from(result));
+    }
+
+    /**
+     * Exporte les entrées de la campagne au format snapshot binaire (rejeu hors ligne).
+     * anonymize=true : IDs remplacés par des positions, libellés retirés.
+     */
+    @GetMapping("/campaign/{campaignId}/snapshot")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENSEIGNANT')")
+    public ResponseEntity<byte[]> exportSnapshot(@PathVariable Long campaignId,
+                                                 @RequestParam(defaultValue = "false") boolean anonymize) {
+        byte[] snapshot = matchingSnapshotService.export(campaignId, anonymize);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"campaign-" + campaignId + ".bcms\"")
+                .body(snapshot);
+    }
+}
@@ -1,12 +1,23 @@
 package fr.amu.bestchoice.web.controller.matching;
 
+import fr.amu.bestchoice.service.implementation.matching.MatchingResultCache;
+import fr.amu.bestchoice.service.implementation.matching.MatchingResultExportService;
 import fr.amu.bestchoice.service.interfaces.IMatchingResultService;
+import fr.amu.bestchoice.web.controller.ETags;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.matching.MatchingResultResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,6 +29,8 @@ import java.util.List;
 public class MatchingResultController {
 
     private final IMatchingResultService matchingResultService;
+    private final MatchingResultExportService matchingResultExportService;
+    private final MatchingResultCache matchingResultCache;
 
     // ==================== READ - CAMPAGNE ====================
 
@@ -25,7 +38,8 @@ public class MatchingResultController {
      * Récupère TOUS les résultats d'une campagne précise.
      */
     @GetMapping("/campaign/{campaignId}")
-    public ResponseEntity<List<MatchingResultResponse>> getResultsByCampaign(@PathVariable Long campaignId) {
+    public ResponseEntity<List<MatchingResultResponse>> getResultsByCampaign(@PathVariable Long campaignId, WebRequest request) {
+        if (notModified(request, campaignId)) return null;
         return ResponseEntity.ok(matchingResultService.findByCampaignId(campaignId));
     }
 
@@ -45,7 +59,8 @@ public class MatchingResultController {
      * Utilisé par le tableau de bord étudiant.
      */
     @GetMapping("/student/{studentId}")
-    public ResponseEntity<List<MatchingResultResponse>> getAllResultsForStudent(@PathVariable Long studentId) {
+    public ResponseEntity<List<MatchingResultResponse>> getAllResultsForStudent(@PathVariable Long studentId, WebRequest request) {
+        if (notModified(request, null)) return null;
         return ResponseEntity.ok(matchingResultService.findByStudentId(studentId));
     }
 
@@ -55,7 +70,9 @@ public class MatchingResultController {
     @GetMapping("/campaign/{campaignId}/student/{studentId}")
     public ResponseEntity<List<MatchingResultResponse>> getResultsByStudent(
             @PathVariable Long campaignId,
-            @PathVariable Long studentId) {
+            @PathVariable Long studentId,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
         return ResponseEntity.ok(matchingResultService.findByCampaignAndStudent(campaignId, studentId));
     }
 
@@ -66,7 +83,9 @@ public class MatchingResultController {
     public ResponseEntity<List<MatchingResultResponse>> getTopForStudent(
             @PathVariable Long campaignId,
             @PathVariable Long studentId,
-            @PathVariable int n) {
+            @PathVariable int n,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
         return ResponseEntity.ok(matchingResultService.findTopResultsForStudent(campaignId, studentId, n));
     }
 
@@ -78,24 +97,163 @@ public class MatchingResultController {
     @GetMapping("/campaign/{campaignId}/project/{projectId}")
     public ResponseEntity<List<MatchingResultResponse>> getResultsByProject(
             @PathVariable Long campaignId,
-            @PathVariable Long projectId) {
+            @PathVariable Long projectId,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
         return ResponseEntity.ok(matchingResultService.findByCampaignAndProject(campaignId, projectId));
     }
 
+    /**
+     * Top N candidats pour un projet dans une campagne.
+     */
+    @GetMapping("/campaign/{campaignId}/project/{projectId}/top/{n}")
+    public ResponseEntity<List<MatchingResultResponse>> getTopForProject(
+            @PathVariable Long campaignId,
+            @PathVariable Long projectId,
+            @PathVariable int n,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
+        return ResponseEntity.ok(matchingResultService.findTopCandidatesForProject(campaignId, projectId, n));
+    }
+
+    /**
+     * Top N candidats pour une matière dans une campagne.
+     */
+    @GetMapping("/campaign/{campaignId}/subject/{subjectId}/top/{n}")
+    public ResponseEntity<List<MatchingResultResponse>> getTopForSubject(
+            @PathVariable Long campaignId,
+            @PathVariable Long subjectId,
+            @PathVariable int n,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
+        return ResponseEntity.ok(matchingResultService.findTopCandidatesForSubject(campaignId, subjectId, n));
+    }
+
     /**
      * Résultats pour une matière spécifique dans une campagne.
      */
     @GetMapping("/campaign/{campaignId}/subject/{subjectId}")
     public ResponseEntity<List<MatchingResultResponse>> getResultsBySubject(
             @PathVariable Long campaignId,
-            @PathVariable Long subjectId) {
+            @PathVariable Long subjectId,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
         return ResponseEntity.ok(matchingResultService.findByCampaignAndSubject(campaignId, subjectId));
     }
 
+    // ==================== READ - PAGINÉ (CURSEUR) ====================
+    // Tri (globalScore DESC, id ASC) ; passer nextCursor de la réponse pour obtenir la page suivante.
+
+    @Operation(summary = "Résultats d'une campagne (paginé par curseur)")
+    @GetMapping("/campaign/{campaignId}/paginated")
+    public ResponseEntity<CursorPageResponseDto<MatchingResultResponse>> getResultsByCampaignPaginated(
+            @PathVariable Long campaignId,
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide = première page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Taille de page (max 500)", example = "50")
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
+        return ResponseEntity.ok(matchingResultService.findByCampaignId(campaignId, cursor, size));
+    }
+
+    @Operation(summary = "Résultats d'un étudiant dans une campagne (paginé par curseur)")
+    @GetMapping("/campaign/{campaignId}/student/{studentId}/paginated")
+    public ResponseEntity<CursorPageResponseDto<MatchingResultResponse>> getResultsByStudentPaginated(
+            @PathVariable Long campaignId,
+            @PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
+        return ResponseEntity.ok(matchingResultService.findByCampaignAndStudent(campaignId, studentId, cursor, size));
+    }
+
+    @Operation(summary = "Résultats d'un projet dans une campagne (paginé par curseur)")
+    @GetMapping("/campaign/{campaignId}/project/{projectId}/paginated")
+    public ResponseEntity<CursorPageResponseDto<MatchingResultResponse>> getResultsByProjectPaginated(
+            @PathVariable Long campaignId,
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
+        return ResponseEntity.ok(matchingResultService.findByCampaignAndProject(campaignId, projectId, cursor, size));
+    }
+
+    @Operation(summary = "Résultats d'une matière dans une campagne (paginé par curseur)")
+    @GetMapping("/campaign/{campaignId}/subject/{subjectId}/paginated")
+    public ResponseEntity<CursorPageResponseDto<MatchingResultResponse>> getResultsBySubjectPaginated(
+            @PathVariable Long campaignId,
+            @PathVariable Long subjectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest request) {
+        if (notModified(request, campaignId)) return null;
+        return ResponseEntity.ok(matchingResultService.findByCampaignAndSubject(campaignId, subjectId, cursor, size));
+    }
+
+    @Operation(summary = "Résultats d'un étudiant, toutes campagnes (paginé par curseur)")
+    @GetMapping("/student/{studentId}/paginated")
+    public ResponseEntity<CursorPageResponseDto<MatchingResultResponse>> getAllResultsForStudentPaginated(
+            @PathVariable Long studentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest request) {
+        if (notModified(request, null)) return null;
+        return ResponseEntity.ok(matchingResultService.findByStudentId(studentId, cursor, size));
+    }
+
+    // ==================== EXPORT (FLUX) ====================
+
+    /**
+     * Exporte tous les résultats d'une campagne en CSV ou NDJSON, écrits en flux :
+     * la réponse est produite au fil de la lecture en base, sans tout charger en mémoire.
+     * gzip=true : corps compressé (Content-Encoding: gzip).
+     */
+    @Operation(summary = "Export des résultats d'une campagne (CSV / NDJSON, en flux)")
+    @GetMapping("/campaign/{campaignId}/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ENSEIGNANT')")
+    public ResponseEntity<StreamingResponseBody> exportResults(
+            @PathVariable Long campaignId,
+            @Parameter(description = "csv ou ndjson", example = "csv")
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        MatchingResultExportService.Format exportFormat = MatchingResultExportService.Format.parse(format);
+        matchingResultExportService.checkCampaignExists(campaignId);
+
+        // Exécuté hors du thread de la requête : la transaction est ouverte par le service
+        StreamingResponseBody body = out -> matchingResultExportService.export(campaignId, exportFormat, gzip, out);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"campaign-" + campaignId + "-results." + exportFormat.extension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
     // ==================== READ - UNIQUE ====================
 
     @GetMapping("/{id}")
-    public ResponseEntity<MatchingResultResponse> getById(@PathVariable Long id) {
+    public ResponseEntity<MatchingResultResponse> getById(@PathVariable Long id, WebRequest request) {
+        if (notModified(request, null)) return null;
         return ResponseEntity.ok(matchingResultService.findById(id));
     }
-}
\ No newline at end of file
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    /**
+     * If-None-Match sur la version des résultats (campagne, ou toutes campagnes si null) :
+     * 304 sans accès à la base tant qu'aucun run / suppression n'a été commité et qu'aucun
+     * projet / matière (titres affichés dans les résultats) n'a été modifié.
+     */
+    private boolean notModified(WebRequest request, Long campaignId) {
+        String etag = campaignId != null
+                ? ETags.of("results-" + campaignId, matchingResultCache.version(campaignId))
+                : ETags.of("results", matchingResultCache.globalVersion());
+        return ETags.notModified(request, etag);
+    }
+}
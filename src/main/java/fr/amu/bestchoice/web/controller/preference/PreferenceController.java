@@ -3,6 +3,7 @@ package fr.amu.bestchoice.web.controller.preference;
 
 import fr.amu.bestchoice.service.interfaces.IPreferenceService;
 import fr.amu.bestchoice.web.dto.preference.PreferenceCreateRequest;
+import fr.amu.bestchoice.web.dto.preference.PreferenceListRequest;
 import fr.amu.bestchoice.web.dto.preference.PreferenceResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -23,6 +24,7 @@ import java.util.List;
  * - GET    /api/preferences/project/{projectId} : Récupérer les préférences pour un projet
  * - GET    /api/preferences/{id}                : Récupérer une préférence par ID
  * - POST   /api/preferences                     : Créer une nouvelle préférence
+ * - PUT    /api/preferences/student/{studentId}/campaign/{campaignId} : Remplacer tous les vœux d'un étudiant
  * - DELETE /api/preferences/{id}                : Supprimer une préférence
  * - PATCH  /api/preferences/{id}/accept         : Accepter une préférence
  * - PATCH  /api/preferences/{id}/reject         : Rejeter une préférence
@@ -126,6 +128,31 @@ public class PreferenceController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdPreference);
     }
 
+    // ==================== UPDATE ====================
+
+    /**
+     * Remplace la liste complète des vœux d'un étudiant dans une campagne.
+     *
+     * L'ordre de la liste donne le rang (1er élément = 1er choix). Tout ou rien : si un vœu est
+     * invalide, aucun vœu n'est modifié.
+     *
+     * Réservé à l'étudiant lui-même et aux administrateurs.
+     */
+    @PutMapping("/student/{studentId}/campaign/{campaignId}")
+    @PreAuthorize("hasRole('ADMIN') or @studentAccess.isSelf(#studentId, authentication)")
+    public ResponseEntity<List<PreferenceResponse>> replacePreferences(
+            @PathVariable Long studentId,
+            @PathVariable Long campaignId,
+            @Valid @RequestBody PreferenceListRequest request) {
+
+        log.info("PUT /api/preferences/student/{}/campaign/{} - Remplacement des vœux : {} vœu(x)",
+                studentId, campaignId, request.choices().size());
+
+        List<PreferenceResponse> preferences = preferenceService.replaceForCampaign(studentId, campaignId, request);
+
+        return ResponseEntity.ok(preferences);
+    }
+
     // ==================== DELETE ====================
 
     /**
@@ -1,12 +1,24 @@
 package fr.amu.bestchoice.web.controller.project;
 
+import fr.amu.bestchoice.model.enums.WorkType;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogResponseCache;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
 import fr.amu.bestchoice.service.interfaces.IProjectService;
+import fr.amu.bestchoice.web.controller.ETags;
+import fr.amu.bestchoice.web.controller.SerializedResponses;
+import fr.amu.bestchoice.web.dto.CatalogFilterRequest;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.FacetedPageResponseDto;
 import fr.amu.bestchoice.web.dto.PageResponseDto;
 import fr.amu.bestchoice.web.dto.project.ProjectCreateRequest;
 import fr.amu.bestchoice.web.dto.project.ProjectResponse;
 import fr.amu.bestchoice.web.dto.project.ProjectUpdateRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,8 +28,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -27,6 +41,8 @@ import java.util.List;
 public class ProjectController {
 
     private final IProjectService projectService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogResponseCache responseCache;
 
     // ==================== READ ====================
 
@@ -50,7 +66,9 @@ public class ProjectController {
             @RequestParam(required = false) String sortBy,
 
             @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
-            @RequestParam(required = false) String sortDirection) {
+            @RequestParam(required = false) String sortDirection,
+            WebRequest request) {
+        if (notModified(request)) return null;
 
         log.debug("🌐 GET /api/projects/paginated - page={}, size={}, sortBy={}, sortDirection={}",
                 page, size, sortBy, sortDirection);
@@ -64,33 +82,129 @@ public class ProjectController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Récupérer les projets (paginé par curseur)",
+            description = "Pagination keyset : passer nextCursor de la réponse pour obtenir la page suivante. "
+                    + "Sans COUNT ni OFFSET, le coût d'une page ne dépend pas de sa profondeur."
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<ProjectResponse>> getAllProjectsScroll(
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide = première page)")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Taille de page (max 500)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Champ de tri, non nul (identique pour toutes les pages)", example = "title")
+            @RequestParam(required = false) String sortBy,
+
+            @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
+            @RequestParam(required = false) String sortDirection,
+
+            @Parameter(description = "Calculer aussi le nombre total (une requête COUNT)", example = "false")
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            WebRequest request) {
+        if (notModified(request)) return null;
+
+        log.debug("🌐 GET /api/projects/scroll - size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+
+        CursorPageResponseDto<ProjectResponse> response = projectService.scroll(cursor, size, sortBy, sortDirection, withTotal);
+
+        log.info("🌐 GET /api/projects/scroll - {} projets retournés", response.content().size());
+        return ResponseEntity.ok(response);
+    }
+
     // ANCIENNE VERSION (rétrocompatibilité)
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getAllProjects() {
+    public ResponseEntity<List<ProjectResponse>> getAllProjects(WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/projects - Récupération de tous les projets");
         List<ProjectResponse> projects = projectService.findAll();
         log.info("GET /api/projects - {} projets retournés", projects.size());
         return ResponseEntity.ok(projects);
     }
 
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ProjectResponse.class))))
     @GetMapping("/active")
-    public ResponseEntity<List<ProjectResponse>> getActiveProjects() {
+    public ResponseEntity<byte[]> getActiveProjects(WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/projects/active - Récupération des projets actifs");
-        List<ProjectResponse> projects = projectService.findAllActive();
+        CatalogResponseCache.Snapshot projects = responseCache.get(CatalogResponseCache.View.ACTIVE_PROJECTS, projectService::findAllActive);
         log.info("GET /api/projects/active - {} projets actifs retournés", projects.size());
-        return ResponseEntity.ok(projects);
+        return SerializedResponses.ok(request, projects);
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<ProjectResponse>> getAvailableProjects() {
+    public ResponseEntity<List<ProjectResponse>> getAvailableProjects(WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/projects/available - Récupération des projets disponibles");
         List<ProjectResponse> projects = projectService.findAllAvailable();
         log.info("GET /api/projects/available - {} projets disponibles retournés", projects.size());
         return ResponseEntity.ok(projects);
     }
 
+    @Operation(
+            summary = "Rechercher des projets",
+            description = "Recherche plein texte classée par pertinence (accents ignorés, préfixes acceptés)"
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<ProjectResponse>> searchProjects(
+            @Parameter(description = "Termes recherchés", example = "apprentissage")
+            @RequestParam("q") String query,
+
+            @Parameter(description = "Nombre maximal de résultats", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("GET /api/projects/search - q={}, limit={}", query, limit);
+        List<ProjectResponse> projects = projectService.search(query, limit);
+        log.info("GET /api/projects/search - {} projets trouvés", projects.size());
+        return ResponseEntity.ok(projects);
+    }
+
+    @Operation(
+            summary = "Catalogue des projets à facettes",
+            description = "Projets actifs filtrés par critères combinables (OU au sein d'un critère, ET entre critères), " +
+                    "avec le nombre de projets par valeur de chaque facette"
+    )
+    @GetMapping("/catalog")
+    public ResponseEntity<FacetedPageResponseDto<ProjectResponse>> searchCatalog(
+            @Parameter(description = "Types de travail (OU)")
+            @RequestParam(required = false) Set<WorkType> workType,
+
+            @Parameter(description = "Semestres (OU)", example = "1")
+            @RequestParam(required = false) Set<Integer> semester,
+
+            @Parameter(description = "Nombres de crédits (OU)", example = "6")
+            @RequestParam(required = false) Set<Integer> credits,
+
+            @Parameter(description = "Télétravail possible")
+            @RequestParam(required = false) Boolean remote,
+
+            @Parameter(description = "IDs de compétences requises (OU)")
+            @RequestParam(required = false) Set<Long> skill,
+
+            @Parameter(description = "IDs de mots-clés (OU)")
+            @RequestParam(required = false) Set<Long> keyword,
+
+            @Parameter(description = "Places encore disponibles")
+            @RequestParam(required = false) Boolean freeSeats,
+
+            @Parameter(description = "Numéro de page (commence à 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Taille de page", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (notModified(request)) return null;
+        log.debug("GET /api/projects/catalog - page={}, size={}", page, size);
+        CatalogFilterRequest filter = new CatalogFilterRequest(workType, semester, credits, remote, skill, keyword, freeSeats);
+        FacetedPageResponseDto<ProjectResponse> response = projectService.searchCatalog(filter, page, size);
+        log.info("GET /api/projects/catalog - {} projets trouvés", response.totalElements());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectResponse> getProjectById(@PathVariable Long id, WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/projects/{} - Récupération du projet", id);
         ProjectResponse project = projectService.findById(id);
         log.info("GET /api/projects/{} - Projet retourné : title={}", id, project.title());
@@ -146,6 +260,24 @@ public class ProjectController {
         return ResponseEntity.noContent().build();
     }
 
+    // ==================== AFFECTATION ====================
+
+    @Operation(summary = "Affecter un étudiant au projet", description = "Refusé (400) si le projet est complet")
+    @PutMapping("/{id}/students/{studentId}")
+    public ResponseEntity<Void> assignStudent(@PathVariable Long id, @PathVariable Long studentId) {
+        log.info("PUT /api/projects/{}/students/{} - Affectation", id, studentId);
+        projectService.assignStudent(id, studentId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(summary = "Retirer un étudiant du projet")
+    @DeleteMapping("/{id}/students/{studentId}")
+    public ResponseEntity<Void> unassignStudent(@PathVariable Long id, @PathVariable Long studentId) {
+        log.info("DELETE /api/projects/{}/students/{} - Désaffectation", id, studentId);
+        projectService.unassignStudent(id, studentId);
+        return ResponseEntity.noContent().build();
+    }
+
     // ==================== SUPPRESSION ====================
 
     @Operation(summary = "Supprimer définitivement un projet")
@@ -158,14 +290,23 @@ public class ProjectController {
     }
 
     @GetMapping("/teacher/{teacherId}")
-    public ResponseEntity<List<ProjectResponse>> getProjectsByTeacher(@PathVariable Long teacherId) {
+    public ResponseEntity<List<ProjectResponse>> getProjectsByTeacher(@PathVariable Long teacherId, WebRequest request) {
+        if (notModified(request)) return null;
         List<ProjectResponse> projects = projectService.findByTeacherId(teacherId);
         return ResponseEntity.ok(projects);
     }
 
     @GetMapping("/campaign/{campaignId}")
-    public ResponseEntity<List<ProjectResponse>> getProjectsByCampaign(@PathVariable Long campaignId) {
+    public ResponseEntity<List<ProjectResponse>> getProjectsByCampaign(@PathVariable Long campaignId, WebRequest request) {
+        if (notModified(request)) return null;
         List<ProjectResponse> projects = projectService.findByCampaignId(campaignId);
         return ResponseEntity.ok(projects);
     }
-}
\ No newline at end of file
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    /** If-None-Match sur la version du catalogue : 304 sans accès à la base s'il n'a pas changé. */
+    private boolean notModified(WebRequest request) {
+        return ETags.notModified(request, ETags.of("projects", catalogVersions.version(CatalogVersions.Catalog.PROJECT)));
+    }
+}
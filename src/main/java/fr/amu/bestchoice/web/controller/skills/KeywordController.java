@@ -1,12 +1,22 @@
 package fr.amu.bestchoice.web.controller.skills;
 
+import fr.amu.bestchoice.service.implementation.catalog.CatalogResponseCache;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
 import fr.amu.bestchoice.service.interfaces.IKeywordService;
+import fr.amu.bestchoice.web.controller.ETags;
+import fr.amu.bestchoice.web.controller.SerializedResponses;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.PageResponseDto;          // 🌐 AJOUT
+import fr.amu.bestchoice.web.dto.SuggestionResponse;
 import fr.amu.bestchoice.web.dto.keyword.KeywordCreateRequest;
 import fr.amu.bestchoice.web.dto.keyword.KeywordResponse;
 import fr.amu.bestchoice.web.dto.keyword.KeywordUpdateRequest;
 import io.swagger.v3.oas.annotations.Operation;            // 🌐 AJOUT
 import io.swagger.v3.oas.annotations.Parameter;            // 🌐 AJOUT
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +26,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -27,6 +38,8 @@ import java.util.List;
 public class KeywordController {
 
     private final IKeywordService keywordService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogResponseCache responseCache;
 
     // ==================== READ ====================
 
@@ -50,7 +63,9 @@ public class KeywordController {
             @RequestParam(required = false) String sortBy,
 
             @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
-            @RequestParam(required = false) String sortDirection) {
+            @RequestParam(required = false) String sortDirection,
+            WebRequest request) {
+        if (notModified(request)) return null;
 
         log.debug("🌐 GET /api/keywords/paginated - page={}, size={}, sortBy={}, sortDirection={}",
                 page, size, sortBy, sortDirection);
@@ -64,25 +79,94 @@ public class KeywordController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Récupérer les mots-clés (paginé par curseur)",
+            description = "Pagination keyset : passer nextCursor de la réponse pour obtenir la page suivante. "
+                    + "Sans COUNT ni OFFSET, le coût d'une page ne dépend pas de sa profondeur."
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<KeywordResponse>> getAllKeywordsScroll(
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide = première page)")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Taille de page (max 500)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Champ de tri, non nul (identique pour toutes les pages)", example = "label")
+            @RequestParam(required = false) String sortBy,
+
+            @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
+            @RequestParam(required = false) String sortDirection,
+
+            @Parameter(description = "Calculer aussi le nombre total (une requête COUNT)", example = "false")
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            WebRequest request) {
+        if (notModified(request)) return null;
+
+        log.debug("🌐 GET /api/keywords/scroll - size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+
+        CursorPageResponseDto<KeywordResponse> response = keywordService.scroll(cursor, size, sortBy, sortDirection, withTotal);
+
+        log.info("🌐 GET /api/keywords/scroll - {} mots-clés retournés", response.content().size());
+        return ResponseEntity.ok(response);
+    }
+
     // ANCIENNE VERSION (rétrocompatibilité)
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = KeywordResponse.class))))
     @GetMapping
-    public ResponseEntity<List<KeywordResponse>> getAllKeywords() {
+    public ResponseEntity<byte[]> getAllKeywords(WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/keywords - Récupération de tous les mots-clés");
-        List<KeywordResponse> keywords = keywordService.findAll();
+        CatalogResponseCache.Snapshot keywords = responseCache.get(CatalogResponseCache.View.KEYWORDS, keywordService::findAll);
         log.info("GET /api/keywords - {} mots-clés retournés", keywords.size());
-        return ResponseEntity.ok(keywords);
+        return SerializedResponses.ok(request, keywords);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<KeywordResponse>> getActiveKeywords() {
+    public ResponseEntity<List<KeywordResponse>> getActiveKeywords(WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/keywords/active - Récupération des mots-clés actifs");
         List<KeywordResponse> keywords = keywordService.findAllActive();
         log.info("GET /api/keywords/active - {} mots-clés actifs retournés", keywords.size());
         return ResponseEntity.ok(keywords);
     }
 
+    @Operation(
+            summary = "Rechercher des mots-clés",
+            description = "Recherche plein texte classée par pertinence (accents ignorés, préfixes acceptés)"
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<KeywordResponse>> searchKeywords(
+            @Parameter(description = "Termes recherchés", example = "web")
+            @RequestParam("q") String query,
+
+            @Parameter(description = "Nombre maximal de résultats", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("GET /api/keywords/search - q={}, limit={}", query, limit);
+        List<KeywordResponse> keywords = keywordService.search(query, limit);
+        log.info("GET /api/keywords/search - {} mots-clés trouvés", keywords.size());
+        return ResponseEntity.ok(keywords);
+    }
+
+    @Operation(
+            summary = "Autocomplétion des mots-clés actifs",
+            description = "Suggestions servies depuis la mémoire, libellés les plus courts d'abord"
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggestKeywords(
+            @Parameter(description = "Début saisi", example = "intel")
+            @RequestParam String prefix,
+
+            @Parameter(description = "Nombre maximal de suggestions", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        // Appelé à chaque frappe : pas de log INFO
+        log.debug("GET /api/keywords/suggest - prefix={}, limit={}", prefix, limit);
+        return ResponseEntity.ok(keywordService.suggest(prefix, limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<KeywordResponse> getKeywordById(@PathVariable Long id) {
+    public ResponseEntity<KeywordResponse> getKeywordById(@PathVariable Long id, WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/keywords/{} - Récupération du mot-clé", id);
         KeywordResponse keyword = keywordService.findById(id);
         log.info("GET /api/keywords/{} - Mot-clé retourné : label={}", id, keyword.label());
@@ -131,4 +215,11 @@ public class KeywordController {
         log.info("PATCH /api/keywords/{}/deactivate - Mot-clé désactivé avec succès", id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    /** If-None-Match sur la version du catalogue : 304 sans accès à la base s'il n'a pas changé. */
+    private boolean notModified(WebRequest request) {
+        return ETags.notModified(request, ETags.of("keywords", catalogVersions.version(CatalogVersions.Catalog.KEYWORD)));
+    }
+}
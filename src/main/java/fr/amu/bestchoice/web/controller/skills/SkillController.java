@@ -1,12 +1,22 @@
 package fr.amu.bestchoice.web.controller.skills;
 
+import fr.amu.bestchoice.service.implementation.catalog.CatalogResponseCache;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
 import fr.amu.bestchoice.service.interfaces.ISkillService;
+import fr.amu.bestchoice.web.controller.ETags;
+import fr.amu.bestchoice.web.controller.SerializedResponses;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.PageResponseDto;          // 🌐 AJOUT
+import fr.amu.bestchoice.web.dto.SuggestionResponse;
 import fr.amu.bestchoice.web.dto.skill.SkillCreateRequest;
 import fr.amu.bestchoice.web.dto.skill.SkillResponse;
 import fr.amu.bestchoice.web.dto.skill.SkillUpdateRequest;
 import io.swagger.v3.oas.annotations.Operation;            // 🌐 AJOUT
 import io.swagger.v3.oas.annotations.Parameter;            // 🌐 AJOUT
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +26,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -27,6 +38,8 @@ import java.util.List;
 public class SkillController {
 
     private final ISkillService skillService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogResponseCache responseCache;
 
     // ==================== READ ====================
 
@@ -50,7 +63,9 @@ public class SkillController {
             @RequestParam(required = false) String sortBy,
 
             @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
-            @RequestParam(required = false) String sortDirection) {
+            @RequestParam(required = false) String sortDirection,
+            WebRequest request) {
+        if (notModified(request)) return null;
 
         log.debug("🌐 GET /api/skills/paginated - page={}, size={}, sortBy={}, sortDirection={}",
                 page, size, sortBy, sortDirection);
@@ -64,25 +79,94 @@ public class SkillController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Récupérer les compétences (paginé par curseur)",
+            description = "Pagination keyset : passer nextCursor de la réponse pour obtenir la page suivante. "
+                    + "Sans COUNT ni OFFSET, le coût d'une page ne dépend pas de sa profondeur."
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<SkillResponse>> getAllSkillsScroll(
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide = première page)")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Taille de page (max 500)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Champ de tri, non nul (identique pour toutes les pages)", example = "name")
+            @RequestParam(required = false) String sortBy,
+
+            @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
+            @RequestParam(required = false) String sortDirection,
+
+            @Parameter(description = "Calculer aussi le nombre total (une requête COUNT)", example = "false")
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            WebRequest request) {
+        if (notModified(request)) return null;
+
+        log.debug("🌐 GET /api/skills/scroll - size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+
+        CursorPageResponseDto<SkillResponse> response = skillService.scroll(cursor, size, sortBy, sortDirection, withTotal);
+
+        log.info("🌐 GET /api/skills/scroll - {} compétences retournées", response.content().size());
+        return ResponseEntity.ok(response);
+    }
+
     // ANCIENNE VERSION (rétrocompatibilité)
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = SkillResponse.class))))
     @GetMapping
-    public ResponseEntity<List<SkillResponse>> getAllSkills() {
+    public ResponseEntity<byte[]> getAllSkills(WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/skills - Récupération de toutes les compétences");
-        List<SkillResponse> skills = skillService.findAll();
+        CatalogResponseCache.Snapshot skills = responseCache.get(CatalogResponseCache.View.SKILLS, skillService::findAll);
         log.info("GET /api/skills - {} compétences retournées", skills.size());
-        return ResponseEntity.ok(skills);
+        return SerializedResponses.ok(request, skills);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<SkillResponse>> getActiveSkills() {
+    public ResponseEntity<List<SkillResponse>> getActiveSkills(WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/skills/active - Récupération des compétences actives");
         List<SkillResponse> skills = skillService.findAllActive();
         log.info("GET /api/skills/active - {} compétences actives retournées", skills.size());
         return ResponseEntity.ok(skills);
     }
 
+    @Operation(
+            summary = "Rechercher des compétences",
+            description = "Recherche plein texte classée par pertinence (accents ignorés, préfixes acceptés)"
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<SkillResponse>> searchSkills(
+            @Parameter(description = "Termes recherchés", example = "java")
+            @RequestParam("q") String query,
+
+            @Parameter(description = "Nombre maximal de résultats", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("GET /api/skills/search - q={}, limit={}", query, limit);
+        List<SkillResponse> skills = skillService.search(query, limit);
+        log.info("GET /api/skills/search - {} compétences trouvées", skills.size());
+        return ResponseEntity.ok(skills);
+    }
+
+    @Operation(
+            summary = "Autocomplétion des compétences actives",
+            description = "Suggestions servies depuis la mémoire, libellés les plus courts d'abord"
+    )
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggestSkills(
+            @Parameter(description = "Début saisi", example = "jav")
+            @RequestParam String prefix,
+
+            @Parameter(description = "Nombre maximal de suggestions", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        // Appelé à chaque frappe : pas de log INFO
+        log.debug("GET /api/skills/suggest - prefix={}, limit={}", prefix, limit);
+        return ResponseEntity.ok(skillService.suggest(prefix, limit));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<SkillResponse> getSkillById(@PathVariable Long id) {
+    public ResponseEntity<SkillResponse> getSkillById(@PathVariable Long id, WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/skills/{} - Récupération de la compétence", id);
         SkillResponse skill = skillService.findById(id);
         log.info("GET /api/skills/{} - Compétence retournée : name={}", id, skill.name());
@@ -131,4 +215,11 @@ public class SkillController {
         log.info("PATCH /api/skills/{}/deactivate - Compétence désactivée avec succès", id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    /** If-None-Match sur la version du catalogue : 304 sans accès à la base s'il n'a pas changé. */
+    private boolean notModified(WebRequest request) {
+        return ETags.notModified(request, ETags.of("skills", catalogVersions.version(CatalogVersions.Catalog.SKILL)));
+    }
+}
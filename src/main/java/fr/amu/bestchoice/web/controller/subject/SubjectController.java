@@ -1,11 +1,23 @@
 package fr.amu.bestchoice.web.controller.subject;
 
+import fr.amu.bestchoice.model.enums.WorkType;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogResponseCache;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
 import fr.amu.bestchoice.service.implementation.subject.SubjectService;
+import fr.amu.bestchoice.web.controller.ETags;
+import fr.amu.bestchoice.web.controller.SerializedResponses;
+import fr.amu.bestchoice.web.dto.CatalogFilterRequest;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.FacetedPageResponseDto;
 import fr.amu.bestchoice.web.dto.PageResponseDto;
 import fr.amu.bestchoice.web.dto.subject.SubjectCreateRequest;
 import fr.amu.bestchoice.web.dto.subject.SubjectResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -14,8 +26,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -25,6 +39,8 @@ import java.util.List;
 public class SubjectController {
 
     private final SubjectService subjectService;
+    private final CatalogVersions catalogVersions;
+    private final CatalogResponseCache responseCache;
 
     // ==================== READ ====================
 
@@ -47,7 +63,9 @@ public class SubjectController {
             @RequestParam(required = false) String sortBy,
 
             @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
-            @RequestParam(required = false) String sortDirection) {
+            @RequestParam(required = false) String sortDirection,
+            WebRequest request) {
+        if (notModified(request)) return null;
 
         log.debug("🌐 GET /api/subjects/paginated - page={}, size={}, sortBy={}, sortDirection={}",
                 page, size, sortBy, sortDirection);
@@ -61,18 +79,106 @@ public class SubjectController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Récupérer les matières (paginé par curseur)",
+            description = "Pagination keyset : passer nextCursor de la réponse pour obtenir la page suivante. "
+                    + "Sans COUNT ni OFFSET, le coût d'une page ne dépend pas de sa profondeur."
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<SubjectResponse>> getAllSubjectsScroll(
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide = première page)")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Taille de page (max 500)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Champ de tri, non nul (identique pour toutes les pages)", example = "title")
+            @RequestParam(required = false) String sortBy,
+
+            @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
+            @RequestParam(required = false) String sortDirection,
+
+            @Parameter(description = "Calculer aussi le nombre total (une requête COUNT)", example = "false")
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            WebRequest request) {
+        if (notModified(request)) return null;
+
+        log.debug("🌐 GET /api/subjects/scroll - size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+
+        CursorPageResponseDto<SubjectResponse> response = subjectService.scroll(cursor, size, sortBy, sortDirection, withTotal);
+
+        log.info("🌐 GET /api/subjects/scroll - {} matières retournées", response.content().size());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Récupérer toutes les matières actives")
+    @ApiResponse(responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = SubjectResponse.class))))
     @GetMapping("/active")
-    public ResponseEntity<List<SubjectResponse>> getActiveSubjects() {
+    public ResponseEntity<byte[]> getActiveSubjects(WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/subjects/active - Récupération des matières actives");
-        List<SubjectResponse> subjects = subjectService.findAllActive();
+        CatalogResponseCache.Snapshot subjects = responseCache.get(CatalogResponseCache.View.ACTIVE_SUBJECTS, subjectService::findAllActive);
         log.info("GET /api/subjects/active - {} matières actives retournées", subjects.size());
+        return SerializedResponses.ok(request, subjects);
+    }
+
+    @Operation(
+            summary = "Rechercher des matières actives",
+            description = "Recherche plein texte classée par pertinence (accents ignorés, préfixes acceptés)"
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<SubjectResponse>> searchSubjects(
+            @Parameter(description = "Termes recherchés", example = "apprentissage")
+            @RequestParam("q") String query,
+
+            @Parameter(description = "Nombre maximal de résultats", example = "20")
+            @RequestParam(defaultValue = "20") int limit) {
+        log.debug("GET /api/subjects/search - q={}, limit={}", query, limit);
+        List<SubjectResponse> subjects = subjectService.search(query, limit);
+        log.info("GET /api/subjects/search - {} matières trouvées", subjects.size());
         return ResponseEntity.ok(subjects);
     }
 
+    @Operation(
+            summary = "Catalogue des matières à facettes",
+            description = "Matières actives filtrées par critères combinables (OU au sein d'un critère, ET entre critères), " +
+                    "avec le nombre de matières par valeur de chaque facette"
+    )
+    @GetMapping("/catalog")
+    public ResponseEntity<FacetedPageResponseDto<SubjectResponse>> searchCatalog(
+            @Parameter(description = "Types de travail (OU)")
+            @RequestParam(required = false) Set<WorkType> workType,
+
+            @Parameter(description = "Semestres (OU)", example = "1")
+            @RequestParam(required = false) Set<Integer> semester,
+
+            @Parameter(description = "Nombres de crédits (OU)", example = "6")
+            @RequestParam(required = false) Set<Integer> credits,
+
+            @Parameter(description = "IDs de compétences requises (OU)")
+            @RequestParam(required = false) Set<Long> skill,
+
+            @Parameter(description = "IDs de mots-clés (OU)")
+            @RequestParam(required = false) Set<Long> keyword,
+
+            @Parameter(description = "Numéro de page (commence à 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Taille de page", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
+        if (notModified(request)) return null;
+        log.debug("GET /api/subjects/catalog - page={}, size={}", page, size);
+        CatalogFilterRequest filter = new CatalogFilterRequest(workType, semester, credits, null, skill, keyword, null);
+        FacetedPageResponseDto<SubjectResponse> response = subjectService.searchCatalog(filter, page, size);
+        log.info("GET /api/subjects/catalog - {} matières trouvées", response.totalElements());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Récupérer une matière par son ID")
     @GetMapping("/{id}")
-    public ResponseEntity<SubjectResponse> getById(@PathVariable Long id) {
+    public ResponseEntity<SubjectResponse> getById(@PathVariable Long id, WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/subjects/{} - Récupération de la matière", id);
         SubjectResponse subject = subjectService.findById(id);
         log.info("GET /api/subjects/{} - Matière retournée : title={}", id, subject.title());
@@ -81,7 +187,8 @@ public class SubjectController {
 
     @Operation(summary = "Récupérer les matières d'un enseignant spécifique")
     @GetMapping("/teacher/{teacherId}")
-    public ResponseEntity<List<SubjectResponse>> getByTeacher(@PathVariable Long teacherId) {
+    public ResponseEntity<List<SubjectResponse>> getByTeacher(@PathVariable Long teacherId, WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/subjects/teacher/{} - Récupération des matières de l'enseignant", teacherId);
         List<SubjectResponse> subjects = subjectService.findByTeacherId(teacherId);
         log.info("GET /api/subjects/teacher/{} - {} matières retournées", teacherId, subjects.size());
@@ -90,7 +197,8 @@ public class SubjectController {
 
     @Operation(summary = "Récupérer les matières d'une campagne spécifique")
     @GetMapping("/campaign/{campaignId}")
-    public ResponseEntity<List<SubjectResponse>> getByCampaign(@PathVariable Long campaignId) {
+    public ResponseEntity<List<SubjectResponse>> getByCampaign(@PathVariable Long campaignId, WebRequest request) {
+        if (notModified(request)) return null;
         log.debug("GET /api/subjects/campaign/{} - Récupération des matières de la campagne", campaignId);
         List<SubjectResponse> subjects = subjectService.findByCampaignId(campaignId);
         log.info("GET /api/subjects/campaign/{} - {} matières retournées", campaignId, subjects.size());
@@ -148,4 +256,11 @@ public class SubjectController {
         log.info("DELETE /api/subjects/{} - Matière supprimée avec succès", id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // ==================== MÉTHODES PRIVÉES ====================
+
+    /** If-None-Match sur la version du catalogue : 304 sans accès à la base s'il n'a pas changé. */
+    private boolean notModified(WebRequest request) {
+        return ETags.notModified(request, ETags.of("subjects", catalogVersions.version(CatalogVersions.Catalog.SUBJECT)));
+    }
+}
@@ -2,6 +2,7 @@ package fr.amu.bestchoice.web.controller.user;
 
 
 import fr.amu.bestchoice.service.interfaces.ITeacherService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.PageResponseDto;
 import fr.amu.bestchoice.web.dto.teacher.TeacherCreateRequest;
 import fr.amu.bestchoice.web.dto.teacher.TeacherResponse;
@@ -62,6 +63,36 @@ public class TeacherController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Récupérer les enseignants (paginé par curseur)",
+            description = "Pagination keyset : passer nextCursor de la réponse pour obtenir la page suivante. "
+                    + "Sans COUNT ni OFFSET, le coût d'une page ne dépend pas de sa profondeur."
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<TeacherResponse>> getAllTeachersScroll(
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide = première page)")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Taille de page (max 500)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Champ de tri, non nul (identique pour toutes les pages)", example = "id")
+            @RequestParam(required = false) String sortBy,
+
+            @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
+            @RequestParam(required = false) String sortDirection,
+
+            @Parameter(description = "Calculer aussi le nombre total (une requête COUNT)", example = "false")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        log.debug("🌐 GET /api/teachers/scroll - size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+
+        CursorPageResponseDto<TeacherResponse> response = teacherService.scroll(cursor, size, sortBy, sortDirection, withTotal);
+
+        log.info("🌐 GET /api/teachers/scroll - {} enseignants retournés", response.content().size());
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping
     public ResponseEntity<List<TeacherResponse>> getAllTeachers() {
         log.debug("GET /api/teachers - Récupération de tous les profils enseignants");
@@ -1,11 +1,14 @@
 package fr.amu.bestchoice.web.controller.user;
 
 import fr.amu.bestchoice.service.implementation.auth.RegisterService;
+import fr.amu.bestchoice.service.implementation.auth.StudentImportService;
 import fr.amu.bestchoice.service.implementation.user.UserService;
 import fr.amu.bestchoice.service.interfaces.IUserService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.PageResponseDto;
 import fr.amu.bestchoice.web.dto.auth.RegisterRequest;
 import fr.amu.bestchoice.web.dto.auth.RegisterResponse;
+import fr.amu.bestchoice.web.dto.student.StudentImportResponse;
 import fr.amu.bestchoice.web.dto.user.UserResponse;
 import fr.amu.bestchoice.web.dto.user.UserUpdateRequest;
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,10 +21,14 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Slf4j
@@ -34,6 +41,7 @@ public class UserController {
 
     private final IUserService userService;
     private final RegisterService registerService;
+    private final StudentImportService studentImportService;
 
     // ==================== READ ====================
 
@@ -67,6 +75,36 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Récupérer les utilisateurs (paginé par curseur)",
+            description = "Pagination keyset : passer nextCursor de la réponse pour obtenir la page suivante. "
+                    + "Sans COUNT ni OFFSET, le coût d'une page ne dépend pas de sa profondeur."
+    )
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPageResponseDto<UserResponse>> getAllUsersScroll(
+            @Parameter(description = "Curseur renvoyé par la page précédente (vide = première page)")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Taille de page (max 500)", example = "20")
+            @RequestParam(defaultValue = "20") int size,
+
+            @Parameter(description = "Champ de tri, non nul (identique pour toutes les pages)", example = "email")
+            @RequestParam(required = false) String sortBy,
+
+            @Parameter(description = "Direction du tri (ASC/DESC)", example = "ASC")
+            @RequestParam(required = false) String sortDirection,
+
+            @Parameter(description = "Calculer aussi le nombre total (une requête COUNT)", example = "false")
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        log.debug("🌐 GET /api/users/scroll - size={}, sortBy={}, sortDirection={}", size, sortBy, sortDirection);
+
+        CursorPageResponseDto<UserResponse> response = userService.scroll(cursor, size, sortBy, sortDirection, withTotal);
+
+        log.info("🌐 GET /api/users/scroll - {} utilisateurs retournés", response.content().size());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(
             summary = "Récupérer tous les utilisateurs",
             description = "Retourne la liste complète des utilisateurs (actifs et inactifs)"
@@ -125,6 +163,36 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(registeredUser);
     }
 
+    @Operation(
+            summary = "Importer des comptes étudiants (CSV)",
+            description = """
+                    Crée en une fois les comptes et profils étudiants d'un fichier CSV (UTF-8).
+
+                    En-tête obligatoire, séparateur , ou ; :
+                    firstName, lastName, email, password, studentNumber (optionnel)
+
+                    Les lignes invalides (champ manquant, email ou numéro déjà utilisé, doublon du fichier)
+                    sont écartées et détaillées dans le rapport ; les autres sont importées.
+                    """
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import effectué, rapport ligne par ligne"),
+            @ApiResponse(responseCode = "400", description = "En-tête invalide ou fichier trop long"),
+            @ApiResponse(responseCode = "403", description = "Accès refusé - Rôle ADMIN requis")
+    })
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StudentImportResponse> importStudents(@RequestParam("file") MultipartFile file) throws IOException {
+        log.info("POST /api/users/import - Import de comptes étudiants : fichier={}, {} octets",
+                file.getOriginalFilename(), file.getSize());
+        StudentImportResponse report;
+        try (InputStream csv = file.getInputStream()) {
+            report = studentImportService.importStudents(csv);
+        }
+        log.info("POST /api/users/import - {} compte(s) créé(s) sur {} ligne(s), {} erreur(s)",
+                report.imported(), report.totalRows(), report.errors().size());
+        return ResponseEntity.ok(report);
+    }
+
     // ==================== UPDATE ====================
 
     @PutMapping("/{id}")
@@ -0,0 +1,20 @@
+package fr.amu.bestchoice.web.dto;
+
+import fr.amu.bestchoice.model.enums.WorkType;
+
+import java.util.Set;
+
+/**
+ * Filtres de la recherche à facettes du catalogue (projets, matières).
+ * Les valeurs d'un même critère sont combinées en OU, les critères entre eux en ET ;
+ * un critère null ou vide n'est pas filtré.
+ */
+public record CatalogFilterRequest(
+        Set<WorkType> workTypes,
+        Set<Integer> semesters,
+        Set<Integer> credits,
+        Boolean remotePossible,
+        Set<Long> skillIds,
+        Set<Long> keywordIds,
+        Boolean freeSeats
+) {}
@@ -0,0 +1,25 @@
+package fr.amu.bestchoice.web.dto;
+
+import java.util.List;
+
+/**
+ * Wrapper pour les réponses paginées par curseur (keyset).
+ * - nextCursor : à renvoyer tel quel pour obtenir la page suivante (null s'il n'y en a pas)
+ * - totalElements : calculé seulement sur demande (null sinon)
+ * Sans total, le coût d'une page reste constant quelle que soit la profondeur.
+ */
+public record CursorPageResponseDto<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        boolean hasNext,
+        Long totalElements
+) {
+    public static <T> CursorPageResponseDto<T> of(List<T> content, int size, String nextCursor) {
+        return of(content, size, nextCursor, null);
+    }
+
+    public static <T> CursorPageResponseDto<T> of(List<T> content, int size, String nextCursor, Long totalElements) {
+        return new CursorPageResponseDto<>(content, size, nextCursor, nextCursor != null, totalElements);
+    }
+}
@@ -0,0 +1,17 @@
+package fr.amu.bestchoice.web.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wrapper pour les recherches à facettes du catalogue.
+ * - facets : par facette (workType, semester, credits...), nombre de résultats par valeur,
+ *   calculé avec les filtres des autres facettes
+ */
+public record FacetedPageResponseDto<T>(
+        List<T> content,
+        int pageNumber,
+        int pageSize,
+        long totalElements,
+        Map<String, Map<String, Integer>> facets
+) {}
@@ -0,0 +1,9 @@
+package fr.amu.bestchoice.web.dto;
+
+/**
+ * Suggestion d'autocomplétion : identifiant et libellé affiché (compétence, mot-clé).
+ */
+public record SuggestionResponse(
+        Long id,
+        String label
+) {}
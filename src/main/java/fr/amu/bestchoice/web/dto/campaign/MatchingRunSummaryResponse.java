@@ -0,0 +1,40 @@
+package fr.amu.bestchoice.web.dto.campaign;
+
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Bilan du dernier run de matching d'une campagne (précalculé pendant le run).
+ */
+public record MatchingRunSummaryResponse(
+        Long campaignId,
+        MatchingAlgorithmType algorithmUsed,
+        Instant startedAt,
+        Instant finishedAt,
+        int studentsCount,
+        int assignedCount,
+        int unassignedCount,
+        int firstChoiceCount,
+        int secondChoiceCount,
+        int thirdChoiceCount,
+        int otherChoiceCount,
+        int outsideChoicesCount,
+        BigDecimal scoreMin,
+        BigDecimal scoreP25,
+        BigDecimal scoreMedian,
+        BigDecimal scoreP75,
+        BigDecimal scoreP90,
+        BigDecimal scoreMax,
+        BigDecimal scoreMean,
+        List<ItemFill> itemFills
+) {
+
+    /**
+     * Remplissage d'un projet / d'une matière : étudiants affectés vs capacité.
+     */
+    public record ItemFill(Long itemId, String title, int assigned, int capacity) {
+    }
+}
@@ -0,0 +1,18 @@
+package fr.amu.bestchoice.web.dto.matching;
+
+/**
+ * Requête pour lancer le matching de plusieurs campagnes en une fois.
+ * - teacherId : campagnes d'un enseignant
+ * - academicYear : ex "2025-2026"
+ * - semester : ex 1 ou 2
+ * Les filtres se combinent ; au moins un est obligatoire.
+ */
+public record MatchingBatchRunRequest(
+        Long teacherId,
+        String academicYear,
+        Integer semester
+) {
+    public boolean hasFilter() {
+        return teacherId != null || (academicYear != null && !academicYear.isBlank()) || semester != null;
+    }
+}
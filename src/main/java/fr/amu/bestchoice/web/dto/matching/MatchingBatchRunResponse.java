@@ -0,0 +1,36 @@
+package fr.amu.bestchoice.web.dto.matching;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MatchingBatchRunResponse(
+        int campaignsRequested,
+        int campaignsSucceeded,
+        int campaignsFailed,
+        int studentsProcessed,
+        int resultsStored,
+        int parallelism,
+        long sequentialDurationMs,
+        long wallDurationMs,
+        Instant startedAt,
+        Instant finishedAt,
+        List<MatchingRunResponse> runs,
+        List<MatchingBatchRunResult.Failure> failures
+) {
+    public static MatchingBatchRunResponse from(MatchingBatchRunResult r) {
+        return new MatchingBatchRunResponse(
+                r.runs().size() + r.failures().size(),
+                r.runs().size(),
+                r.failures().size(),
+                r.runs().stream().mapToInt(MatchingRunResult::studentsProcessed).sum(),
+                r.runs().stream().mapToInt(MatchingRunResult::resultsStored).sum(),
+                r.parallelism(),
+                r.sequentialDuration().toMillis(),
+                r.wallDuration().toMillis(),
+                r.startedAt(),
+                r.finishedAt(),
+                r.runs().stream().map(MatchingRunResponse::from).toList(),
+                r.failures()
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package fr.amu.bestchoice.web.dto.matching;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Résultat agrégé d'un batch de matching.
+ * - runs : campagnes calculées avec succès
+ * - failures : campagnes en échec (le batch continue malgré l'erreur)
+ * - parallelism : nombre de threads utilisés
+ */
+public record MatchingBatchRunResult(
+        List<MatchingRunResult> runs,
+        List<Failure> failures,
+        int parallelism,
+        Instant startedAt,
+        Instant finishedAt
+) {
+
+    public record Failure(Long campaignId, String message) {
+    }
+
+    /**
+     * Somme des durées individuelles (ce qu'aurait coûté un lancement séquentiel).
+     */
+    public Duration sequentialDuration() {
+        return runs.stream()
+                .map(r -> Duration.between(r.startedAt(), r.finishedAt()))
+                .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    public Duration wallDuration() {
+        return Duration.between(startedAt, finishedAt);
+    }
+}
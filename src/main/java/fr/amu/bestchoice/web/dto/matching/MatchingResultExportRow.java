@@ -0,0 +1,30 @@
+package fr.amu.bestchoice.web.dto.matching;
+
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Ligne d'export des résultats d'une campagne (CSV / NDJSON).
+ * Construite directement par la requête JPQL (projection) : aucune entité n'est chargée
+ * dans le contexte de persistance pendant le streaming.
+ */
+public record MatchingResultExportRow(
+        Long id,
+        Long studentId,
+        String studentNumber,
+        String lastName,
+        String firstName,
+        Long projectId,
+        String projectTitle,
+        Long subjectId,
+        String subjectTitle,
+        BigDecimal globalScore,
+        BigDecimal skillsScore,
+        BigDecimal interestsScore,
+        BigDecimal workTypeScore,
+        Integer recommendationRank,
+        MatchingAlgorithmType algorithmUsed,
+        LocalDateTime calculationDate
+) {}
@@ -0,0 +1,42 @@
+package fr.amu.bestchoice.web.dto.preference;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO de requête pour remplacer la liste complète des vœux d'un étudiant dans une campagne.
+ *
+ * L'ordre de la liste donne le rang : le premier élément est le 1er choix.
+ * Une liste vide retire tous les vœux de l'étudiant pour la campagne.
+ */
+public record PreferenceListRequest(
+
+        @NotNull(message = "La liste des vœux est obligatoire")
+        @Size(max = PreferenceListRequest.MAX_CHOICES, message = "Un étudiant peut formuler au maximum {max} vœux")
+        List<@NotNull @Valid Choice> choices
+
+) {
+
+    /** Nombre maximum de vœux par étudiant et par campagne. */
+    public static final int MAX_CHOICES = 10;
+
+    /**
+     * Un vœu : un projet (campagne PROJECT) ou une matière (campagne SUBJECT).
+     */
+    public record Choice(
+
+            Long projectId,
+
+            Long subjectId,
+
+            @Size(max = 1000, message = "La motivation ne doit pas dépasser 1000 caractères")
+            String motivation,
+
+            @Size(max = 500, message = "Le commentaire ne doit pas dépasser 500 caractères")
+            String comment
+
+    ) {}
+}
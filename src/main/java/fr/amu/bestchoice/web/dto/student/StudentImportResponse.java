@@ -0,0 +1,16 @@
+package fr.amu.bestchoice.web.dto.student;
+
+import java.util.List;
+
+/**
+ * Rapport d'un import CSV de comptes étudiants.
+ * - totalRows : lignes de données lues (hors en-tête et lignes vides)
+ * - errors : lignes écartées, par numéro de ligne du fichier (l'en-tête est la ligne 1)
+ */
+public record StudentImportResponse(
+        int totalRows,
+        int imported,
+        List<RowError> errors
+) {
+    public record RowError(int line, String email, String message) {}
+}
@@ -3,6 +3,7 @@ package fr.amu.bestchoice.web.exception;
 import fr.amu.bestchoice.web.dto.ApiError;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.*;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
@@ -41,6 +42,15 @@ public class ApiExceptionHandler {
                 .body(ApiError.of(403, "FORBIDDEN", ex.getMessage(), req.getRequestURI(), Map.of()));
     }
 
+    /**
+     * Refus d'un @PreAuthorize : sans ce handler, le fallback le transformerait en 500.
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiError> accessDenied(AccessDeniedException ex, HttpServletRequest req) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiError.of(403, "FORBIDDEN", "Accès refusé", req.getRequestURI(), Map.of()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> validation(MethodArgumentNotValidException ex, HttpServletRequest req) {
         Map<String, Object> details = new HashMap<>();
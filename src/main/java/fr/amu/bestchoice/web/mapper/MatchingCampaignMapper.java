@@ -2,8 +2,10 @@ package fr.amu.bestchoice.web.mapper;
 
 import fr.amu.bestchoice.model.entity.MatchingCampaign;
 import fr.amu.bestchoice.model.entity.MatchingCampaignType;
+import fr.amu.bestchoice.model.entity.MatchingRunSummary;
 import fr.amu.bestchoice.web.dto.campaign.MatchingCampaignRequest;
 import fr.amu.bestchoice.web.dto.campaign.MatchingCampaignResponse;
+import fr.amu.bestchoice.web.dto.campaign.MatchingRunSummaryResponse;
 import org.mapstruct.*;
 
 import java.util.List;
@@ -49,4 +51,9 @@ public interface MatchingCampaignMapper {
     MatchingCampaignResponse toResponse(MatchingCampaign entity);
 
     List<MatchingCampaignResponse> toResponseList(List<MatchingCampaign> entities);
-}
\ No newline at end of file
+
+    // ==================== BILAN DE RUN ====================
+
+    @Mapping(target = "campaignId", source = "matchingCampaign.id")
+    MatchingRunSummaryResponse toSummaryResponse(MatchingRunSummary summary);
+}
@@ -32,6 +32,7 @@ public interface ProjectMapper {
     @Mapping(target = "targetProgram", ignore = true)
     @Mapping(target = "active", constant = "true")
     @Mapping(target = "complet", constant = "false")
+    @Mapping(target = "assignedCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "teacher", ignore = true)
     @Mapping(target = "requiredSkills", ignore = true)
@@ -53,6 +54,7 @@ public interface ProjectMapper {
     @Mapping(target = "academicYear", ignore = true)
     @Mapping(target = "targetProgram", ignore = true)
     @Mapping(target = "complet", ignore = true)
+    @Mapping(target = "assignedCount", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "teacher", ignore = true)
     @Mapping(target = "requiredSkills", ignore = true)
@@ -0,0 +1,71 @@
+package fr.amu.bestchoice.config;
+
+import fr.amu.bestchoice.model.entity.Keyword;
+import fr.amu.bestchoice.model.entity.Skill;
+import fr.amu.bestchoice.model.entity.Teacher;
+import fr.amu.bestchoice.repository.KeywordRepository;
+import fr.amu.bestchoice.repository.SkillRepository;
+import fr.amu.bestchoice.repository.TeacherRepository;
+import fr.amu.bestchoice.service.interfaces.ISkillService;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import fr.amu.bestchoice.web.dto.skill.SkillUpdateRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QueryBudgetTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private KeywordRepository keywordRepository;
+    @Autowired
+    private ISkillService skillService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void findById_ShouldNotQueryDatabase_WhenEntityCached() throws Exception {
+        // Given
+        Long skillId = skillRepository.findAll().get(0).getId();
+        Long keywordId = keywordRepository.findAll().get(0).getId();
+        Long teacherId = teacherRepository.findAll().get(0).getId();
+        QueryBudget.Action load = () -> transactionTemplate.executeWithoutResult(status -> {
+            skillRepository.findById(skillId).map(Skill::getName).orElseThrow();
+            keywordRepository.findById(keywordId).map(Keyword::getLabel).orElseThrow();
+            teacherRepository.findById(teacherId).map(Teacher::getDepartment).orElseThrow();
+        });
+        load.run();
+
+        // When / Then
+        assertThat(QueryBudget.measure(load).selects()).isZero();
+    }
+
+    @Test
+    void update_ShouldInvalidateCachedEntity() {
+        // Given
+        Skill skill = skillRepository.findAll().get(0);
+        skillService.findById(skill.getId());
+
+        // When
+        skillService.update(skill.getId(), new SkillUpdateRequest("Renommée L2", null, null, null, null));
+
+        // Then
+        assertThat(skillService.findById(skill.getId()).name()).isEqualTo("Renommée L2");
+    }
+
+    @Test
+    void regions_ShouldExposeStatisticsThroughActuator() {
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "skills").meters()).isNotEmpty();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "teachers").meters()).isNotEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+import fr.amu.bestchoice.repository.MatchingCampaignRepository;
+import fr.amu.bestchoice.web.dto.matching.MatchingBatchRunRequest;
+import fr.amu.bestchoice.web.dto.matching.MatchingBatchRunResult;
+import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import fr.amu.bestchoice.web.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingBatchServiceTest {
+
+    @Mock
+    private MatchingCampaignRepository campaignRepository;
+
+    @Mock
+    private MatchingContextService matchingContextService;
+
+    @InjectMocks
+    private MatchingBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(batchService, "maxParallelism", 2);
+    }
+
+    @Test
+    void runBatch_ShouldRunEveryCampaignWithSharedDictionary() {
+        // Given
+        when(campaignRepository.findIdsForBatch(null, "2025-2026", 1)).thenReturn(List.of(1L, 2L, 3L));
+        when(matchingContextService.run(anyLong(), any(MatchingDictionary.class)))
+                .thenAnswer(inv -> runResult(inv.getArgument(0)));
+
+        // When
+        MatchingBatchRunResult result = batchService.runBatch(new MatchingBatchRunRequest(null, "2025-2026", 1));
+
+        // Then
+        assertThat(result.runs()).extracting(MatchingRunResult::campaignId).containsExactly(1L, 2L, 3L);
+        assertThat(result.failures()).isEmpty();
+        assertThat(result.parallelism()).isEqualTo(2);
+
+        ArgumentCaptor<MatchingDictionary> captor = ArgumentCaptor.forClass(MatchingDictionary.class);
+        verify(matchingContextService, times(3)).run(anyLong(), captor.capture());
+        assertThat(captor.getAllValues()).allSatisfy(d -> assertThat(d).isSameAs(captor.getAllValues().get(0)));
+    }
+
+    @Test
+    void runBatch_ShouldReportFailures_AndContinueOtherCampaigns() {
+        // Given
+        when(campaignRepository.findIdsForBatch(5L, null, null)).thenReturn(List.of(1L, 2L));
+        when(matchingContextService.run(eq(1L), any(MatchingDictionary.class))).thenReturn(runResult(1L));
+        when(matchingContextService.run(eq(2L), any(MatchingDictionary.class)))
+                .thenThrow(new NotFoundException("Campagne introuvable : 2"));
+
+        // When
+        MatchingBatchRunResult result = batchService.runBatch(new MatchingBatchRunRequest(5L, " ", null));
+
+        // Then
+        assertThat(result.runs()).hasSize(1);
+        assertThat(result.failures()).containsExactly(new MatchingBatchRunResult.Failure(2L, "Campagne introuvable : 2"));
+    }
+
+    @Test
+    void runBatch_ShouldThrowBusinessException_WhenNoFilter() {
+        // When & Then
+        assertThatThrownBy(() -> batchService.runBatch(new MatchingBatchRunRequest(null, null, null)))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(campaignRepository, matchingContextService);
+    }
+
+    @Test
+    void runBatch_ShouldReturnEmptyReport_WhenNoCampaignMatches() {
+        // Given
+        when(campaignRepository.findIdsForBatch(5L, null, null)).thenReturn(List.of());
+
+        // When
+        MatchingBatchRunResult result = batchService.runBatch(new MatchingBatchRunRequest(5L, null, null));
+
+        // Then
+        assertThat(result.runs()).isEmpty();
+        assertThat(result.failures()).isEmpty();
+        verifyNoInteractions(matchingContextService);
+    }
+
+    private MatchingRunResult runResult(Long campaignId) {
+        Instant now = Instant.now();
+        return new MatchingRunResult(campaignId, MatchingAlgorithmType.WEIGHTED, 4, 12, now, now);
+    }
+}
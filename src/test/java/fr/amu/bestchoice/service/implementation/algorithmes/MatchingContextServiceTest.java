@@ -1,25 +1,51 @@
 package fr.amu.bestchoice.service.implementation.algorithmes;
 
 import fr.amu.bestchoice.model.entity.MatchingCampaign;
+import fr.amu.bestchoice.model.entity.Student;
 import fr.amu.bestchoice.repository.MatchingCampaignRepository;
+import fr.amu.bestchoice.repository.ProjectRepository;
+import fr.amu.bestchoice.repository.StudentRepository;
+import fr.amu.bestchoice.repository.SubjectRepository;
+import fr.amu.bestchoice.service.implementation.campaign.MatchingCampaignService;
+import fr.amu.bestchoice.service.implementation.matching.MatchingResultsChangedEvent;
 import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
 import fr.amu.bestchoice.web.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,10 +53,25 @@ class MatchingContextServiceTest {
 
     @Mock
     private MatchingCampaignRepository campaignRepository;
+    @Mock
+    private StudentRepository studentRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private SubjectRepository subjectRepository;
     
     @Spy
     private List<MatchingStrategy> strategies = new ArrayList<>();
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MatchingContextService matchingContextService;
 
@@ -41,6 +82,9 @@ class MatchingContextServiceTest {
         campaign = new MatchingCampaign();
         campaign.setId(1L);
         campaign.setAlgorithmType(MatchingAlgorithmType.WEIGHTED);
+
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
@@ -50,7 +94,7 @@ class MatchingContextServiceTest {
         when(weightedStrategy.getAlgorithmType()).thenReturn(MatchingAlgorithmType.WEIGHTED);
         
         MatchingRunResult expectedResult = new MatchingRunResult(1L, MatchingAlgorithmType.WEIGHTED, 10, 50, Instant.now(), Instant.now());
-        when(weightedStrategy.execute(campaign)).thenReturn(expectedResult);
+        when(weightedStrategy.execute(eq(campaign), any(MatchingDictionary.class))).thenReturn(expectedResult);
         
         strategies.add(weightedStrategy);
         
@@ -61,6 +105,28 @@ class MatchingContextServiceTest {
 
         // Then
         assertThat(result).isEqualTo(expectedResult);
+        verify(eventPublisher).publishEvent(new MatchingResultsChangedEvent(1L));
+    }
+
+    @Test
+    void run_ShouldFetchGraphInChunks_WhenCampaignIsLarge() {
+        // Given : 2 500 étudiants -> 3 tranches de 1 000 IDs au plus
+        MatchingStrategy weightedStrategy = mock(MatchingStrategy.class);
+        when(weightedStrategy.getAlgorithmType()).thenReturn(MatchingAlgorithmType.WEIGHTED);
+        strategies.add(weightedStrategy);
+        campaign.setStudents(LongStream.rangeClosed(1, 2_500)
+                .mapToObj(id -> Student.builder().id(id).build())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(campaign));
+
+        // When
+        matchingContextService.run(1L);
+
+        // Then
+        ArgumentCaptor<List<Long>> chunks = ArgumentCaptor.captor();
+        verify(studentRepository, times(3)).fetchPreferences(chunks.capture());
+        assertThat(chunks.getAllValues()).allMatch(ids -> ids.size() <= MatchingCampaignService.ENROLMENT_CHUNK);
+        assertThat(chunks.getAllValues()).flatExtracting(ids -> ids).hasSize(2_500);
     }
 
     @Test
@@ -71,6 +137,7 @@ class MatchingContextServiceTest {
         // When & Then
         assertThatThrownBy(() -> matchingContextService.run(1L))
                 .isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -83,4 +150,94 @@ class MatchingContextServiceTest {
         assertThatThrownBy(() -> matchingContextService.run(1L))
                 .isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    void run_ShouldCoalesceConcurrentCalls_ForSameCampaign() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MatchingRunResult expectedResult = new MatchingRunResult(1L, MatchingAlgorithmType.WEIGHTED, 10, 50, Instant.now(), Instant.now());
+
+        MatchingStrategy weightedStrategy = mock(MatchingStrategy.class);
+        when(weightedStrategy.getAlgorithmType()).thenReturn(MatchingAlgorithmType.WEIGHTED);
+        when(weightedStrategy.execute(eq(campaign), any(MatchingDictionary.class))).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return expectedResult;
+        });
+        strategies.add(weightedStrategy);
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(campaign));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When
+            Future<MatchingRunResult> first = executor.submit(() -> matchingContextService.run(1L));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<MatchingRunResult> second = executor.submit(() -> matchingContextService.run(1L));
+            while (meterRegistry.counter(MatchingContextService.COALESCED_METRIC).count() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Then
+            assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(expectedResult);
+            assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(expectedResult);
+            verify(weightedStrategy, times(1)).execute(eq(campaign), any(MatchingDictionary.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void run_ShouldReleaseCoalescedCaller_WhenStrategyThrowsError() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        MatchingStrategy weightedStrategy = mock(MatchingStrategy.class);
+        when(weightedStrategy.getAlgorithmType()).thenReturn(MatchingAlgorithmType.WEIGHTED);
+        when(weightedStrategy.execute(eq(campaign), any(MatchingDictionary.class))).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new OutOfMemoryError("matrice trop grande");
+        });
+        strategies.add(weightedStrategy);
+        when(campaignRepository.findById(1L)).thenReturn(Optional.of(campaign));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // When
+            Future<MatchingRunResult> first = executor.submit(() -> matchingContextService.run(1L));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<MatchingRunResult> second = executor.submit(() -> matchingContextService.run(1L));
+            while (meterRegistry.counter(MatchingContextService.COALESCED_METRIC).count() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Then
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(OutOfMemoryError.class);
+            assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(OutOfMemoryError.class);
+            verify(weightedStrategy, times(1)).execute(eq(campaign), any(MatchingDictionary.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void run_ShouldStartNewRun_AfterPreviousRunFailed() {
+        // Given
+        when(campaignRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> matchingContextService.run(1L)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> matchingContextService.run(1L)).isInstanceOf(NotFoundException.class);
+        verify(campaignRepository, times(2)).findById(1L);
+    }
 }
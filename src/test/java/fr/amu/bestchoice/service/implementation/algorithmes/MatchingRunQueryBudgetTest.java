@@ -0,0 +1,30 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+import fr.amu.bestchoice.support.BudgetDataSeeder;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Budget de requêtes d'un run de matching : le chargement de la campagne (étudiants, vœux,
+ * profils, projets) est fait par lots, le nombre de SELECT ne dépend pas de la taille de la campagne.
+ * Les INSERT/UPDATE (résultats, statuts des vœux) croissent naturellement avec les données.
+ */
+@QueryBudgetTest
+class MatchingRunQueryBudgetTest {
+
+    @Autowired
+    private MatchingContextService matchingContextService;
+    @Autowired
+    private BudgetDataSeeder seeder;
+
+    @Test
+    void run_ShouldStayWithinQueryBudget_WhenCampaignGrows() throws Exception {
+        Long campaignId = seeder.projectCampaignId();
+
+        QueryBudget.assertFlat("run stable", 20,
+                () -> matchingContextService.run(campaignId),
+                seeder::grow);
+    }
+}
@@ -0,0 +1,76 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+import fr.amu.bestchoice.model.entity.MatchingCampaign;
+import fr.amu.bestchoice.model.entity.MatchingRunSummary;
+import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchingRunSummaryCollectorTest {
+
+    @Test
+    void toSummary_ShouldCountChoicesAndFill() {
+        // Given
+        MatchingRunSummaryCollector collector = new MatchingRunSummaryCollector();
+        collector.item(1L, "P1", 2);
+        collector.item(2L, "P2", null);
+        collector.assign(1L, new BigDecimal("0.9"), 1);
+        collector.assign(1L, new BigDecimal("0.7"), 3);
+        collector.assign(2L, new BigDecimal("0.5"), 5);
+        collector.assign(2L, new BigDecimal("0.3"), null);
+
+        // When
+        MatchingRunSummary summary = collector.toSummary(new MatchingCampaign(), run(5));
+
+        // Then
+        assertThat(summary.getAssignedCount()).isEqualTo(4);
+        assertThat(summary.getUnassignedCount()).isEqualTo(1);
+        assertThat(summary.getFirstChoiceCount()).isEqualTo(1);
+        assertThat(summary.getSecondChoiceCount()).isZero();
+        assertThat(summary.getThirdChoiceCount()).isEqualTo(1);
+        assertThat(summary.getOtherChoiceCount()).isEqualTo(1);
+        assertThat(summary.getOutsideChoicesCount()).isEqualTo(1);
+        assertThat(summary.getItemFills()).containsExactly(
+                new MatchingRunSummary.ItemFill(1L, "P1", 2, 2),
+                new MatchingRunSummary.ItemFill(2L, "P2", 2, 1));
+    }
+
+    @Test
+    void toSummary_ShouldInterpolateScoreQuantiles() {
+        // Given : scores 0.3, 0.5, 0.7, 0.9
+        MatchingRunSummaryCollector collector = new MatchingRunSummaryCollector();
+        for (String score : new String[]{"0.9", "0.3", "0.7", "0.5"}) {
+            collector.assign(1L, new BigDecimal(score), 1);
+        }
+
+        // When
+        MatchingRunSummary summary = collector.toSummary(new MatchingCampaign(), run(4));
+
+        // Then
+        assertThat(summary.getScoreMin()).isEqualByComparingTo("0.3");
+        assertThat(summary.getScoreP25()).isEqualByComparingTo("0.45");
+        assertThat(summary.getScoreMedian()).isEqualByComparingTo("0.6");
+        assertThat(summary.getScoreP75()).isEqualByComparingTo("0.75");
+        assertThat(summary.getScoreMax()).isEqualByComparingTo("0.9");
+        assertThat(summary.getScoreMean()).isEqualByComparingTo("0.6");
+    }
+
+    @Test
+    void toSummary_ShouldLeaveScoresEmpty_WhenNobodyAssigned() {
+        // When
+        MatchingRunSummary summary = new MatchingRunSummaryCollector().toSummary(new MatchingCampaign(), run(3));
+
+        // Then
+        assertThat(summary.getUnassignedCount()).isEqualTo(3);
+        assertThat(summary.getScoreMedian()).isNull();
+    }
+
+    private MatchingRunResult run(int students) {
+        Instant now = Instant.now();
+        return new MatchingRunResult(1L, MatchingAlgorithmType.STABLE, students, 0, now, now);
+    }
+}
@@ -65,4 +65,36 @@ class MatchingScoringServiceTest {
         // Global = 0.5*0.4 + 0.5*0.4 + 0.5*0.2 = 0.2 + 0.2 + 0.1 = 0.5
         assertThat(score).isEqualByComparingTo("0.5");
     }
+
+    @Test
+    void computeGlobalScore_WithDictionary_ShouldMatchClassicComputation() {
+        // Given
+        Skill skill1 = new Skill(); skill1.setId(1L); skill1.setName("S1");
+        Skill skill2 = new Skill(); skill2.setId(2L); skill2.setName("S2");
+        Skill skill3 = new Skill(); skill3.setId(3L); skill3.setName("S3");
+        Keyword kw1 = new Keyword(); kw1.setId(1L); kw1.setLabel("K1");
+        Keyword kw2 = new Keyword(); kw2.setId(2L); kw2.setLabel("K2");
+
+        student.setId(10L);
+        student.setSkills(Set.of(skill1, skill3));
+        student.setInterests(Set.of(kw2));
+        student.setPreferredWorkTypes(Set.of(WorkType.DEVELOPPEMENT));
+
+        project.setId(20L);
+        project.setRequiredSkills(Set.of(skill1, skill2, skill3));
+        project.setKeywords(Set.of(kw1, kw2));
+        project.setWorkTypes(Set.of(WorkType.DEVELOPPEMENT, WorkType.RECHERCHE));
+
+        MatchingDictionary dictionary = new MatchingDictionary();
+
+        // When
+        BigDecimal classic = scoringService.computeGlobalScore(student, project, null, campaign);
+        BigDecimal encoded = scoringService.computeGlobalScore(student, project, null, campaign, dictionary);
+
+        // Then
+        assertThat(encoded).isEqualByComparingTo(classic);
+        assertThat(scoringService.computeSkillsScore(student, project, null, dictionary)).isEqualByComparingTo("0.6667");
+        assertThat(scoringService.computeInterestsScore(student, project, null, dictionary)).isEqualByComparingTo("0.5");
+        assertThat(dictionary.skillCount()).isEqualTo(3);
+    }
 }
@@ -0,0 +1,93 @@
+package fr.amu.bestchoice.service.implementation.algorithmes;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreMatrixTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void heapMatrix_ShouldStoreRowMajorAndExposeRowsAndColumns() {
+        try (ScoreMatrix matrix = new HeapScoreMatrix(3, 4)) {
+            fill(matrix);
+            assertRowsAndColumns(matrix);
+        }
+    }
+
+    @Test
+    void mappedMatrix_ShouldBehaveLikeHeapMatrix_AcrossSegments() {
+        // Segments de 16 octets : une ligne de 4 floats par segment
+        try (ScoreMatrix matrix = new MappedScoreMatrix(3, 4, tempDir, 16)) {
+            fill(matrix);
+            assertRowsAndColumns(matrix);
+        }
+    }
+
+    @Test
+    void mappedMatrix_ShouldDeleteTemporaryFile_WhenClosed() throws IOException {
+        ScoreMatrix matrix = new MappedScoreMatrix(10, 10, tempDir);
+        matrix.set(9, 9, 1f);
+
+        matrix.close();
+
+        assertThat(listFiles()).isEmpty();
+    }
+
+    @Test
+    void factory_ShouldSwitchToMappedMatrix_AboveThreshold() {
+        ScoreMatrixFactory factory = new ScoreMatrixFactory();
+        ReflectionTestUtils.setField(factory, "offHeapThresholdBytes", 100L);
+        ReflectionTestUtils.setField(factory, "tmpDir", tempDir.toString());
+
+        try (ScoreMatrix small = factory.create(5, 5); ScoreMatrix large = factory.create(10, 10)) {
+            assertThat(small).isInstanceOf(HeapScoreMatrix.class);
+            assertThat(large).isInstanceOf(MappedScoreMatrix.class);
+        }
+    }
+
+    @Test
+    void factory_ShouldUseMappedMatrix_WhenTooLargeForHeapArray() {
+        ScoreMatrixFactory factory = new ScoreMatrixFactory();
+        ReflectionTestUtils.setField(factory, "offHeapThresholdBytes", Long.MAX_VALUE);
+
+        assertThat(factory.onHeap(1_000, 1_000)).isTrue();
+        assertThat(factory.onHeap(50_000, 50_000)).isFalse();
+    }
+
+    private void fill(ScoreMatrix matrix) {
+        for (int r = 0; r < matrix.rows(); r++) {
+            for (int c = 0; c < matrix.columns(); c++) {
+                matrix.set(r, c, r * 10 + c + 0.5f);
+            }
+        }
+    }
+
+    private void assertRowsAndColumns(ScoreMatrix matrix) {
+        assertThat(matrix.get(2, 3)).isEqualTo(23.5f);
+
+        float[] row = new float[matrix.columns()];
+        matrix.row(1, row);
+        assertThat(row).containsExactly(10.5f, 11.5f, 12.5f, 13.5f);
+
+        float[] column = new float[matrix.rows()];
+        matrix.column(2, column);
+        assertThat(column).containsExactly(2.5f, 12.5f, 22.5f);
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.toList();
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package fr.amu.bestchoice.service.implementation.algorithmes;
 
 import fr.amu.bestchoice.model.entity.*;
+import fr.amu.bestchoice.model.enums.PreferenceStatus;
 import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.repository.MatchingRunSummaryRepository;
 import fr.amu.bestchoice.repository.StudentPreferenceRepository;
 import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -27,6 +31,10 @@ class StableMatchingStrategyTest {
     private MatchingScoringService scoringService;
     @Mock
     private StudentPreferenceRepository preferenceRepository;
+    @Spy
+    private ScoreMatrixFactory scoreMatrixFactory = new ScoreMatrixFactory();
+    @Mock
+    private MatchingRunSummaryRepository summaryRepository;
 
     @InjectMocks
     private StableMatchingStrategy strategy;
@@ -52,7 +60,7 @@ class StableMatchingStrategyTest {
         campaign.setStudents(new HashSet<>(List.of(student)));
         campaign.setProjects(new HashSet<>(List.of(project)));
         
-        when(scoringService.computeGlobalScore(any(), any(), any(), any())).thenReturn(new BigDecimal("0.8"));
+        when(scoringService.computeGlobalScore(any(), any(), any(), any(), any())).thenReturn(new BigDecimal("0.8"));
     }
 
     @Test
@@ -92,8 +100,8 @@ class StableMatchingStrategyTest {
         student2.getPreferences().add(pref2);
 
         // student2 has better score
-        when(scoringService.computeGlobalScore(eq(student), eq(project), any(), any())).thenReturn(new BigDecimal("0.7"));
-        when(scoringService.computeGlobalScore(eq(student2), eq(project), any(), any())).thenReturn(new BigDecimal("0.9"));
+        when(scoringService.computeGlobalScore(eq(student), eq(project), any(), any(), any())).thenReturn(new BigDecimal("0.7"));
+        when(scoringService.computeGlobalScore(eq(student2), eq(project), any(), any(), any())).thenReturn(new BigDecimal("0.9"));
 
         // When
         MatchingRunResult result = strategy.execute(campaign);
@@ -102,7 +110,57 @@ class StableMatchingStrategyTest {
         assertThat(result.resultsStored()).isEqualTo(1);
         verify(resultRepository).saveAll(argThat(results -> {
             List<MatchingResult> list = (List<MatchingResult>) results;
-            return list.get(0).getStudent().getId().equals(2L);
+            return list.get(0).getStudent().getId().equals(2L)
+                && list.get(0).getGlobalScore().compareTo(new BigDecimal("0.9")) == 0;
         }));
     }
+
+    @Test
+    void execute_ShouldStoreRunSummary_WithChoicesAndFill() {
+        // Given : deux étudiants, un seul projet à une place, même 1er vœu
+        Student student2 = new Student();
+        student2.setId(2L);
+        student2.setPreferences(new ArrayList<>());
+        campaign.getStudents().add(student2);
+        project.setTitle("Moteur de recherche");
+
+        StudentPreference pref1 = new StudentPreference();
+        pref1.setStudent(student); pref1.setProject(project); pref1.setRank(1); pref1.setMatchingCampaign(campaign);
+        student.getPreferences().add(pref1);
+
+        StudentPreference pref2 = new StudentPreference();
+        pref2.setStudent(student2); pref2.setProject(project); pref2.setRank(1); pref2.setMatchingCampaign(campaign);
+        student2.getPreferences().add(pref2);
+
+        // When
+        strategy.execute(campaign);
+
+        // Then
+        ArgumentCaptor<MatchingRunSummary> captor = ArgumentCaptor.forClass(MatchingRunSummary.class);
+        verify(summaryRepository).save(captor.capture());
+        MatchingRunSummary summary = captor.getValue();
+        assertThat(summary.getStudentsCount()).isEqualTo(2);
+        assertThat(summary.getAssignedCount()).isEqualTo(1);
+        assertThat(summary.getUnassignedCount()).isEqualTo(1);
+        assertThat(summary.getFirstChoiceCount()).isEqualTo(1);
+        assertThat(summary.getScoreMax()).isEqualByComparingTo("0.8");
+        assertThat(summary.getItemFills()).containsExactly(new MatchingRunSummary.ItemFill(1L, "Moteur de recherche", 1, 1));
+    }
+
+    @Test
+    void execute_ShouldAcceptAssignedPreferences_WithSingleLookup() {
+        // Given
+        StudentPreference pref = new StudentPreference();
+        pref.setStudent(student); pref.setProject(project); pref.setRank(1); pref.setMatchingCampaign(campaign);
+        student.getPreferences().add(pref);
+        when(preferenceRepository.findByMatchingCampaignIdAndStudentIdIn(eq(1L), anyCollection())).thenReturn(List.of(pref));
+
+        // When
+        strategy.execute(campaign);
+
+        // Then
+        assertThat(pref.getStatus()).isEqualTo(PreferenceStatus.ACCEPTED);
+        verify(preferenceRepository).findByMatchingCampaignIdAndStudentIdIn(eq(1L), anyCollection());
+        verify(preferenceRepository).saveAll(List.of(pref));
+    }
 }
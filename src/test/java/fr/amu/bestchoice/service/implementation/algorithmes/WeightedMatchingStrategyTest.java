@@ -1,15 +1,20 @@
 package fr.amu.bestchoice.service.implementation.algorithmes;
 
 import fr.amu.bestchoice.model.entity.*;
+import fr.amu.bestchoice.model.enums.PreferenceStatus;
 import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.repository.MatchingRunSummaryRepository;
 import fr.amu.bestchoice.repository.StudentPreferenceRepository;
 import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.util.*;
@@ -27,6 +32,10 @@ class WeightedMatchingStrategyTest {
     private MatchingScoringService scoringService;
     @Mock
     private StudentPreferenceRepository preferenceRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private MatchingRunSummaryRepository summaryRepository;
 
     @InjectMocks
     private WeightedMatchingStrategy strategy;
@@ -50,7 +59,8 @@ class WeightedMatchingStrategyTest {
         project.setId(1L);
         campaign.setProjects(Set.of(project));
         
-        when(scoringService.computeGlobalScore(any(), any(), any(), any())).thenReturn(new BigDecimal("0.75"));
+        when(scoringService.computeGlobalScore(any(), any(), any(), any(), any())).thenReturn(new BigDecimal("0.75"));
+        ReflectionTestUtils.setField(strategy, "chunkSize", 2);
     }
 
     @Test
@@ -74,8 +84,8 @@ class WeightedMatchingStrategyTest {
         campaign.setProjects(new HashSet<>(List.of(project, project2)));
         
         // Mock different scores
-        when(scoringService.computeGlobalScore(eq(student), eq(project), any(), any())).thenReturn(new BigDecimal("0.9"));
-        when(scoringService.computeGlobalScore(eq(student), eq(project2), any(), any())).thenReturn(new BigDecimal("0.6"));
+        when(scoringService.computeGlobalScore(eq(student), eq(project), any(), any(), any())).thenReturn(new BigDecimal("0.9"));
+        when(scoringService.computeGlobalScore(eq(student), eq(project2), any(), any(), any())).thenReturn(new BigDecimal("0.6"));
 
         // When
         strategy.execute(campaign);
@@ -88,4 +98,77 @@ class WeightedMatchingStrategyTest {
                 && list.get(1).getGlobalScore().equals(new BigDecimal("0.6")) && list.get(1).getRecommendationRank() == 2;
         }));
     }
+
+    @Test
+    void execute_ShouldFlushAndClearAfterEachChunk() {
+        // Given : 5 étudiants, lots de 2 => 3 lots
+        Set<Student> students = new HashSet<>();
+        for (long id = 1; id <= 5; id++) {
+            Student s = new Student();
+            s.setId(id);
+            students.add(s);
+        }
+        campaign.setStudents(students);
+
+        // When
+        MatchingRunResult result = strategy.execute(campaign);
+
+        // Then
+        assertThat(result.studentsProcessed()).isEqualTo(5);
+        verify(resultRepository, times(3)).saveAll(anyList());
+        verify(preferenceRepository, times(3)).findByMatchingCampaignIdAndStudentIdIn(eq(1L), anyCollection());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void execute_ShouldAcceptTopRankedPreferenceOnly() {
+        // Given
+        Project project2 = new Project();
+        project2.setId(2L);
+        campaign.setProjects(new HashSet<>(List.of(project, project2)));
+        when(scoringService.computeGlobalScore(eq(student), eq(project), any(), any(), any())).thenReturn(new BigDecimal("0.4"));
+        when(scoringService.computeGlobalScore(eq(student), eq(project2), any(), any(), any())).thenReturn(new BigDecimal("0.8"));
+
+        StudentPreference pref1 = StudentPreference.builder().student(student).project(project).status(PreferenceStatus.PENDING).build();
+        StudentPreference pref2 = StudentPreference.builder().student(student).project(project2).status(PreferenceStatus.PENDING).build();
+        when(preferenceRepository.findByMatchingCampaignIdAndStudentIdIn(1L, List.of(1L))).thenReturn(List.of(pref1, pref2));
+
+        // When
+        strategy.execute(campaign);
+
+        // Then
+        assertThat(pref1.getStatus()).isEqualTo(PreferenceStatus.PENDING);
+        assertThat(pref2.getStatus()).isEqualTo(PreferenceStatus.ACCEPTED);
+        verify(preferenceRepository).saveAll(List.of(pref2));
+    }
+
+    @Test
+    void execute_ShouldStoreRunSummary_FromTopRankedResults() {
+        // Given : le meilleur match (project2) est le 2e vœu de l'étudiant
+        Project project2 = new Project();
+        project2.setId(2L);
+        project2.setTitle("Compilateur");
+        project2.setMaxStudents(3);
+        campaign.setProjects(new HashSet<>(List.of(project, project2)));
+        when(scoringService.computeGlobalScore(eq(student), eq(project), any(), any(), any())).thenReturn(new BigDecimal("0.4"));
+        when(scoringService.computeGlobalScore(eq(student), eq(project2), any(), any(), any())).thenReturn(new BigDecimal("0.8"));
+
+        StudentPreference pref2 = StudentPreference.builder().student(student).project(project2).rank(2).status(PreferenceStatus.PENDING).build();
+        when(preferenceRepository.findByMatchingCampaignIdAndStudentIdIn(1L, List.of(1L))).thenReturn(List.of(pref2));
+
+        // When
+        strategy.execute(campaign);
+
+        // Then
+        verify(summaryRepository).deleteByMatchingCampaignId(1L);
+        ArgumentCaptor<MatchingRunSummary> captor = ArgumentCaptor.forClass(MatchingRunSummary.class);
+        verify(summaryRepository).save(captor.capture());
+        MatchingRunSummary summary = captor.getValue();
+        assertThat(summary.getAlgorithmUsed()).isEqualTo(MatchingAlgorithmType.WEIGHTED);
+        assertThat(summary.getAssignedCount()).isEqualTo(1);
+        assertThat(summary.getSecondChoiceCount()).isEqualTo(1);
+        assertThat(summary.getScoreMedian()).isEqualByComparingTo("0.8");
+        assertThat(summary.getItemFills()).contains(new MatchingRunSummary.ItemFill(2L, "Compilateur", 1, 3));
+    }
 }
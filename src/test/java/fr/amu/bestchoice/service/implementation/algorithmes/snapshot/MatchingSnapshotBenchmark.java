@@ -0,0 +1,70 @@
+package fr.amu.bestchoice.service.implementation.algorithmes.snapshot;
+
+import fr.amu.bestchoice.model.entity.MatchingCampaign;
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Banc d'essai hors ligne : rejoue des fichiers snapshot et affiche les temps d'exécution.
+ *
+ * Usage : MatchingSnapshotBenchmark [--algorithm=WEIGHTED|STABLE] [--iterations=5] fichier.bcms...
+ * Outil de développement, hors du war : depuis l'IDE, ou après {@code mvn test-compile} avec
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)
+ *      fr.amu.bestchoice.service.implementation.algorithmes.snapshot.MatchingSnapshotBenchmark campagne.bcms
+ */
+@Slf4j
+public final class MatchingSnapshotBenchmark {
+
+    private MatchingSnapshotBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        MatchingAlgorithmType algorithm = null;
+        int iterations = 5;
+        MatchingSnapshotReplayer replayer = new MatchingSnapshotReplayer();
+
+        for (String arg : args) {
+            if (arg.startsWith("--algorithm=")) {
+                algorithm = MatchingAlgorithmType.valueOf(arg.substring("--algorithm=".length()));
+            } else if (arg.startsWith("--iterations=")) {
+                iterations = Integer.parseInt(arg.substring("--iterations=".length()));
+            } else {
+                run(Path.of(arg), algorithm, iterations, replayer);
+            }
+        }
+    }
+
+    private static void run(Path file, MatchingAlgorithmType algorithm, int iterations, MatchingSnapshotReplayer replayer) throws IOException {
+        MatchingCampaign campaign;
+        try (InputStream in = Files.newInputStream(file)) {
+            campaign = MatchingSnapshotCodec.read(in);
+        }
+
+        // Échauffement (JIT), non mesuré
+        MatchingSnapshotReplayer.ReplayResult result = replayer.replay(campaign, algorithm);
+
+        long[] durations = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            replayer.replay(campaign, algorithm);
+            durations[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(durations);
+
+        log.info("{} : {}, {} étudiants, {} items, {} résultats | min {} ms, médiane {} ms, max {} ms",
+                file.getFileName(),
+                result.run().algorithmUsed(),
+                campaign.getStudents().size(),
+                campaign.getProjects().size() + campaign.getSubjects().size(),
+                result.results().size(),
+                iterations > 0 ? durations[0] : 0,
+                iterations > 0 ? durations[iterations / 2] : 0,
+                iterations > 0 ? durations[iterations - 1] : 0);
+    }
+}
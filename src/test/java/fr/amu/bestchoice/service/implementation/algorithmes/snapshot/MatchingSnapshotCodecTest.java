@@ -0,0 +1,203 @@
+package fr.amu.bestchoice.service.implementation.algorithmes.snapshot;
+
+import fr.amu.bestchoice.model.entity.*;
+import fr.amu.bestchoice.model.enums.WorkType;
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingScoringService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MatchingSnapshotCodecTest {
+
+    private MatchingCampaign campaign;
+    private Student alice;
+    private Student bob;
+    private Project p1;
+    private Project p2;
+
+    @BeforeEach
+    void setUp() {
+        Skill java = skill(10L, "Java");
+        Skill sql = skill(11L, "SQL");
+        Keyword ai = keyword(20L, "IA");
+        Keyword web = keyword(21L, "Web");
+
+        campaign = MatchingCampaign.builder()
+                .id(7L)
+                .name("Master IDL S2")
+                .campaignType(MatchingCampaignType.PROJECT)
+                .algorithmType(MatchingAlgorithmType.STABLE)
+                .skillsWeight(new BigDecimal("0.40"))
+                .interestsWeight(new BigDecimal("0.40"))
+                .workTypeWeight(new BigDecimal("0.20"))
+                .build();
+
+        p1 = new Project();
+        p1.setId(100L);
+        p1.setMaxStudents(1);
+        p1.setRequiredSkills(Set.of(java, sql));
+        p1.setKeywords(Set.of(ai));
+        p1.setWorkTypes(Set.of(WorkType.DEVELOPPEMENT));
+
+        p2 = new Project();
+        p2.setId(101L);
+        p2.setMaxStudents(2);
+        p2.setRequiredSkills(Set.of(sql));
+        p2.setKeywords(Set.of(web));
+        p2.setWorkTypes(Set.of(WorkType.RECHERCHE, WorkType.ANALYSE));
+
+        alice = student(1L, Set.of(java), Set.of(ai), Set.of(WorkType.DEVELOPPEMENT));
+        bob = student(2L, Set.of(sql), Set.of(web), Set.of(WorkType.ANALYSE));
+        alice.getPreferences().add(preference(alice, p1, 1));
+        alice.getPreferences().add(preference(alice, p2, 2));
+        bob.getPreferences().add(preference(bob, p1, 1));
+
+        campaign.setStudents(new HashSet<>(List.of(alice, bob)));
+        campaign.setProjects(new HashSet<>(List.of(p1, p2)));
+    }
+
+    @Test
+    void roundTrip_ShouldRestoreCampaignInputs() throws IOException {
+        // When
+        MatchingCampaign restored = roundTrip(false);
+
+        // Then
+        assertThat(restored.getId()).isEqualTo(7L);
+        assertThat(restored.getName()).isEqualTo("Master IDL S2");
+        assertThat(restored.getAlgorithmType()).isEqualTo(MatchingAlgorithmType.STABLE);
+        assertThat(restored.getSkillsWeight()).isEqualByComparingTo("0.40");
+
+        Project restoredP2 = restored.getProjects().stream().filter(p -> p.getId() == 101L).findFirst().orElseThrow();
+        assertThat(restoredP2.getMaxStudents()).isEqualTo(2);
+        assertThat(restoredP2.getWorkTypes()).containsExactlyInAnyOrder(WorkType.RECHERCHE, WorkType.ANALYSE);
+        assertThat(restoredP2.getRequiredSkills()).extracting(Skill::getName).containsExactly("SQL");
+
+        Student restoredAlice = restored.getStudents().stream().filter(s -> s.getId() == 1L).findFirst().orElseThrow();
+        assertThat(restoredAlice.getPreferences()).extracting(p -> p.getProject().getId()).containsExactly(100L, 101L);
+        assertThat(restoredAlice.getPreferences()).allSatisfy(p -> assertThat(p.getMatchingCampaign()).isSameAs(restored));
+    }
+
+    @Test
+    void roundTrip_ShouldPreserveScores() throws IOException {
+        // Given
+        MatchingScoringService scoring = new MatchingScoringService();
+        BigDecimal expected = scoring.computeGlobalScore(alice, p2, null, campaign);
+
+        // When
+        MatchingCampaign restored = roundTrip(true);
+        Student restoredAlice = restored.getStudents().stream()
+                .filter(s -> s.getPreferences().size() == 2).findFirst().orElseThrow();
+        Project restoredP2 = restoredAlice.getPreferences().get(1).getProject();
+
+        // Then
+        assertThat(scoring.computeGlobalScore(restoredAlice, restoredP2, null, restored)).isEqualByComparingTo(expected);
+    }
+
+    @Test
+    void anonymizedSnapshot_ShouldNotContainIdsOrLabels() throws IOException {
+        // When
+        byte[] bytes = write(true);
+        MatchingCampaign restored = MatchingSnapshotCodec.read(new ByteArrayInputStream(bytes));
+
+        // Then
+        assertThat(new String(bytes, StandardCharsets.ISO_8859_1)).doesNotContain("Java", "Master");
+        assertThat(restored.getId()).isEqualTo(1L);
+        assertThat(restored.getStudents()).extracting(Student::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(restored.getProjects()).extracting(Project::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void read_ShouldRejectUnknownHeader() {
+        assertThatThrownBy(() -> MatchingSnapshotCodec.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5})))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void read_ShouldRejectUnknownEnumOrdinal() throws IOException {
+        // Given : en-tête (4) + version (1) + drapeaux (1) + id (1) + nom vide (2), puis type et algorithme
+        byte[] bytes = write(true);
+        bytes[10] = 0x7F;
+
+        // When & Then
+        assertThatThrownBy(() -> MatchingSnapshotCodec.read(new ByteArrayInputStream(bytes)))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("corrompu");
+    }
+
+    @Test
+    void replay_ShouldRunStrategyWithoutDatabase() throws IOException {
+        // When
+        MatchingSnapshotReplayer.ReplayResult replay = new MatchingSnapshotReplayer().replay(roundTrip(false), null);
+
+        // Then : p1 a une place, Alice (meilleur score) l'obtient ; Bob n'a pas d'autre vœu
+        assertThat(replay.run().algorithmUsed()).isEqualTo(MatchingAlgorithmType.STABLE);
+        assertThat(replay.results()).hasSize(1);
+        assertThat(replay.results().get(0).getStudent().getId()).isEqualTo(1L);
+        assertThat(replay.results().get(0).getProject().getId()).isEqualTo(100L);
+    }
+
+    @Test
+    void replay_ShouldSupportWeightedStrategy() throws IOException {
+        // When
+        MatchingSnapshotReplayer.ReplayResult replay = new MatchingSnapshotReplayer()
+                .replay(roundTrip(false), MatchingAlgorithmType.WEIGHTED);
+
+        // Then : 2 étudiants × 2 projets
+        assertThat(replay.results()).hasSize(4);
+    }
+
+    // ==================== UTILITAIRES ====================
+
+    private MatchingCampaign roundTrip(boolean anonymize) throws IOException {
+        return MatchingSnapshotCodec.read(new ByteArrayInputStream(write(anonymize)));
+    }
+
+    private byte[] write(boolean anonymize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MatchingSnapshotCodec.write(campaign, anonymize, out);
+        return out.toByteArray();
+    }
+
+    private Skill skill(Long id, String name) {
+        Skill skill = new Skill();
+        skill.setId(id);
+        skill.setName(name);
+        return skill;
+    }
+
+    private Keyword keyword(Long id, String label) {
+        Keyword keyword = new Keyword();
+        keyword.setId(id);
+        keyword.setLabel(label);
+        return keyword;
+    }
+
+    private Student student(Long id, Set<Skill> skills, Set<Keyword> interests, Set<WorkType> workTypes) {
+        Student student = new Student();
+        student.setId(id);
+        student.setSkills(skills);
+        student.setInterests(interests);
+        student.setPreferredWorkTypes(workTypes);
+        student.setPreferences(new ArrayList<>());
+        return student;
+    }
+
+    private StudentPreference preference(Student student, Project project, int rank) {
+        return StudentPreference.builder()
+                .student(student)
+                .project(project)
+                .rank(rank)
+                .matchingCampaign(campaign)
+                .build();
+    }
+}
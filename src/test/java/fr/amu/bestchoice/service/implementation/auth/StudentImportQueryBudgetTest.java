@@ -0,0 +1,97 @@
+package fr.amu.bestchoice.service.implementation.auth;
+
+import fr.amu.bestchoice.model.entity.User;
+import fr.amu.bestchoice.model.enums.Role;
+import fr.amu.bestchoice.repository.StudentRepository;
+import fr.amu.bestchoice.repository.UserRepository;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import fr.amu.bestchoice.web.dto.student.StudentImportResponse;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@QueryBudgetTest
+class StudentImportQueryBudgetTest {
+
+    @Autowired
+    private StudentImportService studentImportService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void importStudents_ShouldCreateValidRows_AndReportRejectedOnes() throws Exception {
+        // Given
+        String existingEmail = userRepository.findAll().get(0).getEmail();
+        long students = studentRepository.count();
+        String csv = """
+                lastName;firstName;email;password;studentNumber
+                Lovelace;Ada;ada.import@etu.univ-amu.fr;motdepasse1;IMP001
+                "Hopper; Grace";Grace;grace.import@etu.univ-amu.fr;motdepasse2;IMP002
+
+                Turing;Alan;pas-un-email;motdepasse3;IMP003
+                Dupont;Jean;%s;motdepasse4;IMP004
+                Copie;Ada;ADA.import@etu.univ-amu.fr;motdepasse5;IMP005
+                """.formatted(existingEmail);
+
+        // When
+        StudentImportResponse report = studentImportService.importStudents(stream(csv));
+
+        // Then
+        assertThat(report.totalRows()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.errors()).extracting(StudentImportResponse.RowError::line).containsExactly(5, 6, 7);
+        assertThat(studentRepository.count()).isEqualTo(students + 2);
+
+        User grace = userRepository.findByEmail("grace.import@etu.univ-amu.fr").orElseThrow();
+        assertThat(grace.getLastName()).isEqualTo("Hopper; Grace");
+        assertThat(grace.getRole()).isEqualTo(Role.ETUDIANT);
+        assertThat(passwordEncoder.matches("motdepasse2", grace.getPasswordHash())).isTrue();
+        assertThat(studentRepository.findByUserId(grace.getId())).isPresent();
+    }
+
+    @Test
+    void importStudents_ShouldCheckUniquenessWithSetQueries() throws Exception {
+        // Given : 50 lignes valides
+        StringBuilder csv = new StringBuilder("firstName,lastName,email,password,studentNumber\n");
+        for (int i = 0; i < 50; i++) {
+            csv.append("Prenom,Nom").append(i).append(",lot").append(i).append("@etu.univ-amu.fr,motdepasse,LOT").append(i).append('\n');
+        }
+
+        // When / Then : une requête IN pour les emails, une pour les numéros (insertions en JDBC)
+        assertThat(QueryBudget.measure(() -> studentImportService.importStudents(stream(csv.toString()))).selects())
+                .isEqualTo(2);
+        assertThat(userRepository.existsByStudentNumber("LOT49")).isTrue();
+    }
+
+    @Test
+    void importStudents_ShouldRejectFile_WhenRequiredColumnMissing() {
+        assertThatThrownBy(() -> studentImportService.importStudents(stream("firstName,lastName,email\n")))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void parseLine_ShouldHandleQuotedFields() {
+        assertThat(StudentImportService.parseLine("a,\"b,c\",\"d\"\"e\",", ','))
+                .isEqualTo(List.of("a", "b,c", "d\"e", ""));
+        assertThatThrownBy(() -> StudentImportService.parseLine("a,\"b", ','))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
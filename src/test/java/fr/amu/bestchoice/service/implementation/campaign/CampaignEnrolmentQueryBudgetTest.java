@@ -0,0 +1,125 @@
+package fr.amu.bestchoice.service.implementation.campaign;
+
+import fr.amu.bestchoice.model.entity.MatchingCampaign;
+import fr.amu.bestchoice.model.entity.MatchingResult;
+import fr.amu.bestchoice.model.entity.Project;
+import fr.amu.bestchoice.model.entity.Student;
+import fr.amu.bestchoice.model.enums.PreferenceStatus;
+import fr.amu.bestchoice.repository.MatchingCampaignRepository;
+import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.repository.ProjectRepository;
+import fr.amu.bestchoice.repository.StudentPreferenceRepository;
+import fr.amu.bestchoice.repository.StudentRepository;
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
+import fr.amu.bestchoice.service.interfaces.IMatchingCampaignService;
+import fr.amu.bestchoice.support.BudgetDataSeeder;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QueryBudgetTest
+class CampaignEnrolmentQueryBudgetTest {
+
+    @Autowired
+    private IMatchingCampaignService campaignService;
+    @Autowired
+    private MatchingCampaignRepository campaignRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private StudentPreferenceRepository preferenceRepository;
+    @Autowired
+    private MatchingResultRepository resultRepository;
+    @Autowired
+    private CatalogVersions catalogVersions;
+    @Autowired
+    private BudgetDataSeeder seeder;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void addStudents_ShouldInsertMissingRowsOnly_WithoutLoadingCampaign() throws Exception {
+        // Given : campagne vide, tous les étudiants + un ID inconnu
+        Long campaignId = seeder.subjectCampaignId();
+        List<Long> ids = new ArrayList<>(studentRepository.findAll().stream().map(Student::getId).toList());
+        campaignService.addStudentsToCampaign(campaignId, ids.subList(0, 3));
+        ids.add(999_999L);
+
+        // When : seule l'existence de la campagne est lue
+        assertThat(QueryBudget.measure(() -> campaignService.addStudentsToCampaign(campaignId, ids)).selects())
+                .isEqualTo(1);
+        campaignService.addStudentsToCampaign(campaignId, ids);
+
+        // Then : chaque étudiant inscrit une fois
+        assertThat(studentCount(campaignId)).isEqualTo(ids.size() - 1);
+
+        campaignService.removeStudentsFromCampaign(campaignId, ids.subList(0, 4));
+        assertThat(studentCount(campaignId)).isEqualTo(ids.size() - 5);
+    }
+
+    @Test
+    void items_ShouldBeWrittenOnBothSides_AndBumpCatalog() {
+        // Given
+        Long campaignId = seeder.projectCampaignId();
+        List<Long> projectIds = projectRepository.findAll().stream().map(Project::getId).toList();
+        long version = catalogVersions.version(CatalogVersions.Catalog.PROJECT);
+
+        // When
+        campaignService.removeItemsFromCampaign(campaignId, projectIds);
+
+        // Then
+        assertThat(projectRepository.findByCampaignId(campaignId)).isEmpty();
+        assertThat(catalogVersions.version(CatalogVersions.Catalog.PROJECT)).isGreaterThan(version);
+
+        // When
+        campaignService.addItemsToCampaign(campaignId, projectIds);
+
+        // Then : côté projet et côté campagne
+        assertThat(projectRepository.findByCampaignId(campaignId)).hasSize(projectIds.size());
+        Integer campaignSide = transactionTemplate.execute(status -> campaignRepository.findWithDetailsById(campaignId)
+                .map(MatchingCampaign::getProjects).orElseThrow().size());
+        assertThat(campaignSide).isEqualTo(projectIds.size());
+    }
+
+    @Test
+    void removeStudents_ShouldDropPendingPreferencesAndResults() {
+        // Given : un étudiant inscrit avec des vœux en attente et un résultat de matching
+        Long campaignId = seeder.projectCampaignId();
+        seeder.grow();
+        Long studentId = studentRepository.findAll().stream().map(Student::getId).max(Long::compare).orElseThrow();
+        transactionTemplate.executeWithoutResult(status -> resultRepository.save(MatchingResult.builder()
+                .matchingCampaign(campaignRepository.getReferenceById(campaignId))
+                .student(studentRepository.getReferenceById(studentId))
+                .globalScore(BigDecimal.ONE)
+                .algorithmUsed(MatchingAlgorithmType.WEIGHTED)
+                .calculationDate(LocalDateTime.now())
+                .build()));
+        assertThat(preferenceRepository.findByStudentIdAndMatchingCampaignIdOrderByRankAsc(studentId, campaignId))
+                .isNotEmpty()
+                .allMatch(p -> p.getStatus() == PreferenceStatus.PENDING);
+
+        // When
+        campaignService.removeStudentsFromCampaign(campaignId, List.of(studentId));
+
+        // Then
+        assertThat(preferenceRepository.findByStudentIdAndMatchingCampaignIdOrderByRankAsc(studentId, campaignId)).isEmpty();
+        assertThat(resultRepository.findResponsesByCampaignAndStudent(campaignId, studentId)).isEmpty();
+    }
+
+    private Integer studentCount(Long campaignId) {
+        return transactionTemplate.execute(status -> campaignRepository.findWithDetailsById(campaignId)
+                .map(MatchingCampaign::getStudents).orElseThrow().size());
+    }
+}
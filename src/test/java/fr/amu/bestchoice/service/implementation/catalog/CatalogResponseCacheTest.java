@@ -0,0 +1,114 @@
+package fr.amu.bestchoice.service.implementation.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static fr.amu.bestchoice.service.implementation.catalog.CatalogVersions.Catalog.SKILL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogResponseCacheTest {
+
+    private CatalogVersions catalogVersions;
+    private CatalogResponseCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        catalogVersions = mock(CatalogVersions.class);
+        cache = new CatalogResponseCache(catalogVersions, new ObjectMapper());
+        cache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void get_ShouldServeSameBytes_WhenCatalogUnchanged() {
+        // Given
+        when(catalogVersions.version(SKILL)).thenReturn(1L);
+        CatalogResponseCache.Snapshot first = cache.get(CatalogResponseCache.View.SKILLS, loader("Java"));
+
+        // When
+        CatalogResponseCache.Snapshot second = cache.get(CatalogResponseCache.View.SKILLS, loader("Java"));
+
+        // Then
+        assertThat(second.json()).isSameAs(first.json());
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_ShouldRebuild_WhenCatalogChanged() {
+        // Given
+        when(catalogVersions.version(SKILL)).thenReturn(1L);
+        cache.get(CatalogResponseCache.View.SKILLS, loader("Java"));
+
+        // When
+        when(catalogVersions.version(SKILL)).thenReturn(2L);
+        CatalogResponseCache.Snapshot snapshot = cache.get(CatalogResponseCache.View.SKILLS, loader("Python"));
+
+        // Then
+        assertThat(snapshot.version()).isEqualTo(2L);
+        assertThat(new String(snapshot.json())).isEqualTo("[\"Python\"]");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_ShouldCompressSameJson() throws IOException {
+        // Given
+        when(catalogVersions.version(SKILL)).thenReturn(1L);
+
+        // When
+        CatalogResponseCache.Snapshot snapshot = cache.get(CatalogResponseCache.View.SKILLS, loader("Java", "SQL"));
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(snapshot.json());
+        }
+        assertThat(snapshot.size()).isEqualTo(2);
+    }
+
+    @Test
+    void onCatalogChanged_ShouldRebuildServedViewInBackground() throws InterruptedException {
+        // Given
+        when(catalogVersions.version(SKILL)).thenReturn(1L);
+        CountDownLatch rebuilt = new CountDownLatch(2);
+        Supplier<List<String>> loader = () -> {
+            rebuilt.countDown();
+            return List.of("Java");
+        };
+        cache.get(CatalogResponseCache.View.SKILLS, loader);
+
+        // When
+        when(catalogVersions.version(SKILL)).thenReturn(2L);
+        cache.onCatalogChanged(new CatalogChangedEvent(SKILL));
+
+        // Then
+        assertThat(rebuilt.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cache.get(CatalogResponseCache.View.SKILLS, loader("Autre")).version()).isEqualTo(2L);
+        assertThat(loads).hasValue(0);
+    }
+
+    // ==================== UTILITAIRES ====================
+
+    private Supplier<List<String>> loader(String... items) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(items);
+        };
+    }
+}
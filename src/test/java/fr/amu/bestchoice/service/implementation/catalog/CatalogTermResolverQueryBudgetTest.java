@@ -0,0 +1,98 @@
+package fr.amu.bestchoice.service.implementation.catalog;
+
+import fr.amu.bestchoice.model.entity.Skill;
+import fr.amu.bestchoice.repository.SkillRepository;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import fr.amu.bestchoice.support.SqlStatementCounter.QueryCount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Résolution en masse sur la vraie base : nombre d'ordres SQL constant et création concurrente sûre.
+ */
+@QueryBudgetTest
+class CatalogTermResolverQueryBudgetTest {
+
+    @Autowired
+    private CatalogTermResolver resolver;
+    @Autowired
+    private SkillRepository skillRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void resolveSkills_ShouldUseConstantStatements_WhenManyNamesAreMissing() throws Exception {
+        // Given : 25 compétences dont 5 existent déjà
+        List<String> names = names("Budget", 25);
+        resolver.resolveSkills(names.subList(0, 5));
+
+        // When
+        QueryCount count = QueryBudget.measure(() ->
+                transactionTemplate.executeWithoutResult(status -> assertThat(resolver.resolveSkills(names)).hasSize(25)));
+
+        // Then : une lecture IN, une relecture des créées ; l'INSERT multi-lignes passe par JdbcTemplate
+        assertThat(count.selects()).isLessThanOrEqualTo(2);
+        assertThat(count.inserts()).isZero();
+        assertThat(skillRepository.findByNameIn(names)).hasSize(25);
+    }
+
+    @Test
+    void resolveSkills_ShouldNotLeaveCreatedRows_WhenCallerRollsBack() {
+        // Given
+        List<String> names = names("Rollback", 3);
+
+        // When : la transaction appelante est annulée après la création
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(resolver.resolveSkills(names)).hasSize(3);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(skillRepository.findByNameIn(names)).isEmpty();
+    }
+
+    @Test
+    void resolveSkills_ShouldReturnSameRows_WhenCalledConcurrently() throws Exception {
+        // Given
+        List<String> names = names("Concurrent", 20);
+        int callers = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            // When : mêmes noms créés en parallèle, chacun dans sa transaction
+            List<Future<Set<Long>>> futures = IntStream.range(0, callers)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return transactionTemplate.execute(status -> resolver.resolveSkills(names).stream()
+                                .map(Skill::getId).collect(Collectors.toSet()));
+                    }))
+                    .toList();
+            start.countDown();
+
+            // Then : aucun échec, un seul exemplaire de chaque nom
+            Set<Long> first = futures.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<Set<Long>> future : futures) {
+                assertThat(future.get(30, TimeUnit.SECONDS)).isEqualTo(first);
+            }
+            assertThat(first).hasSize(20);
+            assertThat(skillRepository.findByNameIn(names)).hasSize(20);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> names(String prefix, int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> prefix + " skill " + i).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package fr.amu.bestchoice.service.implementation.catalog;
+
+import fr.amu.bestchoice.model.entity.Keyword;
+import fr.amu.bestchoice.model.entity.Skill;
+import fr.amu.bestchoice.repository.KeywordRepository;
+import fr.amu.bestchoice.repository.SkillRepository;
+import fr.amu.bestchoice.service.implementation.search.SearchIndexes;
+import fr.amu.bestchoice.web.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogTermResolverTest {
+
+    @Mock
+    private SkillRepository skillRepository;
+    @Mock
+    private KeywordRepository keywordRepository;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private CatalogVersions catalogVersions;
+    @Mock
+    private SearchIndexes searchIndexes;
+
+    @InjectMocks
+    private CatalogTermResolver resolver;
+
+    @Test
+    void resolveSkills_ShouldUseSingleLookup_WhenAllNamesExist() {
+        // Given
+        Skill java = Skill.builder().id(1L).name("Java").build();
+        Skill sql = Skill.builder().id(2L).name("SQL").build();
+        when(skillRepository.findByNameIn(anyCollection())).thenReturn(List.of(java, sql));
+
+        // When
+        Set<Skill> result = resolver.resolveSkills(Set.of("Java", "SQL"));
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrder(java, sql);
+        verify(skillRepository, times(1)).findByNameIn(anyCollection());
+        verifyNoInteractions(jdbcTemplate, catalogVersions);
+    }
+
+    @Test
+    void resolveKeywords_ShouldMatchIgnoringCase_WhenDatabaseCollationIsCaseInsensitive() {
+        // Given
+        Keyword web = Keyword.builder().id(3L).label("Web").build();
+        when(keywordRepository.findByLabelIn(anyCollection())).thenReturn(List.of(web));
+
+        // When
+        Set<Keyword> result = resolver.resolveKeywords(List.of("web"));
+
+        // Then
+        assertThat(result).containsExactly(web);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void findSkills_ShouldThrowNotFoundException_WhenNameIsUnknown() {
+        // Given
+        Skill java = Skill.builder().id(1L).name("Java").build();
+        when(skillRepository.findByNameIn(anyCollection())).thenReturn(List.of(java));
+
+        // When & Then
+        assertThatThrownBy(() -> resolver.findSkills(List.of("Java", "Cobol")))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Cobol");
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void resolveSkills_ShouldReturnEmptySet_WithoutQuery_WhenNoNames() {
+        // When
+        Set<Skill> result = resolver.resolveSkills(Set.of());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(skillRepository);
+    }
+}
@@ -0,0 +1,70 @@
+package fr.amu.bestchoice.service.implementation.catalog;
+
+import fr.amu.bestchoice.model.entity.MatchingResult;
+import fr.amu.bestchoice.model.entity.Skill;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static fr.amu.bestchoice.service.implementation.catalog.CatalogVersions.Catalog.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CatalogVersionsTest {
+
+    private CatalogVersions catalogVersions;
+
+    @BeforeEach
+    void setUp() {
+        catalogVersions = new CatalogVersions(mock(EntityManagerFactory.class), mock(ApplicationEventPublisher.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void changed_ShouldBumpDependentCatalogs_WhenSkillChanges() {
+        // When
+        catalogVersions.changed(Skill.class.getName());
+
+        // Then : les projets et matières affichent les noms de compétences
+        assertThat(catalogVersions.version(SKILL)).isEqualTo(1);
+        assertThat(catalogVersions.version(PROJECT)).isEqualTo(1);
+        assertThat(catalogVersions.version(SUBJECT)).isEqualTo(1);
+        assertThat(catalogVersions.version(KEYWORD)).isZero();
+    }
+
+    @Test
+    void changed_ShouldIgnoreEntitiesOutsideCatalogs() {
+        // When
+        catalogVersions.changed(MatchingResult.class.getName());
+
+        // Then
+        for (CatalogVersions.Catalog catalog : CatalogVersions.Catalog.values()) {
+            assertThat(catalogVersions.version(catalog)).isZero();
+        }
+    }
+
+    @Test
+    void changed_ShouldWaitForCommit_WhenTransactionActive() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        catalogVersions.changed(Skill.class.getName());
+
+        // Then : rien avant le commit
+        assertThat(catalogVersions.version(SKILL)).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(catalogVersions.version(SKILL)).isEqualTo(1);
+    }
+}
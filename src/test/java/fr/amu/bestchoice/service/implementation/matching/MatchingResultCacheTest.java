@@ -0,0 +1,92 @@
+package fr.amu.bestchoice.service.implementation.matching;
+
+import fr.amu.bestchoice.service.implementation.catalog.CatalogChangedEvent;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
+import fr.amu.bestchoice.web.dto.matching.MatchingResultResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MatchingResultCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MatchingResultCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new MatchingResultCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "maxWeight", 1_000L);
+        cache.init();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldServeFromCache_UntilResultsChange() {
+        // Given
+        Supplier<List<MatchingResultResponse>> loader = loader(3);
+
+        // When
+        cache.get(1L, "student:2", loader);
+        List<MatchingResultResponse> second = cache.get(1L, "student:2", loader);
+
+        // Then
+        assertThat(second).hasSize(3);
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", MatchingResultCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void onResultsChanged_ShouldInvalidateOnlyThatCampaign() {
+        // Given
+        cache.get(1L, "all", loader(2));
+        cache.get(2L, "all", loader(2));
+
+        // When
+        cache.onResultsChanged(new MatchingResultsChangedEvent(1L));
+        cache.get(1L, "all", loader(2));
+        cache.get(2L, "all", loader(2));
+
+        // Then : campagne 1 rechargée, campagne 2 toujours en cache
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void onCatalogChanged_ShouldAdvanceEveryCampaign_WhenProjectsChange() {
+        // Given
+        cache.get(1L, "all", loader(2));
+        long before = cache.version(2L);
+
+        // When
+        cache.onCatalogChanged(new CatalogChangedEvent(CatalogVersions.Catalog.SKILL));
+        cache.get(1L, "all", loader(2));
+        cache.onCatalogChanged(new CatalogChangedEvent(CatalogVersions.Catalog.PROJECT));
+        cache.get(1L, "all", loader(2));
+
+        // Then : seul le changement de projets recharge la vue et change l'ETag des autres campagnes
+        assertThat(loads).hasValue(2);
+        assertThat(cache.version(2L)).isGreaterThan(before);
+    }
+
+    private Supplier<List<MatchingResultResponse>> loader(int rows) {
+        return () -> {
+            loads.incrementAndGet();
+            return LongStream.rangeClosed(1, rows)
+                    .mapToObj(id -> new MatchingResultResponse(id, 1L, 1L, 1L, null, BigDecimal.ONE, null, null,
+                            (int) id, null, LocalDateTime.now(), null, null))
+                    .toList();
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package fr.amu.bestchoice.service.implementation.matching;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import fr.amu.bestchoice.repository.MatchingCampaignRepository;
+import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+import fr.amu.bestchoice.web.dto.matching.MatchingResultExportRow;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import fr.amu.bestchoice.web.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MatchingResultExportServiceTest {
+
+    @Mock
+    private MatchingResultRepository matchingResultRepository;
+    @Mock
+    private MatchingCampaignRepository campaignRepository;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private MatchingResultExportService exportService;
+
+    private final MatchingResultExportRow projectRow = new MatchingResultExportRow(
+            1L, 10L, "E001", "Durand", "Léa", 100L, "Moteur de recherche, v2", null, null,
+            new BigDecimal("0.8500"), new BigDecimal("0.9000"), new BigDecimal("0.7000"), null,
+            1, MatchingAlgorithmType.WEIGHTED, LocalDateTime.of(2026, 1, 15, 10, 30));
+
+    private final MatchingResultExportRow subjectRow = new MatchingResultExportRow(
+            2L, 11L, "E002", "Martin", "Paul \"PM\"", null, null, 200L, "Cloud",
+            new BigDecimal("0.4000"), null, null, null,
+            2, MatchingAlgorithmType.WEIGHTED, null);
+
+    @Test
+    void export_ShouldWriteCsvWithHeaderAndEscapedFields() throws IOException {
+        // Given
+        when(matchingResultRepository.streamExportRowsByCampaignId(1L)).thenReturn(Stream.of(projectRow, subjectRow));
+
+        // When
+        String csv = export(MatchingResultExportService.Format.CSV, false);
+
+        // Then
+        String[] lines = csv.split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,studentId,studentNumber,lastName,firstName,projectId");
+        assertThat(lines[1]).isEqualTo("1,10,E001,Durand,Léa,100,\"Moteur de recherche, v2\",,,0.8500,0.9000,0.7000,,1,WEIGHTED,2026-01-15T10:30");
+        assertThat(lines[2]).isEqualTo("2,11,E002,Martin,\"Paul \"\"PM\"\"\",,,200,Cloud,0.4000,,,,2,WEIGHTED,");
+    }
+
+    @Test
+    void export_ShouldWriteOneJsonObjectPerLine_WhenNdjson() throws IOException {
+        // Given
+        when(matchingResultRepository.streamExportRowsByCampaignId(1L)).thenReturn(Stream.of(projectRow, subjectRow));
+
+        // When
+        String ndjson = export(MatchingResultExportService.Format.NDJSON, false);
+
+        // Then
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("projectTitle").asText()).isEqualTo("Moteur de recherche, v2");
+        assertThat(first.get("globalScore").decimalValue()).isEqualByComparingTo("0.85");
+        assertThat(first.get("calculationDate").asText()).isEqualTo("2026-01-15T10:30:00");
+        assertThat(objectMapper.readTree(lines[1]).get("subjectId").asLong()).isEqualTo(200L);
+    }
+
+    @Test
+    void export_ShouldCompressAndCloseStream_WhenGzip() throws IOException {
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        when(matchingResultRepository.streamExportRowsByCampaignId(1L))
+                .thenReturn(Stream.of(projectRow).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        exportService.export(1L, MatchingResultExportService.Format.CSV, true, out);
+
+        // Then
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(csv.split("\r\n")).hasSize(2);
+        }
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void parse_ShouldAcceptCaseInsensitiveFormats() {
+        assertThat(MatchingResultExportService.Format.parse("ndjson")).isEqualTo(MatchingResultExportService.Format.NDJSON);
+        assertThat(MatchingResultExportService.Format.parse(" CSV ")).isEqualTo(MatchingResultExportService.Format.CSV);
+        assertThatThrownBy(() -> MatchingResultExportService.Format.parse("xlsx"))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void checkCampaignExists_ShouldThrowNotFound_WhenCampaignMissing() {
+        // Given
+        when(campaignRepository.existsById(99L)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> exportService.checkCampaignExists(99L))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private String export(MatchingResultExportService.Format format, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(1L, format, gzip, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -1,24 +1,31 @@
 package fr.amu.bestchoice.service.implementation.matching;
 
-import fr.amu.bestchoice.model.entity.MatchingResult;
 import fr.amu.bestchoice.repository.MatchingResultRepository;
+import fr.amu.bestchoice.repository.MatchingRunSummaryRepository;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.matching.MatchingResultResponse;
+import fr.amu.bestchoice.web.exception.BusinessException;
 import fr.amu.bestchoice.web.exception.NotFoundException;
-import fr.amu.bestchoice.web.mapper.MatchingResultMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,55 +34,59 @@ class MatchingResultServiceTest {
     @Mock
     private MatchingResultRepository matchingResultRepository;
     @Mock
-    private MatchingResultMapper matchingResultMapper;
+    private MatchingRunSummaryRepository summaryRepository;
+    @Mock
+    private MatchingResultCache resultCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private MatchingResultService matchingResultService;
 
-    private MatchingResult matchingResult;
     private MatchingResultResponse matchingResultResponse;
 
     @BeforeEach
     void setUp() {
-        matchingResult = new MatchingResult();
-        matchingResult.setId(1L);
+        matchingResultResponse = response(1L, BigDecimal.ONE);
 
-        matchingResultResponse = new MatchingResultResponse(1L, 1L, 1L, 1L, null, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, 1, null, LocalDateTime.now(), null, null);
+        // Cache transparent : le loader est toujours exécuté
+        lenient().when(resultCache.get(anyLong(), anyString(), any()))
+                .thenAnswer(inv -> inv.<Supplier<List<MatchingResultResponse>>>getArgument(2).get());
     }
 
     @Test
-    void findByCampaignId_ShouldReturnList() {
+    void findByCampaignId_ShouldReturnProjectedList() {
         // Given
         Long campaignId = 1L;
-        when(matchingResultRepository.findByMatchingCampaignIdOrderByGlobalScoreDesc(campaignId)).thenReturn(List.of(matchingResult));
-        when(matchingResultMapper.toResponseList(anyList())).thenReturn(List.of(matchingResultResponse));
+        when(matchingResultRepository.findResponsesByCampaignId(campaignId)).thenReturn(List.of(matchingResultResponse));
 
         // When
         List<MatchingResultResponse> result = matchingResultService.findByCampaignId(campaignId);
 
         // Then
-        assertThat(result).hasSize(1);
+        assertThat(result).containsExactly(matchingResultResponse);
+        verify(resultCache).get(eq(campaignId), eq("all"), any());
     }
 
     @Test
     void findById_ShouldReturnResponse_WhenExists() {
         // Given
         Long id = 1L;
-        when(matchingResultRepository.findById(id)).thenReturn(Optional.of(matchingResult));
-        when(matchingResultMapper.toResponse(matchingResult)).thenReturn(matchingResultResponse);
+        when(matchingResultRepository.findResponseById(id)).thenReturn(Optional.of(matchingResultResponse));
 
         // When
         MatchingResultResponse result = matchingResultService.findById(id);
 
         // Then
         assertThat(result).isNotNull();
+        verify(matchingResultRepository, never()).findById(any());
     }
 
     @Test
     void findById_ShouldThrowNotFoundException_WhenNotExists() {
         // Given
         Long id = 1L;
-        when(matchingResultRepository.findById(id)).thenReturn(Optional.empty());
+        when(matchingResultRepository.findResponseById(id)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> matchingResultService.findById(id))
@@ -92,5 +103,101 @@ class MatchingResultServiceTest {
 
         // Then
         verify(matchingResultRepository).deleteByMatchingCampaignId(campaignId);
+        verify(summaryRepository).deleteByMatchingCampaignId(campaignId);
+        verify(eventPublisher).publishEvent(new MatchingResultsChangedEvent(campaignId));
+    }
+
+    @Test
+    void findByCampaignIdPaginated_ShouldReturnNextCursor_WhenMoreResults() {
+        // Given : une ligne de plus que la taille demandée
+        when(matchingResultRepository.findResponsesByCampaignId(1L, Limit.of(2)))
+                .thenReturn(List.of(response(1L, new BigDecimal("0.9000")), response(2L, new BigDecimal("0.7500"))));
+
+        // When
+        CursorPageResponseDto<MatchingResultResponse> page = matchingResultService.findByCampaignId(1L, null, 1);
+
+        // Then
+        assertThat(page.content()).extracting(MatchingResultResponse::id).containsExactly(1L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.nextCursor()).isEqualTo(MatchingResultCursor.encode(new BigDecimal("0.9000"), 1L));
+    }
+
+    @Test
+    void findByCampaignIdPaginated_ShouldResumeAfterCursor_AndCapPageSize() {
+        // Given
+        String cursor = MatchingResultCursor.encode(new BigDecimal("0.6000"), 42L);
+        when(matchingResultRepository.findResponsesByCampaignIdAfter(1L, new BigDecimal("0.6000"), 42L,
+                Limit.of(MatchingResultService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of(matchingResultResponse));
+
+        // When
+        CursorPageResponseDto<MatchingResultResponse> page = matchingResultService.findByCampaignId(1L, cursor, 10_000);
+
+        // Then
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.size()).isEqualTo(MatchingResultService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void findByCampaignIdPaginated_ShouldThrowBusinessException_WhenCursorInvalid() {
+        // When & Then
+        assertThatThrownBy(() -> matchingResultService.findByCampaignId(1L, "pas-un-curseur", 20))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void findTopResultsForStudent_ShouldPushLimitToRepository() {
+        // Given
+        when(matchingResultRepository.findResponsesByCampaignAndStudent(1L, 2L, Limit.of(5)))
+                .thenReturn(List.of(matchingResultResponse));
+
+        // When
+        List<MatchingResultResponse> result = matchingResultService.findTopResultsForStudent(1L, 2L, 5);
+
+        // Then
+        assertThat(result).hasSize(1);
+        verify(matchingResultRepository, never()).findResponsesByCampaignAndStudent(anyLong(), anyLong());
+    }
+
+    @Test
+    void findTopCandidatesForProject_ShouldPushLimitToRepository() {
+        // Given
+        when(matchingResultRepository.findResponsesByCampaignAndProject(1L, 3L, Limit.of(3)))
+                .thenReturn(List.of(matchingResultResponse));
+
+        // When
+        List<MatchingResultResponse> result = matchingResultService.findTopCandidatesForProject(1L, 3L, 3);
+
+        // Then
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    void findTopCandidatesForProject_ShouldKeyCacheOnCappedSize() {
+        // Given
+        when(matchingResultRepository.findResponsesByCampaignAndProject(1L, 3L, Limit.of(MatchingResultService.MAX_PAGE_SIZE)))
+                .thenReturn(List.of(matchingResultResponse));
+
+        // When
+        matchingResultService.findTopCandidatesForProject(1L, 3L, 100_000);
+
+        // Then
+        verify(resultCache).get(eq(1L), eq("project:3:top:" + MatchingResultService.MAX_PAGE_SIZE), any());
+    }
+
+    @Test
+    void findTopCandidatesForSubject_ShouldReturnEmpty_WhenNNotPositive() {
+        // When
+        List<MatchingResultResponse> result = matchingResultService.findTopCandidatesForSubject(1L, 3L, 0);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(matchingResultRepository, resultCache);
+    }
+
+    private MatchingResultResponse response(Long id, BigDecimal globalScore) {
+        return new MatchingResultResponse(id, 1L, 1L, 1L, null, globalScore, BigDecimal.ONE, BigDecimal.ONE, 1, null, LocalDateTime.now(), null, null);
     }
 }
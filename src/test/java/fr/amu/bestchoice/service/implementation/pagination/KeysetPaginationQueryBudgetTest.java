@@ -0,0 +1,77 @@
+package fr.amu.bestchoice.service.implementation.pagination;
+
+import fr.amu.bestchoice.model.entity.User;
+import fr.amu.bestchoice.repository.UserRepository;
+import fr.amu.bestchoice.service.interfaces.ISkillService;
+import fr.amu.bestchoice.service.interfaces.IUserService;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
+import fr.amu.bestchoice.web.dto.skill.SkillResponse;
+import fr.amu.bestchoice.web.dto.user.UserResponse;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@QueryBudgetTest
+class KeysetPaginationQueryBudgetTest {
+
+    @Autowired
+    private IUserService userService;
+    @Autowired
+    private ISkillService skillService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void scroll_ShouldWalkAllRowsInSortOrder() {
+        // Given
+        List<Long> expected = userRepository.findAll(Sort.by(Sort.Direction.DESC, "lastName", "id")).stream()
+                .map(User::getId).toList();
+
+        // When : pages de 3 jusqu'à épuisement du curseur
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponseDto<UserResponse> page = userService.scroll(cursor, 3, "lastName", "DESC", false);
+            page.content().forEach(user -> ids.add(user.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(ids).isEqualTo(expected);
+    }
+
+    @Test
+    void scroll_ShouldReadDeepPageInOneQuery_WithoutCount() throws Exception {
+        // Given : curseur au milieu de la liste
+        CursorPageResponseDto<SkillResponse> first = skillService.scroll(null, 2, "name", "ASC", false);
+        String cursor = first.nextCursor();
+
+        // When / Then : ni COUNT ni page d'offset
+        assertThat(QueryBudget.measure(() -> skillService.scroll(cursor, 2, "name", "ASC", false)).selects())
+                .isEqualTo(1);
+        assertThat(first.totalElements()).isNull();
+        assertThat(skillService.scroll(cursor, 2, "name", "ASC", true).totalElements())
+                .isEqualTo(skillService.findAll().size());
+    }
+
+    @Test
+    void scroll_ShouldRejectCursor_WhenSortChanges() {
+        // Given
+        String cursor = userService.scroll(null, 2, "email", "ASC", false).nextCursor();
+
+        // When / Then
+        assertThatThrownBy(() -> userService.scroll(cursor, 2, "lastName", "ASC", false))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> userService.scroll("pas-un-curseur", 2, "email", "ASC", false))
+                .isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,149 @@
+package fr.amu.bestchoice.service.implementation.preference;
+
+import fr.amu.bestchoice.model.entity.Student;
+import fr.amu.bestchoice.model.enums.PreferenceStatus;
+import fr.amu.bestchoice.repository.MatchingCampaignRepository;
+import fr.amu.bestchoice.repository.StudentPreferenceRepository;
+import fr.amu.bestchoice.repository.StudentRepository;
+import fr.amu.bestchoice.service.interfaces.IMatchingCampaignService;
+import fr.amu.bestchoice.service.interfaces.IPreferenceService;
+import fr.amu.bestchoice.support.BudgetDataSeeder;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import fr.amu.bestchoice.support.SqlStatementCounter.QueryCount;
+import fr.amu.bestchoice.web.dto.preference.PreferenceListRequest;
+import fr.amu.bestchoice.web.dto.preference.PreferenceResponse;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@QueryBudgetTest
+class PreferenceReplaceQueryBudgetTest {
+
+    @Autowired
+    private IPreferenceService preferenceService;
+    @Autowired
+    private MatchingCampaignRepository campaignRepository;
+    @Autowired
+    private StudentPreferenceRepository preferenceRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private IMatchingCampaignService campaignService;
+    @Autowired
+    private BudgetDataSeeder seeder;
+
+    private Long pendingStudentId;
+
+    @Test
+    void replace_ShouldRankByPosition_AndDropPreviousList() {
+        // Given
+        Long campaignId = seeder.projectCampaignId();
+        Long studentId = pendingStudent(campaignId);
+        List<Long> projectIds = projectIds(campaignId, 3);
+        List<Long> reversed = List.of(projectIds.get(2), projectIds.get(1), projectIds.get(0));
+
+        // When
+        List<PreferenceResponse> result = preferenceService.replaceForCampaign(studentId, campaignId, request(reversed));
+
+        // Then
+        assertThat(result).extracting(PreferenceResponse::projectId).containsExactlyElementsOf(reversed);
+        assertThat(result).extracting(PreferenceResponse::rank).containsExactly(1, 2, 3);
+        assertThat(preferenceService.findByStudentIdAndCampaignId(studentId, campaignId)).hasSize(3);
+    }
+
+    @Test
+    void replace_ShouldNotDependOnListLength() throws Exception {
+        // Given
+        Long campaignId = seeder.projectCampaignId();
+        Long studentId = pendingStudent(campaignId);
+        List<Long> projectIds = projectIds(campaignId, 8);
+        preferenceService.replaceForCampaign(studentId, campaignId, request(projectIds.subList(0, 2)));
+
+        // When
+        QueryCount small = QueryBudget.measure(() ->
+                preferenceService.replaceForCampaign(studentId, campaignId, request(projectIds.subList(0, 2))));
+        QueryCount large = QueryBudget.measure(() ->
+                preferenceService.replaceForCampaign(studentId, campaignId, request(projectIds)));
+
+        // Then
+        assertThat(large.selects()).isEqualTo(small.selects()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void replace_ShouldKeepPreviousList_WhenOneChoiceIsInvalid() {
+        // Given
+        Long campaignId = seeder.projectCampaignId();
+        Long studentId = pendingStudent(campaignId);
+        List<Long> before = preferenceService.findByStudentIdAndCampaignId(studentId, campaignId).stream()
+                .map(PreferenceResponse::id).toList();
+        List<Long> choices = new ArrayList<>(projectIds(campaignId, 2));
+        choices.add(999_999L);
+
+        // When / Then
+        assertThatThrownBy(() -> preferenceService.replaceForCampaign(studentId, campaignId, request(choices)))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> preferenceService.replaceForCampaign(studentId, campaignId,
+                request(List.of(choices.get(0), choices.get(0)))))
+                .isInstanceOf(BusinessException.class);
+        assertThat(preferenceService.findByStudentIdAndCampaignId(studentId, campaignId))
+                .extracting(PreferenceResponse::id).containsExactlyElementsOf(before);
+    }
+
+    @Test
+    void replace_ShouldReject_WhenStudentIsNotEnrolled() {
+        // Given
+        Long campaignId = seeder.projectCampaignId();
+        seeder.grow();
+        Long studentId = studentRepository.findAll().stream()
+                .map(Student::getId)
+                .max(Long::compare)
+                .orElseThrow();
+        campaignService.removeStudentsFromCampaign(campaignId, List.of(studentId));
+
+        // When / Then
+        assertThatThrownBy(() -> preferenceService.replaceForCampaign(studentId, campaignId,
+                request(projectIds(campaignId, 1))))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("n'est pas inscrit");
+    }
+
+    /**
+     * Étudiant dont aucun vœu n'a encore été traité (le DataLoader lance un matching sur les siens).
+     */
+    private Long pendingStudent(Long campaignId) {
+        if (pendingStudentId == null) {
+            seeder.grow();
+            Map<Long, Boolean> pending = preferenceRepository.findAll().stream()
+                    .filter(p -> p.getMatchingCampaign().getId().equals(campaignId))
+                    .collect(Collectors.toMap(p -> p.getStudent().getId(),
+                            p -> p.getStatus() == PreferenceStatus.PENDING, Boolean::logicalAnd));
+            pendingStudentId = pending.entrySet().stream()
+                    .filter(Map.Entry::getValue)
+                    .map(Map.Entry::getKey)
+                    .max(Long::compare)
+                    .orElseThrow();
+        }
+        return pendingStudentId;
+    }
+
+    private List<Long> projectIds(Long campaignId, int count) {
+        List<Long> ids = campaignRepository.findProjectIdsById(campaignId).stream().sorted().toList();
+        assertThat(ids).hasSizeGreaterThanOrEqualTo(count);
+        return ids.subList(0, count);
+    }
+
+    private static PreferenceListRequest request(List<Long> projectIds) {
+        return new PreferenceListRequest(projectIds.stream()
+                .map(id -> new PreferenceListRequest.Choice(id, null, null, null))
+                .toList());
+    }
+}
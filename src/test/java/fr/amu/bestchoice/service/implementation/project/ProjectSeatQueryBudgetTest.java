@@ -0,0 +1,110 @@
+package fr.amu.bestchoice.service.implementation.project;
+
+import fr.amu.bestchoice.model.entity.Project;
+import fr.amu.bestchoice.model.entity.Student;
+import fr.amu.bestchoice.model.enums.WorkType;
+import fr.amu.bestchoice.repository.ProjectRepository;
+import fr.amu.bestchoice.repository.StudentRepository;
+import fr.amu.bestchoice.repository.TeacherRepository;
+import fr.amu.bestchoice.service.interfaces.IProjectService;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import fr.amu.bestchoice.web.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Compteur de places sur la vraie base : UPDATE conditionnels sous concurrence et
+ * disponibilité lue sans charger les affectations.
+ */
+@QueryBudgetTest
+class ProjectSeatQueryBudgetTest {
+
+    @Autowired
+    private IProjectService projectService;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private StudentRepository studentRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void assignStudent_ShouldNeverExceedCapacity_WhenCalledConcurrently() throws Exception {
+        // Given : 2 places, 6 étudiants
+        Long projectId = newProject("Projet places concurrentes", 2);
+        List<Long> studentIds = studentRepository.findAll().stream().map(Student::getId).limit(6).toList();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(studentIds.size());
+
+        try {
+            // When
+            List<Future<Boolean>> futures = studentIds.stream()
+                    .map(studentId -> executor.submit(() -> {
+                        start.await();
+                        try {
+                            projectService.assignStudent(projectId, studentId);
+                            return true;
+                        } catch (BusinessException e) {
+                            return false;
+                        }
+                    }))
+                    .toList();
+            start.countDown();
+            int assigned = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get(30, TimeUnit.SECONDS)) assigned++;
+            }
+
+            // Then
+            Project project = projectRepository.findById(projectId).orElseThrow();
+            assertThat(assigned).isEqualTo(2);
+            assertThat(project.getAssignedCount()).isEqualTo(2);
+            assertThat(project.getComplet()).isTrue();
+            assertThat(projectRepository.countAssignedStudents(projectId)).isEqualTo(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void unassignStudent_ShouldReleaseSeat() throws Exception {
+        // Given
+        Long projectId = newProject("Projet places libérées", 1);
+        Long first = studentRepository.findAll().get(7).getId();
+        Long second = studentRepository.findAll().get(8).getId();
+        projectService.assignStudent(projectId, first);
+        assertThatThrownBy(() -> projectService.assignStudent(projectId, second)).isInstanceOf(BusinessException.class);
+
+        // When
+        projectService.unassignStudent(projectId, first);
+
+        // Then : disponibilité lue en une requête, sans charger les affectations
+        assertThat(QueryBudget.measure(() -> assertThat(projectRepository.isProjectComplet(projectId)).isFalse())
+                .selects()).isEqualTo(1);
+        assertThat(projectRepository.findProjectsWithAvailableSlots()).extracting(Project::getId).contains(projectId);
+        projectService.assignStudent(projectId, second);
+        assertThat(projectRepository.isProjectComplet(projectId)).isTrue();
+    }
+
+    private Long newProject(String title, int maxStudents) {
+        return transactionTemplate.execute(status -> projectRepository.save(Project.builder()
+                .title(title)
+                .description("Test des places")
+                .workTypes(new HashSet<>(Set.of(WorkType.DEVELOPPEMENT)))
+                .maxStudents(maxStudents).minStudents(1).active(true)
+                .teacher(teacherRepository.findAll().get(0))
+                .build()).getId());
+    }
+}
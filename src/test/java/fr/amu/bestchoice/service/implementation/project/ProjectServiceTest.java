@@ -2,13 +2,14 @@ package fr.amu.bestchoice.service.implementation.project;
 
 import fr.amu.bestchoice.model.entity.*;
 import fr.amu.bestchoice.model.enums.WorkType;
-import fr.amu.bestchoice.repository.KeywordRepository;
 import fr.amu.bestchoice.repository.ProjectRepository;
-import fr.amu.bestchoice.repository.SkillRepository;
+import fr.amu.bestchoice.repository.StudentRepository;
 import fr.amu.bestchoice.repository.TeacherRepository;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogTermResolver;
 import fr.amu.bestchoice.web.dto.project.ProjectCreateRequest;
 import fr.amu.bestchoice.web.dto.project.ProjectResponse;
 import fr.amu.bestchoice.web.dto.project.ProjectUpdateRequest;
+import fr.amu.bestchoice.web.exception.BusinessException;
 import fr.amu.bestchoice.web.exception.NotFoundException;
 import fr.amu.bestchoice.web.mapper.ProjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,9 +35,9 @@ class ProjectServiceTest {
     @Mock
     private TeacherRepository teacherRepository;
     @Mock
-    private SkillRepository skillRepository;
+    private StudentRepository studentRepository;
     @Mock
-    private KeywordRepository keywordRepository;
+    private CatalogTermResolver termResolver;
     @Mock
     private ProjectMapper projectMapper;
 
@@ -84,11 +85,11 @@ class ProjectServiceTest {
         
         Skill skill = new Skill();
         skill.setName("Java");
-        when(skillRepository.findByName("Java")).thenReturn(Optional.of(skill));
+        when(termResolver.resolveSkills(Set.of("Java"))).thenReturn(Set.of(skill));
         
         Keyword keyword = new Keyword();
         keyword.setLabel("Web");
-        when(keywordRepository.findByLabel("Web")).thenReturn(Optional.of(keyword));
+        when(termResolver.resolveKeywords(Set.of("Web"))).thenReturn(Set.of(keyword));
         
         when(projectRepository.save(any(Project.class))).thenReturn(project);
         when(projectMapper.toResponse(any())).thenReturn(projectResponse);
@@ -161,6 +162,22 @@ class ProjectServiceTest {
         assertThat(result.getContent()).hasSize(1);
     }
 
+    @Test
+    void findAll_ShouldLoadCollectionsOnceForWholeList() {
+        // Given
+        when(projectRepository.findAll()).thenReturn(List.of(project));
+        when(projectMapper.toResponse(any())).thenReturn(projectResponse);
+
+        // When
+        projectService.findAll();
+
+        // Then : une requête par collection pour tout le lot
+        verify(projectRepository).fetchWorkTypes(List.of(1L));
+        verify(projectRepository).fetchRequiredSkills(List.of(1L));
+        verify(projectRepository).fetchKeywords(List.of(1L));
+        verify(projectRepository).fetchAssignedStudents(List.of(1L));
+    }
+
     @Test
     void activate_ShouldSetProjectActive() {
         // Given
@@ -190,4 +207,40 @@ class ProjectServiceTest {
         assertThat(project.getActive()).isFalse();
         verify(projectRepository).save(project);
     }
+
+    @Test
+    void assignStudent_ShouldThrowBusinessException_WhenProjectFull() {
+        // Given
+        Student student = new Student();
+        student.setId(5L);
+        when(studentRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(student));
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.reserveSeat(1L)).thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> projectService.assignStudent(1L, 5L))
+                .isInstanceOf(BusinessException.class);
+        assertThat(student.getAssignedProject()).isNull();
+    }
+
+    @Test
+    void assignStudent_ShouldReleasePreviousSeat_WhenStudentMoves() {
+        // Given
+        Project previous = new Project();
+        previous.setId(2L);
+        Student student = new Student();
+        student.setId(5L);
+        student.setAssignedProject(previous);
+        when(studentRepository.findByIdForUpdate(5L)).thenReturn(Optional.of(student));
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(projectRepository.reserveSeat(1L)).thenReturn(1);
+        when(projectRepository.getReferenceById(1L)).thenReturn(project);
+
+        // When
+        projectService.assignStudent(1L, 5L);
+
+        // Then
+        verify(projectRepository).releaseSeat(2L);
+        assertThat(student.getAssignedProject()).isSameAs(project);
+    }
 }
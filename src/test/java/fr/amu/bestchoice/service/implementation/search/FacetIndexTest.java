@@ -0,0 +1,83 @@
+package fr.amu.bestchoice.service.implementation.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class FacetIndexTest {
+
+    private FacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = FacetIndex.builder()
+                .add(30L, "workType", List.of("DEVELOPPEMENT", "TEST")).add(30L, "credits", 6).add(30L, "remote", true)
+                .add(10L, "workType", List.of("RECHERCHE")).add(10L, "credits", 12).add(10L, "remote", false)
+                .add(20L, "workType", List.of("DEVELOPPEMENT")).add(20L, "credits", 6).add(20L, "remote", false)
+                .add(40L, "credits", null)
+                .build();
+    }
+
+    @Test
+    void query_ShouldReturnEveryDocumentInIdOrder_WhenNoFilter() {
+        // When
+        FacetIndex.Result result = index.query(Map.of(), 0, 10);
+
+        // Then
+        assertThat(result.ids()).containsExactly(10L, 20L, 30L, 40L);
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.counts().get("credits")).containsExactly(entry("6", 2), entry("12", 1));
+    }
+
+    @Test
+    void query_ShouldCombineValuesWithOrAndFacetsWithAnd() {
+        // When
+        FacetIndex.Result result = index.query(Map.of(
+                "workType", Set.of("RECHERCHE", "TEST"),
+                "remote", Set.of("false")), 0, 10);
+
+        // Then
+        assertThat(result.ids()).containsExactly(10L);
+    }
+
+    @Test
+    void query_ShouldCountFacetWithoutItsOwnFilter() {
+        // When
+        FacetIndex.Result result = index.query(Map.of("credits", Set.of("6"), "remote", Set.of("false")), 0, 10);
+
+        // Then : compteurs de crédits filtrés par remote seulement, et inversement
+        assertThat(result.ids()).containsExactly(20L);
+        assertThat(result.counts().get("credits")).containsExactly(entry("6", 1), entry("12", 1));
+        assertThat(result.counts().get("remote")).containsExactly(entry("false", 1), entry("true", 1));
+        assertThat(result.counts().get("workType")).containsExactly(entry("DEVELOPPEMENT", 1));
+    }
+
+    @Test
+    void query_ShouldKeepSelectedValues_WhenCountIsZero() {
+        // When
+        FacetIndex.Result result = index.query(Map.of("credits", Set.of("12"), "workType", Set.of("TEST")), 0, 10);
+
+        // Then
+        assertThat(result.total()).isZero();
+        assertThat(result.counts().get("workType")).containsEntry("TEST", 0);
+    }
+
+    @Test
+    void query_ShouldMatchNothing_WhenValueOrFacetUnknown() {
+        assertThat(index.query(Map.of("credits", Set.of("3")), 0, 10).ids()).isEmpty();
+        assertThat(index.query(Map.of("semester", Set.of("1")), 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void query_ShouldPage() {
+        assertThat(index.query(Map.of(), 1, 2).ids()).containsExactly(20L, 30L);
+        assertThat(index.query(Map.of(), 4, 2).ids()).isEmpty();
+        assertThat(index.query(Map.of(), 0, 0).ids()).isEmpty();
+    }
+}
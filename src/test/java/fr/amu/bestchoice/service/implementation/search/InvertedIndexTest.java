@@ -0,0 +1,100 @@
+package fr.amu.bestchoice.service.implementation.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1L, document("Économie de l'énergie", "Modélisation des marchés électriques"));
+        index.put(2L, document("Apprentissage automatique", "Réseaux de neurones pour l'énergie"));
+        index.put(3L, document("Application web", "Développement d'une application Java"));
+    }
+
+    @Test
+    void search_ShouldIgnoreAccentsAndCase() {
+        assertThat(index.search("ECONOMIE", 10)).containsExactly(1L);
+        assertThat(index.search("électriques", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void search_ShouldMatchPrefixes() {
+        assertThat(index.search("appli", 10)).containsExactly(3L);
+        assertThat(index.search("a", 10)).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesFirst() {
+        // Given : « énergie » est dans le titre de 1, dans la description de 2
+        // When
+        List<Long> ids = index.search("energie", 10);
+
+        // Then
+        assertThat(ids).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_ShouldRequireEveryTerm() {
+        assertThat(index.search("energie neurones", 10)).containsExactly(2L);
+        assertThat(index.search("energie java", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldIgnoreStopWordsAndElisions() {
+        assertThat(index.search("l'économie de", 10)).containsExactly(1L);
+        assertThat(index.search("de la", 10)).isEmpty();
+    }
+
+    @Test
+    void search_ShouldRespectLimit() {
+        assertThat(index.search("energie", 1)).containsExactly(1L);
+        assertThat(index.search("energie", 0)).isEmpty();
+    }
+
+    @Test
+    void put_ShouldReplacePreviousTerms_WhenDocumentReindexed() {
+        // When
+        index.put(3L, document("Compilation", "Analyse statique"));
+
+        // Then
+        assertThat(index.search("java", 10)).isEmpty();
+        assertThat(index.search("compil", 10)).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void remove_ShouldDropDocument() {
+        // When
+        index.remove(1L);
+
+        // Then
+        assertThat(index.search("energie", 10)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void replaceAll_ShouldDiscardPreviousContent() {
+        // When
+        index.replaceAll(Map.of(10L, document("Cœur de réseau", "")));
+
+        // Then
+        assertThat(index.search("coeur", 10)).containsExactly(10L);
+        assertThat(index.search("energie", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    // ==================== UTILITAIRES ====================
+
+    private List<InvertedIndex.Field> document(String title, String description) {
+        return List.of(new InvertedIndex.Field(title, 3f), new InvertedIndex.Field(description, 1f));
+    }
+}
@@ -0,0 +1,79 @@
+package fr.amu.bestchoice.service.implementation.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    private PrefixTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new PrefixTrie();
+        trie.put(1L, "Java");
+        trie.put(2L, "JavaScript");
+        trie.put(3L, "Machine Learning");
+        trie.put(4L, "Électronique");
+    }
+
+    @Test
+    void suggest_ShouldReturnShortestLabelsFirst() {
+        assertThat(trie.suggest("ja", 10)).extracting(PrefixTrie.Entry::label)
+                .containsExactly("Java", "JavaScript");
+    }
+
+    @Test
+    void suggest_ShouldIgnoreAccentsAndCase() {
+        assertThat(trie.suggest("ELEC", 10)).extracting(PrefixTrie.Entry::id).containsExactly(4L);
+        assertThat(trie.suggest("élec", 10)).extracting(PrefixTrie.Entry::id).containsExactly(4L);
+    }
+
+    @Test
+    void suggest_ShouldMatchAnyWordOfLabel() {
+        assertThat(trie.suggest("lear", 10)).extracting(PrefixTrie.Entry::id).containsExactly(3L);
+        assertThat(trie.suggest("machine l", 10)).extracting(PrefixTrie.Entry::id).containsExactly(3L);
+    }
+
+    @Test
+    void suggest_ShouldRespectLimit() {
+        assertThat(trie.suggest("j", 1)).extracting(PrefixTrie.Entry::label).containsExactly("Java");
+        assertThat(trie.suggest("j", 0)).isEmpty();
+        assertThat(trie.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void put_ShouldReplaceLabel_WhenEntryRenamed() {
+        // When
+        trie.put(2L, "TypeScript");
+
+        // Then
+        assertThat(trie.suggest("javas", 10)).isEmpty();
+        assertThat(trie.suggest("type", 10)).extracting(PrefixTrie.Entry::label).containsExactly("TypeScript");
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    @Test
+    void remove_ShouldDropEntryFromEveryWord() {
+        // When
+        trie.remove(3L);
+
+        // Then
+        assertThat(trie.suggest("mach", 10)).isEmpty();
+        assertThat(trie.suggest("lear", 10)).isEmpty();
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    @Test
+    void replaceAll_ShouldDiscardPreviousVocabulary() {
+        // When
+        trie.replaceAll(Map.of(10L, "Python"));
+
+        // Then
+        assertThat(trie.suggest("ja", 10)).isEmpty();
+        assertThat(trie.suggest("py", 10)).extracting(PrefixTrie.Entry::id).containsExactly(10L);
+    }
+}
@@ -2,6 +2,9 @@ package fr.amu.bestchoice.service.implementation.skills;
 
 import fr.amu.bestchoice.model.entity.Skill;
 import fr.amu.bestchoice.repository.SkillRepository;
+import fr.amu.bestchoice.service.implementation.search.PrefixTrie;
+import fr.amu.bestchoice.service.implementation.search.SearchIndexes;
+import fr.amu.bestchoice.web.dto.SuggestionResponse;
 import fr.amu.bestchoice.web.dto.skill.SkillCreateRequest;
 import fr.amu.bestchoice.web.dto.skill.SkillResponse;
 import fr.amu.bestchoice.web.dto.skill.SkillUpdateRequest;
@@ -31,6 +34,8 @@ class SkillServiceTest {
     private SkillRepository skillRepository;
     @Mock
     private SkillMapper skillMapper;
+    @Mock
+    private SearchIndexes searchIndexes;
 
     @InjectMocks
     private SkillService skillService;
@@ -137,4 +142,49 @@ class SkillServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
     }
+
+    @Test
+    void search_ShouldReturnSkillsInRankOrder() {
+        // Given
+        Skill sql = new Skill();
+        sql.setId(2L);
+        sql.setName("SQL");
+        SkillResponse sqlResponse = new SkillResponse(2L, "SQL", null, "Backend", 2, true);
+        when(searchIndexes.search(SearchIndexes.Kind.SKILL, "ba", 20)).thenReturn(List.of(2L, 1L));
+        when(skillRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(skill, sql));
+        when(skillMapper.toResponseList(List.of(sql, skill))).thenReturn(List.of(sqlResponse, skillResponse));
+
+        // When
+        List<SkillResponse> result = skillService.search("ba", 20);
+
+        // Then
+        assertThat(result).extracting(SkillResponse::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_ShouldNotQueryDatabase_WhenNoMatch() {
+        // Given
+        when(searchIndexes.search(SearchIndexes.Kind.SKILL, "zz", 20)).thenReturn(List.of());
+
+        // When
+        List<SkillResponse> result = skillService.search("zz", 20);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(skillRepository);
+    }
+
+    @Test
+    void suggest_ShouldMapTrieEntries() {
+        // Given
+        when(searchIndexes.suggest(SearchIndexes.Kind.SKILL, "ja", 10))
+                .thenReturn(List.of(new PrefixTrie.Entry(1L, "Java")));
+
+        // When
+        List<SuggestionResponse> result = skillService.suggest("ja", 10);
+
+        // Then
+        assertThat(result).containsExactly(new SuggestionResponse(1L, "Java"));
+        verifyNoInteractions(skillRepository);
+    }
 }
@@ -4,10 +4,9 @@ import fr.amu.bestchoice.model.entity.Keyword;
 import fr.amu.bestchoice.model.entity.Skill;
 import fr.amu.bestchoice.model.entity.Student;
 import fr.amu.bestchoice.model.entity.User;
-import fr.amu.bestchoice.repository.KeywordRepository;
-import fr.amu.bestchoice.repository.SkillRepository;
 import fr.amu.bestchoice.repository.StudentRepository;
 import fr.amu.bestchoice.repository.UserRepository;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogTermResolver;
 import fr.amu.bestchoice.web.dto.student.StudentCreateRequest;
 import fr.amu.bestchoice.web.dto.student.StudentResponse;
 import fr.amu.bestchoice.web.dto.student.StudentUpdateRequest;
@@ -37,9 +36,7 @@ class StudentServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private SkillRepository skillRepository;
-    @Mock
-    private KeywordRepository keywordRepository;
+    private CatalogTermResolver termResolver;
     @Mock
     private StudentMapper studentMapper;
 
@@ -84,11 +81,11 @@ class StudentServiceTest {
         
         Skill skill = new Skill();
         skill.setName("Java");
-        when(skillRepository.findByName("Java")).thenReturn(Optional.of(skill));
+        when(termResolver.findSkills(Set.of("Java"))).thenReturn(Set.of(skill));
         
         Keyword keyword = new Keyword();
         keyword.setLabel("Web");
-        when(keywordRepository.findByLabel("Web")).thenReturn(Optional.of(keyword));
+        when(termResolver.findKeywords(Set.of("Web"))).thenReturn(Set.of(keyword));
         
         when(studentRepository.save(any(Student.class))).thenReturn(student);
         when(studentMapper.toResponse(any())).thenReturn(studentResponse);
@@ -183,5 +180,8 @@ class StudentServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
+        verify(studentRepository).fetchPreferredWorkTypes(List.of(1L));
+        verify(studentRepository).fetchSkills(List.of(1L));
+        verify(studentRepository).fetchInterests(List.of(1L));
     }
 }
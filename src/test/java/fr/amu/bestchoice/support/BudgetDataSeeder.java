@@ -0,0 +1,179 @@
+package fr.amu.bestchoice.support;
+
+import fr.amu.bestchoice.model.entity.*;
+import fr.amu.bestchoice.model.enums.PreferenceStatus;
+import fr.amu.bestchoice.model.enums.Role;
+import fr.amu.bestchoice.model.enums.WorkType;
+import fr.amu.bestchoice.repository.*;
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Agrandit le jeu de données du DataLoader pour les tests de budget de requêtes.
+ *
+ * Chaque appel à {@link #grow()} ajoute un lot complet et relié : enseignant, étudiants
+ * (compétences, intérêts, vœux), projets et matières rattachés aux campagnes de test.
+ */
+@TestComponent
+public class BudgetDataSeeder {
+
+    private static final int STUDENTS = 10;
+    private static final int PROJECTS = 5;
+    private static final int SUBJECTS = 5;
+
+    private final UserRepository userRepository;
+    private final TeacherRepository teacherRepository;
+    private final StudentRepository studentRepository;
+    private final SkillRepository skillRepository;
+    private final KeywordRepository keywordRepository;
+    private final ProjectRepository projectRepository;
+    private final SubjectRepository subjectRepository;
+    private final MatchingCampaignRepository campaignRepository;
+    private final StudentPreferenceRepository preferenceRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private int batch;
+    private Long subjectCampaignId;
+
+    public BudgetDataSeeder(UserRepository userRepository, TeacherRepository teacherRepository,
+                            StudentRepository studentRepository, SkillRepository skillRepository,
+                            KeywordRepository keywordRepository, ProjectRepository projectRepository,
+                            SubjectRepository subjectRepository, MatchingCampaignRepository campaignRepository,
+                            StudentPreferenceRepository preferenceRepository, TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.teacherRepository = teacherRepository;
+        this.studentRepository = studentRepository;
+        this.skillRepository = skillRepository;
+        this.keywordRepository = keywordRepository;
+        this.projectRepository = projectRepository;
+        this.subjectRepository = subjectRepository;
+        this.campaignRepository = campaignRepository;
+        this.preferenceRepository = preferenceRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Campagne PROJECT du DataLoader (STABLE, vœux saisis pour tous ses étudiants).
+     */
+    public Long projectCampaignId() {
+        return campaignRepository.findAll().stream()
+                .filter(c -> c.getCampaignType() == MatchingCampaignType.PROJECT)
+                .map(MatchingCampaign::getId)
+                .min(Long::compare)
+                .orElseThrow();
+    }
+
+    /**
+     * Campagne SUBJECT créée au premier appel (le DataLoader n'en crée pas).
+     */
+    public Long subjectCampaignId() {
+        if (subjectCampaignId == null) {
+            subjectCampaignId = transactionTemplate.execute(status -> {
+                Teacher teacher = teacherRepository.findAll().get(0);
+                MatchingCampaign campaign = campaignRepository.save(MatchingCampaign.builder()
+                        .name("Campagne options (budget)")
+                        .campaignType(MatchingCampaignType.SUBJECT)
+                        .algorithmType(MatchingAlgorithmType.WEIGHTED)
+                        .teacher(teacher)
+                        .build());
+                return campaign.getId();
+            });
+        }
+        return subjectCampaignId;
+    }
+
+    /**
+     * Ajoute un lot de données relié aux deux campagnes de test.
+     */
+    public void grow() {
+        Long projectCampaignId = projectCampaignId();
+        Long subjectCampaignId = subjectCampaignId();
+        int n = ++batch;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            MatchingCampaign projectCampaign = campaignRepository.findById(projectCampaignId).orElseThrow();
+            MatchingCampaign subjectCampaign = campaignRepository.findById(subjectCampaignId).orElseThrow();
+
+            List<Skill> skills = skillRepository.saveAll(List.of(
+                    Skill.builder().name("Budget skill " + n + "a").active(true).build(),
+                    Skill.builder().name("Budget skill " + n + "b").active(true).build()));
+            List<Keyword> keywords = keywordRepository.saveAll(List.of(
+                    Keyword.builder().label("Budget keyword " + n + "a").active(true).build(),
+                    Keyword.builder().label("Budget keyword " + n + "b").active(true).build()));
+
+            Teacher teacher = teacherRepository.save(Teacher.builder()
+                    .user(user("budget.teacher" + n + "@univ-amu.fr", Role.ENSEIGNANT))
+                    .department("Informatique")
+                    .build());
+
+            List<Project> projects = new ArrayList<>();
+            for (int i = 0; i < PROJECTS; i++) {
+                Project project = projectRepository.save(Project.builder()
+                        .title("Projet budget " + n + "-" + i)
+                        .description("Projet ajouté pour les tests de budget")
+                        .workTypes(new HashSet<>(Set.of(WorkType.DEVELOPPEMENT, WorkType.RECHERCHE)))
+                        .maxStudents(2).minStudents(1).active(true)
+                        .teacher(teacher)
+                        .requiredSkills(new HashSet<>(skills))
+                        .keywords(new HashSet<>(keywords))
+                        .build());
+                project.getMatchingCampaigns().add(projectCampaign);
+                projectCampaign.getProjects().add(project);
+                projects.add(project);
+            }
+
+            for (int i = 0; i < SUBJECTS; i++) {
+                Subject subject = subjectRepository.save(Subject.builder()
+                        .title("Option budget " + n + "-" + i)
+                        .description("Option ajoutée pour les tests de budget")
+                        .workTypes(new HashSet<>(Set.of(WorkType.ANALYSE)))
+                        .maxStudents(10).active(true)
+                        .teacher(teacher)
+                        .requiredSkills(new HashSet<>(skills))
+                        .keywords(new HashSet<>(keywords))
+                        .build());
+                subject.getMatchingCampaigns().add(subjectCampaign);
+                subjectCampaign.getSubjects().add(subject);
+            }
+
+            for (int i = 0; i < STUDENTS; i++) {
+                Student student = studentRepository.save(Student.builder()
+                        .user(user("budget.student" + n + "-" + i + "@etu.univ-amu.fr", Role.ETUDIANT))
+                        .studyYear(1)
+                        .program("Master Info")
+                        .preferredWorkTypes(new HashSet<>(Set.of(WorkType.DEVELOPPEMENT)))
+                        .skills(new HashSet<>(skills))
+                        .interests(new HashSet<>(keywords))
+                        .profileComplete(true)
+                        .assignedProject(i == 0 ? projects.get(0) : null)
+                        .build());
+                projectCampaign.getStudents().add(student);
+                subjectCampaign.getStudents().add(student);
+
+                for (int rank = 1; rank <= 3; rank++) {
+                    preferenceRepository.save(StudentPreference.builder()
+                            .student(student)
+                            .project(projects.get((i + rank) % projects.size()))
+                            .matchingCampaign(projectCampaign)
+                            .rank(rank)
+                            .status(PreferenceStatus.PENDING)
+                            .build());
+                }
+            }
+        });
+    }
+
+    private User user(String email, Role role) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .passwordHash("{noop}budget")
+                .firstName("Budget")
+                .lastName(role.name())
+                .role(role)
+                .active(true)
+                .build());
+    }
+}
@@ -0,0 +1,50 @@
+package fr.amu.bestchoice.support;
+
+import fr.amu.bestchoice.support.SqlStatementCounter.QueryCount;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions de budget de requêtes : « cette action lit au plus K fois la base,
+ * et ce nombre ne dépend pas de la taille des données ».
+ */
+public final class QueryBudget {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Compte les requêtes émises par l'action (exécutée dans le thread courant).
+     */
+    public static QueryCount measure(Action action) throws Exception {
+        SqlStatementCounter.reset();
+        action.run();
+        return SqlStatementCounter.snapshot();
+    }
+
+    /**
+     * Mesure l'action, agrandit le jeu de données, la mesure à nouveau :
+     * échoue si le nombre de SELECT dépasse le budget ou augmente avec les données.
+     * Un appel non mesuré précède chaque mesure : il écarte les requêtes de préchauffage et,
+     * pour les vues en cache invalidées par l'agrandissement, compare deux mesures à chaud.
+     */
+    public static void assertFlat(String label, int maxSelects, Action action, Runnable grow) throws Exception {
+        action.run();
+        QueryCount small = measure(action);
+        grow.run();
+        action.run();
+        QueryCount large = measure(action);
+
+        assertThat(large.selects())
+                .as("%s : %d SELECT après agrandissement des données, %d avant", label, large.selects(), small.selects())
+                .isLessThanOrEqualTo(small.selects());
+        assertThat(large.selects())
+                .as("%s : budget de %d SELECT dépassé", label, maxSelects)
+                .isLessThanOrEqualTo(maxSelects);
+    }
+}
@@ -0,0 +1,37 @@
+package fr.amu.bestchoice.support;
+
+import fr.amu.bestchoice.BestChoiceApplication;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.lang.annotation.*;
+
+/**
+ * Contexte complet (base H2 initialisée par le DataLoader) avec comptage des requêtes SQL.
+ *
+ * Les données ajoutées par {@link BudgetDataSeeder} ne sont pas annulées : le contexte est
+ * fermé après la classe de test pour ne pas polluer les suivantes.
+ *
+ * Les réponses pré-sérialisées sont désactivées : les endpoints de catalogue mesurent les requêtes
+ * de leurs services, et aucune reconstruction en arrière-plan ne fausse les compteurs.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@SpringBootTest(classes = BestChoiceApplication.class, properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=fr.amu.bestchoice.support.SqlStatementCounter",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=off",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=off",
+        "logging.level.org.springframework.security=off",
+        "app.catalog.response-cache.enabled=false"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@WithMockUser(roles = "ADMIN")
+@DirtiesContext
+@Import(BudgetDataSeeder.class)
+public @interface QueryBudgetTest {
+}
@@ -0,0 +1,49 @@
+package fr.amu.bestchoice.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate, par type.
+ *
+ * Branché via la propriété hibernate.session_factory.statement_inspector (voir {@link QueryBudgetTest}) :
+ * requêtes JPQL, natives, chargements lazy et écritures passent tous par l'inspecteur.
+ * Compteurs globaux : les tests qui l'utilisent ne doivent pas s'exécuter en parallèle.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicLong SELECTS = new AtomicLong();
+    private static final AtomicLong INSERTS = new AtomicLong();
+    private static final AtomicLong UPDATES = new AtomicLong();
+    private static final AtomicLong DELETES = new AtomicLong();
+
+    public record QueryCount(long selects, long inserts, long updates, long deletes) {
+
+        public long total() {
+            return selects + inserts + updates + deletes;
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (head.startsWith("select") || head.startsWith("with")) SELECTS.incrementAndGet();
+        else if (head.startsWith("insert")) INSERTS.incrementAndGet();
+        else if (head.startsWith("update") || head.startsWith("merge")) UPDATES.incrementAndGet();
+        else if (head.startsWith("delete")) DELETES.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        SELECTS.set(0);
+        INSERTS.set(0);
+        UPDATES.set(0);
+        DELETES.set(0);
+    }
+
+    public static QueryCount snapshot() {
+        return new QueryCount(SELECTS.get(), INSERTS.get(), UPDATES.get(), DELETES.get());
+    }
+}
@@ -0,0 +1,62 @@
+package fr.amu.bestchoice.web.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fr.amu.bestchoice.support.BudgetDataSeeder;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Recherche à facettes : filtres et compteurs sont servis par l'index en mémoire (seule la page
+ * est lue en base), et l'index suit les écritures commitées.
+ */
+@QueryBudgetTest
+class CatalogSearchQueryBudgetTest {
+
+    private static final String PROJECTS = "/api/projects/catalog?workType=DEVELOPPEMENT&workType=RECHERCHE&freeSeats=true&size=100";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BudgetDataSeeder seeder;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void projectCatalog_ShouldNotRebuildIndex_WhenCatalogUnchanged() throws Exception {
+        // Given : index construit
+        mockMvc.perform(get(PROJECTS)).andExpect(status().isOk());
+
+        // When / Then : chargement de la page uniquement (projets + collections affichées)
+        assertThat(QueryBudget.measure(() -> mockMvc.perform(get(PROJECTS)).andExpect(status().isOk())).selects())
+                .isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    void catalogs_ShouldReflectCommittedWrites() throws Exception {
+        // Given
+        long projects = total(PROJECTS);
+        long subjects = total("/api/subjects/catalog?workType=ANALYSE");
+
+        // When : 5 projets (dont 1 avec un étudiant affecté sur 2 places) et 5 matières ANALYSE
+        seeder.grow();
+
+        // Then
+        assertThat(total(PROJECTS)).isEqualTo(projects + 5);
+        assertThat(total("/api/subjects/catalog?workType=ANALYSE")).isEqualTo(subjects + 5);
+    }
+
+    private long total(String uri) throws Exception {
+        String body = mockMvc.perform(get(uri)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode json = objectMapper.readTree(body);
+        return json.get("totalElements").asLong();
+    }
+}
@@ -0,0 +1,88 @@
+package fr.amu.bestchoice.web.controller;
+
+import fr.amu.bestchoice.support.BudgetDataSeeder;
+import fr.amu.bestchoice.support.QueryBudget;
+import fr.amu.bestchoice.support.QueryBudgetTest;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Budget de requêtes SQL des endpoints de liste : chaque GET est mesuré sur le jeu du
+ * DataLoader puis après ajout d'un lot de données ({@link BudgetDataSeeder#grow()}).
+ * Le nombre de SELECT ne doit pas augmenter (pas de N+1) et reste sous le budget déclaré.
+ */
+@QueryBudgetTest
+class ListEndpointQueryBudgetTest {
+
+    private static final String PAGE = "?page=0&size=100";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BudgetDataSeeder seeder;
+
+    static Stream<Arguments> endpoints() {
+        return Stream.of(
+                // ── Projets ──
+                arguments("/api/projects", 6),
+                arguments("/api/projects/paginated" + PAGE, 7),
+                arguments("/api/projects/active", 6),
+                arguments("/api/projects/available", 6),
+                arguments("/api/projects/teacher/1", 7),
+                arguments("/api/projects/campaign/{projectCampaign}", 7),
+                // ── Matières ──
+                arguments("/api/subjects/paginated" + PAGE, 6),
+                arguments("/api/subjects/active", 5),
+                arguments("/api/subjects/teacher/1", 6),
+                arguments("/api/subjects/campaign/{subjectCampaign}", 6),
+                // ── Étudiants / enseignants / utilisateurs ──
+                arguments("/api/students", 5),
+                arguments("/api/students/paginated" + PAGE, 6),
+                arguments("/api/students/complete", 5),
+                arguments("/api/teachers", 3),
+                arguments("/api/teachers/paginated" + PAGE, 4),
+                arguments("/api/users", 3),
+                arguments("/api/users/paginated" + PAGE, 4),
+                arguments("/api/users/active", 3),
+                // ── Référentiels ──
+                arguments("/api/skills", 2),
+                arguments("/api/skills/paginated" + PAGE, 3),
+                arguments("/api/skills/active", 2),
+                arguments("/api/keywords", 2),
+                arguments("/api/keywords/paginated" + PAGE, 3),
+                arguments("/api/keywords/active", 2),
+                // ── Campagnes ──
+                arguments("/api/campaigns/teacher/1", 6),
+                arguments("/api/campaigns/student/1", 6),
+                // ── Vœux ──
+                arguments("/api/preferences/student/1", 4),
+                arguments("/api/preferences/project/3", 4),
+                arguments("/api/preferences/student/1/campaign/{projectCampaign}", 4),
+                // ── Résultats ──
+                arguments("/api/matching/campaign/{projectCampaign}", 3),
+                arguments("/api/matching/campaign/{projectCampaign}/paginated", 3),
+                arguments("/api/matching/student/1", 3)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void listEndpoint_ShouldStayWithinQueryBudget_WhenDataGrows(String url, int maxSelects) throws Exception {
+        String uri = url
+                .replace("{projectCampaign}", seeder.projectCampaignId().toString())
+                .replace("{subjectCampaign}", seeder.subjectCampaignId().toString());
+
+        QueryBudget.assertFlat(uri, maxSelects,
+                () -> mockMvc.perform(get(uri)).andExpect(status().isOk()),
+                seeder::grow);
+    }
+}
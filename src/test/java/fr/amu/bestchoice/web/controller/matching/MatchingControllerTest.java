@@ -4,35 +4,62 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.amu.bestchoice.security.jwt.JwtAuthenticationFilter;
 import fr.amu.bestchoice.security.jwt.JwtService;
 import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+import fr.amu.bestchoice.service.implementation.algorithmes.MatchingBatchService;
 import fr.amu.bestchoice.service.implementation.algorithmes.MatchingContextService;
+import fr.amu.bestchoice.service.implementation.algorithmes.snapshot.MatchingSnapshotService;
+import fr.amu.bestchoice.web.dto.matching.MatchingBatchRunRequest;
+import fr.amu.bestchoice.web.dto.matching.MatchingBatchRunResult;
 import fr.amu.bestchoice.web.dto.matching.MatchingRunResult;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(MatchingController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(MatchingControllerTest.MethodSecurity.class)
 class MatchingControllerTest {
 
+    /** Active les @PreAuthorize (SecurityConfig n'est pas chargée par @WebMvcTest). */
+    @TestConfiguration
+    @EnableMethodSecurity
+    static class MethodSecurity {
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockitoBean
     private MatchingContextService matchingContextService;
 
+    @MockitoBean
+    private MatchingBatchService matchingBatchService;
+
+    @MockitoBean
+    private MatchingSnapshotService matchingSnapshotService;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -53,4 +80,54 @@ class MatchingControllerTest {
                 .andExpect(jsonPath("$.campaignId").value(1))
                 .andExpect(jsonPath("$.algorithmUsed").value("WEIGHTED"));
     }
+
+    @Test
+    @WithMockUser(roles = "ENSEIGNANT")
+    void runBatch_ShouldReturnAggregatedReport() throws Exception {
+        Instant start = Instant.parse("2025-09-01T08:00:00Z");
+        MatchingRunResult run1 = new MatchingRunResult(1L, MatchingAlgorithmType.WEIGHTED, 10, 100, start, start.plusMillis(400));
+        MatchingRunResult run2 = new MatchingRunResult(2L, MatchingAlgorithmType.STABLE, 5, 5, start, start.plusMillis(300));
+        MatchingBatchRunResult batch = new MatchingBatchRunResult(
+                List.of(run1, run2),
+                List.of(new MatchingBatchRunResult.Failure(3L, "Campagne introuvable : 3")),
+                2, start, start.plusMillis(450));
+        when(matchingBatchService.runBatch(any())).thenReturn(batch);
+
+        mockMvc.perform(post("/api/matching/batch/run")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MatchingBatchRunRequest(null, "2025-2026", 1))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.campaignsRequested").value(3))
+                .andExpect(jsonPath("$.campaignsSucceeded").value(2))
+                .andExpect(jsonPath("$.campaignsFailed").value(1))
+                .andExpect(jsonPath("$.studentsProcessed").value(15))
+                .andExpect(jsonPath("$.sequentialDurationMs").value(700))
+                .andExpect(jsonPath("$.wallDurationMs").value(450))
+                .andExpect(jsonPath("$.failures[0].campaignId").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "ETUDIANT")
+    void runBatch_ShouldReturnForbidden_WhenStudent() throws Exception {
+        mockMvc.perform(post("/api/matching/batch/run")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new MatchingBatchRunRequest(null, "2025-2026", 1))))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(matchingBatchService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportSnapshot_ShouldReturnBinaryAttachment() throws Exception {
+        byte[] snapshot = {0x42, 0x43, 0x4D, 0x53};
+        when(matchingSnapshotService.export(1L, true)).thenReturn(snapshot);
+
+        mockMvc.perform(get("/api/matching/campaign/1/snapshot").param("anonymize", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"campaign-1.bcms\""))
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(content().bytes(snapshot));
+    }
 }
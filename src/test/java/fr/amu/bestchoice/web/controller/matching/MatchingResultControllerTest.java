@@ -4,7 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.amu.bestchoice.security.jwt.JwtAuthenticationFilter;
 import fr.amu.bestchoice.security.jwt.JwtService;
 import fr.amu.bestchoice.service.implementation.algorithmes.MatchingAlgorithmType;
+import fr.amu.bestchoice.service.implementation.matching.MatchingResultCache;
+import fr.amu.bestchoice.service.implementation.matching.MatchingResultExportService;
 import fr.amu.bestchoice.service.interfaces.IMatchingResultService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.matching.MatchingResultResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,17 +16,29 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(MatchingResultController.class)
@@ -36,6 +51,12 @@ class MatchingResultControllerTest {
     @MockitoBean
     private IMatchingResultService matchingResultService;
 
+    @MockitoBean
+    private MatchingResultExportService matchingResultExportService;
+
+    @MockitoBean
+    private MatchingResultCache matchingResultCache;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -92,6 +113,16 @@ class MatchingResultControllerTest {
                 .andExpect(jsonPath("$[0].globalScore").value(0.8));
     }
 
+    @Test
+    void getTopForProject_ShouldReturnList() throws Exception {
+        MatchingResultResponse result = new MatchingResultResponse(1L, 1L, 1L, 1L, null, new BigDecimal("0.8"), new BigDecimal("0.7"), new BigDecimal("0.9"), 1, MatchingAlgorithmType.WEIGHTED, LocalDateTime.now(), null, null);
+        when(matchingResultService.findTopCandidatesForProject(1L, 2L, 3)).thenReturn(List.of(result));
+
+        mockMvc.perform(get("/api/matching/campaign/1/project/2/top/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].globalScore").value(0.8));
+    }
+
     @Test
     void getById_ShouldReturnResult() throws Exception {
         MatchingResultResponse result = new MatchingResultResponse(1L, 1L, 1L, 1L, null, new BigDecimal("0.8"), new BigDecimal("0.7"), new BigDecimal("0.9"), 1, MatchingAlgorithmType.WEIGHTED, LocalDateTime.now(), null, null);
@@ -101,4 +132,76 @@ class MatchingResultControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.globalScore").value(0.8));
     }
+
+    @Test
+    void getResultsByCampaignPaginated_ShouldReturnCursorPage() throws Exception {
+        MatchingResultResponse result = new MatchingResultResponse(1L, 1L, 1L, 1L, null, new BigDecimal("0.8"), new BigDecimal("0.7"), new BigDecimal("0.9"), 1, MatchingAlgorithmType.WEIGHTED, LocalDateTime.now(), null, null);
+        when(matchingResultService.findByCampaignId(1L, "abc", 20))
+                .thenReturn(CursorPageResponseDto.of(List.of(result), 20, "def"));
+
+        mockMvc.perform(get("/api/matching/campaign/1/paginated").param("cursor", "abc").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].globalScore").value(0.8))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void exportResults_ShouldStreamCsvAttachment() throws Exception {
+        doAnswer(inv -> {
+            inv.getArgument(3, OutputStream.class).write("id,studentId\r\n1,10\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(matchingResultExportService).export(eq(1L), eq(MatchingResultExportService.Format.CSV), eq(false), any());
+
+        MvcResult started = mockMvc.perform(get("/api/matching/campaign/1/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"campaign-1-results.csv\""))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("id,studentId\r\n1,10\r\n"));
+    }
+
+    @Test
+    void exportResults_ShouldSetContentEncoding_WhenGzip() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/matching/campaign/1/export").param("format", "ndjson").param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"));
+    }
+
+    @Test
+    void exportResults_ShouldReturnBadRequest_WhenFormatUnknown() throws Exception {
+        mockMvc.perform(get("/api/matching/campaign/1/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(matchingResultExportService);
+    }
+
+    @Test
+    void getResultsByStudent_ShouldReturnNotModified_WithoutQuerying_WhenRunVersionUnchanged() throws Exception {
+        when(matchingResultCache.version(1L)).thenReturn(2L);
+
+        String etag = mockMvc.perform(get("/api/matching/campaign/1/student/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/matching/campaign/1/student/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(matchingResultService, times(1)).findByCampaignAndStudent(1L, 1L);
+
+        // Nouveau run commité : la version change, l'ancien ETag n'est plus valide
+        when(matchingResultCache.version(1L)).thenReturn(3L);
+        mockMvc.perform(get("/api/matching/campaign/1/student/1").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        verify(matchingResultService, times(2)).findByCampaignAndStudent(1L, 1L);
+    }
 }
@@ -2,24 +2,32 @@ package fr.amu.bestchoice.web.controller.preference;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.amu.bestchoice.model.enums.PreferenceStatus;
+import fr.amu.bestchoice.security.StudentAccess;
 import fr.amu.bestchoice.security.jwt.JwtAuthenticationFilter;
 import fr.amu.bestchoice.security.jwt.JwtService;
 import fr.amu.bestchoice.service.interfaces.IPreferenceService;
 import fr.amu.bestchoice.web.dto.preference.PreferenceCreateRequest;
+import fr.amu.bestchoice.web.dto.preference.PreferenceListRequest;
 import fr.amu.bestchoice.web.dto.preference.PreferenceResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -28,14 +36,23 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(PreferenceController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(PreferenceControllerTest.MethodSecurity.class)
 class PreferenceControllerTest {
 
+    @TestConfiguration
+    @EnableMethodSecurity
+    static class MethodSecurity {
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
     @MockitoBean
     private IPreferenceService preferenceService;
 
+    @MockitoBean(name = "studentAccess")
+    private StudentAccess studentAccess;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -89,6 +106,56 @@ class PreferenceControllerTest {
                 .andExpect(jsonPath("$.rank").value(1));
     }
 
+    @Test
+    @WithMockUser(roles = "ETUDIANT")
+    void replacePreferences_ShouldReturnNewList() throws Exception {
+        when(studentAccess.isSelf(eq(1L), any())).thenReturn(true);
+        PreferenceListRequest request = new PreferenceListRequest(List.of(
+                new PreferenceListRequest.Choice(2L, null, null, null),
+                new PreferenceListRequest.Choice(1L, null, "Motivation", null)));
+        when(preferenceService.replaceForCampaign(eq(1L), eq(1L), any())).thenReturn(List.of(
+                new PreferenceResponse(3L, 1L, 1L, 2L, null, 1, PreferenceStatus.PENDING, LocalDateTime.now()),
+                new PreferenceResponse(4L, 1L, 1L, 1L, null, 2, PreferenceStatus.PENDING, LocalDateTime.now())));
+
+        mockMvc.perform(put("/api/preferences/student/1/campaign/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].projectId").value(2))
+                .andExpect(jsonPath("$[1].rank").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ETUDIANT")
+    void replacePreferences_ShouldReturnForbidden_WhenOtherStudent() throws Exception {
+        PreferenceListRequest request = new PreferenceListRequest(List.of(
+                new PreferenceListRequest.Choice(1L, null, null, null)));
+        when(studentAccess.isSelf(eq(1L), any())).thenReturn(false);
+
+        mockMvc.perform(put("/api/preferences/student/1/campaign/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(preferenceService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void replacePreferences_ShouldReturnBadRequest_WhenTooManyChoices() throws Exception {
+        PreferenceListRequest request = new PreferenceListRequest(LongStream.rangeClosed(1, PreferenceListRequest.MAX_CHOICES + 1)
+                .mapToObj(id -> new PreferenceListRequest.Choice(id, null, null, null))
+                .toList());
+
+        mockMvc.perform(put("/api/preferences/student/1/campaign/1")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(preferenceService);
+    }
+
     @Test
     void deletePreference_ShouldReturnNoContent() throws Exception {
         mockMvc.perform(delete("/api/preferences/1")
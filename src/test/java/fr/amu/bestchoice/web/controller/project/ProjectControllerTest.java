@@ -1,10 +1,14 @@
 package fr.amu.bestchoice.web.controller.project;
 
+import fr.amu.bestchoice.service.implementation.catalog.CatalogResponseCache;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.amu.bestchoice.model.enums.WorkType;
 import fr.amu.bestchoice.security.jwt.JwtAuthenticationFilter;
 import fr.amu.bestchoice.security.jwt.JwtService;
 import fr.amu.bestchoice.service.interfaces.IProjectService;
+import fr.amu.bestchoice.web.dto.CatalogFilterRequest;
+import fr.amu.bestchoice.web.dto.FacetedPageResponseDto;
 import fr.amu.bestchoice.web.dto.project.ProjectCreateRequest;
 import fr.amu.bestchoice.web.dto.project.ProjectResponse;
 import fr.amu.bestchoice.web.dto.project.ProjectUpdateRequest;
@@ -12,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -20,9 +25,11 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -30,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProjectController.class)
+@Import(CatalogResponseCache.class)
 @AutoConfigureMockMvc(addFilters = false)
 class ProjectControllerTest {
 
@@ -39,6 +47,9 @@ class ProjectControllerTest {
     @MockitoBean
     private IProjectService projectService;
 
+    @MockitoBean
+    private CatalogVersions catalogVersions;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -130,4 +141,30 @@ class ProjectControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].title").value("Title"));
     }
+
+    @Test
+    void searchCatalog_ShouldPassFiltersAndReturnFacets() throws Exception {
+        ProjectResponse project = new ProjectResponse(1L, "Title", "Desc", Set.of(WorkType.DEVELOPPEMENT), true, true, 1, 4, false, null, null, null, null, 1L, "Teacher", Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+        CatalogFilterRequest filter = new CatalogFilterRequest(Set.of(WorkType.DEVELOPPEMENT, WorkType.TEST), Set.of(1), null, true, null, null, true);
+        when(projectService.searchCatalog(filter, 0, 20)).thenReturn(new FacetedPageResponseDto<>(
+                List.of(project), 0, 20, 1, Map.of("credits", Map.of("6", 1))));
+
+        mockMvc.perform(get("/api/projects/catalog")
+                        .param("workType", "DEVELOPPEMENT", "TEST")
+                        .param("semester", "1")
+                        .param("remote", "true")
+                        .param("freeSeats", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Title"))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.facets.credits.6").value(1));
+    }
+
+    @Test
+    void assignStudent_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(put("/api/projects/1/students/5")
+                        .with(csrf()))
+                .andExpect(status().isNoContent());
+        verify(projectService).assignStudent(1L, 5L);
+    }
 }
@@ -1,9 +1,12 @@
 package fr.amu.bestchoice.web.controller.skills;
 
+import fr.amu.bestchoice.service.implementation.catalog.CatalogResponseCache;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.amu.bestchoice.security.jwt.JwtAuthenticationFilter;
 import fr.amu.bestchoice.security.jwt.JwtService;
 import fr.amu.bestchoice.service.interfaces.IKeywordService;
+import fr.amu.bestchoice.web.dto.SuggestionResponse;
 import fr.amu.bestchoice.web.dto.keyword.KeywordCreateRequest;
 import fr.amu.bestchoice.web.dto.keyword.KeywordResponse;
 import fr.amu.bestchoice.web.dto.keyword.KeywordUpdateRequest;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -27,6 +31,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(KeywordController.class)
+@Import(CatalogResponseCache.class)
 @AutoConfigureMockMvc(addFilters = false)
 class KeywordControllerTest {
 
@@ -36,6 +41,9 @@ class KeywordControllerTest {
     @MockitoBean
     private IKeywordService keywordService;
 
+    @MockitoBean
+    private CatalogVersions catalogVersions;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -66,6 +74,16 @@ class KeywordControllerTest {
                 .andExpect(jsonPath("$.content[0].label").value("Web"));
     }
 
+    @Test
+    void suggestKeywords_ShouldReturnSuggestions() throws Exception {
+        when(keywordService.suggest("we", 10)).thenReturn(List.of(new SuggestionResponse(1L, "Web")));
+
+        mockMvc.perform(get("/api/keywords/suggest").param("prefix", "we"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].label").value("Web"));
+    }
+
     @Test
     void getKeywordById_ShouldReturnKeyword() throws Exception {
         KeywordResponse keyword = new KeywordResponse(1L, "Web", "Description", "Domain", true);
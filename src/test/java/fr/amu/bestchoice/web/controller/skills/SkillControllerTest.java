@@ -1,9 +1,12 @@
 package fr.amu.bestchoice.web.controller.skills;
 
+import fr.amu.bestchoice.service.implementation.catalog.CatalogResponseCache;
+import fr.amu.bestchoice.service.implementation.catalog.CatalogVersions;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import fr.amu.bestchoice.security.jwt.JwtAuthenticationFilter;
 import fr.amu.bestchoice.security.jwt.JwtService;
 import fr.amu.bestchoice.service.interfaces.ISkillService;
+import fr.amu.bestchoice.web.dto.CursorPageResponseDto;
 import fr.amu.bestchoice.web.dto.skill.SkillCreateRequest;
 import fr.amu.bestchoice.web.dto.skill.SkillResponse;
 import fr.amu.bestchoice.web.dto.skill.SkillUpdateRequest;
@@ -11,22 +14,31 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(SkillController.class)
+@Import(CatalogResponseCache.class)
 @AutoConfigureMockMvc(addFilters = false)
 class SkillControllerTest {
 
@@ -36,6 +48,9 @@ class SkillControllerTest {
     @MockitoBean
     private ISkillService skillService;
 
+    @MockitoBean
+    private CatalogVersions catalogVersions;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -66,6 +81,29 @@ class SkillControllerTest {
                 .andExpect(jsonPath("$.content[0].name").value("Java"));
     }
 
+    @Test
+    void getAllSkillsScroll_ShouldReturnCursorPage() throws Exception {
+        SkillResponse skill = new SkillResponse(1L, "Java", "Description", "Category", 3, true);
+        when(skillService.scroll("abc", 1, "name", null, false))
+                .thenReturn(CursorPageResponseDto.of(List.of(skill), 1, "def"));
+
+        mockMvc.perform(get("/api/skills/scroll").param("cursor", "abc").param("size", "1").param("sortBy", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Java"))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void searchSkills_ShouldReturnRankedSkills() throws Exception {
+        SkillResponse skill = new SkillResponse(1L, "Java", "Description", "Category", 3, true);
+        when(skillService.search("jav", 5)).thenReturn(List.of(skill));
+
+        mockMvc.perform(get("/api/skills/search").param("q", "jav").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Java"));
+    }
+
     @Test
     void getSkillById_ShouldReturnSkill() throws Exception {
         SkillResponse skill = new SkillResponse(1L, "Java", "Description", "Category", 3, true);
@@ -117,4 +155,41 @@ class SkillControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void getAllSkills_ShouldReturnNotModified_WhenCatalogUnchanged() throws Exception {
+        when(catalogVersions.version(CatalogVersions.Catalog.SKILL)).thenReturn(3L);
+        when(skillService.findAll()).thenReturn(List.of());
+
+        String etag = mockMvc.perform(get("/api/skills"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/skills").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(skillService, times(1)).findAll();
+
+        // Catalogue modifié : nouvel ETag, contenu renvoyé
+        when(catalogVersions.version(CatalogVersions.Catalog.SKILL)).thenReturn(4L);
+        mockMvc.perform(get("/api/skills").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllSkills_ShouldReturnGzipBody_WhenClientAcceptsGzip() throws Exception {
+        when(catalogVersions.version(CatalogVersions.Catalog.SKILL)).thenReturn(7L);
+        when(skillService.findAll()).thenReturn(List.of(new SkillResponse(1L, "Java", "Description", "Category", 3, true)));
+
+        byte[] body = mockMvc.perform(get("/api/skills").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept-Encoding")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            SkillResponse[] skills = objectMapper.readValue(in.readAllBytes(), SkillResponse[].class);
+            assertThat(skills).extracting(SkillResponse::name).containsExactly("Java");
+        }
+    }
 }
@@ -5,9 +5,11 @@ import fr.amu.bestchoice.model.enums.Role;
 import fr.amu.bestchoice.security.jwt.JwtAuthenticationFilter;
 import fr.amu.bestchoice.security.jwt.JwtService;
 import fr.amu.bestchoice.service.implementation.auth.RegisterService;
+import fr.amu.bestchoice.service.implementation.auth.StudentImportService;
 import fr.amu.bestchoice.service.interfaces.IUserService;
 import fr.amu.bestchoice.web.dto.auth.RegisterRequest;
 import fr.amu.bestchoice.web.dto.auth.RegisterResponse;
+import fr.amu.bestchoice.web.dto.student.StudentImportResponse;
 import fr.amu.bestchoice.web.dto.user.UserResponse;
 import fr.amu.bestchoice.web.dto.user.UserUpdateRequest;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
@@ -43,6 +46,9 @@ class UserControllerTest {
     @MockitoBean
     private RegisterService registerService;
 
+    @MockitoBean
+    private StudentImportService studentImportService;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -124,4 +130,18 @@ class UserControllerTest {
                         .with(csrf()))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void importStudents_ShouldReturnReport() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "etudiants.csv", "text/csv",
+                "firstName,lastName,email,password\nAda,Lovelace,ada@etu.univ-amu.fr,motdepasse1\n".getBytes());
+        StudentImportResponse report = new StudentImportResponse(2, 1,
+                List.of(new StudentImportResponse.RowError(3, "x", "L'email doit être au format valide")));
+        when(studentImportService.importStudents(any())).thenReturn(report);
+
+        mockMvc.perform(multipart("/api/users/import").file(file).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3));
+    }
 }